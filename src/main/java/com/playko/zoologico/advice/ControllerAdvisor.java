@@ -1,13 +1,24 @@
 package com.playko.zoologico.advice;
 
+import com.playko.zoologico.exception.AgrupacionInvalidaException;
+import com.playko.zoologico.exception.CursorInvalidoException;
 import com.playko.zoologico.exception.NoDataFoundException;
+import com.playko.zoologico.exception.IntervaloInvalidoException;
+import com.playko.zoologico.exception.LimiteSugerenciasInvalidoException;
+import com.playko.zoologico.exception.OrdenInvalidoException;
+import com.playko.zoologico.exception.RangoFechasInvalidoException;
+import com.playko.zoologico.exception.TipoResultadoInvalidoException;
 import com.playko.zoologico.exception.animal.AnimalNotFoundException;
 import com.playko.zoologico.exception.animal.AnimalSinComentariosException;
 import com.playko.zoologico.exception.animal.AnimalesNoEncontradosEnFechaException;
 import com.playko.zoologico.exception.animal.FechaFormatoInvalidoException;
 import com.playko.zoologico.exception.animal.ZonaConAnimalesException;
 import com.playko.zoologico.exception.comentario.ComentarioAnimalMismatchException;
+import com.playko.zoologico.exception.comentario.ComentarioIngestaSaturadaException;
+import com.playko.zoologico.exception.comentario.ComentarioNotFoundException;
 import com.playko.zoologico.exception.comentario.ComentarioPadreNotFoundException;
+import com.playko.zoologico.exception.comentario.ComentarioProfundidadMaximaException;
+import com.playko.zoologico.exception.comentario.ComentarioRutaPendienteException;
 import com.playko.zoologico.exception.especie.EspecieAlreadyExistsException;
 import com.playko.zoologico.exception.especie.EspecieConAnimalesException;
 import com.playko.zoologico.exception.especie.EspecieNotFoundException;
@@ -32,15 +43,26 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
+import static com.playko.zoologico.constants.ExceptionMessages.AGRUPACION_INVALIDA_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ANIMAL_NOT_FOUND_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ANIMAL_SIN_COMENTARIOS_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.COMENTARIO_ANIMAL_MISMATCH_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.COMENTARIO_INGESTA_SATURADA_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.COMENTARIO_PADRE_NOT_FOUND_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.COMENTARIO_NOT_FOUND_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.COMENTARIO_PROFUNDIDAD_MAXIMA_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.COMENTARIO_RUTA_PENDIENTE_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.CURSOR_INVALIDO_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.EMAIL_ALREADY_EXISTS_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ESPECIE_ALREADY_EXISTS_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ESPECIE_CON_ANIMALES_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ESPECIE_NOT_FOUND_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.INTERVALO_INVALIDO_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.LIMITE_SUGERENCIAS_INVALIDO_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.NO_DATA_FOUND_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.ORDEN_INVALIDO_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.RANGO_FECHAS_INVALIDO_MESSAGE;
+import static com.playko.zoologico.constants.ExceptionMessages.TIPO_RESULTADO_INVALIDO_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ROLE_NOT_FOUND_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.USER_NOT_FOUND_MESSAGE;
 import static com.playko.zoologico.constants.ExceptionMessages.ZONA_ALREADY_EXISTS;
@@ -196,6 +218,83 @@ public class ControllerAdvisor {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                 .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_ANIMAL_MISMATCH_MESSAGE));
     }
+
+    @ExceptionHandler(CursorInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleCursorInvalidoException(
+            CursorInvalidoException cursorInvalidoException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, CURSOR_INVALIDO_MESSAGE));
+    }
+
+    @ExceptionHandler(RangoFechasInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleRangoFechasInvalidoException(
+            RangoFechasInvalidoException rangoFechasInvalidoException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, RANGO_FECHAS_INVALIDO_MESSAGE));
+    }
+
+    @ExceptionHandler(OrdenInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleOrdenInvalidoException(
+            OrdenInvalidoException ordenInvalidoException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, ORDEN_INVALIDO_MESSAGE));
+    }
+
+    @ExceptionHandler(IntervaloInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleIntervaloInvalidoException(
+            IntervaloInvalidoException intervaloInvalidoException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, INTERVALO_INVALIDO_MESSAGE));
+    }
+
+    @ExceptionHandler(AgrupacionInvalidaException.class)
+    public ResponseEntity<Map<String, String>> handleAgrupacionInvalidaException(
+            AgrupacionInvalidaException agrupacionInvalidaException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, AGRUPACION_INVALIDA_MESSAGE));
+    }
+
+    @ExceptionHandler(TipoResultadoInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleTipoResultadoInvalidoException(
+            TipoResultadoInvalidoException tipoResultadoInvalidoException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, TIPO_RESULTADO_INVALIDO_MESSAGE));
+    }
+
+    @ExceptionHandler(LimiteSugerenciasInvalidoException.class)
+    public ResponseEntity<Map<String, String>> handleLimiteSugerenciasInvalidoException(
+            LimiteSugerenciasInvalidoException limiteSugerenciasInvalidoException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, LIMITE_SUGERENCIAS_INVALIDO_MESSAGE));
+    }
+
+    @ExceptionHandler(ComentarioNotFoundException.class)
+    public ResponseEntity<Map<String, String>> handleComentarioNotFoundException(
+            ComentarioNotFoundException comentarioNotFoundException) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_NOT_FOUND_MESSAGE));
+    }
+
+    @ExceptionHandler(ComentarioProfundidadMaximaException.class)
+    public ResponseEntity<Map<String, String>> handleComentarioProfundidadMaximaException(
+            ComentarioProfundidadMaximaException comentarioProfundidadMaximaException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_PROFUNDIDAD_MAXIMA_MESSAGE));
+    }
+
+    @ExceptionHandler(ComentarioRutaPendienteException.class)
+    public ResponseEntity<Map<String, String>> handleComentarioRutaPendienteException(
+            ComentarioRutaPendienteException comentarioRutaPendienteException) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_RUTA_PENDIENTE_MESSAGE));
+    }
+
+    @ExceptionHandler(ComentarioIngestaSaturadaException.class)
+    public ResponseEntity<Map<String, String>> handleComentarioIngestaSaturadaException(
+            ComentarioIngestaSaturadaException comentarioIngestaSaturadaException) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_INGESTA_SATURADA_MESSAGE));
+    }
     @ExceptionHandler(FechaFormatoInvalidoException.class)
     public ResponseEntity<String> manejarFechaInvalida(FechaFormatoInvalidoException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
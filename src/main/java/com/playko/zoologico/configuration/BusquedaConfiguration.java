@@ -0,0 +1,35 @@
+package com.playko.zoologico.configuration;
+
+import com.playko.zoologico.service.busqueda.BaseDatosBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.EscaneoBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.IBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.IndiceBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.ParaleloBusquedaEstrategia;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+public class BusquedaConfiguration {
+
+    /**
+     * Estrategia usada por la búsqueda por palabra clave según {@code busqueda.estrategia}:
+     * {@code indice} (por defecto), {@code base-datos}, {@code escaneo} o {@code paralelo}.
+     */
+    @Bean
+    @Primary
+    public IBusquedaEstrategia busquedaEstrategia(@Value("${busqueda.estrategia:indice}") String estrategia,
+                                                  IndiceBusquedaEstrategia indiceBusquedaEstrategia,
+                                                  BaseDatosBusquedaEstrategia baseDatosBusquedaEstrategia,
+                                                  EscaneoBusquedaEstrategia escaneoBusquedaEstrategia,
+                                                  ParaleloBusquedaEstrategia paraleloBusquedaEstrategia) {
+        return switch (estrategia) {
+            case "indice" -> indiceBusquedaEstrategia;
+            case "base-datos" -> baseDatosBusquedaEstrategia;
+            case "escaneo" -> escaneoBusquedaEstrategia;
+            case "paralelo" -> paraleloBusquedaEstrategia;
+            default -> throw new IllegalArgumentException("Estrategia de búsqueda desconocida: " + estrategia);
+        };
+    }
+}
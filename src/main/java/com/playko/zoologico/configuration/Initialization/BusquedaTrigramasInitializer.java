@@ -0,0 +1,27 @@
+package com.playko.zoologico.configuration.Initialization;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Crea la extensión pg_trgm y los índices GIN que usa la búsqueda en base de datos. Se ejecuta cuando
+ * Hibernate ya creó las tablas.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "busqueda.estrategia", havingValue = "base-datos")
+public class BusquedaTrigramasInitializer {
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/busqueda-trigramas.sql")).execute(dataSource);
+    }
+}
@@ -0,0 +1,27 @@
+package com.playko.zoologico.configuration.Initialization;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Crea el índice BRIN sobre la fecha de ingreso que usa el histograma de ingresos. Solo para PostgreSQL,
+ * cuando Hibernate ya creó las tablas.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "indicadores.ingresos.indice-brin", havingValue = "true")
+public class IngresosBrinInitializer {
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/animales-ingresos-brin.sql")).execute(dataSource);
+    }
+}
@@ -4,6 +4,7 @@ import com.playko.zoologico.configuration.security.jwt.AuthEntryPointJwt;
 import com.playko.zoologico.configuration.security.jwt.JwtAuthorizationFilter;
 import com.playko.zoologico.configuration.security.jwt.JwtUtils;
 import com.playko.zoologico.configuration.security.userDetails.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -60,6 +61,8 @@ public class WebSecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.cors().configurationSource(corsConfigurationSource()).and().csrf().disable()
                 .authorizeHttpRequests(requests -> requests
+                        // Reenvíos de respuestas asíncronas: la petición original ya se autorizó
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/v1/auth/login").permitAll()
                         .requestMatchers(
                                 "/swagger-ui.html",
@@ -0,0 +1,19 @@
+package com.playko.zoologico.constants;
+
+public class BusquedaConstants {
+    public static final int TAMANO_PAGINA_POR_DEFECTO = 50;
+    public static final int TAMANO_PAGINA_MAXIMO = 500;
+    public static final int TAMANO_PAGINA_STREAMING = 500;
+    public static final int SUGERENCIAS_POR_DEFECTO = 10;
+    public static final int RESULTADOS_RANQUEADOS_POR_DEFECTO = 20;
+    public static final int DISTANCIA_DIFUSA_MAXIMA = 2;
+    public static final int LONGITUD_MINIMA_DISTANCIA_DOS = 5;
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    public static final String MOTIVO_TIEMPO_AGOTADO = "TIEMPO_AGOTADO";
+    public static final String MOTIVO_ERROR = "ERROR";
+    public static final String MOTIVO_SATURADO = "SATURADO";
+
+    private BusquedaConstants() {
+        throw new IllegalStateException("Utility class");
+    }
+}
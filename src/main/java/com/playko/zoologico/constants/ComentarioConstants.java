@@ -2,6 +2,10 @@ package com.playko.zoologico.constants;
 
 public class ComentarioConstants {
     public static final String COMENTARIO_AGREGADO_MESSAGE = "Comentario agregado correctamente.";
+    public static final String HILO_ELIMINADO_MESSAGE = "Hilo de comentarios eliminado correctamente.";
+    public static final int TAMANO_PAGINA_MURO_POR_DEFECTO = 20;
+    public static final int TAMANO_PAGINA_MURO_MAXIMO = 100;
+    public static final int PROFUNDIDAD_PREVIA_MAXIMA = 3;
 
     private ComentarioConstants() {
         throw new IllegalStateException("Utility class");
@@ -4,6 +4,8 @@ public class EspecieConstants {
     public static final String ESPECIE_CREATED_MESSAGE = "Especie creada correctamente.";
     public static final String ESPECIE_UPDATED_MESSAGE = "Especie actualizada correctamente.";
     public static final String ESPECIE_DELETED_MESSAGE = "Especie eliminada correctamente.";
+    public static final int TAMANO_PAGINA_INDICADOR_POR_DEFECTO = 50;
+    public static final int TAMANO_PAGINA_INDICADOR_MAXIMO = 500;
 
     private EspecieConstants() {
         throw new IllegalStateException("Utility class");
@@ -16,6 +16,17 @@ public class ExceptionMessages {
     public static final String ZONA_ESPECIE_MISMATCH_MESSAGE = "La zona asignada al animal no coincide con la zona de su especie.";
     public static final String COMENTARIO_ANIMAL_MISMATCH_MESSAGE = "El comentario padre pertenece a un animal diferente.";
     public static final String ANIMAL_SIN_COMENTARIOS_MESSAGE = "Este animal aún no tiene comentarios.";
+    public static final String CURSOR_INVALIDO_MESSAGE = "El cursor de paginación no es válido.";
+    public static final String RANGO_FECHAS_INVALIDO_MESSAGE = "La fecha final no puede ser anterior a la inicial.";
+    public static final String COMENTARIO_NOT_FOUND_MESSAGE = "Este comentario no existe.";
+    public static final String COMENTARIO_PROFUNDIDAD_MAXIMA_MESSAGE = "El hilo alcanzó la profundidad máxima de respuestas.";
+    public static final String COMENTARIO_RUTA_PENDIENTE_MESSAGE = "El hilo de este comentario aún se está migrando, intente más tarde.";
+    public static final String COMENTARIO_INGESTA_SATURADA_MESSAGE = "Hay demasiados comentarios en espera, intente de nuevo en unos segundos.";
+    public static final String ORDEN_INVALIDO_MESSAGE = "El orden debe ser NOMBRE, POBLACION_DESC o POBLACION_ASC.";
+    public static final String INTERVALO_INVALIDO_MESSAGE = "El intervalo debe ser DIA, SEMANA o MES.";
+    public static final String AGRUPACION_INVALIDA_MESSAGE = "La agrupación debe ser ZONA o ESPECIE.";
+    public static final String TIPO_RESULTADO_INVALIDO_MESSAGE = "El tipo de resultado debe ser ZONA, ESPECIE, ANIMAL, COMENTARIO o RESPUESTA.";
+    public static final String LIMITE_SUGERENCIAS_INVALIDO_MESSAGE = "El límite de sugerencias supera el máximo permitido.";
 
     private ExceptionMessages() {
         throw new IllegalStateException("Utility class");
@@ -3,16 +3,21 @@ package com.playko.zoologico.controller;
 import com.playko.zoologico.dto.request.AnimalRequestDto;
 import com.playko.zoologico.dto.response.AnimalRegistradoResponseDto;
 import com.playko.zoologico.dto.response.AnimalResponseDto;
+import com.playko.zoologico.dto.response.IngresosPorPeriodoResponseDto;
 import com.playko.zoologico.exception.animal.FechaFormatoInvalidoException;
 import com.playko.zoologico.service.IAnimalService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -24,6 +29,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -45,6 +52,9 @@ public class AnimalRestController {
 
     private final IAnimalService animalService;
 
+    @Value("${indicadores.ingresos.tiempo-maximo-ms:600000}")
+    private long tiempoMaximoListadoMs;
+
     @Operation(summary = "Obtener un animal por su ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Animal encontrado"),
@@ -105,19 +115,49 @@ public class AnimalRestController {
         return ResponseEntity.ok(Collections.singletonMap(RESPONSE_MESSAGE_KEY, ANIMAL_DELETED_MESSAGE));
     }
 
-    @Operation(summary = "Obtener animales registrados en una fecha específica")
+    @Operation(summary = "Obtener animales registrados en una fecha o, con hasta, entre dos fechas (yyyy-MM-dd, ambas incluidas); la lista se envía a medida que se lee")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Animales registrados obtenidos correctamente",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AnimalRegistradoResponseDto.class))),
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AnimalRegistradoResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Fecha o rango de fechas inválido"),
+            @ApiResponse(responseCode = "404", description = "No hay animales registrados en el rango")
+    })
+    @GetMapping("/indicador/animalesRegistradosEnFecha")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public WebAsyncTask<Void> obtenerAnimalesRegistrados(@RequestParam String fecha,
+                                                         @RequestParam(required = false) String hasta,
+                                                         HttpServletResponse response) {
+        LocalDate desde = fecha(fecha);
+        StreamingResponseBody listado = animalService.obtenerAnimalesRegistradosEntre(desde, hasta == null ? desde : fecha(hasta));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        // Tiempo máximo propio: un rango de varios años tarda más que las demás respuestas asíncronas
+        return new WebAsyncTask<>(tiempoMaximoListadoMs, () -> {
+            listado.writeTo(response.getOutputStream());
+            return null;
+        });
+    }
+
+    @Operation(summary = "Obtener la cantidad de animales ingresados por día, semana o mes entre dos fechas (yyyy-MM-dd, ambas incluidas), opcionalmente por zona o especie")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histograma de ingresos obtenido; solo incluye los períodos con ingresos",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = IngresosPorPeriodoResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Fecha, rango, intervalo o agrupación inválidos"),
             @ApiResponse(responseCode = "404", description = NO_DATA_FOUND_MESSAGE,
                     content = @Content(mediaType = "application/json", schema = @Schema(ref = "#/components/schemas/Error")))
     })
-    @GetMapping("/indicador/animalesRegistradosEnFecha")
+    @GetMapping("/indicador/ingresos")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public List<AnimalRegistradoResponseDto> obtenerAnimalesRegistrados(@RequestParam String fecha) {
+    public List<IngresosPorPeriodoResponseDto> obtenerHistogramaIngresos(@RequestParam String desde,
+                                                                         @RequestParam String hasta,
+                                                                         @RequestParam(required = false) String intervalo,
+                                                                         @RequestParam(required = false) String agrupacion) {
+        return animalService.obtenerHistogramaIngresos(fecha(desde), fecha(hasta), intervalo, agrupacion);
+    }
+
+    private static LocalDate fecha(String fecha) {
         try {
-            LocalDate fechaParseada = LocalDate.parse(fecha, DateTimeFormatter.ISO_LOCAL_DATE);
-            return animalService.obtenerAnimalesRegistradosEnFecha(fechaParseada);
+            return LocalDate.parse(fecha, DateTimeFormatter.ISO_LOCAL_DATE);
         } catch (DateTimeParseException e) {
             throw new FechaFormatoInvalidoException(fecha);
         }
@@ -1,6 +1,14 @@
 package com.playko.zoologico.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playko.zoologico.dto.response.BusquedaDifusaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaPaginaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaParalelaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaRanqueadaResultadoDto;
 import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.CacheBusquedaEstadisticasDto;
+import com.playko.zoologico.dto.response.SugerenciaResponseDto;
 import com.playko.zoologico.service.IBusquedaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -9,20 +17,28 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
+import static com.playko.zoologico.constants.BusquedaConstants.MEDIA_TYPE_NDJSON;
+
 @RestController
 @RequestMapping("/api/busqueda")
 @RequiredArgsConstructor
 public class BusquedaRestController {
     private final IBusquedaService busquedaService;
+    private final ObjectMapper objectMapper;
 
 
     @Operation(summary = "Buscar coincidencias por palabra clave")
@@ -42,4 +58,118 @@ public class BusquedaRestController {
 
         return ResponseEntity.ok(resultados);
     }
+
+    @Operation(summary = "Buscar coincidencias por palabra clave de forma paginada")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resultados obtenida",
+                    content = @Content(schema = @Schema(implementation = BusquedaPaginaResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido")
+    })
+    @GetMapping("/paginada")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<BusquedaPaginaResponseDto> buscarPorPalabraPaginado(@RequestParam String palabra,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(busquedaService.buscarPorPalabraPaginado(palabra, cursor, limite));
+    }
+
+    @Operation(summary = "Buscar coincidencias consultando zonas, especies, animales y comentarios en paralelo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada; las fuentes que no respondieron a tiempo se listan como incompletas",
+                    content = @Content(schema = @Schema(implementation = BusquedaParalelaResponseDto.class)))
+    })
+    @GetMapping("/paralela")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<BusquedaParalelaResponseDto> buscarPorPalabraEnParalelo(@RequestParam String palabra) {
+        return ResponseEntity.ok(busquedaService.buscarPorPalabraEnParalelo(palabra));
+    }
+
+    @Operation(summary = "Buscar coincidencias filtradas por tipo, zona y especie, con recuentos por tipo y por zona")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Coincidencias y recuentos obtenidos",
+                    content = @Content(schema = @Schema(implementation = BusquedaFacetadaResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Tipo de resultado inválido")
+    })
+    @GetMapping("/facetas")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<BusquedaFacetadaResponseDto> buscarFacetado(@RequestParam String palabra,
+                                                                      @RequestParam(required = false) List<String> tipo,
+                                                                      @RequestParam(required = false) Long zonaId,
+                                                                      @RequestParam(required = false) Long especieId,
+                                                                      @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(busquedaService.buscarFacetado(palabra, tipo, zonaId, especieId, limite));
+    }
+
+    @Operation(summary = "Buscar los resultados más relevantes para las palabras de la consulta")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados ordenados por relevancia",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = BusquedaRanqueadaResultadoDto.class))))
+    })
+    @GetMapping("/ranqueada")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<BusquedaRanqueadaResultadoDto>> buscarRanqueado(@RequestParam String palabra,
+                                                                               @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(busquedaService.buscarRanqueado(palabra, limite));
+    }
+
+    @Operation(summary = "Buscar zonas, especies y animales con nombres parecidos, tolerando errores de escritura")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Coincidencias ordenadas por distancia de edición",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = BusquedaDifusaResultadoDto.class))))
+    })
+    @GetMapping("/difusa")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<BusquedaDifusaResultadoDto>> buscarDifuso(@RequestParam String palabra,
+                                                                         @RequestParam(required = false) Integer distancia) {
+        return ResponseEntity.ok(busquedaService.buscarDifuso(palabra, distancia));
+    }
+
+    @Operation(summary = "Sugerir nombres de zonas, especies y animales que empiezan por el prefijo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SugerenciaResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Límite mayor que busqueda.autocompletado.maximo-sugerencias")
+    })
+    @GetMapping("/autocompletar")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<List<SugerenciaResponseDto>> autocompletar(@RequestParam String prefijo,
+                                                                     @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(busquedaService.autocompletar(prefijo, limite));
+    }
+
+    @Operation(summary = "Consultar aciertos, fallos, desalojos e invalidaciones de la caché de búsqueda")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas",
+                    content = @Content(schema = @Schema(implementation = CacheBusquedaEstadisticasDto.class)))
+    })
+    @GetMapping("/cache/estadisticas")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<CacheBusquedaEstadisticasDto> obtenerEstadisticasCache() {
+        return ResponseEntity.ok(busquedaService.obtenerEstadisticasCache());
+    }
+
+    @Operation(summary = "Transmitir las coincidencias por palabra clave como NDJSON, una por línea")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados transmitidos a medida que se encuentran",
+                    content = @Content(mediaType = MEDIA_TYPE_NDJSON, schema = @Schema(implementation = BusquedaResultadoDto.class)))
+    })
+    @GetMapping(value = "/stream", produces = MEDIA_TYPE_NDJSON)
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> transmitirPorPalabra(@RequestParam String palabra) {
+        StreamingResponseBody cuerpo = salida -> busquedaService.recorrerPorPalabra(palabra,
+                resultado -> escribirLinea(salida, resultado));
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE_NDJSON))
+                .body(cuerpo);
+    }
+
+    private void escribirLinea(OutputStream salida, BusquedaResultadoDto resultado) {
+        try {
+            salida.write(objectMapper.writeValueAsBytes(resultado));
+            salida.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
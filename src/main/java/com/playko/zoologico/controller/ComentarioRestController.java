@@ -1,10 +1,15 @@
 package com.playko.zoologico.controller;
 
 import com.playko.zoologico.dto.request.ComentarioRequestDto;
+import com.playko.zoologico.dto.response.ComentarioPaginaResponseDto;
 import com.playko.zoologico.dto.response.ComentarioResponseDto;
+import com.playko.zoologico.dto.response.HiloResumenResponseDto;
+import com.playko.zoologico.dto.response.IngestaComentariosEstadisticasDto;
 import com.playko.zoologico.dto.response.PorcentajeComentariosConRespuestasDto;
+import com.playko.zoologico.exception.animal.FechaFormatoInvalidoException;
 import com.playko.zoologico.service.IComentarioService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,20 +17,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static com.playko.zoologico.constants.ComentarioConstants.COMENTARIO_AGREGADO_MESSAGE;
+import static com.playko.zoologico.constants.ComentarioConstants.HILO_ELIMINADO_MESSAGE;
 import static com.playko.zoologico.constants.GlobalConstants.RESPONSE_MESSAGE_KEY;
 
 @RestController
@@ -38,25 +52,100 @@ public class ComentarioRestController {
     @Operation(summary = "Agregar un nuevo comentario a un animal")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Comentario agregado correctamente"),
-            @ApiResponse(responseCode = "404", description = "Animal o comentario padre no encontrado")
+            @ApiResponse(responseCode = "404", description = "Animal o comentario padre no encontrado"),
+            @ApiResponse(responseCode = "503", description = "Cola de ingesta llena, reintentar en unos segundos")
     })
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
-    public ResponseEntity<Map<String, String>> agregarComentario(@Valid @RequestBody ComentarioRequestDto dto) {
-        comentarioService.agregarComentario(dto);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_AGREGADO_MESSAGE));
+    public CompletableFuture<ResponseEntity<Map<String, String>>> agregarComentario(@Valid @RequestBody ComentarioRequestDto dto) {
+        // Sin ingesta agrupada la confirmación ya llega completa; con ella, la respuesta sale cuando el lote
+        // hace commit, sin retener el hilo de la petición
+        return comentarioService.agregarComentario(dto).thenApply(id -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(Collections.singletonMap(RESPONSE_MESSAGE_KEY, COMENTARIO_AGREGADO_MESSAGE)));
+    }
+
+    @Operation(summary = "Consultar tamaño de lote y espera en cola de la ingesta agrupada de comentarios")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas",
+                    content = @Content(schema = @Schema(implementation = IngestaComentariosEstadisticasDto.class)))
+    })
+    @GetMapping("/ingesta/estadisticas")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<IngestaComentariosEstadisticasDto> obtenerEstadisticasIngesta() {
+        return ResponseEntity.ok(comentarioService.obtenerEstadisticasIngesta());
     }
 
     @Operation(summary = "Obtener muro de comentarios de un animal")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Muro de comentarios obtenido"),
+            @ApiResponse(responseCode = "200", description = "Muro de comentarios obtenido",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ComentarioResponseDto.class)))),
+            @ApiResponse(responseCode = "404", description = "Animal no encontrado")
+    })
+    @GetMapping(value = "/muro/{animalNombre}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
+    public ResponseEntity<byte[]> obtenerMuroDeAnimal(@PathVariable String animalNombre) {
+        // El muro llega ya serializado desde la caché
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(comentarioService.obtenerMuroDeAnimalSerializado(animalNombre));
+    }
+
+    @Operation(summary = "Obtener los comentarios del muro de un animal escritos entre dos fechas (yyyy-MM-dd, ambas incluidas)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comentarios del período obtenidos",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ComentarioResponseDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Fecha o rango de fechas inválido"),
+            @ApiResponse(responseCode = "404", description = "Animal no encontrado")
+    })
+    @GetMapping("/muro/{animalNombre}/periodo")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
+    public ResponseEntity<List<ComentarioResponseDto>> obtenerMuroDeAnimalEntre(@PathVariable String animalNombre,
+                                                                                @RequestParam String desde,
+                                                                                @RequestParam String hasta) {
+        return ResponseEntity.ok(comentarioService.obtenerMuroDeAnimalEntre(animalNombre, fecha(desde), fecha(hasta)));
+    }
+
+    @Operation(summary = "Obtener una página del muro de un animal con una vista previa de las respuestas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página del muro obtenida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ComentarioPaginaResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "404", description = "Animal no encontrado")
+    })
+    @GetMapping("/muro/{animalNombre}/pagina")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
+    public ResponseEntity<ComentarioPaginaResponseDto> obtenerMuroPaginado(@PathVariable String animalNombre,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer tamano,
+                                                                           @RequestParam(required = false) Integer profundidad) {
+        return ResponseEntity.ok(comentarioService.obtenerMuroPaginado(animalNombre, cursor, tamano, profundidad));
+    }
+
+    @Operation(summary = "Suscribirse a los comentarios nuevos del muro de un animal (Server-Sent Events)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suscripción abierta; cada comentario nuevo llega como evento 'comentario'"),
             @ApiResponse(responseCode = "404", description = "Animal no encontrado")
     })
-    @GetMapping("/muro/{animalNombre}")
+    @GetMapping(value = "/muro/{animalNombre}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
+    public SseEmitter suscribirAlMuro(@PathVariable String animalNombre) {
+        return comentarioService.suscribirAlMuro(animalNombre);
+    }
+
+    @Operation(summary = "Obtener una página de las respuestas directas de un comentario")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de respuestas obtenida",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ComentarioPaginaResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "404", description = "Comentario no encontrado")
+    })
+    @GetMapping("/{id}/respuestas")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
-    public ResponseEntity<List<ComentarioResponseDto>> obtenerMuroDeAnimal(@PathVariable String animalNombre) {
-        return ResponseEntity.ok(comentarioService.obtenerMuroDeAnimal(animalNombre));
+    public ResponseEntity<ComentarioPaginaResponseDto> obtenerRespuestas(@PathVariable Long id,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(required = false) Integer tamano,
+                                                                         @RequestParam(required = false) Integer profundidad) {
+        return ResponseEntity.ok(comentarioService.obtenerRespuestas(id, cursor, tamano, profundidad));
     }
 
     @Operation(summary = "Obtener el porcentaje de comentarios con respuestas")
@@ -70,4 +159,49 @@ public class ComentarioRestController {
         return ResponseEntity.ok(comentarioService.obtenerPorcentajeComentariosConRespuestas());
     }
 
+    @Operation(summary = "Obtener un comentario con todas sus respuestas, a cualquier profundidad")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hilo de comentarios obtenido"),
+            @ApiResponse(responseCode = "400", description = "El hilo aún tiene respuestas sin migrar"),
+            @ApiResponse(responseCode = "404", description = "Comentario no encontrado")
+    })
+    @GetMapping("/{id}/hilo")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
+    public ResponseEntity<ComentarioResponseDto> obtenerHilo(@PathVariable Long id) {
+        return ResponseEntity.ok(comentarioService.obtenerHilo(id));
+    }
+
+    @Operation(summary = "Contar las respuestas y la profundidad del hilo de un comentario")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resumen del hilo obtenido",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = HiloResumenResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "El hilo aún tiene respuestas sin migrar"),
+            @ApiResponse(responseCode = "404", description = "Comentario no encontrado")
+    })
+    @GetMapping("/{id}/hilo/resumen")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_EMPLEADO')")
+    public ResponseEntity<HiloResumenResponseDto> resumirHilo(@PathVariable Long id) {
+        return ResponseEntity.ok(comentarioService.resumirHilo(id));
+    }
+
+    @Operation(summary = "Eliminar un comentario junto con todas sus respuestas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hilo eliminado correctamente"),
+            @ApiResponse(responseCode = "400", description = "El hilo aún tiene respuestas sin migrar"),
+            @ApiResponse(responseCode = "404", description = "Comentario no encontrado")
+    })
+    @DeleteMapping("/{id}/hilo")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<Map<String, String>> eliminarHilo(@PathVariable Long id) {
+        comentarioService.eliminarHilo(id);
+        return ResponseEntity.ok(Collections.singletonMap(RESPONSE_MESSAGE_KEY, HILO_ELIMINADO_MESSAGE));
+    }
+
+    private static LocalDate fecha(String fecha) {
+        try {
+            return LocalDate.parse(fecha, DateTimeFormatter.ISO_LOCAL_DATE);
+        } catch (DateTimeParseException e) {
+            throw new FechaFormatoInvalidoException(fecha);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.playko.zoologico.controller;
 
 
 import com.playko.zoologico.dto.request.EspecieRequestDto;
+import com.playko.zoologico.dto.response.AnimalesPorEspeciePaginaResponseDto;
 import com.playko.zoologico.dto.response.AnimalesPorEspecieResponseDto;
 import com.playko.zoologico.dto.response.EspecieResponseDto;
 import com.playko.zoologico.service.IEspecieService;
@@ -22,6 +23,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Collections;
@@ -103,17 +105,35 @@ public class EspecieRestController {
         return ResponseEntity.ok(Collections.singletonMap(RESPONSE_MESSAGE_KEY, ESPECIE_DELETED_MESSAGE));
     }
 
-    @Operation(summary = "Obtener la cantidad de animales por especie")
+    @Operation(summary = "Obtener la cantidad de animales por especie, opcionalmente ordenada (NOMBRE, POBLACION_DESC, POBLACION_ASC) y limitada a las primeras")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cantidad de animales por especie obtenida correctamente",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = AnimalesPorEspecieResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Orden inválido"),
             @ApiResponse(responseCode = "404", description = NO_DATA_FOUND_MESSAGE,
                     content = @Content(mediaType = "application/json", schema = @Schema(ref = "#/components/schemas/Error")))
     })
     @GetMapping("/indicador/animalesPorEspecie")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
-    public ResponseEntity<List<AnimalesPorEspecieResponseDto>> obtenerCantidadAnimalesPorEspecie() {
-        return ResponseEntity.ok(especieService.obtenerCantidadAnimalesPorEspecie());
+    public ResponseEntity<List<AnimalesPorEspecieResponseDto>> obtenerCantidadAnimalesPorEspecie(@RequestParam(required = false) String orden,
+                                                                                                 @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(especieService.obtenerCantidadAnimalesPorEspecie(orden, limite));
+    }
+
+    @Operation(summary = "Obtener una página de la cantidad de animales por especie")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página obtenida correctamente",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AnimalesPorEspeciePaginaResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Orden inválido"),
+            @ApiResponse(responseCode = "404", description = NO_DATA_FOUND_MESSAGE,
+                    content = @Content(mediaType = "application/json", schema = @Schema(ref = "#/components/schemas/Error")))
+    })
+    @GetMapping("/indicador/animalesPorEspecie/pagina")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public ResponseEntity<AnimalesPorEspeciePaginaResponseDto> obtenerCantidadAnimalesPorEspeciePaginado(@RequestParam(required = false) Integer pagina,
+                                                                                                         @RequestParam(required = false) Integer tamano,
+                                                                                                         @RequestParam(required = false) String orden) {
+        return ResponseEntity.ok(especieService.obtenerCantidadAnimalesPorEspeciePaginado(pagina, tamano, orden));
     }
 
 }
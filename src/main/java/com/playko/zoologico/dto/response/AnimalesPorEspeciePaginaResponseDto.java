@@ -0,0 +1,20 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimalesPorEspeciePaginaResponseDto {
+    private List<AnimalesPorEspecieResponseDto> especies;
+    private int pagina;
+    private int tamano;
+    private long totalEspecies;
+    private int totalPaginas;
+}
@@ -0,0 +1,19 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BusquedaDifusaResultadoDto {
+    private String tipoResultado;
+    private String zonaNombre;
+    private String especieNombre;
+    private String animalNombre;
+    private String terminoCoincidente;
+    private int distancia;
+}
@@ -0,0 +1,19 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BusquedaFacetadaResponseDto {
+    private List<BusquedaResultadoDto> resultados;
+    private long total;
+    private List<FacetaDto> conteoPorTipo;
+    private List<FacetaDto> conteoPorZona;
+}
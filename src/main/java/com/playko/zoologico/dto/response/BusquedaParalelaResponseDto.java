@@ -0,0 +1,17 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BusquedaParalelaResponseDto {
+    private List<BusquedaResultadoDto> resultados;
+    private List<FuenteIncompletaDto> fuentesIncompletas;
+}
@@ -0,0 +1,20 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheBusquedaEstadisticasDto {
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+    private int entradas;
+    private long pesoActual;
+    private long pesoMaximo;
+}
@@ -0,0 +1,22 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComentarioMuroResponseDto {
+    private Long id;
+    private String contenido;
+    private String fecha;
+    private String autorNombre;
+    /** Total de respuestas directas, aunque {@code respuestas} traiga solo una vista previa. */
+    private long cantidadRespuestas;
+    private List<ComentarioMuroResponseDto> respuestas;
+}
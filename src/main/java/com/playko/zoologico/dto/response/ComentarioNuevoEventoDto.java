@@ -0,0 +1,19 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ComentarioNuevoEventoDto {
+    private Long id;
+    /** Nulo para comentarios raíz; el cliente lo usa para ubicar la respuesta en el muro que ya tiene. */
+    private Long padreId;
+    private String contenido;
+    private String fecha;
+    private String autorNombre;
+}
@@ -0,0 +1,17 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class HiloResumenResponseDto {
+    private Long comentarioId;
+    private long respuestas;
+    /** Niveles de respuestas bajo el comentario; 0 si no tiene respuestas. */
+    private int profundidad;
+}
@@ -0,0 +1,23 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngestaComentariosEstadisticasDto {
+    private boolean habilitada;
+    private long lotes;
+    private long comentarios;
+    private long fallidos;
+    private int pendientes;
+    private double tamanoLotePromedio;
+    private int tamanoLoteMaximo;
+    /** Tiempo desde que el comentario entra a la cola hasta que empieza a escribirse su lote. */
+    private double esperaColaPromedioMs;
+    private double esperaColaMaximaMs;
+}
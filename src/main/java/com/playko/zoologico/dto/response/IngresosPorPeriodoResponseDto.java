@@ -0,0 +1,18 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngresosPorPeriodoResponseDto {
+    private LocalDate periodo;
+    private String grupo;
+    private long cantidadAnimales;
+}
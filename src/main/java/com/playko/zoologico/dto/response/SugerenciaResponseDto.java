@@ -0,0 +1,16 @@
+package com.playko.zoologico.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SugerenciaResponseDto {
+    private String tipo;
+    private Long id;
+    private String nombre;
+}
@@ -1,5 +1,6 @@
 package com.playko.zoologico.entity;
 
+import com.playko.zoologico.service.comentario.RutaComentario;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -7,6 +8,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -20,7 +22,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "comentarios")
+@Table(name = "comentarios", indexes = {
+        @Index(name = "idx_comentarios_ruta", columnList = "ruta"),
+        @Index(name = "idx_comentarios_animal_fecha", columnList = "animal_id, fecha, id"),
+        @Index(name = "idx_comentarios_padre_fecha", columnList = "padre_id, fecha, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -49,6 +55,21 @@ public class Comentario {
     @JoinColumn(name = "padre_id")
     private Comentario padre;
 
+    /**
+     * Ruta materializada desde la raíz del hilo, ver {@code RutaComentario}. Nula solo en filas
+     * anteriores a la columna que aún no completó el backfill.
+     */
+    @Column(length = RutaComentario.LONGITUD_MAXIMA)
+    private String ruta;
+
+    private Integer profundidad;
+
+    /**
+     * Solo en comentarios raíz: si tienen al menos una respuesta directa. Lo mantiene
+     * {@code ContadoresComentarios}; nulo en filas que la conciliación aún no revisó.
+     */
+    private Boolean conRespuestas;
+
     @OneToMany(mappedBy = "padre", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comentario> respuestas;
 }
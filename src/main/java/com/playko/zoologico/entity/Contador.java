@@ -0,0 +1,30 @@
+package com.playko.zoologico.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Contador persistente identificado por clave. Se modifica con incrementos atómicos dentro de la misma
+ * transacción que el cambio que cuenta, así nunca refleja datos sin confirmar.
+ */
+@Entity
+@Table(name = "contadores")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class Contador {
+
+    @Id
+    @Column(length = 100)
+    private String clave;
+
+    @Column(nullable = false)
+    private long valor;
+}
@@ -0,0 +1,37 @@
+package com.playko.zoologico.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Fila del indicador de animales por especie, con el mismo id que la especie. Guarda la zona para poder
+ * sumar cada animal también a su zona sin consultar las tablas de origen.
+ */
+@Entity
+@Table(name = "indicadores_especie", indexes = {
+        @Index(name = "idx_indicadores_especie_cantidad", columnList = "cantidadAnimales, nombre")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class IndicadorEspecie {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    private Long zonaId;
+
+    @Column(nullable = false)
+    private long cantidadAnimales;
+}
@@ -0,0 +1,32 @@
+package com.playko.zoologico.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Fila del indicador de animales por zona, con el mismo id que la zona. La mantienen los eventos de
+ * zonas, especies y animales en la misma transacción que el cambio, ver {@code IndicadoresAnimales}.
+ */
+@Entity
+@Table(name = "indicadores_zona")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class IndicadorZona {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    @Column(nullable = false)
+    private long cantidadAnimales;
+}
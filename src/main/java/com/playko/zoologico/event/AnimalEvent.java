@@ -0,0 +1,18 @@
+package com.playko.zoologico.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class AnimalEvent {
+    private TipoCambio tipoCambio;
+    private Long id;
+    private String nombre;
+    private String nombreAnterior;
+    private Long especieId;
+    private Long especieIdAnterior;
+    private LocalDateTime fechaIngreso;
+}
@@ -0,0 +1,18 @@
+package com.playko.zoologico.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ComentarioEvent {
+    private TipoCambio tipoCambio;
+    private Long id;
+    private String contenido;
+    private LocalDateTime fecha;
+    private Long animalId;
+    private Long padreId;
+    private String autorNombre;
+}
@@ -0,0 +1,15 @@
+package com.playko.zoologico.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EspecieEvent {
+    private TipoCambio tipoCambio;
+    private Long id;
+    private String nombre;
+    private String nombreAnterior;
+    private Long zonaId;
+    private Long zonaIdAnterior;
+}
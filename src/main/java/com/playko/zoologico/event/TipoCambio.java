@@ -0,0 +1,7 @@
+package com.playko.zoologico.event;
+
+public enum TipoCambio {
+    CREADO,
+    EDITADO,
+    ELIMINADO
+}
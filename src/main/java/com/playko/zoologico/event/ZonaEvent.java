@@ -0,0 +1,13 @@
+package com.playko.zoologico.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ZonaEvent {
+    private TipoCambio tipoCambio;
+    private Long id;
+    private String nombre;
+    private String nombreAnterior;
+}
@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class AgrupacionInvalidaException extends RuntimeException{
+    public AgrupacionInvalidaException() {
+        super();
+    }
+}
@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class CursorInvalidoException extends RuntimeException{
+    public CursorInvalidoException() {
+        super();
+    }
+}
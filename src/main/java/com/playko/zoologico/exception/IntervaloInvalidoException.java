@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class IntervaloInvalidoException extends RuntimeException{
+    public IntervaloInvalidoException() {
+        super();
+    }
+}
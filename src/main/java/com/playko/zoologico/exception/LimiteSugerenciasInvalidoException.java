@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class LimiteSugerenciasInvalidoException extends RuntimeException{
+    public LimiteSugerenciasInvalidoException() {
+        super();
+    }
+}
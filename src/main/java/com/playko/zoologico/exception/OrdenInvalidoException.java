@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class OrdenInvalidoException extends RuntimeException{
+    public OrdenInvalidoException() {
+        super();
+    }
+}
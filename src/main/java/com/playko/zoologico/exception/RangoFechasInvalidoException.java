@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class RangoFechasInvalidoException extends RuntimeException{
+    public RangoFechasInvalidoException() {
+        super();
+    }
+}
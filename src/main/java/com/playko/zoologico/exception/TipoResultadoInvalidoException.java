@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception;
+
+public class TipoResultadoInvalidoException extends RuntimeException{
+    public TipoResultadoInvalidoException() {
+        super();
+    }
+}
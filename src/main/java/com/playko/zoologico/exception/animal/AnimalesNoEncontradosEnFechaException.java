@@ -6,4 +6,8 @@ public class AnimalesNoEncontradosEnFechaException extends RuntimeException {
     public AnimalesNoEncontradosEnFechaException(LocalDate fecha) {
         super("No se encontraron animales registrados en la fecha: " + fecha);
     }
+
+    public AnimalesNoEncontradosEnFechaException(LocalDate desde, LocalDate hasta) {
+        super("No se encontraron animales registrados entre " + desde + " y " + hasta);
+    }
 }
\ No newline at end of file
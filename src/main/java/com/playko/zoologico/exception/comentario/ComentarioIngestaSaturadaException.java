@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception.comentario;
+
+public class ComentarioIngestaSaturadaException extends RuntimeException{
+    public ComentarioIngestaSaturadaException() {
+        super();
+    }
+}
@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception.comentario;
+
+public class ComentarioNotFoundException extends RuntimeException{
+    public ComentarioNotFoundException() {
+        super();
+    }
+}
@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception.comentario;
+
+public class ComentarioProfundidadMaximaException extends RuntimeException{
+    public ComentarioProfundidadMaximaException() {
+        super();
+    }
+}
@@ -0,0 +1,7 @@
+package com.playko.zoologico.exception.comentario;
+
+public class ComentarioRutaPendienteException extends RuntimeException{
+    public ComentarioRutaPendienteException() {
+        super();
+    }
+}
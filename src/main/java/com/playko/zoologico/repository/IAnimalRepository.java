@@ -3,7 +3,12 @@ package com.playko.zoologico.repository;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Especie;
 import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.repository.projection.AnimalBusquedaProjection;
+import com.playko.zoologico.repository.projection.AnimalIndiceProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -15,7 +20,23 @@ public interface IAnimalRepository extends JpaRepository<Animal, Long> {
     Optional<Animal> findByNombreIgnoreCase(String nombre);
     boolean existsByEspecie(Especie especie);
     boolean existsByEspecie_Zona(Zona zona);
-    List<Animal> findByFechaIngresoBetween(LocalDateTime inicio, LocalDateTime fin);
+    boolean existsByFechaIngresoGreaterThanEqualAndFechaIngresoLessThan(LocalDateTime desde, LocalDateTime hasta);
+
+    @Query("select a.id as id, a.nombre as nombre, a.especie.id as especieId from Animal a order by a.id")
+    List<AnimalIndiceProjection> findAllParaIndice();
+
+    @Query("select a.id as id, z.id as zonaId, e.id as especieId, z.nombre as zonaNombre, e.nombre as especieNombre, " +
+            "a.nombre as animalNombre " +
+            "from Animal a join a.especie e join e.zona z " +
+            "where lower(a.nombre) like :patron escape '\\' order by a.id")
+    List<AnimalBusquedaProjection> findParaBusqueda(@Param("patron") String patron);
+
+    @Query("select a.id as id, z.id as zonaId, e.id as especieId, z.nombre as zonaNombre, e.nombre as especieNombre, " +
+            "a.nombre as animalNombre " +
+            "from Animal a join a.especie e join e.zona z " +
+            "where lower(a.nombre) like :patron escape '\\' and a.id > :id order by a.id")
+    List<AnimalBusquedaProjection> findParaBusquedaDespuesDe(@Param("patron") String patron, @Param("id") long id,
+                                                             Pageable pageable);
 
 
 }
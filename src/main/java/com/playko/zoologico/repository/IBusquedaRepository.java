@@ -0,0 +1,67 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.repository.projection.BusquedaResultadoProjection;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IBusquedaRepository extends org.springframework.data.repository.Repository<Zona, Long> {
+
+    String BUSQUEDA_UNION = """
+            select 0 as orden, z.id as id, 'ZONA' as tipo_resultado,
+                   z.nombre as zona_nombre, cast(null as varchar) as especie_nombre, cast(null as varchar) as animal_nombre,
+                   cast(null as varchar) as comentario_contenido, cast(null as varchar) as respuesta_contenido
+              from zonas z
+             where z.nombre ilike :patron
+            union all
+            select 1, e.id, 'ESPECIE', z.nombre, e.nombre, null, null, null
+              from especies e
+              join zonas z on z.id = e.zona_id
+             where e.nombre ilike :patron
+            union all
+            select 2, a.id, 'ANIMAL', z.nombre, e.nombre, a.nombre, null, null
+              from animales a
+              join especies e on e.id = a.especie_id
+              join zonas z on z.id = e.zona_id
+             where a.nombre ilike :patron
+            union all
+            select 3, c.id,
+                   case when c.padre_id is null then 'COMENTARIO' else 'RESPUESTA' end,
+                   z.nombre, e.nombre, a.nombre,
+                   case when c.padre_id is null then c.contenido else p.contenido end,
+                   case when c.padre_id is null then null else c.contenido end
+              from comentarios c
+              left join comentarios p on p.id = c.padre_id
+              join animales a on a.id = c.animal_id
+              join especies e on e.id = a.especie_id
+              join zonas z on z.id = e.zona_id
+             where c.contenido ilike :patron
+            """;
+
+    String COLUMNAS_RESULTADO = """
+            select r.orden as "orden", r.id as "id", r.tipo_resultado as "tipoResultado", r.zona_nombre as "zonaNombre",
+                   r.especie_nombre as "especieNombre", r.animal_nombre as "animalNombre",
+                   r.comentario_contenido as "comentarioContenido", r.respuesta_contenido as "respuestaContenido"
+              from (""";
+
+    @Query(nativeQuery = true, value = COLUMNAS_RESULTADO + BUSQUEDA_UNION + """
+            ) r
+             order by r.orden, r.id
+            """)
+    List<BusquedaResultadoProjection> buscarPorPatron(@Param("patron") String patron);
+
+    @Query(nativeQuery = true, value = COLUMNAS_RESULTADO + BUSQUEDA_UNION + """
+            ) r
+             where (r.orden, r.id) > (:orden, :id)
+             order by r.orden, r.id
+             limit :limite
+            """)
+    List<BusquedaResultadoProjection> buscarPaginaPorPatron(@Param("patron") String patron,
+                                                            @Param("orden") int orden,
+                                                            @Param("id") long id,
+                                                            @Param("limite") int limite);
+}
@@ -1,15 +1,205 @@
 package com.playko.zoologico.repository;
 
-import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.repository.projection.ComentarioBusquedaProjection;
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import com.playko.zoologico.repository.projection.ComentarioMuroProjection;
+import com.playko.zoologico.repository.projection.ConteoRespuestasProjection;
+import com.playko.zoologico.repository.projection.HiloResumenProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface IComentarioRepository extends JpaRepository<Comentario, Long> {
-    List<Comentario> findByAnimalAndPadreIsNullOrderByFechaAsc(Animal animal);
-    boolean existsByAnimal_Id(Long animalId);
-    List<Comentario> findByPadreIsNull();
+    /**
+     * Todos los comentarios y respuestas de un animal con el nombre de su autor, en orden cronológico,
+     * para armar el muro completo en memoria con una sola consulta.
+     */
+    @Query("select c.id as id, c.contenido as contenido, c.fecha as fecha, u.nombre as autorNombre, p.id as padreId " +
+            "from Comentario c join c.autor u left join c.padre p " +
+            "where c.animal.id = :animalId order by c.fecha, c.id")
+    List<ComentarioMuroProjection> findMuroPorAnimalId(@Param("animalId") Long animalId);
+
+    /**
+     * Como {@link #findMuroPorAnimalId} pero solo en [desde, hasta): con la tabla particionada por fecha,
+     * PostgreSQL descarta las particiones fuera del rango.
+     */
+    @Query("select c.id as id, c.contenido as contenido, c.fecha as fecha, u.nombre as autorNombre, p.id as padreId " +
+            "from Comentario c join c.autor u left join c.padre p " +
+            "where c.animal.id = :animalId and c.fecha >= :desde and c.fecha < :hasta order by c.fecha, c.id")
+    List<ComentarioMuroProjection> findMuroPorAnimalIdEntre(@Param("animalId") Long animalId,
+                                                           @Param("desde") LocalDateTime desde,
+                                                           @Param("hasta") LocalDateTime hasta);
+
+    // Muro paginado por (fecha, id): primera página y páginas siguientes al cursor
+
+    String COLUMNAS_MURO = "select c.id as id, c.contenido as contenido, c.fecha as fecha, u.nombre as autorNombre, " +
+            "p.id as padreId from Comentario c join c.autor u left join c.padre p ";
+
+    String DESPUES_DEL_CURSOR = "and (c.fecha > :fecha or (c.fecha = :fecha and c.id > :id)) ";
+
+    @Query(COLUMNAS_MURO + "where c.animal.id = :animalId and p is null order by c.fecha, c.id")
+    List<ComentarioMuroProjection> findRaicesMuro(@Param("animalId") Long animalId, Pageable pageable);
+
+    @Query(COLUMNAS_MURO + "where c.animal.id = :animalId and p is null " + DESPUES_DEL_CURSOR + "order by c.fecha, c.id")
+    List<ComentarioMuroProjection> findRaicesMuroDespuesDe(@Param("animalId") Long animalId,
+                                                           @Param("fecha") LocalDateTime fecha,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    @Query(COLUMNAS_MURO + "where p.id = :padreId order by c.fecha, c.id")
+    List<ComentarioMuroProjection> findRespuestas(@Param("padreId") Long padreId, Pageable pageable);
+
+    @Query(COLUMNAS_MURO + "where p.id = :padreId " + DESPUES_DEL_CURSOR + "order by c.fecha, c.id")
+    List<ComentarioMuroProjection> findRespuestasDespuesDe(@Param("padreId") Long padreId,
+                                                           @Param("fecha") LocalDateTime fecha,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    /**
+     * Las primeras {@code limite} respuestas de cada padre, en una sola consulta para todos los padres.
+     */
+    @Query(nativeQuery = true, value = """
+            select r.id as "id", r.contenido as "contenido", r.fecha as "fecha",
+                   r.autor_nombre as "autorNombre", r.padre_id as "padreId"
+              from (select c.id, c.contenido, c.fecha, u.nombre as autor_nombre, c.padre_id,
+                           row_number() over (partition by c.padre_id order by c.fecha, c.id) as posicion
+                      from comentarios c
+                      join usuarios u on u.id = c.autor_id
+                     where c.padre_id in (:padres)) r
+             where r.posicion <= :limite
+             order by r.padre_id, r.fecha, r.id
+            """)
+    List<ComentarioMuroProjection> findRespuestasPrevias(@Param("padres") Collection<Long> padres,
+                                                         @Param("limite") int limite);
+
+    @Query("select p.id as padreId, count(c) as cantidad from Comentario c join c.padre p " +
+            "where p.id in :padres group by p.id")
+    List<ConteoRespuestasProjection> contarRespuestas(@Param("padres") Collection<Long> padres);
+
+    // Hilos por ruta materializada: [desde, hasta) cubre un comentario y todas sus respuestas
+
+    @Query("select c.id as id, c.contenido as contenido, c.fecha as fecha, u.nombre as autorNombre, p.id as padreId " +
+            "from Comentario c join c.autor u left join c.padre p " +
+            "where c.ruta >= :desde and c.ruta < :hasta order by c.ruta")
+    List<ComentarioMuroProjection> findHilo(@Param("desde") String desde, @Param("hasta") String hasta);
+
+    @Query("select count(c) as cantidad, max(c.profundidad) as profundidadMaxima " +
+            "from Comentario c where c.ruta >= :desde and c.ruta < :hasta")
+    HiloResumenProjection resumirHilo(@Param("desde") String desde, @Param("hasta") String hasta);
+
+    @Query("select c.id as id, c.contenido as contenido, c.animal.id as animalId, p.id as padreId " +
+            "from Comentario c left join c.padre p where c.ruta >= :desde and c.ruta < :hasta order by c.ruta")
+    List<ComentarioIndiceProjection> findParaIndiceEnHilo(@Param("desde") String desde, @Param("hasta") String hasta);
+
+    /**
+     * Si alguna respuesta del hilo aún no tiene ruta. Basta mirar los hijos directos de los comentarios con
+     * ruta: el backfill completa por niveles, así que la primera fila sin ruta de una rama siempre cuelga
+     * de una que ya la tiene.
+     */
+    @Query("select case when count(c) > 0 then true else false end " +
+            "from Comentario c join c.padre p where c.ruta is null and p.ruta >= :desde and p.ruta < :hasta")
+    boolean hayRespuestasSinRutaEnHilo(@Param("desde") String desde, @Param("hasta") String hasta);
+
+    /**
+     * Suelta las respuestas del hilo de sus padres antes de borrarlo, porque no todas las bases de datos
+     * difieren la revisión de la llave foránea al final de la sentencia.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update Comentario c set c.padre = null where c.ruta > :desde and c.ruta < :hasta")
+    int desvincularHilo(@Param("desde") String desde, @Param("hasta") String hasta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comentario c where c.ruta >= :desde and c.ruta < :hasta")
+    int deleteHilo(@Param("desde") String desde, @Param("hasta") String hasta);
+
+    /**
+     * Marca la raíz como comentada solo si aún no lo estaba: con respuestas concurrentes, una sola
+     * actualización afecta la fila y por eso el contador se incrementa una única vez.
+     */
+    @Modifying
+    @Query("update Comentario c set c.conRespuestas = true " +
+            "where c.id = :id and c.padre is null and (c.conRespuestas is null or c.conRespuestas = false)")
+    int marcarConRespuestas(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("update Comentario c set c.conRespuestas = false where c.id = :id and c.conRespuestas = true " +
+            "and not exists (select r.id from Comentario r where r.padre.id = :id)")
+    int desmarcarSinRespuestas(@Param("id") Long id);
+
+    @Query("select c.id from Comentario c where c.padre is null and c.id > :desde order by c.id")
+    List<Long> findIdsRaicesDesde(@Param("desde") Long desde, Pageable pageable);
+
+    @Modifying
+    @Query("update Comentario c set c.conRespuestas = true " +
+            "where c.padre is null and c.id between :desde and :hasta " +
+            "and (c.conRespuestas is null or c.conRespuestas = false) " +
+            "and exists (select r.id from Comentario r where r.padre.id = c.id)")
+    int marcarRaicesConRespuestas(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    @Modifying
+    @Query("update Comentario c set c.conRespuestas = false " +
+            "where c.padre is null and c.id between :desde and :hasta and c.conRespuestas = true " +
+            "and not exists (select r.id from Comentario r where r.padre.id = c.id)")
+    int desmarcarRaicesSinRespuestas(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    @Modifying
+    @Query("update Comentario c set c.conRespuestas = false " +
+            "where c.padre is null and c.id between :desde and :hasta and c.conRespuestas is null")
+    int inicializarRaicesSinRespuestas(@Param("desde") Long desde, @Param("hasta") Long hasta);
+
+    @Query("select count(c) from Comentario c where c.padre is null")
+    long countRaices();
+
+    @Query("select count(c) from Comentario c where c.padre is null and c.conRespuestas = true")
+    long countRaicesConRespuestas();
+
+    /**
+     * Filas sin ruta cuyo padre ya la tiene (o que son raíz), es decir, las que el backfill puede completar ya.
+     */
+    @Query("select c from Comentario c left join fetch c.padre p " +
+            "where c.ruta is null and (p is null or p.ruta is not null) order by c.id")
+    List<Comentario> findPendientesDeRuta(Pageable pageable);
+
+    @Query("select c.id as id, c.contenido as contenido, c.animal.id as animalId, p.id as padreId " +
+            "from Comentario c left join c.padre p order by c.id")
+    List<ComentarioIndiceProjection> findAllParaIndice();
+
+    @Query("select c.id as id, c.contenido as contenido, c.animal.id as animalId, p.id as padreId " +
+            "from Comentario c left join c.padre p where c.id > :id order by c.id")
+    List<ComentarioIndiceProjection> findParaIndicePosterioresA(@Param("id") Long id);
+
+    @Query("select c.id as id, c.contenido as contenido, c.animal.id as animalId, p.id as padreId " +
+            "from Comentario c left join c.padre p where c.id in :ids order by c.id")
+    List<ComentarioIndiceProjection> findParaIndicePorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select c.id from Comentario c order by c.id")
+    List<Long> findAllIdsOrdenados();
+
+    /**
+     * Comentarios y respuestas cuyo contenido coincide, con los nombres ya unidos. La respuesta comparte
+     * el animal de su padre, así que basta unir el animal del propio comentario.
+     */
+    @Query("select c.id as id, z.id as zonaId, e.id as especieId, z.nombre as zonaNombre, e.nombre as especieNombre, " +
+            "a.nombre as animalNombre, " +
+            "c.contenido as contenido, p.contenido as padreContenido " +
+            "from Comentario c left join c.padre p join c.animal a join a.especie e join e.zona z " +
+            "where lower(c.contenido) like :patron escape '\\' order by c.id")
+    List<ComentarioBusquedaProjection> findParaBusqueda(@Param("patron") String patron);
+
+    @Query("select c.id as id, z.id as zonaId, e.id as especieId, z.nombre as zonaNombre, e.nombre as especieNombre, " +
+            "a.nombre as animalNombre, " +
+            "c.contenido as contenido, p.contenido as padreContenido " +
+            "from Comentario c left join c.padre p join c.animal a join a.especie e join e.zona z " +
+            "where lower(c.contenido) like :patron escape '\\' and c.id > :id order by c.id")
+    List<ComentarioBusquedaProjection> findParaBusquedaDespuesDe(@Param("patron") String patron, @Param("id") long id,
+                                                                 Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Contador;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IContadorRepository extends JpaRepository<Contador, String> {
+
+    @Modifying
+    @Query("update Contador c set c.valor = c.valor + :delta where c.clave = :clave")
+    int incrementar(@Param("clave") String clave, @Param("delta") long delta);
+
+    @Query("select c.valor from Contador c where c.clave = :clave")
+    Optional<Long> findValor(@Param("clave") String clave);
+}
@@ -1,10 +1,19 @@
 package com.playko.zoologico.repository;
 
 import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.repository.projection.AnimalesPorEspecieProjection;
+import com.playko.zoologico.repository.projection.EspecieBusquedaProjection;
+import com.playko.zoologico.repository.projection.EspecieIndiceProjection;
 import org.hibernate.boot.model.source.spi.EmbeddableSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -12,4 +21,29 @@ import java.util.Optional;
 public interface IEspecieRepository extends JpaRepository<Especie, Long> {
     boolean existsByNombreIgnoreCase(String nombre);
     Optional<Especie> findByNombreIgnoreCase(String nombre);
+
+    /**
+     * Cantidad de animales de cada especie agrupada en la base de datos; las especies sin animales salen con
+     * cero. Se puede ordenar por {@code cantidadAnimales} además de por los atributos de la especie.
+     */
+    String ANIMALES_POR_ESPECIE = "select e.id as id, e.nombre as especie, e.zona.id as zonaId, " +
+            "count(a.id) as cantidadAnimales from Especie e left join e.animales a group by e.id, e.nombre, e.zona.id";
+
+    @Query(ANIMALES_POR_ESPECIE)
+    List<AnimalesPorEspecieProjection> contarAnimalesPorEspecie(Sort sort);
+
+    @Query(value = ANIMALES_POR_ESPECIE, countQuery = "select count(e) from Especie e")
+    Page<AnimalesPorEspecieProjection> contarAnimalesPorEspecie(Pageable pageable);
+
+    @Query("select e.id as id, e.nombre as nombre, e.zona.id as zonaId from Especie e order by e.id")
+    List<EspecieIndiceProjection> findAllParaIndice();
+
+    @Query("select e.id as id, z.id as zonaId, z.nombre as zonaNombre, e.nombre as especieNombre " +
+            "from Especie e join e.zona z where lower(e.nombre) like :patron escape '\\' order by e.id")
+    List<EspecieBusquedaProjection> findParaBusqueda(@Param("patron") String patron);
+
+    @Query("select e.id as id, z.id as zonaId, z.nombre as zonaNombre, e.nombre as especieNombre " +
+            "from Especie e join e.zona z where lower(e.nombre) like :patron escape '\\' and e.id > :id order by e.id")
+    List<EspecieBusquedaProjection> findParaBusquedaDespuesDe(@Param("patron") String patron, @Param("id") long id,
+                                                              Pageable pageable);
 }
@@ -0,0 +1,40 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.IndicadorEspecie;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IIndicadorEspecieRepository extends JpaRepository<IndicadorEspecie, Long> {
+
+    @Modifying
+    @Query("update IndicadorEspecie e set e.cantidadAnimales = e.cantidadAnimales + :delta where e.id = :id")
+    int sumarAnimales(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update IndicadorEspecie e set e.nombre = :nombre where e.id = :id")
+    int renombrar(@Param("id") Long id, @Param("nombre") String nombre);
+
+    @Modifying
+    @Query("delete from IndicadorEspecie e where e.zonaId = :zonaId")
+    int deleteByZonaId(@Param("zonaId") Long zonaId);
+
+    /**
+     * Bloquea la fila: los animales que se suman a la especie esperan mientras su cantidad se traslada de zona.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from IndicadorEspecie e where e.id = :id")
+    Optional<IndicadorEspecie> findParaActualizar(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from IndicadorEspecie e order by e.id")
+    List<IndicadorEspecie> findAllParaActualizar();
+}
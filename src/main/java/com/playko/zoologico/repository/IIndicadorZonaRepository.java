@@ -0,0 +1,36 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.IndicadorZona;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IIndicadorZonaRepository extends JpaRepository<IndicadorZona, Long> {
+
+    @Modifying
+    @Query("update IndicadorZona z set z.cantidadAnimales = z.cantidadAnimales + :delta where z.id = :id")
+    int sumarAnimales(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Suma a la zona en la que el indicador tiene registrada la especie, en una sola sentencia.
+     */
+    @Modifying
+    @Query("update IndicadorZona z set z.cantidadAnimales = z.cantidadAnimales + :delta " +
+            "where z.id = (select e.zonaId from IndicadorEspecie e where e.id = :especieId)")
+    int sumarAnimalesDeEspecie(@Param("especieId") Long especieId, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update IndicadorZona z set z.nombre = :nombre where z.id = :id")
+    int renombrar(@Param("id") Long id, @Param("nombre") String nombre);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select z from IndicadorZona z order by z.id")
+    List<IndicadorZona> findAllParaActualizar();
+}
@@ -1,13 +1,38 @@
 package com.playko.zoologico.repository;
 
 import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.repository.projection.CantidadAnimalesPorZonaProjection;
+import com.playko.zoologico.repository.projection.ZonaIndiceProjection;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IZonaRepository extends JpaRepository<Zona, Long> {
     boolean existsByNombreIgnoreCase(String nombre);
     Optional<Zona> findByNombreIgnoreCase(String nombre);
+
+    /**
+     * Cantidad de animales de cada zona en una sola consulta agrupada, sin cargar especies ni animales.
+     * Las zonas sin especies o sin animales salen con cero.
+     */
+    @Query("select z.id as id, z.nombre as nombreZona, count(a.id) as cantidadAnimales " +
+            "from Zona z left join z.especies e left join e.animales a group by z.id, z.nombre order by z.id")
+    List<CantidadAnimalesPorZonaProjection> contarAnimalesPorZona();
+
+    @Query("select z.id as id, z.nombre as nombre from Zona z order by z.id")
+    List<ZonaIndiceProjection> findAllParaIndice();
+
+    @Query("select z.nombre from Zona z where lower(z.nombre) like :patron escape '\\' order by z.id")
+    List<String> findNombresParaBusqueda(@Param("patron") String patron);
+
+    @Query("select z.id as id, z.nombre as nombre from Zona z " +
+            "where lower(z.nombre) like :patron escape '\\' and z.id > :id order by z.id")
+    List<ZonaIndiceProjection> findParaBusquedaDespuesDe(@Param("patron") String patron, @Param("id") long id,
+                                                         Pageable pageable);
 }
@@ -0,0 +1,10 @@
+package com.playko.zoologico.repository.projection;
+
+public interface AnimalBusquedaProjection {
+    Long getId();
+    Long getZonaId();
+    Long getEspecieId();
+    String getZonaNombre();
+    String getEspecieNombre();
+    String getAnimalNombre();
+}
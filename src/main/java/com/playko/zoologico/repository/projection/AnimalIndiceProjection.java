@@ -0,0 +1,7 @@
+package com.playko.zoologico.repository.projection;
+
+public interface AnimalIndiceProjection {
+    Long getId();
+    String getNombre();
+    Long getEspecieId();
+}
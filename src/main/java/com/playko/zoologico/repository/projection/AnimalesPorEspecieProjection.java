@@ -0,0 +1,8 @@
+package com.playko.zoologico.repository.projection;
+
+public interface AnimalesPorEspecieProjection {
+    Long getId();
+    String getEspecie();
+    Long getZonaId();
+    Long getCantidadAnimales();
+}
@@ -0,0 +1,12 @@
+package com.playko.zoologico.repository.projection;
+
+public interface BusquedaResultadoProjection {
+    Integer getOrden();
+    Long getId();
+    String getTipoResultado();
+    String getZonaNombre();
+    String getEspecieNombre();
+    String getAnimalNombre();
+    String getComentarioContenido();
+    String getRespuestaContenido();
+}
@@ -0,0 +1,7 @@
+package com.playko.zoologico.repository.projection;
+
+public interface CantidadAnimalesPorZonaProjection {
+    Long getId();
+    String getNombreZona();
+    Long getCantidadAnimales();
+}
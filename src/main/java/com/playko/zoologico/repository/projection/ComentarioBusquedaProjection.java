@@ -0,0 +1,12 @@
+package com.playko.zoologico.repository.projection;
+
+public interface ComentarioBusquedaProjection {
+    Long getId();
+    Long getZonaId();
+    Long getEspecieId();
+    String getZonaNombre();
+    String getEspecieNombre();
+    String getAnimalNombre();
+    String getContenido();
+    String getPadreContenido();
+}
@@ -0,0 +1,8 @@
+package com.playko.zoologico.repository.projection;
+
+public interface ComentarioIndiceProjection {
+    Long getId();
+    String getContenido();
+    Long getAnimalId();
+    Long getPadreId();
+}
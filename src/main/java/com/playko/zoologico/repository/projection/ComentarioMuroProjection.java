@@ -0,0 +1,11 @@
+package com.playko.zoologico.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface ComentarioMuroProjection {
+    Long getId();
+    String getContenido();
+    LocalDateTime getFecha();
+    String getAutorNombre();
+    Long getPadreId();
+}
@@ -0,0 +1,6 @@
+package com.playko.zoologico.repository.projection;
+
+public interface ConteoRespuestasProjection {
+    Long getPadreId();
+    Long getCantidad();
+}
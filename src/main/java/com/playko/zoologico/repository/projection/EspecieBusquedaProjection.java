@@ -0,0 +1,8 @@
+package com.playko.zoologico.repository.projection;
+
+public interface EspecieBusquedaProjection {
+    Long getId();
+    Long getZonaId();
+    String getZonaNombre();
+    String getEspecieNombre();
+}
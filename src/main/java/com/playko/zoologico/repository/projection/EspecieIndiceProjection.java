@@ -0,0 +1,7 @@
+package com.playko.zoologico.repository.projection;
+
+public interface EspecieIndiceProjection {
+    Long getId();
+    String getNombre();
+    Long getZonaId();
+}
@@ -0,0 +1,6 @@
+package com.playko.zoologico.repository.projection;
+
+public interface ZonaIndiceProjection {
+    Long getId();
+    String getNombre();
+}
@@ -1,8 +1,9 @@
 package com.playko.zoologico.service;
 
 import com.playko.zoologico.dto.request.AnimalRequestDto;
-import com.playko.zoologico.dto.response.AnimalRegistradoResponseDto;
 import com.playko.zoologico.dto.response.AnimalResponseDto;
+import com.playko.zoologico.dto.response.IngresosPorPeriodoResponseDto;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,5 +15,7 @@ public interface IAnimalService {
     void editarAnimal(Long id, AnimalRequestDto requestDto);
     void eliminarAnimal(Long id);
 
-    List<AnimalRegistradoResponseDto> obtenerAnimalesRegistradosEnFecha(LocalDate fecha);
+    StreamingResponseBody obtenerAnimalesRegistradosEntre(LocalDate desde, LocalDate hasta);
+    List<IngresosPorPeriodoResponseDto> obtenerHistogramaIngresos(LocalDate desde, LocalDate hasta, String intervalo,
+                                                                  String agrupacion);
 }
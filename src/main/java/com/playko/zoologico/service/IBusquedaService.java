@@ -1,9 +1,25 @@
 package com.playko.zoologico.service;
 
+import com.playko.zoologico.dto.response.BusquedaDifusaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaPaginaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaParalelaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaRanqueadaResultadoDto;
 import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.CacheBusquedaEstadisticasDto;
+import com.playko.zoologico.dto.response.SugerenciaResponseDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IBusquedaService {
     List<BusquedaResultadoDto> buscarPorPalabra(String palabra);
+    BusquedaPaginaResponseDto buscarPorPalabraPaginado(String palabra, String cursor, Integer limite);
+    void recorrerPorPalabra(String palabra, Consumer<BusquedaResultadoDto> consumidor);
+    BusquedaParalelaResponseDto buscarPorPalabraEnParalelo(String palabra);
+    CacheBusquedaEstadisticasDto obtenerEstadisticasCache();
+    List<SugerenciaResponseDto> autocompletar(String prefijo, Integer limite);
+    List<BusquedaDifusaResultadoDto> buscarDifuso(String palabra, Integer distancia);
+    List<BusquedaRanqueadaResultadoDto> buscarRanqueado(String palabra, Integer limite);
+    BusquedaFacetadaResponseDto buscarFacetado(String palabra, List<String> tipos, Long zonaId, Long especieId, Integer limite);
 }
@@ -1,13 +1,28 @@
 package com.playko.zoologico.service;
 
 import com.playko.zoologico.dto.request.ComentarioRequestDto;
+import com.playko.zoologico.dto.response.ComentarioPaginaResponseDto;
 import com.playko.zoologico.dto.response.ComentarioResponseDto;
+import com.playko.zoologico.dto.response.HiloResumenResponseDto;
+import com.playko.zoologico.dto.response.IngestaComentariosEstadisticasDto;
 import com.playko.zoologico.dto.response.PorcentajeComentariosConRespuestasDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface IComentarioService {
-    void agregarComentario(ComentarioRequestDto dto);
+    CompletableFuture<Long> agregarComentario(ComentarioRequestDto dto);
+    IngestaComentariosEstadisticasDto obtenerEstadisticasIngesta();
     List<ComentarioResponseDto> obtenerMuroDeAnimal(String animalName);
+    byte[] obtenerMuroDeAnimalSerializado(String animalName);
+    List<ComentarioResponseDto> obtenerMuroDeAnimalEntre(String animalName, LocalDate desde, LocalDate hasta);
+    ComentarioPaginaResponseDto obtenerMuroPaginado(String animalName, String cursor, Integer tamano, Integer profundidad);
+    ComentarioPaginaResponseDto obtenerRespuestas(Long comentarioId, String cursor, Integer tamano, Integer profundidad);
+    SseEmitter suscribirAlMuro(String animalName);
     PorcentajeComentariosConRespuestasDto obtenerPorcentajeComentariosConRespuestas();
+    ComentarioResponseDto obtenerHilo(Long comentarioId);
+    HiloResumenResponseDto resumirHilo(Long comentarioId);
+    void eliminarHilo(Long comentarioId);
 }
@@ -1,6 +1,7 @@
 package com.playko.zoologico.service;
 
 import com.playko.zoologico.dto.request.EspecieRequestDto;
+import com.playko.zoologico.dto.response.AnimalesPorEspeciePaginaResponseDto;
 import com.playko.zoologico.dto.response.AnimalesPorEspecieResponseDto;
 import com.playko.zoologico.dto.response.EspecieResponseDto;
 
@@ -13,5 +14,6 @@ public interface IEspecieService {
     void editarEspecie(Long id, EspecieRequestDto requestDto);
     void eliminarEspecie(Long id);
 
-    List<AnimalesPorEspecieResponseDto> obtenerCantidadAnimalesPorEspecie();
+    List<AnimalesPorEspecieResponseDto> obtenerCantidadAnimalesPorEspecie(String orden, Integer limite);
+    AnimalesPorEspeciePaginaResponseDto obtenerCantidadAnimalesPorEspeciePaginado(Integer pagina, Integer tamano, String orden);
 }
@@ -0,0 +1,105 @@
+package com.playko.zoologico.service.busqueda;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Árbol BK de términos con distancia de Levenshtein. Gracias a la desigualdad triangular, una búsqueda con
+ * distancia máxima {@code k} solo desciende por las aristas cuya etiqueta está en {@code [d - k, d + k]},
+ * de modo que se compara la consulta contra una fracción pequeña de los términos.
+ * <p>
+ * No admite borrados: quien lo usa mantiene aparte qué términos siguen vigentes y lo reconstruye cuando
+ * los términos obsoletos pesan demasiado.
+ */
+public class ArbolBK {
+    private Nodo raiz;
+    private int tamano;
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public void agregar(String termino) {
+        if (raiz == null) {
+            raiz = new Nodo(termino);
+            tamano++;
+            return;
+        }
+
+        Nodo nodo = raiz;
+        while (true) {
+            int distancia = distancia(nodo.termino, termino);
+            if (distancia == 0) return;
+
+            Nodo hijo = nodo.hijos.get(distancia);
+            if (hijo == null) {
+                nodo.hijos.put(distancia, new Nodo(termino));
+                tamano++;
+                return;
+            }
+            nodo = hijo;
+        }
+    }
+
+    /**
+     * Términos a distancia menor o igual que {@code distanciaMaxima} de la consulta, con su distancia.
+     */
+    public Map<String, Integer> buscar(String consulta, int distanciaMaxima) {
+        Map<String, Integer> encontrados = new LinkedHashMap<>();
+        if (raiz == null) return encontrados;
+
+        Deque<Nodo> pendientes = new ArrayDeque<>();
+        pendientes.push(raiz);
+
+        while (!pendientes.isEmpty()) {
+            Nodo nodo = pendientes.pop();
+            int distancia = distancia(nodo.termino, consulta);
+            if (distancia <= distanciaMaxima) {
+                encontrados.put(nodo.termino, distancia);
+            }
+
+            for (int arista = Math.max(1, distancia - distanciaMaxima); arista <= distancia + distanciaMaxima; arista++) {
+                Nodo hijo = nodo.hijos.get(arista);
+                if (hijo != null) pendientes.push(hijo);
+            }
+        }
+        return encontrados;
+    }
+
+    static int distancia(String a, String b) {
+        if (a.length() < b.length()) {
+            String aux = a;
+            a = b;
+            b = aux;
+        }
+
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) anterior[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int sustitucion = anterior[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(sustitucion, Math.min(anterior[j] + 1, actual[j - 1] + 1));
+            }
+            int[] aux = anterior;
+            anterior = actual;
+            actual = aux;
+        }
+        return anterior[b.length()];
+    }
+
+    private static final class Nodo {
+        private final String termino;
+        private final Map<Integer, Nodo> hijos = new HashMap<>(4);
+
+        private Nodo(String termino) {
+            this.termino = termino;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.event.ZonaEvent;
+import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IZonaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Carga los nombres en el {@link TrieAutocompletado} al arrancar y aplica las altas, ediciones y
+ * bajas de zonas, especies y animales una vez confirmadas.
+ */
+@Component
+@RequiredArgsConstructor
+public class AutocompletadoSincronizador {
+    private final TrieAutocompletado trieAutocompletado;
+    private final IZonaRepository zonaRepository;
+    private final IEspecieRepository especieRepository;
+    private final IAnimalRepository animalRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construirTrie() {
+        trieAutocompletado.reconstruir(() -> {
+            zonaRepository.findAllParaIndice()
+                    .forEach(z -> trieAutocompletado.indexar(TipoResultadoBusqueda.ZONA, z.getId(), z.getNombre()));
+            especieRepository.findAllParaIndice()
+                    .forEach(e -> trieAutocompletado.indexar(TipoResultadoBusqueda.ESPECIE, e.getId(), e.getNombre()));
+            animalRepository.findAllParaIndice()
+                    .forEach(a -> trieAutocompletado.indexar(TipoResultadoBusqueda.ANIMAL, a.getId(), a.getNombre()));
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZona(ZonaEvent event) {
+        aplicar(TipoResultadoBusqueda.ZONA, event.getTipoCambio(), event.getId(), event.getNombre());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEspecie(EspecieEvent event) {
+        aplicar(TipoResultadoBusqueda.ESPECIE, event.getTipoCambio(), event.getId(), event.getNombre());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimal(AnimalEvent event) {
+        aplicar(TipoResultadoBusqueda.ANIMAL, event.getTipoCambio(), event.getId(), event.getNombre());
+    }
+
+    private void aplicar(TipoResultadoBusqueda tipo, TipoCambio tipoCambio, Long id, String nombre) {
+        if (tipoCambio == TipoCambio.ELIMINADO) {
+            trieAutocompletado.eliminar(tipo, id);
+        } else {
+            trieAutocompletado.indexar(tipo, id, nombre);
+        }
+    }
+}
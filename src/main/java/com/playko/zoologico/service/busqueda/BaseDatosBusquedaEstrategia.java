@@ -0,0 +1,68 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.repository.IBusquedaRepository;
+import com.playko.zoologico.repository.projection.BusquedaResultadoProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delega la coincidencia en PostgreSQL: una sola consulta con los nombres ya unidos, apoyada en
+ * índices GIN de trigramas (pg_trgm) sobre los nombres y el contenido de los comentarios.
+ */
+@Component
+@RequiredArgsConstructor
+public class BaseDatosBusquedaEstrategia implements IBusquedaEstrategia {
+    private final IBusquedaRepository busquedaRepository;
+
+    @Override
+    public List<BusquedaResultadoDto> buscar(String palabra) {
+        return busquedaRepository.buscarPorPatron(patronLike(palabra)).stream()
+                .map(BaseDatosBusquedaEstrategia::toDto)
+                .toList();
+    }
+
+    /**
+     * Pagina por (tipo, id) directamente en la consulta, usando la misma posición que el índice en memoria.
+     */
+    @Override
+    public PaginaBusqueda buscarPagina(String palabra, long despuesDe, int limite) {
+        int orden = despuesDe < 0 ? -1 : (int) (despuesDe >>> 56);
+        long id = despuesDe < 0 ? -1 : despuesDe & ((1L << 56) - 1);
+
+        List<BusquedaResultadoProjection> filas =
+                busquedaRepository.buscarPaginaPorPatron(patronLike(palabra), orden, id, limite + 1);
+
+        boolean hayMas = filas.size() > limite;
+        List<BusquedaResultadoProjection> pagina = hayMas ? filas.subList(0, limite) : filas;
+        Long siguientePosicion = null;
+        if (hayMas) {
+            BusquedaResultadoProjection ultima = pagina.get(pagina.size() - 1);
+            siguientePosicion = ((long) ultima.getOrden() << 56) | ultima.getId();
+        }
+
+        return new PaginaBusqueda(pagina.stream().map(BaseDatosBusquedaEstrategia::toDto).toList(), siguientePosicion);
+    }
+
+    private static BusquedaResultadoDto toDto(BusquedaResultadoProjection fila) {
+        return new BusquedaResultadoDto(fila.getTipoResultado(),
+                fila.getZonaNombre(),
+                fila.getEspecieNombre(),
+                fila.getAnimalNombre(),
+                fila.getComentarioContenido(),
+                fila.getRespuestaContenido());
+    }
+
+    /**
+     * Escapa los comodines de LIKE para que la palabra se busque literalmente como subcadena.
+     */
+    static String patronLike(String palabra) {
+        String escapada = palabra
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escapada + "%";
+    }
+}
@@ -0,0 +1,78 @@
+package com.playko.zoologico.service.busqueda;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class BusquedaTokenizer {
+    public static final int LONGITUD_TRIGRAMA = 3;
+
+    private BusquedaTokenizer() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Normaliza el texto igual que lo hacía la búsqueda original ({@code toLowerCase()}),
+     * de modo que el índice conserve exactamente la misma semántica de coincidencia.
+     */
+    public static String normalizar(String texto) {
+        return texto == null ? "" : texto.toLowerCase();
+    }
+
+    /**
+     * Divide un texto ya normalizado en palabras formadas por letras y dígitos.
+     */
+    public static List<String> tokenizar(String textoNormalizado) {
+        List<String> tokens = new ArrayList<>();
+        int inicio = -1;
+
+        for (int i = 0; i < textoNormalizado.length(); i++) {
+            if (Character.isLetterOrDigit(textoNormalizado.charAt(i))) {
+                if (inicio < 0) inicio = i;
+            } else if (inicio >= 0) {
+                tokens.add(textoNormalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+
+        if (inicio >= 0) {
+            tokens.add(textoNormalizado.substring(inicio));
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Devuelve los trigramas distintos de un texto ya normalizado, incluyendo espacios y signos,
+     * de modo que cualquier subcadena de tres o más caracteres comparta todos sus trigramas con el texto.
+     * Cada trigrama se empaqueta en un {@code long} con sus tres caracteres.
+     */
+    public static Set<Long> trigramas(String textoNormalizado) {
+        Set<Long> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + LONGITUD_TRIGRAMA <= textoNormalizado.length(); i++) {
+            trigramas.add(trigrama(textoNormalizado, i));
+        }
+        return trigramas;
+    }
+
+    /**
+     * Subcadenas distintas de uno y dos caracteres de un texto ya normalizado, para las consultas más
+     * cortas que un trigrama.
+     */
+    public static Set<String> fragmentos(String texto) {
+        Set<String> fragmentos = new LinkedHashSet<>();
+        for (int longitud = 1; longitud < LONGITUD_TRIGRAMA; longitud++) {
+            for (int i = 0; i + longitud <= texto.length(); i++) {
+                fragmentos.add(texto.substring(i, i + longitud));
+            }
+        }
+        return fragmentos;
+    }
+
+    private static long trigrama(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32)
+                | ((long) texto.charAt(inicio + 1) << 16)
+                | texto.charAt(inicio + 2);
+    }
+}
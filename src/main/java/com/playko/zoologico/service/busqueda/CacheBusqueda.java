@@ -0,0 +1,136 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.CacheBusquedaEstadisticasDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Caché LRU de palabra normalizada → resultados, acotada por el peso aproximado en bytes de lo que
+ * guarda en lugar de por número de entradas, ya que una palabra corta puede devolver miles de resultados.
+ */
+@Component
+public class CacheBusqueda {
+    private static final long PESO_BASE_ENTRADA = 64L;
+    private static final long PESO_BASE_RESULTADO = 48L;
+
+    private final long pesoMaximo;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long pesoActual;
+    /** Se incrementa en cada invalidación para descartar resultados calculados antes de ella. */
+    private long version;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long invalidaciones;
+
+    public CacheBusqueda(@Value("${busqueda.cache.peso-maximo:16777216}") long pesoMaximo) {
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    public List<BusquedaResultadoDto> obtener(String palabra, Supplier<List<BusquedaResultadoDto>> buscar) {
+        String clave = BusquedaTokenizer.normalizar(palabra);
+        long versionInicial;
+
+        synchronized (this) {
+            Entrada entrada = entradas.get(clave);
+            if (entrada != null) {
+                aciertos++;
+                return entrada.resultados;
+            }
+            fallos++;
+            versionInicial = version;
+        }
+
+        List<BusquedaResultadoDto> resultados = List.copyOf(buscar.get());
+        guardar(clave, resultados, versionInicial);
+        return resultados;
+    }
+
+    private synchronized void guardar(String clave, List<BusquedaResultadoDto> resultados, long versionInicial) {
+        // Si hubo una invalidación mientras se buscaba, el resultado puede estar desactualizado
+        if (versionInicial != version || entradas.containsKey(clave)) return;
+
+        long peso = pesar(clave, resultados);
+        if (peso > pesoMaximo) return;
+
+        entradas.put(clave, new Entrada(resultados, peso));
+        pesoActual += peso;
+
+        Iterator<Entrada> iterador = entradas.values().iterator();
+        while (pesoActual > pesoMaximo && iterador.hasNext()) {
+            pesoActual -= iterador.next().peso;
+            iterador.remove();
+            desalojos++;
+        }
+    }
+
+    /**
+     * Descarta las entradas cuya palabra aparece en alguno de los textos modificados (el conjunto de
+     * coincidencias pudo cambiar) o que muestran un nombre afectado en sus resultados.
+     */
+    public synchronized void invalidar(List<String> textos, Predicate<BusquedaResultadoDto> muestraCambio) {
+        version++;
+
+        Iterator<Map.Entry<String, Entrada>> iterador = entradas.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<String, Entrada> entrada = iterador.next();
+            if (contieneClave(textos, entrada.getKey())
+                    || entrada.getValue().resultados.stream().anyMatch(muestraCambio)) {
+                pesoActual -= entrada.getValue().peso;
+                iterador.remove();
+                invalidaciones++;
+            }
+        }
+    }
+
+    public synchronized void limpiar() {
+        version++;
+        invalidaciones += entradas.size();
+        entradas.clear();
+        pesoActual = 0;
+    }
+
+    public synchronized CacheBusquedaEstadisticasDto estadisticas() {
+        return new CacheBusquedaEstadisticasDto(aciertos, fallos, desalojos, invalidaciones,
+                entradas.size(), pesoActual, pesoMaximo);
+    }
+
+    private static boolean contieneClave(List<String> textos, String clave) {
+        return textos.stream()
+                .filter(Objects::nonNull)
+                .anyMatch(texto -> BusquedaTokenizer.normalizar(texto).contains(clave));
+    }
+
+    private static long pesar(String clave, List<BusquedaResultadoDto> resultados) {
+        long peso = PESO_BASE_ENTRADA + 2L * clave.length();
+        for (BusquedaResultadoDto r : resultados) {
+            peso += PESO_BASE_RESULTADO + 2L * (longitud(r.getTipoResultado()) + longitud(r.getZonaNombre())
+                    + longitud(r.getEspecieNombre()) + longitud(r.getAnimalNombre())
+                    + longitud(r.getComentarioContenido()) + longitud(r.getRespuestaContenido()));
+        }
+        return peso;
+    }
+
+    private static int longitud(String texto) {
+        return texto == null ? 0 : texto.length();
+    }
+
+    private static final class Entrada {
+        private final List<BusquedaResultadoDto> resultados;
+        private final long peso;
+
+        private Entrada(List<BusquedaResultadoDto> resultados, long peso) {
+            this.resultados = resultados;
+            this.peso = peso;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.ZonaEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Invalida la {@link CacheBusqueda} tras confirmar cambios. Se ejecuta después de que el
+ * {@link IndiceBusquedaSincronizador} haya aplicado el mismo cambio, para que una búsqueda posterior a la
+ * invalidación no vuelva a guardar resultados del índice sin actualizar.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheBusquedaInvalidador {
+    private final CacheBusqueda cacheBusqueda;
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZona(ZonaEvent event) {
+        cacheBusqueda.invalidar(Arrays.asList(event.getNombre(), event.getNombreAnterior()),
+                muestra(BusquedaResultadoDto::getZonaNombre, event.getNombre(), event.getNombreAnterior()));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEspecie(EspecieEvent event) {
+        cacheBusqueda.invalidar(Arrays.asList(event.getNombre(), event.getNombreAnterior()),
+                muestra(BusquedaResultadoDto::getEspecieNombre, event.getNombre(), event.getNombreAnterior()));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimal(AnimalEvent event) {
+        cacheBusqueda.invalidar(Arrays.asList(event.getNombre(), event.getNombreAnterior()),
+                muestra(BusquedaResultadoDto::getAnimalNombre, event.getNombre(), event.getNombreAnterior()));
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComentario(ComentarioEvent event) {
+        if (event.getContenido() == null) {
+            cacheBusqueda.limpiar();
+            return;
+        }
+
+        // Al borrar un comentario desaparecen también las respuestas que lo muestran como padre
+        cacheBusqueda.invalidar(List.of(event.getContenido()),
+                muestra(BusquedaResultadoDto::getComentarioContenido, event.getContenido())
+                        .or(muestra(BusquedaResultadoDto::getRespuestaContenido, event.getContenido())));
+    }
+
+    /**
+     * Resultados que muestran alguno de los nombres indicados. Comparar por nombre puede invalidar de más
+     * cuando dos entidades se llaman igual, nunca de menos.
+     */
+    private static Predicate<BusquedaResultadoDto> muestra(Function<BusquedaResultadoDto, String> campo, String... nombres) {
+        List<String> afectados = Arrays.stream(nombres).filter(Objects::nonNull).toList();
+        return resultado -> afectados.contains(campo.apply(resultado));
+    }
+}
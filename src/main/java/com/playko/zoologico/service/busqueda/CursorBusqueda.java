@@ -0,0 +1,35 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.exception.CursorInvalidoException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Codifica la posición de una página de resultados como un cursor opaco para el cliente.
+ */
+public class CursorBusqueda {
+    public static final long INICIO = -1L;
+
+    private CursorBusqueda() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String codificar(Long posicion) {
+        if (posicion == null) return null;
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES).putLong(posicion).array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public static long decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) return INICIO;
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != Long.BYTES) throw new CursorInvalidoException();
+            return ByteBuffer.wrap(bytes).getLong();
+        } catch (IllegalArgumentException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Entrada del almacén de documentos del índice: guarda ya resueltos los campos de
+ * {@link BusquedaResultadoDto} para responder sin navegar relaciones en la base de datos.
+ */
+@Getter
+@Setter
+public class DocumentoBusqueda {
+    private final long clave;
+    private final TipoResultadoBusqueda tipo;
+    private final Long entidadId;
+
+    private Long zonaId;
+    private Long especieId;
+    private Long animalId;
+    private Long padreId;
+
+    private String zonaNombre;
+    private String especieNombre;
+    private String animalNombre;
+    private String comentarioContenido;
+    private String respuestaContenido;
+
+    /** Texto normalizado sobre el que se evalúa la coincidencia. */
+    private String texto;
+    /** Cantidad de palabras del texto, para normalizar la puntuación por longitud. */
+    private int longitud;
+
+    public DocumentoBusqueda(TipoResultadoBusqueda tipo, Long entidadId) {
+        this.clave = tipo.clave(entidadId);
+        this.tipo = tipo;
+        this.entidadId = entidadId;
+    }
+
+    public BusquedaResultadoDto toDto() {
+        return new BusquedaResultadoDto(tipo.name(),
+                zonaNombre,
+                especieNombre,
+                animalNombre,
+                comentarioContenido,
+                respuestaContenido);
+    }
+}
@@ -0,0 +1,231 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.FacetaDto;
+import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.AnimalBusquedaProjection;
+import com.playko.zoologico.repository.projection.ComentarioBusquedaProjection;
+import com.playko.zoologico.repository.projection.EspecieBusquedaProjection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Búsqueda original por subcadena, una consulta por tabla. Cada consulta filtra en la base de datos y
+ * devuelve filas planas con los nombres ya unidos, sin cargar entidades ni navegar relaciones perezosas.
+ * <p>
+ * Las páginas se piden por clave de documento: cada tabla se consulta desde el id siguiente al cursor y
+ * solo por las filas que faltan para completar la página.
+ */
+@Component
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class EscaneoBusquedaEstrategia implements IBusquedaEstrategia {
+    private final IZonaRepository zonaRepository;
+    private final IEspecieRepository especieRepository;
+    private final IAnimalRepository animalRepository;
+    private final IComentarioRepository comentarioRepository;
+
+    @Override
+    public List<BusquedaResultadoDto> buscar(String palabra) {
+        List<BusquedaResultadoDto> resultados = new ArrayList<>();
+
+        for (FuenteBusqueda fuente : FuenteBusqueda.values()) {
+            resultados.addAll(buscarEnFuente(fuente, palabra));
+        }
+
+        return resultados;
+    }
+
+    @Override
+    public PaginaBusqueda buscarPagina(String palabra, long despuesDe, int limite) {
+        String patron = BaseDatosBusquedaEstrategia.patronLike(palabra.toLowerCase());
+        int grupoCursor = despuesDe < 0 ? -1 : (int) (despuesDe >>> 56);
+        List<BusquedaResultadoDto> resultados = new ArrayList<>(limite);
+        long ultimaClave = despuesDe;
+
+        for (FuenteBusqueda fuente : FuenteBusqueda.values()) {
+            TipoResultadoBusqueda tipo = fuente.getTipo();
+            if (tipo.getGrupo() < grupoCursor) continue;
+            long despuesId = tipo.getGrupo() == grupoCursor ? despuesDe & ((1L << 56) - 1) : 0L;
+
+            // Una fila de más indica si queda algo después de la página
+            Pageable filas = PageRequest.of(0, limite - resultados.size() + 1);
+            for (Coincidencia coincidencia : coincidencias(fuente, patron, despuesId, filas)) {
+                if (resultados.size() == limite) {
+                    return new PaginaBusqueda(resultados, ultimaClave);
+                }
+                resultados.add(coincidencia.resultado());
+                ultimaClave = tipo.clave(coincidencia.id());
+            }
+        }
+
+        return new PaginaBusqueda(resultados, null);
+    }
+
+    /**
+     * Búsqueda facetada mientras el índice se construye. Recorre todas las coincidencias y cuenta en memoria
+     * con las mismas reglas que {@link IndiceBusqueda#buscarFacetado}: cada recuento aplica los demás
+     * filtros pero no el de su propia dimensión.
+     */
+    public BusquedaFacetadaResponseDto buscarFacetado(String palabra, Set<TipoResultadoBusqueda> tipos,
+                                                      Long zonaId, Long especieId, int limite) {
+        String patron = BaseDatosBusquedaEstrategia.patronLike(palabra.toLowerCase());
+        List<BusquedaResultadoDto> resultados = new ArrayList<>();
+        long total = 0;
+        Map<TipoResultadoBusqueda, Long> porTipo = new EnumMap<>(TipoResultadoBusqueda.class);
+        Map<Long, Long> porZona = new TreeMap<>();
+        Map<Long, String> nombresZona = new TreeMap<>();
+
+        for (FuenteBusqueda fuente : FuenteBusqueda.values()) {
+            for (Coincidencia coincidencia : coincidencias(fuente, patron, 0L, Pageable.unpaged())) {
+                if (especieId != null && !especieId.equals(coincidencia.especieId())) continue;
+                boolean enZona = zonaId == null || zonaId.equals(coincidencia.zonaId());
+                boolean deTipo = tipos.isEmpty() || tipos.contains(coincidencia.tipo());
+
+                if (enZona) porTipo.merge(coincidencia.tipo(), 1L, Long::sum);
+                if (deTipo) {
+                    porZona.merge(coincidencia.zonaId(), 1L, Long::sum);
+                    nombresZona.put(coincidencia.zonaId(), coincidencia.resultado().getZonaNombre());
+                }
+                if (enZona && deTipo) {
+                    total++;
+                    if (resultados.size() < limite) resultados.add(coincidencia.resultado());
+                }
+            }
+        }
+
+        List<FacetaDto> porTipoFaceta = porTipo.entrySet().stream()
+                .map(entrada -> new FacetaDto(null, entrada.getKey().name(), entrada.getValue()))
+                .toList();
+        List<FacetaDto> porZonaFaceta = porZona.entrySet().stream()
+                .map(entrada -> new FacetaDto(entrada.getKey(), nombresZona.get(entrada.getKey()), entrada.getValue()))
+                .toList();
+
+        return new BusquedaFacetadaResponseDto(resultados, total, porTipoFaceta, porZonaFaceta);
+    }
+
+    /**
+     * Busca en una sola tabla. Invocado a través del proxy abre su propia transacción de solo lectura,
+     * lo que permite consultar las fuentes en paralelo desde hilos distintos.
+     */
+    public List<BusquedaResultadoDto> buscarEnFuente(FuenteBusqueda fuente, String palabra) {
+        String patron = BaseDatosBusquedaEstrategia.patronLike(palabra.toLowerCase());
+
+        return switch (fuente) {
+            case ZONAS -> buscarZonas(patron);
+            case ESPECIES -> buscarEspecies(patron);
+            case ANIMALES -> buscarAnimales(patron);
+            case COMENTARIOS -> buscarComentarios(patron);
+        };
+    }
+
+    private List<BusquedaResultadoDto> buscarZonas(String patron) {
+        return zonaRepository.findNombresParaBusqueda(patron).stream()
+                .map(EscaneoBusquedaEstrategia::zona)
+                .toList();
+    }
+
+    private List<BusquedaResultadoDto> buscarEspecies(String patron) {
+        return especieRepository.findParaBusqueda(patron).stream()
+                .map(EscaneoBusquedaEstrategia::especie)
+                .toList();
+    }
+
+    private List<BusquedaResultadoDto> buscarAnimales(String patron) {
+        return animalRepository.findParaBusqueda(patron).stream()
+                .map(EscaneoBusquedaEstrategia::animal)
+                .toList();
+    }
+
+    private List<BusquedaResultadoDto> buscarComentarios(String patron) {
+        return comentarioRepository.findParaBusqueda(patron).stream()
+                .map(EscaneoBusquedaEstrategia::comentario)
+                .toList();
+    }
+
+    private static BusquedaResultadoDto zona(String nombre) {
+        return new BusquedaResultadoDto("ZONA", nombre, null, null, null, null);
+    }
+
+    private static BusquedaResultadoDto especie(EspecieBusquedaProjection fila) {
+        return new BusquedaResultadoDto("ESPECIE",
+                fila.getZonaNombre(),
+                fila.getEspecieNombre(),
+                null,
+                null,
+                null);
+    }
+
+    private static BusquedaResultadoDto animal(AnimalBusquedaProjection fila) {
+        return new BusquedaResultadoDto("ANIMAL",
+                fila.getZonaNombre(),
+                fila.getEspecieNombre(),
+                fila.getAnimalNombre(),
+                null,
+                null);
+    }
+
+    private static BusquedaResultadoDto comentario(ComentarioBusquedaProjection fila) {
+        if (fila.getPadreContenido() == null) {
+            // Comentario padre que coincide
+            return new BusquedaResultadoDto("COMENTARIO",
+                    fila.getZonaNombre(),
+                    fila.getEspecieNombre(),
+                    fila.getAnimalNombre(),
+                    fila.getContenido(),
+                    null);
+        }
+        // Es respuesta
+        return new BusquedaResultadoDto("RESPUESTA",
+                fila.getZonaNombre(),
+                fila.getEspecieNombre(),
+                fila.getAnimalNombre(),
+                fila.getPadreContenido(),
+                fila.getContenido());
+    }
+
+    /**
+     * Coincidencias de una tabla con id mayor que {@code despuesId}, en orden de id.
+     */
+    private List<Coincidencia> coincidencias(FuenteBusqueda fuente, String patron, long despuesId, Pageable filas) {
+        return switch (fuente) {
+            case ZONAS -> zonaRepository.findParaBusquedaDespuesDe(patron, despuesId, filas).stream()
+                    .map(fila -> new Coincidencia(fila.getId(), TipoResultadoBusqueda.ZONA, fila.getId(), null,
+                            zona(fila.getNombre())))
+                    .toList();
+            case ESPECIES -> especieRepository.findParaBusquedaDespuesDe(patron, despuesId, filas).stream()
+                    .map(fila -> new Coincidencia(fila.getId(), TipoResultadoBusqueda.ESPECIE, fila.getZonaId(), fila.getId(),
+                            especie(fila)))
+                    .toList();
+            case ANIMALES -> animalRepository.findParaBusquedaDespuesDe(patron, despuesId, filas).stream()
+                    .map(fila -> new Coincidencia(fila.getId(), TipoResultadoBusqueda.ANIMAL, fila.getZonaId(),
+                            fila.getEspecieId(), animal(fila)))
+                    .toList();
+            case COMENTARIOS -> comentarioRepository.findParaBusquedaDespuesDe(patron, despuesId, filas).stream()
+                    .map(fila -> {
+                        BusquedaResultadoDto resultado = comentario(fila);
+                        return new Coincidencia(fila.getId(), TipoResultadoBusqueda.valueOf(resultado.getTipoResultado()),
+                                fila.getZonaId(), fila.getEspecieId(), resultado);
+                    })
+                    .toList();
+        };
+    }
+
+    private record Coincidencia(long id, TipoResultadoBusqueda tipo, Long zonaId, Long especieId,
+                                BusquedaResultadoDto resultado) {
+    }
+}
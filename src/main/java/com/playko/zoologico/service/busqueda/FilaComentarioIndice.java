@@ -0,0 +1,17 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Fila de comentario leída de una instantánea del índice, con la misma forma que la proyección de la base de datos.
+ */
+@Getter
+@AllArgsConstructor
+public class FilaComentarioIndice implements ComentarioIndiceProjection {
+    private final Long id;
+    private final String contenido;
+    private final Long animalId;
+    private final Long padreId;
+}
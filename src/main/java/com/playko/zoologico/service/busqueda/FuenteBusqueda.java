@@ -0,0 +1,21 @@
+package com.playko.zoologico.service.busqueda;
+
+import lombok.Getter;
+
+/**
+ * Tablas consultadas por la búsqueda por palabra clave, en el orden en que se presentan los resultados.
+ * Cada una pagina por el grupo de su tipo de resultado, igual que las claves del índice.
+ */
+@Getter
+public enum FuenteBusqueda {
+    ZONAS(TipoResultadoBusqueda.ZONA),
+    ESPECIES(TipoResultadoBusqueda.ESPECIE),
+    ANIMALES(TipoResultadoBusqueda.ANIMAL),
+    COMENTARIOS(TipoResultadoBusqueda.COMENTARIO);
+
+    private final TipoResultadoBusqueda tipo;
+
+    FuenteBusqueda(TipoResultadoBusqueda tipo) {
+        this.tipo = tipo;
+    }
+}
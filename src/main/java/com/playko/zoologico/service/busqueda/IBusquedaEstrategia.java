@@ -0,0 +1,18 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+
+import java.util.List;
+
+public interface IBusquedaEstrategia {
+    List<BusquedaResultadoDto> buscar(String palabra);
+
+    /**
+     * Devuelve como máximo {@code limite} resultados posteriores a la posición {@code despuesDe}
+     * ({@code -1} para empezar desde el principio).
+     * <p>
+     * La posición es siempre la clave de documento del último resultado entregado
+     * ({@link TipoResultadoBusqueda#clave(long)}), así que un cursor sirve para cualquier estrategia.
+     */
+    PaginaBusqueda buscarPagina(String palabra, long despuesDe, int limite);
+}
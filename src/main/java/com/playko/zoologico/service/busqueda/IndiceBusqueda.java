@@ -0,0 +1,771 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaDifusaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.FacetaDto;
+import com.playko.zoologico.dto.response.BusquedaRanqueadaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Índice invertido en memoria para la búsqueda por palabra clave.
+ * <p>
+ * Mantiene un almacén de documentos (uno por zona, especie, animal y comentario) con los campos del
+ * resultado ya resueltos, listas de claves por trigrama, por fragmento de uno y dos caracteres (para las
+ * consultas cortas) y por palabra, listas de claves por zona, especie y animal para
+ * propagar renombres y borrados, y listas por tipo para filtrar y contar. Los nombres
+ * de zonas, especies y animales (completos y por palabra) se guardan además en un {@link ArbolBK} para la
+ * búsqueda tolerante a errores. Las claves de documento se ordenan por tipo y id, que es el orden en el
+ * que la búsqueda devuelve los resultados.
+ */
+@Component
+public class IndiceBusqueda {
+    private static final int MINIMO_TERMINOS_PARA_REHACER = 1024;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    private static final double IMPULSO_NOMBRE_EXACTO = 10.0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<Long, DocumentoBusqueda> documentos = new TreeMap<>();
+    private final Map<Long, PostingList> documentosPorTrigrama = new HashMap<>();
+    private final Map<String, PostingList> documentosPorFragmento = new HashMap<>();
+    private final Map<String, PostingList> documentosPorToken = new HashMap<>();
+    private final Map<Long, PostingList> documentosPorZona = new HashMap<>();
+    private final Map<Long, PostingList> documentosPorEspecie = new HashMap<>();
+    private final Map<Long, PostingList> documentosPorAnimal = new HashMap<>();
+    private final Map<TipoResultadoBusqueda, PostingList> documentosPorTipo = new EnumMap<>(TipoResultadoBusqueda.class);
+    private final Map<String, PostingList> documentosPorTermino = new HashMap<>();
+    private ArbolBK terminos = new ArbolBK();
+    private long totalPalabras;
+
+    private volatile boolean listo;
+
+    public boolean estaListo() {
+        return listo;
+    }
+
+    public int cantidadDocumentos() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Vacía el índice y lo vuelve a llenar con la carga indicada. Mientras dura la carga se bloquea la
+     * escritura, de modo que los cambios notificados en ese intervalo se aplican después de ella.
+     */
+    public void reconstruir(Runnable carga) {
+        lock.writeLock().lock();
+        try {
+            listo = false;
+            documentos.clear();
+            documentosPorTrigrama.clear();
+            documentosPorFragmento.clear();
+            documentosPorToken.clear();
+            documentosPorZona.clear();
+            documentosPorEspecie.clear();
+            documentosPorAnimal.clear();
+            documentosPorTipo.clear();
+            documentosPorTermino.clear();
+            terminos = new ArbolBK();
+            totalPalabras = 0;
+
+            carga.run();
+
+            listo = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Búsqueda
+
+    public List<BusquedaResultadoDto> buscar(String palabra) {
+        List<BusquedaResultadoDto> resultados = new ArrayList<>();
+        recorrer(palabra, CursorBusqueda.INICIO, documento -> resultados.add(documento.toDto()));
+        return resultados;
+    }
+
+    /**
+     * Devuelve la página de coincidencias cuya clave es posterior a {@code despuesDe}. Solo se
+     * verifican los candidatos necesarios para llenar la página.
+     */
+    public PaginaBusqueda buscarPagina(String palabra, long despuesDe, int limite) {
+        List<BusquedaResultadoDto> resultados = new ArrayList<>(limite);
+        long[] ultimaClave = {despuesDe};
+        boolean[] hayMas = {false};
+
+        recorrer(palabra, despuesDe, documento -> {
+            if (resultados.size() == limite) {
+                hayMas[0] = true;
+                return false;
+            }
+            resultados.add(documento.toDto());
+            ultimaClave[0] = documento.getClave();
+            return true;
+        });
+
+        return new PaginaBusqueda(resultados, hayMas[0] ? ultimaClave[0] : null);
+    }
+
+    /**
+     * Recorre en orden de clave los documentos posteriores a {@code despuesDe} que contienen la
+     * palabra, hasta que el consumidor devuelva {@code false}.
+     */
+    private void recorrer(String palabra, long despuesDe, Predicate<DocumentoBusqueda> consumidor) {
+        String consulta = BusquedaTokenizer.normalizar(palabra);
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> candidatos = candidatos(consulta);
+
+            if (candidatos == null) {
+                for (DocumentoBusqueda documento : documentos.tailMap(despuesDe, false).values()) {
+                    if (documento.getTexto().contains(consulta) && !consumidor.test(documento)) return;
+                }
+                return;
+            }
+
+            intersectar(candidatos, despuesDe, clave -> {
+                DocumentoBusqueda documento = documentos.get(clave);
+                return documento == null || !documento.getTexto().contains(consulta) || consumidor.test(documento);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Coincidencias filtradas por tipo, zona y especie, con el recuento de coincidencias por tipo y por zona.
+     * Cada recuento aplica los demás filtros pero no el de su propia dimensión, para que el cliente vea
+     * cuántos resultados obtendría al cambiar de tipo o de zona. Los filtros y recuentos se resuelven
+     * intersectando las listas ordenadas de claves de la coincidencia con las listas por tipo, zona y especie.
+     */
+    public BusquedaFacetadaResponseDto buscarFacetado(String palabra, Set<TipoResultadoBusqueda> tipos,
+                                                      Long zonaId, Long especieId, int limite) {
+        String consulta = BusquedaTokenizer.normalizar(palabra);
+
+        lock.readLock().lock();
+        try {
+            long[] coincidencias = coincidencias(consulta);
+
+            long[] porEspecie = filtrar(coincidencias, especieId == null ? null : documentosPorEspecie.get(especieId), especieId);
+            long[] porTipo = filtrarPorTipos(porEspecie, tipos);
+            long[] sinFiltroDeTipo = filtrar(porEspecie, zonaId == null ? null : documentosPorZona.get(zonaId), zonaId);
+            long[] filtradas = filtrarPorTipos(sinFiltroDeTipo, tipos);
+
+            List<FacetaDto> porTipoFaceta = new ArrayList<>();
+            for (Map.Entry<TipoResultadoBusqueda, PostingList> entrada : documentosPorTipo.entrySet()) {
+                int cantidad = entrada.getValue().contarInterseccion(sinFiltroDeTipo);
+                if (cantidad > 0) porTipoFaceta.add(new FacetaDto(null, entrada.getKey().name(), cantidad));
+            }
+
+            List<FacetaDto> porZonaFaceta = new ArrayList<>();
+            for (Map.Entry<Long, PostingList> entrada : documentosPorZona.entrySet()) {
+                int cantidad = entrada.getValue().contarInterseccion(porTipo);
+                if (cantidad > 0) porZonaFaceta.add(new FacetaDto(entrada.getKey(), nombreZona(entrada.getKey()), cantidad));
+            }
+            porZonaFaceta.sort(Comparator.comparing(FacetaDto::getId));
+
+            List<BusquedaResultadoDto> resultados = new ArrayList<>();
+            for (int i = 0; i < filtradas.length && i < limite; i++) {
+                resultados.add(documentos.get(filtradas[i]).toDto());
+            }
+
+            return new BusquedaFacetadaResponseDto(resultados, filtradas.length, porTipoFaceta, porZonaFaceta);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Claves ordenadas de todos los documentos que contienen la consulta.
+     */
+    private long[] coincidencias(String consulta) {
+        List<PostingList> candidatos = candidatos(consulta);
+
+        if (candidatos == null) {
+            long[] claves = new long[documentos.size()];
+            int n = 0;
+            for (DocumentoBusqueda documento : documentos.values()) {
+                if (documento.getTexto().contains(consulta)) claves[n++] = documento.getClave();
+            }
+            return Arrays.copyOf(claves, n);
+        }
+
+        // La intersección no puede superar a la lista más corta
+        long[] claves = new long[candidatos.stream().mapToInt(PostingList::tamano).min().orElse(0)];
+        int[] n = {0};
+        intersectar(candidatos, CursorBusqueda.INICIO, clave -> {
+            DocumentoBusqueda documento = documentos.get(clave);
+            if (documento != null && documento.getTexto().contains(consulta)) claves[n[0]++] = clave;
+            return true;
+        });
+        return Arrays.copyOf(claves, n[0]);
+    }
+
+    private static long[] filtrar(long[] claves, PostingList lista, Long llave) {
+        if (llave == null) return claves;
+        if (lista == null) return new long[0];
+        return lista.filtrar(claves);
+    }
+
+    private long[] filtrarPorTipos(long[] claves, Set<TipoResultadoBusqueda> tipos) {
+        if (tipos.isEmpty()) return claves;
+
+        long[] resultado = new long[claves.length];
+        int n = 0;
+        for (long clave : claves) {
+            if (tipos.contains(documentos.get(clave).getTipo())) resultado[n++] = clave;
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Devuelve las listas cuya intersección contiene los documentos que pueden contener la consulta, o
+     * {@code null} si hay que revisar todos los documentos. La verificación final con {@code contains} la
+     * hace quien llama, así que los candidatos pueden incluir falsos positivos pero nunca omitir una
+     * coincidencia.
+     */
+    private List<PostingList> candidatos(String consulta) {
+        if (consulta.length() >= BusquedaTokenizer.LONGITUD_TRIGRAMA) {
+            return candidatosPorTrigramas(consulta);
+        }
+        return candidatosPorFragmento(consulta);
+    }
+
+    /**
+     * Un documento que contiene la consulta contiene todos sus trigramas.
+     */
+    private List<PostingList> candidatosPorTrigramas(String consulta) {
+        List<PostingList> listas = new ArrayList<>();
+        for (Long trigrama : BusquedaTokenizer.trigramas(consulta)) {
+            PostingList lista = documentosPorTrigrama.get(trigrama);
+            if (lista == null) return List.of();
+            listas.add(lista);
+        }
+        return listas;
+    }
+
+    /**
+     * Una consulta de uno o dos caracteres tiene su propia lista, con los documentos cuyo texto la contiene.
+     * La consulta vacía coincide con todo.
+     */
+    private List<PostingList> candidatosPorFragmento(String consulta) {
+        if (consulta.isEmpty()) return null;
+
+        PostingList lista = documentosPorFragmento.get(consulta);
+        return lista == null ? List.of() : List.of(lista);
+    }
+
+    /**
+     * Recorre en orden las claves posteriores a {@code despuesDe} presentes en todas las listas, hasta que
+     * el consumidor devuelva {@code false}. La lista más corta marca el recorrido y en las demás se avanza
+     * con una posición propia, sin copiar ninguna.
+     */
+    private static void intersectar(List<PostingList> listas, long despuesDe, LongPredicate consumidor) {
+        if (listas.isEmpty()) return;
+
+        List<PostingList> ordenadas = new ArrayList<>(listas);
+        ordenadas.sort(Comparator.comparingInt(PostingList::tamano));
+        PostingList menor = ordenadas.get(0);
+        int[] posiciones = new int[ordenadas.size()];
+
+        for (int i = menor.posicionDesde(despuesDe + 1, 0); i < menor.tamano(); i++) {
+            long clave = menor.clave(i);
+            boolean enTodas = true;
+            for (int j = 1; j < ordenadas.size() && enTodas; j++) {
+                PostingList lista = ordenadas.get(j);
+                posiciones[j] = lista.posicionDesde(clave, posiciones[j]);
+                if (posiciones[j] == lista.tamano()) return;
+                enTodas = lista.clave(posiciones[j]) == clave;
+            }
+            if (enTodas && !consumidor.test(clave)) return;
+        }
+    }
+
+    /**
+     * Zonas, especies y animales cuyo nombre, o alguna palabra de él, está a distancia de edición menor o
+     * igual que {@code distanciaMaxima} de la palabra. Se ordenan por distancia y luego por tipo e id.
+     */
+    public List<BusquedaDifusaResultadoDto> buscarDifuso(String palabra, int distanciaMaxima) {
+        String consulta = BusquedaTokenizer.normalizar(palabra).strip();
+        if (consulta.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> distancias = new HashMap<>();
+            Map<Long, String> terminosCoincidentes = new HashMap<>();
+
+            terminos.buscar(consulta, distanciaMaxima).forEach((termino, distancia) -> {
+                PostingList lista = documentosPorTermino.get(termino);
+                if (lista == null) return;
+
+                for (int i = 0; i < lista.tamano(); i++) {
+                    long clave = lista.clave(i);
+                    Integer actual = distancias.get(clave);
+                    if (actual == null || distancia < actual) {
+                        distancias.put(clave, distancia);
+                        terminosCoincidentes.put(clave, termino);
+                    }
+                }
+            });
+
+            return distancias.keySet().stream()
+                    .sorted(Comparator.comparing((Long clave) -> distancias.get(clave)).thenComparing(clave -> clave))
+                    .map(clave -> {
+                        DocumentoBusqueda documento = documentos.get(clave);
+                        return new BusquedaDifusaResultadoDto(documento.getTipo().name(), documento.getZonaNombre(),
+                                documento.getEspecieNombre(), documento.getAnimalNombre(),
+                                terminosCoincidentes.get(clave), distancias.get(clave));
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Los {@code limite} documentos más relevantes para las palabras de la consulta según BM25, sumando un
+     * impulso a las zonas, especies y animales cuyo nombre es exactamente la consulta.
+     * <p>
+     * Recorre las listas de las palabras de la consulta a la vez, documento a documento en orden de clave, y
+     * conserva solo los mejores en un montículo de tamaño {@code limite}: nunca se materializa ni se ordena
+     * la lista completa de coincidencias.
+     */
+    public List<BusquedaRanqueadaResultadoDto> buscarRanqueado(String palabra, int limite) {
+        String consulta = BusquedaTokenizer.normalizar(palabra).strip();
+        Set<String> palabras = new LinkedHashSet<>(BusquedaTokenizer.tokenizar(consulta));
+        if (palabras.isEmpty() || limite <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            List<PostingList> listas = new ArrayList<>();
+            List<Double> idfs = new ArrayList<>();
+            for (String token : palabras) {
+                PostingList lista = documentosPorToken.get(token);
+                if (lista == null) continue;
+                listas.add(lista);
+                idfs.add(idf(lista.tamano()));
+            }
+            if (listas.isEmpty()) return List.of();
+
+            double longitudMedia = documentos.isEmpty() ? 1.0 : Math.max(1.0, (double) totalPalabras / documentos.size());
+            Comparator<DocumentoPuntuado> peorPrimero = Comparator.comparingDouble(DocumentoPuntuado::puntuacion)
+                    .thenComparing(Comparator.comparingLong(DocumentoPuntuado::clave).reversed());
+            PriorityQueue<DocumentoPuntuado> mejores = new PriorityQueue<>(limite, peorPrimero);
+            int[] posiciones = new int[listas.size()];
+
+            while (true) {
+                long clave = Long.MAX_VALUE;
+                for (int i = 0; i < listas.size(); i++) {
+                    if (posiciones[i] < listas.get(i).tamano()) {
+                        clave = Math.min(clave, listas.get(i).clave(posiciones[i]));
+                    }
+                }
+                if (clave == Long.MAX_VALUE) break;
+
+                DocumentoBusqueda documento = documentos.get(clave);
+                double normalizacion = BM25_K1 * (1 - BM25_B + BM25_B * documento.getLongitud() / longitudMedia);
+                double puntuacion = 0;
+                for (int i = 0; i < listas.size(); i++) {
+                    PostingList lista = listas.get(i);
+                    if (posiciones[i] < lista.tamano() && lista.clave(posiciones[i]) == clave) {
+                        int frecuencia = lista.frecuencia(posiciones[i]);
+                        puntuacion += idfs.get(i) * frecuencia * (BM25_K1 + 1) / (frecuencia + normalizacion);
+                        posiciones[i]++;
+                    }
+                }
+                if (documento.getTipo().getGrupo() < TipoResultadoBusqueda.COMENTARIO.getGrupo()
+                        && documento.getTexto().strip().equals(consulta)) {
+                    puntuacion += IMPULSO_NOMBRE_EXACTO;
+                }
+
+                DocumentoPuntuado candidato = new DocumentoPuntuado(clave, puntuacion);
+                if (mejores.size() < limite) {
+                    mejores.add(candidato);
+                } else if (peorPrimero.compare(candidato, mejores.peek()) > 0) {
+                    mejores.poll();
+                    mejores.add(candidato);
+                }
+            }
+
+            List<DocumentoPuntuado> ordenados = new ArrayList<>(mejores);
+            ordenados.sort(peorPrimero.reversed());
+            return ordenados.stream()
+                    .map(p -> {
+                        DocumentoBusqueda documento = documentos.get(p.clave());
+                        return new BusquedaRanqueadaResultadoDto(documento.getTipo().name(), documento.getZonaNombre(),
+                                documento.getEspecieNombre(), documento.getAnimalNombre(),
+                                documento.getComentarioContenido(), documento.getRespuestaContenido(), p.puntuacion());
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private double idf(int documentosConPalabra) {
+        return Math.log(1 + (documentos.size() - documentosConPalabra + 0.5) / (documentosConPalabra + 0.5));
+    }
+
+    /**
+     * Comentarios y respuestas indexados, en orden de id, para guardar una instantánea del índice.
+     */
+    public List<ComentarioIndiceProjection> exportarComentarios() {
+        lock.readLock().lock();
+        try {
+            List<ComentarioIndiceProjection> filas = new ArrayList<>();
+            for (DocumentoBusqueda documento : documentos.tailMap(TipoResultadoBusqueda.COMENTARIO.clave(0L), true).values()) {
+                filas.add(new FilaComentarioIndice(documento.getEntidadId(), contenidoPropio(documento),
+                        documento.getAnimalId(), documento.getPadreId()));
+            }
+            return filas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Escritura
+
+    public void indexarZona(Long id, String nombre) {
+        lock.writeLock().lock();
+        try {
+            DocumentoBusqueda existente = documentos.get(TipoResultadoBusqueda.ZONA.clave(id));
+            if (existente != null) {
+                cambiarTexto(existente, nombre);
+                for (DocumentoBusqueda documento : documentosDe(documentosPorZona, id)) {
+                    documento.setZonaNombre(nombre);
+                }
+                return;
+            }
+
+            DocumentoBusqueda documento = new DocumentoBusqueda(TipoResultadoBusqueda.ZONA, id);
+            documento.setZonaId(id);
+            documento.setZonaNombre(nombre);
+            documento.setTexto(BusquedaTokenizer.normalizar(nombre));
+            agregarDocumento(documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexarEspecie(Long id, String nombre, Long zonaId) {
+        lock.writeLock().lock();
+        try {
+            DocumentoBusqueda existente = documentos.get(TipoResultadoBusqueda.ESPECIE.clave(id));
+            if (existente != null) {
+                cambiarTexto(existente, nombre);
+                for (DocumentoBusqueda documento : documentosDe(documentosPorEspecie, id)) {
+                    documento.setEspecieNombre(nombre);
+                    if (!zonaId.equals(documento.getZonaId())) {
+                        moverDeZona(documento, zonaId);
+                    }
+                }
+                return;
+            }
+
+            DocumentoBusqueda documento = new DocumentoBusqueda(TipoResultadoBusqueda.ESPECIE, id);
+            documento.setZonaId(zonaId);
+            documento.setZonaNombre(nombreZona(zonaId));
+            documento.setEspecieId(id);
+            documento.setEspecieNombre(nombre);
+            documento.setTexto(BusquedaTokenizer.normalizar(nombre));
+            agregarDocumento(documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexarAnimal(Long id, String nombre, Long especieId) {
+        lock.writeLock().lock();
+        try {
+            DocumentoBusqueda especie = documentos.get(TipoResultadoBusqueda.ESPECIE.clave(especieId));
+            DocumentoBusqueda existente = documentos.get(TipoResultadoBusqueda.ANIMAL.clave(id));
+
+            if (existente != null) {
+                cambiarTexto(existente, nombre);
+                for (DocumentoBusqueda documento : documentosDe(documentosPorAnimal, id)) {
+                    documento.setAnimalNombre(nombre);
+                    if (!especieId.equals(documento.getEspecieId())) {
+                        moverDeEspecie(documento, especieId, especie);
+                    }
+                }
+                return;
+            }
+
+            DocumentoBusqueda documento = new DocumentoBusqueda(TipoResultadoBusqueda.ANIMAL, id);
+            asignarEspecie(documento, especieId, especie);
+            documento.setAnimalId(id);
+            documento.setAnimalNombre(nombre);
+            documento.setTexto(BusquedaTokenizer.normalizar(nombre));
+            agregarDocumento(documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexarComentario(Long id, String contenido, Long animalId, Long padreId) {
+        lock.writeLock().lock();
+        try {
+            DocumentoBusqueda existente = documentos.get(TipoResultadoBusqueda.COMENTARIO.clave(id));
+            if (existente != null) {
+                quitarDocumento(existente);
+            }
+
+            DocumentoBusqueda animal = documentos.get(TipoResultadoBusqueda.ANIMAL.clave(animalId));
+            DocumentoBusqueda documento;
+
+            if (padreId == null) {
+                documento = new DocumentoBusqueda(TipoResultadoBusqueda.COMENTARIO, id);
+                documento.setComentarioContenido(contenido);
+            } else {
+                DocumentoBusqueda padre = documentos.get(TipoResultadoBusqueda.COMENTARIO.clave(padreId));
+                documento = new DocumentoBusqueda(TipoResultadoBusqueda.RESPUESTA, id);
+                documento.setPadreId(padreId);
+                documento.setComentarioContenido(padre != null ? contenidoPropio(padre) : null);
+                documento.setRespuestaContenido(contenido);
+            }
+
+            if (animal != null) {
+                documento.setZonaId(animal.getZonaId());
+                documento.setZonaNombre(animal.getZonaNombre());
+                documento.setEspecieId(animal.getEspecieId());
+                documento.setEspecieNombre(animal.getEspecieNombre());
+            }
+            documento.setAnimalId(animalId);
+            documento.setAnimalNombre(animal != null ? animal.getAnimalNombre() : null);
+            documento.setTexto(BusquedaTokenizer.normalizar(contenido));
+            agregarDocumento(documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminarZona(Long id) {
+        eliminarTodos(documentosPorZona, id);
+    }
+
+    public void eliminarEspecie(Long id) {
+        eliminarTodos(documentosPorEspecie, id);
+    }
+
+    public void eliminarAnimal(Long id) {
+        eliminarTodos(documentosPorAnimal, id);
+    }
+
+    public void eliminarComentario(Long id) {
+        lock.writeLock().lock();
+        try {
+            DocumentoBusqueda documento = documentos.get(TipoResultadoBusqueda.COMENTARIO.clave(id));
+            if (documento != null) {
+                quitarDocumento(documento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void eliminarTodos(Map<Long, PostingList> porEntidad, Long id) {
+        lock.writeLock().lock();
+        try {
+            for (DocumentoBusqueda documento : documentosDe(porEntidad, id)) {
+                quitarDocumento(documento);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Mantenimiento interno (siempre con el bloqueo de escritura tomado)
+
+    private void agregarDocumento(DocumentoBusqueda documento) {
+        documentos.put(documento.getClave(), documento);
+        agregarTokens(documento);
+        agregarA(documentosPorZona, documento.getZonaId(), documento.getClave());
+        agregarA(documentosPorEspecie, documento.getEspecieId(), documento.getClave());
+        agregarA(documentosPorAnimal, documento.getAnimalId(), documento.getClave());
+        agregarA(documentosPorTipo, documento.getTipo(), documento.getClave());
+    }
+
+    private void quitarDocumento(DocumentoBusqueda documento) {
+        documentos.remove(documento.getClave());
+        quitarTokens(documento);
+        quitarDe(documentosPorZona, documento.getZonaId(), documento.getClave());
+        quitarDe(documentosPorEspecie, documento.getEspecieId(), documento.getClave());
+        quitarDe(documentosPorAnimal, documento.getAnimalId(), documento.getClave());
+        quitarDe(documentosPorTipo, documento.getTipo(), documento.getClave());
+    }
+
+    private void cambiarTexto(DocumentoBusqueda documento, String nombre) {
+        quitarTokens(documento);
+        switch (documento.getTipo()) {
+            case ZONA -> documento.setZonaNombre(nombre);
+            case ESPECIE -> documento.setEspecieNombre(nombre);
+            case ANIMAL -> documento.setAnimalNombre(nombre);
+            default -> throw new IllegalArgumentException("Solo se renombran zonas, especies y animales");
+        }
+        documento.setTexto(BusquedaTokenizer.normalizar(nombre));
+        agregarTokens(documento);
+    }
+
+    private void moverDeZona(DocumentoBusqueda documento, Long zonaId) {
+        quitarDe(documentosPorZona, documento.getZonaId(), documento.getClave());
+        documento.setZonaId(zonaId);
+        documento.setZonaNombre(nombreZona(zonaId));
+        agregarA(documentosPorZona, zonaId, documento.getClave());
+    }
+
+    private void moverDeEspecie(DocumentoBusqueda documento, Long especieId, DocumentoBusqueda especie) {
+        quitarDe(documentosPorZona, documento.getZonaId(), documento.getClave());
+        quitarDe(documentosPorEspecie, documento.getEspecieId(), documento.getClave());
+        asignarEspecie(documento, especieId, especie);
+        agregarA(documentosPorZona, documento.getZonaId(), documento.getClave());
+        agregarA(documentosPorEspecie, especieId, documento.getClave());
+    }
+
+    private void asignarEspecie(DocumentoBusqueda documento, Long especieId, DocumentoBusqueda especie) {
+        documento.setEspecieId(especieId);
+        documento.setEspecieNombre(especie != null ? especie.getEspecieNombre() : null);
+        documento.setZonaId(especie != null ? especie.getZonaId() : null);
+        documento.setZonaNombre(especie != null ? especie.getZonaNombre() : null);
+    }
+
+    private String nombreZona(Long zonaId) {
+        DocumentoBusqueda zona = documentos.get(TipoResultadoBusqueda.ZONA.clave(zonaId));
+        return zona != null ? zona.getZonaNombre() : null;
+    }
+
+    private static String contenidoPropio(DocumentoBusqueda comentario) {
+        return comentario.getTipo() == TipoResultadoBusqueda.RESPUESTA
+                ? comentario.getRespuestaContenido()
+                : comentario.getComentarioContenido();
+    }
+
+    private void agregarTokens(DocumentoBusqueda documento) {
+        for (Long trigrama : BusquedaTokenizer.trigramas(documento.getTexto())) {
+            agregarA(documentosPorTrigrama, trigrama, documento.getClave());
+        }
+        for (String fragmento : BusquedaTokenizer.fragmentos(documento.getTexto())) {
+            agregarA(documentosPorFragmento, fragmento, documento.getClave());
+        }
+        List<String> palabras = BusquedaTokenizer.tokenizar(documento.getTexto());
+        Map<String, Integer> frecuencias = new HashMap<>();
+        palabras.forEach(token -> frecuencias.merge(token, 1, Integer::sum));
+        frecuencias.forEach((token, frecuencia) -> documentosPorToken
+                .computeIfAbsent(token, t -> new PostingList())
+                .agregar(documento.getClave(), frecuencia));
+        documento.setLongitud(palabras.size());
+        totalPalabras += palabras.size();
+
+        for (String termino : terminosDe(documento)) {
+            agregarA(documentosPorTermino, termino, documento.getClave());
+            terminos.agregar(termino);
+        }
+    }
+
+    private void quitarTokens(DocumentoBusqueda documento) {
+        for (Long trigrama : BusquedaTokenizer.trigramas(documento.getTexto())) {
+            quitarDe(documentosPorTrigrama, trigrama, documento.getClave());
+        }
+        for (String fragmento : BusquedaTokenizer.fragmentos(documento.getTexto())) {
+            quitarDe(documentosPorFragmento, fragmento, documento.getClave());
+        }
+        for (String token : tokensDe(documento)) {
+            quitarDe(documentosPorToken, token, documento.getClave());
+        }
+        totalPalabras -= documento.getLongitud();
+        documento.setLongitud(0);
+        for (String termino : terminosDe(documento)) {
+            quitarDe(documentosPorTermino, termino, documento.getClave());
+        }
+
+        // El árbol BK no admite borrados: se rehace cuando los términos obsoletos superan a los vigentes
+        if (terminos.tamano() > MINIMO_TERMINOS_PARA_REHACER && terminos.tamano() > 2 * documentosPorTermino.size()) {
+            terminos = new ArbolBK();
+            documentosPorTermino.keySet().forEach(terminos::agregar);
+        }
+    }
+
+    private static Set<String> tokensDe(DocumentoBusqueda documento) {
+        return new LinkedHashSet<>(BusquedaTokenizer.tokenizar(documento.getTexto()));
+    }
+
+    /**
+     * Nombre completo y palabras del nombre; los comentarios no participan de la búsqueda difusa.
+     */
+    private static Set<String> terminosDe(DocumentoBusqueda documento) {
+        if (documento.getTipo().getGrupo() >= TipoResultadoBusqueda.COMENTARIO.getGrupo()) return Set.of();
+
+        Set<String> terminos = new LinkedHashSet<>();
+        String nombre = documento.getTexto().strip();
+        if (!nombre.isEmpty()) terminos.add(nombre);
+        terminos.addAll(BusquedaTokenizer.tokenizar(nombre));
+        return terminos;
+    }
+
+    private List<DocumentoBusqueda> documentosDe(Map<Long, PostingList> porEntidad, Long id) {
+        PostingList lista = porEntidad.get(id);
+        if (lista == null) return List.of();
+
+        List<DocumentoBusqueda> resultado = new ArrayList<>(lista.tamano());
+        for (int i = 0; i < lista.tamano(); i++) {
+            DocumentoBusqueda documento = documentos.get(lista.clave(i));
+            if (documento != null) resultado.add(documento);
+        }
+        return resultado;
+    }
+
+    private static <K> void agregarA(Map<K, PostingList> listas, K llave, long clave) {
+        if (llave == null) return;
+        listas.computeIfAbsent(llave, l -> new PostingList()).agregar(clave);
+    }
+
+    private static <K> void quitarDe(Map<K, PostingList> listas, K llave, long clave) {
+        if (llave == null) return;
+        PostingList lista = listas.get(llave);
+        if (lista == null) return;
+
+        lista.eliminar(clave);
+        if (lista.estaVacia()) listas.remove(llave);
+    }
+
+    private static final class DocumentoPuntuado {
+        private final long clave;
+        private final double puntuacion;
+
+        private DocumentoPuntuado(long clave, double puntuacion) {
+            this.clave = clave;
+            this.puntuacion = puntuacion;
+        }
+
+        private long clave() {
+            return clave;
+        }
+
+        private double puntuacion() {
+            return puntuacion;
+        }
+    }
+}
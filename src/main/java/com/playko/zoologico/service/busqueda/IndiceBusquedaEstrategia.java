@@ -0,0 +1,35 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Responde desde el {@link IndiceBusqueda} en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+public class IndiceBusquedaEstrategia implements IBusquedaEstrategia {
+    private final IndiceBusqueda indiceBusqueda;
+    private final EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
+
+    @Override
+    public List<BusquedaResultadoDto> buscar(String palabra) {
+        if (indiceBusqueda.estaListo()) {
+            return indiceBusqueda.buscar(palabra);
+        }
+
+        // Mientras el índice se construye se recorre la base de datos
+        return escaneoBusquedaEstrategia.buscar(palabra);
+    }
+
+    @Override
+    public PaginaBusqueda buscarPagina(String palabra, long despuesDe, int limite) {
+        if (indiceBusqueda.estaListo()) {
+            return indiceBusqueda.buscarPagina(palabra, despuesDe, limite);
+        }
+        return escaneoBusquedaEstrategia.buscarPagina(palabra, despuesDe, limite);
+    }
+}
@@ -0,0 +1,145 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.event.ZonaEvent;
+import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Construye el {@link IndiceBusqueda} al arrancar la aplicación y lo mantiene al día con los cambios
+ * confirmados en zonas, especies, animales y comentarios.
+ * <p>
+ * Si hay una {@link SnapshotIndiceBusqueda} válida, los comentarios salen de ella y de la base de datos solo se
+ * leen los ids de comentario y las filas que faltan en la instantánea. Zonas, especies y animales son tablas
+ * pequeñas y se leen siempre completas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceBusquedaSincronizador {
+    private static final int LOTE_COMENTARIOS_FALTANTES = 1000;
+
+    private final IndiceBusqueda indiceBusqueda;
+    private final IZonaRepository zonaRepository;
+    private final IEspecieRepository especieRepository;
+    private final IAnimalRepository animalRepository;
+    private final IComentarioRepository comentarioRepository;
+    private final SnapshotIndiceBusqueda snapshotIndiceBusqueda;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void construirIndice() {
+        long inicio = System.currentTimeMillis();
+        Optional<SnapshotIndiceBusqueda.Contenido> snapshot = snapshotIndiceBusqueda.cargar();
+
+        indiceBusqueda.reconstruir(() -> {
+            zonaRepository.findAllParaIndice()
+                    .forEach(z -> indiceBusqueda.indexarZona(z.getId(), z.getNombre()));
+            especieRepository.findAllParaIndice()
+                    .forEach(e -> indiceBusqueda.indexarEspecie(e.getId(), e.getNombre(), e.getZonaId()));
+            animalRepository.findAllParaIndice()
+                    .forEach(a -> indiceBusqueda.indexarAnimal(a.getId(), a.getNombre(), a.getEspecieId()));
+            if (snapshot.isPresent()) {
+                cargarComentariosDesdeSnapshot(snapshot.get());
+            } else {
+                comentarioRepository.findAllParaIndice().forEach(this::indexarComentario);
+            }
+        });
+
+        log.info("Índice de búsqueda construido con {} documentos en {} ms{}",
+                indiceBusqueda.cantidadDocumentos(), System.currentTimeMillis() - inicio,
+                snapshot.isPresent() ? " a partir de la instantánea" : "");
+    }
+
+    /**
+     * Indexa los comentarios de la instantánea que siguen existiendo, los posteriores a la marca de agua y
+     * los anteriores a ella que no llegaron a la instantánea (confirmados después de que se guardara).
+     */
+    private void cargarComentariosDesdeSnapshot(SnapshotIndiceBusqueda.Contenido snapshot) {
+        long[] vigentes = comentarioRepository.findAllIdsOrdenados().stream().mapToLong(Long::longValue).toArray();
+        long[] enSnapshot = new long[snapshot.getComentarios().size()];
+        int n = 0;
+
+        for (ComentarioIndiceProjection comentario : snapshot.getComentarios()) {
+            if (Arrays.binarySearch(vigentes, comentario.getId()) >= 0) {
+                indexarComentario(comentario);
+            }
+            enSnapshot[n++] = comentario.getId();
+        }
+
+        List<Long> faltantes = new ArrayList<>();
+        for (long id : vigentes) {
+            if (id <= snapshot.getMarca() && Arrays.binarySearch(enSnapshot, id) < 0) faltantes.add(id);
+        }
+        for (int i = 0; i < faltantes.size(); i += LOTE_COMENTARIOS_FALTANTES) {
+            comentarioRepository.findParaIndicePorIds(faltantes.subList(i, Math.min(i + LOTE_COMENTARIOS_FALTANTES, faltantes.size())))
+                    .forEach(this::indexarComentario);
+        }
+
+        comentarioRepository.findParaIndicePosterioresA(snapshot.getMarca()).forEach(this::indexarComentario);
+    }
+
+    private void indexarComentario(ComentarioIndiceProjection c) {
+        indiceBusqueda.indexarComentario(c.getId(), c.getContenido(), c.getAnimalId(), c.getPadreId());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onZona(ZonaEvent event) {
+        if (event.getTipoCambio() == TipoCambio.ELIMINADO) {
+            indiceBusqueda.eliminarZona(event.getId());
+        } else {
+            indiceBusqueda.indexarZona(event.getId(), event.getNombre());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEspecie(EspecieEvent event) {
+        if (event.getTipoCambio() == TipoCambio.ELIMINADO) {
+            indiceBusqueda.eliminarEspecie(event.getId());
+        } else {
+            indiceBusqueda.indexarEspecie(event.getId(), event.getNombre(), event.getZonaId());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimal(AnimalEvent event) {
+        if (event.getTipoCambio() == TipoCambio.ELIMINADO) {
+            indiceBusqueda.eliminarAnimal(event.getId());
+        } else {
+            indiceBusqueda.indexarAnimal(event.getId(), event.getNombre(), event.getEspecieId());
+        }
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComentario(ComentarioEvent event) {
+        if (event.getTipoCambio() == TipoCambio.ELIMINADO) {
+            indiceBusqueda.eliminarComentario(event.getId());
+        } else {
+            indiceBusqueda.indexarComentario(event.getId(), event.getContenido(), event.getAnimalId(), event.getPadreId());
+        }
+    }
+}
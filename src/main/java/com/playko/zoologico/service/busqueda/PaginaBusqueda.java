@@ -0,0 +1,15 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class PaginaBusqueda {
+    private List<BusquedaResultadoDto> resultados;
+    /** Posición del último resultado de la página, o {@code null} si no quedan más resultados. */
+    private Long siguientePosicion;
+}
@@ -0,0 +1,125 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaParalelaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.FuenteIncompletaDto;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.playko.zoologico.constants.BusquedaConstants.MOTIVO_ERROR;
+import static com.playko.zoologico.constants.BusquedaConstants.MOTIVO_SATURADO;
+import static com.playko.zoologico.constants.BusquedaConstants.MOTIVO_TIEMPO_AGOTADO;
+
+/**
+ * Consulta las cuatro fuentes a la vez, cada una en su propia transacción de solo lectura, para que
+ * zonas, especies y animales no esperen detrás del recorrido de comentarios. Las fuentes que no
+ * responden a tiempo o fallan se omiten y se informan como incompletas.
+ * <p>
+ * Cada consulta corre en una transacción con el mismo tiempo máximo, que se aplica como tiempo límite de
+ * las sentencias, así que la base de datos la corta aunque el hilo no atienda la interrupción. Con el
+ * pool saturado la fuente se informa como incompleta en lugar de consultarse en el hilo de la petición.
+ */
+@Slf4j
+@Component
+public class ParaleloBusquedaEstrategia implements IBusquedaEstrategia {
+    private final EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final long tiempoMaximoMs;
+
+    public ParaleloBusquedaEstrategia(EscaneoBusquedaEstrategia escaneoBusquedaEstrategia,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${busqueda.paralelo.hilos:8}") int hilos,
+                                      @Value("${busqueda.paralelo.cola:64}") int capacidadCola,
+                                      @Value("${busqueda.paralelo.tiempo-maximo-ms:2000}") long tiempoMaximoMs) {
+        this.escaneoBusquedaEstrategia = escaneoBusquedaEstrategia;
+        this.tiempoMaximoMs = tiempoMaximoMs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setTimeout((int) TimeUnit.MILLISECONDS.toSeconds(tiempoMaximoMs + 999));
+
+        AtomicInteger contador = new AtomicInteger();
+        // Con la cola llena se rechaza la consulta en lugar de encolar sin límite
+        this.executor = new ThreadPoolExecutor(hilos, hilos, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread hilo = new Thread(r, "busqueda-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public List<BusquedaResultadoDto> buscar(String palabra) {
+        return buscarConDetalle(palabra).getResultados();
+    }
+
+    /**
+     * Las páginas recorren las fuentes en orden, así que no se reparten entre hilos.
+     */
+    @Override
+    public PaginaBusqueda buscarPagina(String palabra, long despuesDe, int limite) {
+        return escaneoBusquedaEstrategia.buscarPagina(palabra, despuesDe, limite);
+    }
+
+    public BusquedaParalelaResponseDto buscarConDetalle(String palabra) {
+        Map<FuenteBusqueda, Future<List<BusquedaResultadoDto>>> consultas = new EnumMap<>(FuenteBusqueda.class);
+        List<FuenteIncompletaDto> fuentesIncompletas = new ArrayList<>();
+        for (FuenteBusqueda fuente : FuenteBusqueda.values()) {
+            try {
+                consultas.put(fuente, executor.submit(() -> transactionTemplate.execute(
+                        estado -> escaneoBusquedaEstrategia.buscarEnFuente(fuente, palabra))));
+            } catch (RejectedExecutionException e) {
+                fuentesIncompletas.add(new FuenteIncompletaDto(fuente.name(), MOTIVO_SATURADO));
+            }
+        }
+
+        // El tiempo máximo cuenta desde que se lanzan las consultas, no desde que se espera cada una
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(tiempoMaximoMs);
+        List<BusquedaResultadoDto> resultados = new ArrayList<>();
+
+        for (Map.Entry<FuenteBusqueda, Future<List<BusquedaResultadoDto>>> consulta : consultas.entrySet()) {
+            FuenteBusqueda fuente = consulta.getKey();
+            try {
+                long restante = Math.max(0L, limite - System.nanoTime());
+                resultados.addAll(consulta.getValue().get(restante, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                consulta.getValue().cancel(true);
+                fuentesIncompletas.add(new FuenteIncompletaDto(fuente.name(), MOTIVO_TIEMPO_AGOTADO));
+            } catch (ExecutionException e) {
+                log.warn("La búsqueda en {} falló", fuente, e.getCause());
+                fuentesIncompletas.add(new FuenteIncompletaDto(fuente.name(), MOTIVO_ERROR));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                consulta.getValue().cancel(true);
+                fuentesIncompletas.add(new FuenteIncompletaDto(fuente.name(), MOTIVO_TIEMPO_AGOTADO));
+            }
+        }
+
+        return new BusquedaParalelaResponseDto(resultados, fuentesIncompletas);
+    }
+
+    @PreDestroy
+    public void detener() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,148 @@
+package com.playko.zoologico.service.busqueda;
+
+import java.util.Arrays;
+
+/**
+ * Lista ordenada de claves de documento sin repetidos. Las claves se mantienen ordenadas para
+ * poder intersectar y unir listas recorriéndolas en paralelo. Opcionalmente guarda, por clave, la
+ * frecuencia del término en el documento.
+ */
+public class PostingList {
+    private long[] claves = new long[4];
+    private int[] frecuencias;
+    private int tamano;
+
+    public int tamano() {
+        return tamano;
+    }
+
+    public boolean estaVacia() {
+        return tamano == 0;
+    }
+
+    public boolean contiene(long clave) {
+        return Arrays.binarySearch(claves, 0, tamano, clave) >= 0;
+    }
+
+    public void agregar(long clave) {
+        agregar(clave, 0);
+    }
+
+    /**
+     * Agrega la clave guardando cuántas veces aparece el término en el documento. Si la clave ya estaba
+     * se actualiza su frecuencia. Las listas que nunca reciben frecuencias no reservan espacio para ellas.
+     */
+    public void agregar(long clave, int frecuencia) {
+        if (frecuencias == null && frecuencia != 0) {
+            frecuencias = new int[claves.length];
+        }
+
+        if (tamano > 0 && claves[tamano - 1] < clave) {
+            asegurarCapacidad();
+            claves[tamano] = clave;
+            if (frecuencias != null) frecuencias[tamano] = frecuencia;
+            tamano++;
+            return;
+        }
+
+        int posicion = Arrays.binarySearch(claves, 0, tamano, clave);
+        if (posicion >= 0) {
+            if (frecuencias != null) frecuencias[posicion] = frecuencia;
+            return;
+        }
+
+        int insercion = -posicion - 1;
+        asegurarCapacidad();
+        System.arraycopy(claves, insercion, claves, insercion + 1, tamano - insercion);
+        claves[insercion] = clave;
+        if (frecuencias != null) {
+            System.arraycopy(frecuencias, insercion, frecuencias, insercion + 1, tamano - insercion);
+            frecuencias[insercion] = frecuencia;
+        }
+        tamano++;
+    }
+
+    public void eliminar(long clave) {
+        int posicion = Arrays.binarySearch(claves, 0, tamano, clave);
+        if (posicion < 0) return;
+
+        System.arraycopy(claves, posicion + 1, claves, posicion, tamano - posicion - 1);
+        if (frecuencias != null) {
+            System.arraycopy(frecuencias, posicion + 1, frecuencias, posicion, tamano - posicion - 1);
+        }
+        tamano--;
+    }
+
+    /**
+     * Clave en la posición indicada, para recorrer varias listas a la vez sin copiarlas.
+     */
+    public long clave(int posicion) {
+        return claves[posicion];
+    }
+
+    public int frecuencia(int posicion) {
+        return frecuencias == null ? 0 : frecuencias[posicion];
+    }
+
+    /**
+     * Posición de la primera clave mayor o igual que la indicada, buscando a partir de {@code desde}; el
+     * tamaño si no hay ninguna.
+     */
+    public int posicionDesde(long clave, int desde) {
+        int posicion = Arrays.binarySearch(claves, desde, tamano, clave);
+        return posicion >= 0 ? posicion : -posicion - 1;
+    }
+
+    private void asegurarCapacidad() {
+        if (tamano == claves.length) {
+            claves = Arrays.copyOf(claves, claves.length * 2);
+            if (frecuencias != null) frecuencias = Arrays.copyOf(frecuencias, claves.length);
+        }
+    }
+
+    /**
+     * Claves de {@code a} presentes en la lista, sin copiar la lista.
+     */
+    public long[] filtrar(long[] a) {
+        long[] resultado = new long[Math.min(a.length, tamano)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+
+        while (i < a.length && j < tamano) {
+            if (a[i] < claves[j]) {
+                i++;
+            } else if (a[i] > claves[j]) {
+                j++;
+            } else {
+                resultado[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+
+        return Arrays.copyOf(resultado, n);
+    }
+
+    /**
+     * Cantidad de claves de {@code a} presentes en la lista, sin construir la intersección.
+     */
+    public int contarInterseccion(long[] a) {
+        int i = 0;
+        int j = 0;
+        int n = 0;
+
+        while (i < a.length && j < tamano) {
+            if (a[i] < claves[j]) {
+                i++;
+            } else if (a[i] > claves[j]) {
+                j++;
+            } else {
+                n++;
+                i++;
+                j++;
+            }
+        }
+        return n;
+    }
+}
@@ -0,0 +1,150 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Instantánea en disco de los comentarios del {@link IndiceBusqueda}, que es lo único costoso de releer al
+ * arrancar. Guarda las filas en un formato binario compacto junto con la marca de agua (el mayor id de
+ * comentario incluido) y se lee proyectando el archivo en memoria.
+ * <p>
+ * Formato: magia, versión, marca de agua y cantidad de filas; luego por fila id, id de animal, id de padre
+ * ({@code -1} si no tiene), longitud y bytes UTF-8 del contenido.
+ */
+@Slf4j
+@Component
+public class SnapshotIndiceBusqueda {
+    private static final int MAGIA = 0x5A494458;
+    private static final int VERSION = 1;
+    private static final long SIN_PADRE = -1L;
+
+    private final IndiceBusqueda indiceBusqueda;
+    private final boolean habilitado;
+    private final Path ruta;
+
+    public SnapshotIndiceBusqueda(IndiceBusqueda indiceBusqueda,
+                                  @Value("${busqueda.snapshot.habilitado:false}") boolean habilitado,
+                                  @Value("${busqueda.snapshot.ruta:indice-busqueda.snap}") String ruta) {
+        this.indiceBusqueda = indiceBusqueda;
+        this.habilitado = habilitado;
+        this.ruta = Path.of(ruta);
+    }
+
+    public boolean estaHabilitado() {
+        return habilitado;
+    }
+
+    @Scheduled(fixedDelayString = "${busqueda.snapshot.intervalo-ms:600000}",
+            initialDelayString = "${busqueda.snapshot.intervalo-ms:600000}")
+    @EventListener(ContextClosedEvent.class)
+    public void guardarPuntoDeControl() {
+        if (!habilitado || !indiceBusqueda.estaListo()) return;
+
+        try {
+            guardar(indiceBusqueda.exportarComentarios());
+        } catch (IOException e) {
+            log.warn("No se pudo guardar la instantánea del índice de búsqueda en {}", ruta, e);
+        }
+    }
+
+    /**
+     * Escribe en un archivo temporal y lo mueve sobre el anterior, para que un fallo a mitad de escritura
+     * nunca deje una instantánea truncada.
+     */
+    public void guardar(List<ComentarioIndiceProjection> comentarios) throws IOException {
+        Path directorio = ruta.toAbsolutePath().getParent();
+        Files.createDirectories(directorio);
+        Path temporal = Files.createTempFile(directorio, "indice-busqueda", ".tmp");
+
+        long marca = comentarios.stream().mapToLong(ComentarioIndiceProjection::getId).max().orElse(0L);
+
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            salida.writeInt(MAGIA);
+            salida.writeInt(VERSION);
+            salida.writeLong(marca);
+            salida.writeInt(comentarios.size());
+
+            for (ComentarioIndiceProjection comentario : comentarios) {
+                byte[] contenido = comentario.getContenido() == null
+                        ? new byte[0]
+                        : comentario.getContenido().getBytes(StandardCharsets.UTF_8);
+                salida.writeLong(comentario.getId());
+                salida.writeLong(comentario.getAnimalId());
+                salida.writeLong(comentario.getPadreId() == null ? SIN_PADRE : comentario.getPadreId());
+                salida.writeInt(contenido.length);
+                salida.write(contenido);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee la instantánea si existe y es válida; ante cualquier problema devuelve vacío para reconstruir desde cero.
+     */
+    public Optional<Contenido> cargar() {
+        if (!habilitado || !Files.isRegularFile(ruta)) return Optional.empty();
+
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+            if (buffer.getInt() != MAGIA || buffer.getInt() != VERSION) {
+                log.warn("Instantánea del índice de búsqueda en {} con formato desconocido", ruta);
+                return Optional.empty();
+            }
+
+            long marca = buffer.getLong();
+            int cantidad = buffer.getInt();
+            List<ComentarioIndiceProjection> comentarios = new ArrayList<>(cantidad);
+
+            for (int i = 0; i < cantidad; i++) {
+                long id = buffer.getLong();
+                long animalId = buffer.getLong();
+                long padreId = buffer.getLong();
+                byte[] contenido = new byte[buffer.getInt()];
+                buffer.get(contenido);
+
+                comentarios.add(new FilaComentarioIndice(id, new String(contenido, StandardCharsets.UTF_8), animalId,
+                        padreId == SIN_PADRE ? null : padreId));
+            }
+
+            return Optional.of(new Contenido(marca, comentarios));
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | NegativeArraySizeException e) {
+            log.warn("No se pudo leer la instantánea del índice de búsqueda en {}", ruta, e);
+            return Optional.empty();
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Contenido {
+        /** Mayor id de comentario incluido en la instantánea. */
+        private final long marca;
+        private final List<ComentarioIndiceProjection> comentarios;
+    }
+}
@@ -0,0 +1,26 @@
+package com.playko.zoologico.service.busqueda;
+
+import lombok.Getter;
+
+/**
+ * Tipos de resultado de la búsqueda. El grupo define el orden en el que se devuelven los resultados
+ * (zonas, especies, animales y por último comentarios y respuestas mezclados por id).
+ */
+@Getter
+public enum TipoResultadoBusqueda {
+    ZONA(0),
+    ESPECIE(1),
+    ANIMAL(2),
+    COMENTARIO(3),
+    RESPUESTA(3);
+
+    private final int grupo;
+
+    TipoResultadoBusqueda(int grupo) {
+        this.grupo = grupo;
+    }
+
+    public long clave(long entidadId) {
+        return ((long) grupo << 56) | entidadId;
+    }
+}
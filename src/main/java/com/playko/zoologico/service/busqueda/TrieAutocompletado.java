@@ -0,0 +1,323 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.SugerenciaResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie compacto (radix) de nombres de zonas, especies y animales para el autocompletado.
+ * <p>
+ * Cada nombre se inserta completo y a partir de cada una de sus palabras, de modo que "pardo" sugiere
+ * "Oso pardo". Cada nodo guarda ya calculadas las mejores sugerencias de su subárbol, así que responder a
+ * un prefijo solo cuesta recorrer el prefijo. Las sugerencias se ordenan por nombre más corto primero y
+ * luego alfabéticamente.
+ */
+@Component
+public class TrieAutocompletado {
+    private static final Comparator<Sugerencia> ORDEN = Comparator
+            .comparingInt((Sugerencia s) -> s.nombre.length())
+            .thenComparing(s -> s.nombreNormalizado)
+            .thenComparingLong(s -> s.clave);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maximoSugerencias;
+    private final Map<Long, Sugerencia> sugerencias = new HashMap<>();
+    private Nodo raiz = new Nodo("");
+
+    public TrieAutocompletado(@Value("${busqueda.autocompletado.maximo-sugerencias:10}") int maximoSugerencias) {
+        this.maximoSugerencias = maximoSugerencias;
+    }
+
+    public int getMaximoSugerencias() {
+        return maximoSugerencias;
+    }
+
+    public void reconstruir(Runnable carga) {
+        lock.writeLock().lock();
+        try {
+            sugerencias.clear();
+            raiz = new Nodo("");
+            carga.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cada nodo guarda como mucho {@code maximoSugerencias}, así que un límite mayor no devuelve más.
+     */
+    public List<SugerenciaResponseDto> sugerir(String prefijo, int limite) {
+        String resto = BusquedaTokenizer.normalizar(prefijo).strip();
+        if (resto.isEmpty() || limite <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            while (!resto.isEmpty()) {
+                Nodo hijo = nodo.hijo(resto.charAt(0));
+                if (hijo == null) return List.of();
+
+                if (resto.length() <= hijo.etiqueta.length()) {
+                    if (!hijo.etiqueta.startsWith(resto)) return List.of();
+                    nodo = hijo;
+                    break;
+                }
+                if (!resto.startsWith(hijo.etiqueta)) return List.of();
+
+                resto = resto.substring(hijo.etiqueta.length());
+                nodo = hijo;
+            }
+
+            return nodo.mejores.stream()
+                    .limit(limite)
+                    .map(Sugerencia::toDto)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void indexar(TipoResultadoBusqueda tipo, Long id, String nombre) {
+        lock.writeLock().lock();
+        try {
+            eliminarSugerencia(tipo.clave(id));
+            if (nombre == null || nombre.isBlank()) return;
+
+            Sugerencia sugerencia = new Sugerencia(tipo, id, nombre);
+            sugerencias.put(sugerencia.clave, sugerencia);
+            for (String clave : claves(sugerencia.nombreNormalizado)) {
+                insertar(clave, sugerencia);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(TipoResultadoBusqueda tipo, Long id) {
+        lock.writeLock().lock();
+        try {
+            eliminarSugerencia(tipo.clave(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void eliminarSugerencia(long clave) {
+        Sugerencia anterior = sugerencias.remove(clave);
+        if (anterior == null) return;
+
+        for (String claveTrie : claves(anterior.nombreNormalizado)) {
+            quitar(claveTrie, anterior);
+        }
+    }
+
+    /**
+     * El nombre completo y cada sufijo que empieza en una palabra.
+     */
+    private static Set<String> claves(String nombreNormalizado) {
+        Set<String> claves = new LinkedHashSet<>();
+        claves.add(nombreNormalizado);
+
+        for (int i = 1; i < nombreNormalizado.length(); i++) {
+            if (Character.isLetterOrDigit(nombreNormalizado.charAt(i))
+                    && !Character.isLetterOrDigit(nombreNormalizado.charAt(i - 1))) {
+                claves.add(nombreNormalizado.substring(i));
+            }
+        }
+        return claves;
+    }
+
+    private void insertar(String clave, Sugerencia sugerencia) {
+        Nodo nodo = raiz;
+        nodo.ofrecer(sugerencia, maximoSugerencias);
+        String resto = clave;
+
+        while (!resto.isEmpty()) {
+            Nodo hijo = nodo.hijo(resto.charAt(0));
+
+            if (hijo == null) {
+                hijo = new Nodo(resto);
+                nodo.agregarHijo(hijo);
+                resto = "";
+            } else {
+                int comun = prefijoComun(hijo.etiqueta, resto);
+                if (comun < hijo.etiqueta.length()) {
+                    hijo = nodo.dividir(hijo, comun);
+                }
+                resto = resto.substring(comun);
+            }
+
+            hijo.ofrecer(sugerencia, maximoSugerencias);
+            nodo = hijo;
+        }
+
+        nodo.terminales.add(sugerencia);
+    }
+
+    private void quitar(String clave, Sugerencia sugerencia) {
+        List<Nodo> camino = new ArrayList<>();
+        camino.add(raiz);
+        Nodo nodo = raiz;
+        String resto = clave;
+
+        while (!resto.isEmpty()) {
+            Nodo hijo = nodo.hijo(resto.charAt(0));
+            if (hijo == null || !resto.startsWith(hijo.etiqueta)) return;
+
+            resto = resto.substring(hijo.etiqueta.length());
+            camino.add(hijo);
+            nodo = hijo;
+        }
+
+        if (!nodo.terminales.remove(sugerencia)) return;
+
+        // De la hoja a la raíz: se poda lo que quedó vacío y se recalculan las mejores sugerencias
+        for (int i = camino.size() - 1; i >= 0; i--) {
+            Nodo actual = camino.get(i);
+            Nodo padre = i > 0 ? camino.get(i - 1) : null;
+
+            if (padre != null && actual.terminales.isEmpty() && actual.hijos.length == 0) {
+                padre.quitarHijo(actual);
+                continue;
+            }
+            if (padre != null && actual.terminales.isEmpty() && actual.hijos.length == 1) {
+                Nodo unico = actual.hijos[0];
+                padre.reemplazarHijo(actual, unico.conEtiqueta(actual.etiqueta + unico.etiqueta));
+                continue;
+            }
+            if (actual.mejores.contains(sugerencia)) {
+                actual.recalcular(maximoSugerencias);
+            }
+        }
+    }
+
+    private static int prefijoComun(String a, String b) {
+        int limite = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limite && a.charAt(i) == b.charAt(i)) i++;
+        return i;
+    }
+
+    private static final class Nodo {
+        private final String etiqueta;
+        /** Ordenados por el primer carácter de su etiqueta, que es distinto entre hermanos. */
+        private Nodo[] hijos = new Nodo[0];
+        private final List<Sugerencia> terminales;
+        private List<Sugerencia> mejores;
+
+        private Nodo(String etiqueta) {
+            this(etiqueta, new ArrayList<>(1), new ArrayList<>(1));
+        }
+
+        private Nodo(String etiqueta, List<Sugerencia> terminales, List<Sugerencia> mejores) {
+            this.etiqueta = etiqueta;
+            this.terminales = terminales;
+            this.mejores = mejores;
+        }
+
+        private Nodo conEtiqueta(String nuevaEtiqueta) {
+            Nodo copia = new Nodo(nuevaEtiqueta, terminales, mejores);
+            copia.hijos = hijos;
+            return copia;
+        }
+
+        private int posicion(char primero) {
+            int bajo = 0;
+            int alto = hijos.length - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                char actual = hijos[medio].etiqueta.charAt(0);
+                if (actual < primero) bajo = medio + 1;
+                else if (actual > primero) alto = medio - 1;
+                else return medio;
+            }
+            return -(bajo + 1);
+        }
+
+        private Nodo hijo(char primero) {
+            int posicion = posicion(primero);
+            return posicion >= 0 ? hijos[posicion] : null;
+        }
+
+        private void agregarHijo(Nodo hijo) {
+            int insercion = -(posicion(hijo.etiqueta.charAt(0)) + 1);
+            Nodo[] nuevos = new Nodo[hijos.length + 1];
+            System.arraycopy(hijos, 0, nuevos, 0, insercion);
+            nuevos[insercion] = hijo;
+            System.arraycopy(hijos, insercion, nuevos, insercion + 1, hijos.length - insercion);
+            hijos = nuevos;
+        }
+
+        private void quitarHijo(Nodo hijo) {
+            int posicion = posicion(hijo.etiqueta.charAt(0));
+            Nodo[] nuevos = new Nodo[hijos.length - 1];
+            System.arraycopy(hijos, 0, nuevos, 0, posicion);
+            System.arraycopy(hijos, posicion + 1, nuevos, posicion, hijos.length - posicion - 1);
+            hijos = nuevos;
+        }
+
+        private void reemplazarHijo(Nodo anterior, Nodo nuevo) {
+            hijos[posicion(anterior.etiqueta.charAt(0))] = nuevo;
+        }
+
+        /**
+         * Parte la arista hacia {@code hijo} tras {@code longitud} caracteres y devuelve el nodo intermedio.
+         */
+        private Nodo dividir(Nodo hijo, int longitud) {
+            Nodo intermedio = new Nodo(hijo.etiqueta.substring(0, longitud), new ArrayList<>(1), new ArrayList<>(hijo.mejores));
+            intermedio.hijos = new Nodo[]{hijo.conEtiqueta(hijo.etiqueta.substring(longitud))};
+            reemplazarHijo(hijo, intermedio);
+            return intermedio;
+        }
+
+        private void ofrecer(Sugerencia sugerencia, int maximo) {
+            if (mejores.contains(sugerencia)) return;
+            if (mejores.size() >= maximo && ORDEN.compare(sugerencia, mejores.get(mejores.size() - 1)) >= 0) return;
+
+            int posicion = -(Collections.binarySearch(mejores, sugerencia, ORDEN) + 1);
+            mejores.add(posicion, sugerencia);
+            if (mejores.size() > maximo) mejores.remove(mejores.size() - 1);
+        }
+
+        private void recalcular(int maximo) {
+            List<Sugerencia> candidatas = new ArrayList<>(terminales);
+            Arrays.stream(hijos).forEach(h -> candidatas.addAll(h.mejores));
+            mejores = new ArrayList<>(candidatas.stream()
+                    .distinct()
+                    .sorted(ORDEN)
+                    .limit(maximo)
+                    .toList());
+        }
+    }
+
+    private static final class Sugerencia {
+        private final TipoResultadoBusqueda tipo;
+        private final Long id;
+        private final String nombre;
+        private final String nombreNormalizado;
+        private final long clave;
+
+        private Sugerencia(TipoResultadoBusqueda tipo, Long id, String nombre) {
+            this.tipo = tipo;
+            this.id = id;
+            this.nombre = nombre;
+            this.nombreNormalizado = BusquedaTokenizer.normalizar(nombre);
+            this.clave = tipo.clave(id);
+        }
+
+        private SugerenciaResponseDto toDto() {
+            return new SugerenciaResponseDto(tipo.name(), id, nombre);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.playko.zoologico.service.comentario;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playko.zoologico.dto.response.ComentarioResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caché LRU del muro completo de cada animal, guardado ya serializado a JSON para que un acierto no
+ * vuelva a recorrer ni a serializar el árbol. La clave es el nombre del animal sin distinguir mayúsculas,
+ * igual que la búsqueda del animal, así un acierto no necesita consultar la base de datos.
+ * <p>
+ * Se invalida solo el animal afectado. Para no guardar un muro armado antes de una invalidación, cada
+ * animal recuerda la versión en que se invalidó por última vez y un muro calculado antes se descarta.
+ */
+@Component
+public class CacheMuro {
+    private final ObjectMapper objectMapper;
+    private final long pesoMaximo;
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Long> versionInvalidada = new HashMap<>();
+    private long version;
+    private long pesoActual;
+
+    public CacheMuro(ObjectMapper objectMapper,
+                     @Value("${comentarios.muro.cache.peso-maximo:33554432}") long pesoMaximo) {
+        this.objectMapper = objectMapper;
+        this.pesoMaximo = pesoMaximo;
+    }
+
+    public byte[] obtener(String animalNombre, Supplier<Muro> construir) {
+        String clave = animalNombre.toLowerCase(Locale.ROOT);
+        long versionInicial;
+
+        synchronized (this) {
+            Entrada entrada = entradas.get(clave);
+            if (entrada != null) {
+                return entrada.json;
+            }
+            versionInicial = version;
+        }
+
+        Muro muro = construir.get();
+        byte[] json = serializar(muro.comentarios);
+        guardar(clave, muro.animalId, json, versionInicial);
+        return json;
+    }
+
+    private synchronized void guardar(String clave, Long animalId, byte[] json, long versionInicial) {
+        if (versionInvalidada.getOrDefault(animalId, -1L) >= versionInicial || json.length > pesoMaximo) return;
+
+        Entrada anterior = entradas.put(clave, new Entrada(animalId, json));
+        if (anterior != null) {
+            pesoActual -= anterior.json.length;
+        }
+        pesoActual += json.length;
+
+        Iterator<Entrada> iterador = entradas.values().iterator();
+        while (pesoActual > pesoMaximo && iterador.hasNext()) {
+            pesoActual -= iterador.next().json.length;
+            iterador.remove();
+        }
+    }
+
+    public synchronized void invalidarAnimal(Long animalId) {
+        versionInvalidada.put(animalId, version++);
+
+        Iterator<Entrada> iterador = entradas.values().iterator();
+        while (iterador.hasNext()) {
+            Entrada entrada = iterador.next();
+            if (entrada.animalId.equals(animalId)) {
+                pesoActual -= entrada.json.length;
+                iterador.remove();
+            }
+        }
+    }
+
+    private byte[] serializar(List<ComentarioResponseDto> comentarios) {
+        try {
+            return objectMapper.writeValueAsBytes(comentarios);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Muro recién armado junto con el id del animal, que es lo que usan las invalidaciones.
+     */
+    public static final class Muro {
+        private final Long animalId;
+        private final List<ComentarioResponseDto> comentarios;
+
+        public Muro(Long animalId, List<ComentarioResponseDto> comentarios) {
+            this.animalId = animalId;
+            this.comentarios = comentarios;
+        }
+    }
+
+    private static final class Entrada {
+        private final Long animalId;
+        private final byte[] json;
+
+        private Entrada(Long animalId, byte[] json) {
+            this.animalId = animalId;
+            this.json = json;
+        }
+    }
+}
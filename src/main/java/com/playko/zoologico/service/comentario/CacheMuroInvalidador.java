@@ -0,0 +1,31 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida el muro en caché del animal afectado cuando se confirma un comentario nuevo o borrado, o cuando
+ * el animal cambia de nombre o se elimina.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheMuroInvalidador {
+    private final CacheMuro cacheMuro;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComentario(ComentarioEvent event) {
+        cacheMuro.invalidarAnimal(event.getAnimalId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimal(AnimalEvent event) {
+        // Un animal nuevo no puede tener un muro en caché
+        if (event.getTipoCambio() != TipoCambio.CREADO) {
+            cacheMuro.invalidarAnimal(event.getId());
+        }
+    }
+}
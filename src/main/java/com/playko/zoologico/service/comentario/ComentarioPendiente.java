@@ -0,0 +1,45 @@
+package com.playko.zoologico.service.comentario;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comentario ya validado que espera en la cola de {@link IngestaComentarios}. Guarda la ruta y profundidad
+ * del padre para que el lote calcule las del comentario sin volver a leerlo.
+ */
+@Getter
+@AllArgsConstructor
+public class ComentarioPendiente {
+    private final String contenido;
+    private final LocalDateTime fecha;
+    private final Long animalId;
+    private final Long autorId;
+    private final String autorNombre;
+    private final Long padreId;
+    private final String padreRuta;
+    private final Integer padreProfundidad;
+
+    /**
+     * Misma regla que {@link RutaComentario#asignar}: sin ruta si el padre aún no la tiene.
+     */
+    String ruta(Long id) {
+        if (padreId == null) {
+            return RutaComentario.segmento(id);
+        }
+        return padreRuta != null ? padreRuta + RutaComentario.segmento(id) : null;
+    }
+
+    /** Las respuestas no llevan la bandera; ver {@code Comentario#conRespuestas}. */
+    Boolean conRespuestas() {
+        return padreId == null ? Boolean.FALSE : null;
+    }
+
+    Integer profundidad() {
+        if (padreId == null) {
+            return 0;
+        }
+        return padreRuta != null ? padreProfundidad + 1 : null;
+    }
+}
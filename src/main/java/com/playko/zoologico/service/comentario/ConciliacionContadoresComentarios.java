@@ -0,0 +1,134 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.entity.Contador;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.IContadorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.playko.zoologico.service.comentario.ContadoresComentarios.RAICES;
+import static com.playko.zoologico.service.comentario.ContadoresComentarios.RAICES_CON_RESPUESTAS;
+
+/**
+ * Recalcula los contadores de {@link ContadoresComentarios} para detectar y corregir deriva. Recorre las
+ * raíces por lotes de ids, cada lote en su propia transacción, y corrige la bandera {@code conRespuestas}
+ * ajustando el contador en la misma transacción. Al final lee los contadores y los recuenta en una misma
+ * instantánea, sin bloquear a nadie; como los contadores solo se mueven con incrementos, la diferencia
+ * encontrada se aplica después como uno más y no pisa los cambios confirmados mientras tanto.
+ * <p>
+ * Al arrancar también crea los contadores que falten; mientras no existen los incrementos no afectan filas y
+ * esta misma pasada los deja correctos.
+ */
+@Slf4j
+@Component
+public class ConciliacionContadoresComentarios {
+    private final IComentarioRepository comentarioRepository;
+    private final IContadorRepository contadorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate instantanea;
+    private final int tamanoLote;
+
+    public ConciliacionContadoresComentarios(IComentarioRepository comentarioRepository,
+                                             IContadorRepository contadorRepository,
+                                             PlatformTransactionManager transactionManager,
+                                             @Value("${comentarios.contadores.conciliacion.tamano-lote:1000}") int tamanoLote) {
+        this.comentarioRepository = comentarioRepository;
+        this.contadorRepository = contadorRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.instantanea = new TransactionTemplate(transactionManager);
+        this.instantanea.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.instantanea.setReadOnly(true);
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Scheduled(fixedDelayString = "${comentarios.contadores.conciliacion.intervalo-ms:3600000}",
+            initialDelayString = "${comentarios.contadores.conciliacion.intervalo-ms:3600000}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void conciliarPeriodicamente() {
+        long ajustes = conciliar();
+        if (ajustes > 0) {
+            log.warn("Conciliación de contadores de comentarios: {} ajustes", ajustes);
+        }
+    }
+
+    /**
+     * @return banderas corregidas más la diferencia absoluta encontrada en cada contador
+     */
+    public long conciliar() {
+        crearFaltantes();
+
+        long ajustes = 0;
+        Long desde = 0L;
+        List<Long> ids;
+        do {
+            Long inicio = desde;
+            ids = comentarioRepository.findIdsRaicesDesde(inicio, PageRequest.of(0, tamanoLote));
+            if (ids.isEmpty()) break;
+            Long primero = ids.get(0);
+            Long ultimo = ids.get(ids.size() - 1);
+            ajustes += transactionTemplate.execute(estado -> conciliarLote(primero, ultimo));
+            desde = ultimo;
+        } while (ids.size() == tamanoLote);
+
+        ajustes += corregirTotales();
+        return ajustes;
+    }
+
+    private void crearFaltantes() {
+        for (String clave : List.of(RAICES, RAICES_CON_RESPUESTAS)) {
+            if (contadorRepository.existsById(clave)) continue;
+            try {
+                transactionTemplate.executeWithoutResult(estado -> contadorRepository.save(new Contador(clave, 0)));
+            } catch (DataIntegrityViolationException e) {
+                // Otro nodo lo creó al mismo tiempo
+            }
+        }
+    }
+
+    private long conciliarLote(Long desde, Long hasta) {
+        int marcadas = comentarioRepository.marcarRaicesConRespuestas(desde, hasta);
+        int desmarcadas = comentarioRepository.desmarcarRaicesSinRespuestas(desde, hasta);
+        comentarioRepository.inicializarRaicesSinRespuestas(desde, hasta);
+        if (marcadas != desmarcadas) {
+            contadorRepository.incrementar(RAICES_CON_RESPUESTAS, marcadas - desmarcadas);
+        }
+        return (long) marcadas + desmarcadas;
+    }
+
+    private long corregirTotales() {
+        Map<String, Long> diferencias = instantanea.execute(estado -> {
+            Map<String, Long> enInstantanea = new LinkedHashMap<>();
+            enInstantanea.put(RAICES, diferencia(RAICES, comentarioRepository.countRaices()));
+            enInstantanea.put(RAICES_CON_RESPUESTAS,
+                    diferencia(RAICES_CON_RESPUESTAS, comentarioRepository.countRaicesConRespuestas()));
+            return enInstantanea;
+        });
+
+        // Mismo orden de bloqueo que eliminarHilo, que decrementa primero las raíces; solo dura la actualización
+        transactionTemplate.executeWithoutResult(estado -> diferencias.forEach((clave, diferencia) -> {
+            if (diferencia != 0) contadorRepository.incrementar(clave, diferencia);
+        }));
+        return diferencias.values().stream().mapToLong(Math::abs).sum();
+    }
+
+    private long diferencia(String clave, long real) {
+        long valor = contadorRepository.findValor(clave).orElseThrow();
+        if (valor != real) {
+            log.warn("Contador {} desviado: {} en lugar de {}", clave, valor, real);
+        }
+        return real - valor;
+    }
+}
@@ -0,0 +1,71 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.entity.Contador;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.IContadorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores del indicador de comentarios con respuestas: total de raíces y raíces con al menos una
+ * respuesta directa. Se llaman dentro de la transacción que inserta o borra, así que el contador y el dato
+ * se confirman juntos. El segundo contador es siempre la cantidad de raíces con {@code conRespuestas}
+ * verdadero; la bandera se cambia con una actualización condicional para que dos respuestas simultáneas a
+ * la misma raíz cuenten una sola vez.
+ * <p>
+ * Los borrados en cascada desde otras entidades no pasan por aquí; esa deriva la corrige
+ * {@link ConciliacionContadoresComentarios}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContadoresComentarios {
+    public static final String RAICES = "comentarios.raices";
+    public static final String RAICES_CON_RESPUESTAS = "comentarios.raices-con-respuestas";
+
+    private final IContadorRepository contadorRepository;
+    private final IComentarioRepository comentarioRepository;
+
+    public void raicesCreadas(int cantidad) {
+        if (cantidad > 0) {
+            contadorRepository.incrementar(RAICES, cantidad);
+        }
+    }
+
+    /**
+     * Si el padre es raíz y esta es su primera respuesta, cuenta la raíz como comentada. Con un padre que no
+     * es raíz la actualización no afecta filas.
+     */
+    public void respuestaCreada(Long padreId) {
+        if (comentarioRepository.marcarConRespuestas(padreId) > 0) {
+            contadorRepository.incrementar(RAICES_CON_RESPUESTAS, 1);
+        }
+    }
+
+    public void raizEliminada(boolean conRespuestas) {
+        contadorRepository.incrementar(RAICES, -1);
+        if (conRespuestas) {
+            contadorRepository.incrementar(RAICES_CON_RESPUESTAS, -1);
+        }
+    }
+
+    /**
+     * Llamar después de borrar una respuesta directa de la raíz: si era la última, la raíz deja de contar.
+     */
+    public void respuestaEliminada(Long raizId) {
+        if (comentarioRepository.desmarcarSinRespuestas(raizId) > 0) {
+            contadorRepository.incrementar(RAICES_CON_RESPUESTAS, -1);
+        }
+    }
+
+    public Map<String, Long> valores() {
+        Map<String, Long> valores = new HashMap<>();
+        for (Contador contador : contadorRepository.findAllById(List.of(RAICES, RAICES_CON_RESPUESTAS))) {
+            valores.put(contador.getClave(), contador.getValor());
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,52 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.exception.CursorInvalidoException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Posición (fecha, id) del último comentario de una página, codificada como cursor opaco para el cliente.
+ * El id desempata comentarios con la misma fecha.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorMuro {
+    private static final int BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final LocalDateTime fecha;
+    private final Long id;
+
+    public String codificar() {
+        byte[] bytes = ByteBuffer.allocate(BYTES)
+                .putLong(fecha.toEpochSecond(ZoneOffset.UTC))
+                .putInt(fecha.getNano())
+                .putLong(id)
+                .array();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Devuelve {@code null} para la primera página.
+     */
+    public static CursorMuro decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != BYTES) throw new CursorInvalidoException();
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            LocalDateTime fecha = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new CursorMuro(fecha, buffer.getLong());
+        } catch (IllegalArgumentException | DateTimeException | BufferUnderflowException e) {
+            throw new CursorInvalidoException();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.dto.response.ComentarioNuevoEventoDto;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Difunde los comentarios nuevos a los muros abiertos por Server-Sent Events.
+ * <p>
+ * Cada suscripción es un {@link SseEmitter} sobre una petición asíncrona del servlet, así que una conexión
+ * inactiva no ocupa ningún hilo. Los comentarios se reciben después del commit y se entregan desde un
+ * pool pequeño y propio, para que un cliente lento nunca retrase la petición que creó el comentario. Si la
+ * cola de entregas se llena el aviso se descarta: el cliente puede recuperar el muro paginado.
+ */
+@Slf4j
+@Component
+public class DifusorMuro {
+    public static final String EVENTO_COMENTARIO = "comentario";
+
+    private final Map<Long, Set<SseEmitter>> suscriptores = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSuscriptores = new AtomicInteger();
+    private final Executor entregas;
+    private final long tiempoMaximoMs;
+
+    @Autowired
+    public DifusorMuro(@Value("${comentarios.sse.hilos:2}") int hilos,
+                       @Value("${comentarios.sse.cola:1024}") int capacidadCola,
+                       @Value("${comentarios.sse.tiempo-maximo-ms:1800000}") long tiempoMaximoMs) {
+        this(crearPool(hilos, capacidadCola), tiempoMaximoMs);
+    }
+
+    // Para pruebas: entregas en el hilo que se indique
+    DifusorMuro(Executor entregas, long tiempoMaximoMs) {
+        this.entregas = entregas;
+        this.tiempoMaximoMs = tiempoMaximoMs;
+    }
+
+    private static ThreadPoolExecutor crearPool(int hilos, int capacidadCola) {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(hilos, hilos, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacidadCola),
+                r -> {
+                    Thread hilo = new Thread(r, "muro-sse-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                (tarea, executor) -> log.warn("Cola de difusión del muro llena, se descarta un aviso"));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    public SseEmitter suscribir(Long animalId) {
+        SseEmitter emisor = nuevoEmisor(tiempoMaximoMs);
+        suscriptores.computeIfAbsent(animalId, id -> ConcurrentHashMap.newKeySet()).add(emisor);
+        totalSuscriptores.incrementAndGet();
+
+        Runnable quitar = () -> quitar(animalId, emisor);
+        emisor.onCompletion(quitar);
+        emisor.onTimeout(quitar);
+        emisor.onError(error -> quitar.run());
+        return emisor;
+    }
+
+    SseEmitter nuevoEmisor(long tiempoMaximoMs) {
+        return new SseEmitter(tiempoMaximoMs);
+    }
+
+    public int cantidadSuscriptores() {
+        return totalSuscriptores.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComentario(ComentarioEvent event) {
+        if (event.getTipoCambio() != TipoCambio.CREADO) return;
+
+        Set<SseEmitter> delAnimal = suscriptores.get(event.getAnimalId());
+        if (delAnimal == null || delAnimal.isEmpty()) return;
+
+        ComentarioNuevoEventoDto comentario = new ComentarioNuevoEventoDto(event.getId(), event.getPadreId(),
+                event.getContenido(), event.getFecha() != null ? event.getFecha().toString() : null,
+                event.getAutorNombre());
+        entregas.execute(() -> {
+            for (SseEmitter emisor : delAnimal) {
+                enviar(event.getAnimalId(), emisor, SseEmitter.event()
+                        .name(EVENTO_COMENTARIO)
+                        .id(String.valueOf(comentario.getId()))
+                        .data(comentario, MediaType.APPLICATION_JSON));
+            }
+        });
+    }
+
+    /**
+     * Comentario SSE periódico: evita que proxies cierren conexiones inactivas y detecta las que ya cerró
+     * el cliente, que de otro modo solo se descubrirían con el siguiente comentario.
+     */
+    @Scheduled(fixedDelayString = "${comentarios.sse.latido-ms:25000}")
+    public void latido() {
+        suscriptores.forEach((animalId, delAnimal) -> {
+            if (delAnimal.isEmpty()) return;
+            entregas.execute(() -> delAnimal.forEach(emisor ->
+                    enviar(animalId, emisor, SseEmitter.event().comment("latido"))));
+        });
+    }
+
+    private void enviar(Long animalId, SseEmitter emisor, SseEmitter.SseEventBuilder evento) {
+        try {
+            emisor.send(evento);
+        } catch (IOException | IllegalStateException e) {
+            // Conexión cerrada por el cliente o emisor ya completado
+            quitar(animalId, emisor);
+        }
+    }
+
+    private void quitar(Long animalId, SseEmitter emisor) {
+        Set<SseEmitter> delAnimal = suscriptores.get(animalId);
+        if (delAnimal != null && delAnimal.remove(emisor)) {
+            totalSuscriptores.decrementAndGet();
+            suscriptores.computeIfPresent(animalId, (id, actuales) -> actuales.isEmpty() ? null : actuales);
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        suscriptores.values().forEach(delAnimal -> delAnimal.forEach(SseEmitter::complete));
+        suscriptores.clear();
+        if (entregas instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+}
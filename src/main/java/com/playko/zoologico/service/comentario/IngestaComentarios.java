@@ -0,0 +1,312 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.dto.response.IngestaComentariosEstadisticasDto;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.exception.comentario.ComentarioIngestaSaturadaException;
+import com.playko.zoologico.exception.comentario.ComentarioPadreNotFoundException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Escritura agrupada de comentarios para ráfagas (por ejemplo durante una función de alimentación). Las
+ * peticiones validan y encolan; un único hilo escritor junta lo encolado durante una espera corta o hasta
+ * llenar el lote y lo guarda en una sola transacción con un insert por lotes de JDBC. Cada petición se
+ * confirma cuando su lote hace commit.
+ * <p>
+ * Los ids se reservan de la secuencia de la columna antes del insert, así la ruta materializada va en la
+ * misma fila y no hace falta un segundo update. Si un lote falla se reintenta comentario por comentario para
+ * que un solo registro inválido no haga fallar a los demás.
+ * <p>
+ * El padre de cada respuesta se validó al encolar, pero el hilo pudo borrarse mientras tanto: el lote bloquea
+ * los padres que siguen existiendo antes de insertar y rechaza las respuestas cuyo padre ya no está.
+ */
+@Slf4j
+@Component
+public class IngestaComentarios {
+    private static final String INSERTAR = "insert into comentarios "
+            + "(id, contenido, fecha, animal_id, autor_id, padre_id, ruta, profundidad, con_respuestas) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final long ESPERA_TOMA_MS = 200L;
+    private static final long ESPERA_DETENER_MS = 10_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContadoresComentarios contadoresComentarios;
+    private final boolean habilitada;
+    private final int tamanoLote;
+    private final long esperaLoteNanos;
+    private final String consultaIds;
+    private final BlockingQueue<Solicitud> cola;
+
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder comentarios = new LongAdder();
+    private final LongAdder fallidos = new LongAdder();
+    private final LongAdder esperasMedidas = new LongAdder();
+    private final LongAdder esperaColaTotalNanos = new LongAdder();
+    private final AtomicLong esperaColaMaximaNanos = new AtomicLong();
+    private final AtomicInteger tamanoLoteMaximo = new AtomicInteger();
+
+    private volatile boolean activa;
+    private Thread escritor;
+
+    public IngestaComentarios(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              ContadoresComentarios contadoresComentarios,
+                              @Value("${comentarios.ingesta.habilitada:false}") boolean habilitada,
+                              @Value("${comentarios.ingesta.tamano-lote:200}") int tamanoLote,
+                              @Value("${comentarios.ingesta.espera-ms:10}") long esperaLoteMs,
+                              @Value("${comentarios.ingesta.capacidad-cola:10000}") int capacidadCola,
+                              @Value("${comentarios.ingesta.consulta-ids:select nextval(pg_get_serial_sequence('comentarios', 'id')) from generate_series(1, ?)}") String consultaIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.contadoresComentarios = contadoresComentarios;
+        this.habilitada = habilitada;
+        this.tamanoLote = tamanoLote;
+        this.esperaLoteNanos = TimeUnit.MILLISECONDS.toNanos(esperaLoteMs);
+        this.consultaIds = consultaIds;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitada) return;
+        activa = true;
+        escritor = new Thread(this::escribir, "ingesta-comentarios");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    /**
+     * Encola un comentario validado. El futuro se completa con su id cuando el lote hace commit.
+     */
+    public CompletableFuture<Long> encolar(ComentarioPendiente pendiente) {
+        Solicitud solicitud = new Solicitud(pendiente, System.nanoTime());
+        if (!activa || !cola.offer(solicitud)) {
+            throw new ComentarioIngestaSaturadaException();
+        }
+        return solicitud.resultado;
+    }
+
+    private void escribir() {
+        IllegalStateException detenida = new IllegalStateException("Ingesta de comentarios detenida");
+        List<Solicitud> lote = new ArrayList<>(tamanoLote);
+        while (activa || !cola.isEmpty()) {
+            try {
+                Solicitud primera = cola.poll(ESPERA_TOMA_MS, TimeUnit.MILLISECONDS);
+                if (primera == null) continue;
+                lote.add(primera);
+
+                // Espera corta a que lleguen más comentarios antes de escribir
+                long limite = System.nanoTime() + esperaLoteNanos;
+                while (lote.size() < tamanoLote) {
+                    if (cola.drainTo(lote, tamanoLote - lote.size()) > 0) continue;
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0) break;
+                    Solicitud siguiente = cola.poll(restante, TimeUnit.NANOSECONDS);
+                    if (siguiente == null) break;
+                    lote.add(siguiente);
+                }
+                guardar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(s -> s.resultado.completeExceptionally(detenida));
+                break;
+            } catch (RuntimeException e) {
+                log.error("Error inesperado en la ingesta de comentarios", e);
+                lote.forEach(s -> s.resultado.completeExceptionally(e));
+            } finally {
+                lote.clear();
+            }
+        }
+
+        cola.forEach(s -> s.resultado.completeExceptionally(detenida));
+    }
+
+    private void guardar(List<Solicitud> lote) {
+        long inicio = System.nanoTime();
+        for (Solicitud s : lote) {
+            long espera = inicio - s.encolada;
+            esperaColaTotalNanos.add(espera);
+            esperaColaMaximaNanos.accumulateAndGet(espera, Math::max);
+        }
+        esperasMedidas.add(lote.size());
+        escribirLote(lote);
+    }
+
+    private void escribirLote(List<Solicitud> lote) {
+        List<Long> ids;
+        try {
+            ids = transactionTemplate.execute(estado -> insertar(lote));
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                fallidos.increment();
+                lote.get(0).resultado.completeExceptionally(e);
+                return;
+            }
+            log.warn("Falló un lote de {} comentarios, se reintenta uno por uno: {}", lote.size(), e.getMessage());
+            lote.forEach(s -> escribirLote(List.of(s)));
+            return;
+        }
+
+        lotes.increment();
+        tamanoLoteMaximo.accumulateAndGet(lote.size(), Math::max);
+        for (int i = 0; i < lote.size(); i++) {
+            if (ids.get(i) == null) {
+                fallidos.increment();
+                lote.get(i).resultado.completeExceptionally(new ComentarioPadreNotFoundException());
+            } else {
+                comentarios.increment();
+                lote.get(i).resultado.complete(ids.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return ids alineados con el lote; {@code null} para las respuestas cuyo padre ya no existe
+     */
+    private List<Long> insertar(List<Solicitud> lote) {
+        Set<Long> padresVigentes = bloquearPadres(lote);
+        List<Solicitud> validas = new ArrayList<>(lote.size());
+        for (Solicitud s : lote) {
+            Long padreId = s.pendiente.getPadreId();
+            if (padreId == null || padresVigentes.contains(padreId)) validas.add(s);
+        }
+        if (validas.isEmpty()) return Collections.nCopies(lote.size(), null);
+
+        List<Long> idsValidas = jdbcTemplate.queryForList(consultaIds, Long.class, validas.size());
+        jdbcTemplate.batchUpdate(INSERTAR, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ComentarioPendiente p = validas.get(i).pendiente;
+                Long id = idsValidas.get(i);
+                ps.setLong(1, id);
+                ps.setString(2, p.getContenido());
+                ps.setTimestamp(3, Timestamp.valueOf(p.getFecha()));
+                ps.setLong(4, p.getAnimalId());
+                ps.setObject(5, p.getAutorId(), Types.BIGINT);
+                ps.setObject(6, p.getPadreId(), Types.BIGINT);
+                ps.setObject(7, p.ruta(id), Types.VARCHAR);
+                ps.setObject(8, p.profundidad(), Types.INTEGER);
+                ps.setObject(9, p.conRespuestas(), Types.BOOLEAN);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return validas.size();
+            }
+        });
+
+        int raices = 0;
+        Set<Long> padres = new LinkedHashSet<>();
+        for (Solicitud s : validas) {
+            if (s.pendiente.getPadreId() == null) {
+                raices++;
+            } else {
+                padres.add(s.pendiente.getPadreId());
+            }
+        }
+        contadoresComentarios.raicesCreadas(raices);
+        padres.forEach(contadoresComentarios::respuestaCreada);
+
+        // Dentro de la transacción: los listeners transaccionales se ejecutan tras el commit del lote
+        for (int i = 0; i < validas.size(); i++) {
+            ComentarioPendiente p = validas.get(i).pendiente;
+            eventPublisher.publishEvent(new ComentarioEvent(TipoCambio.CREADO, idsValidas.get(i), p.getContenido(),
+                    p.getFecha(), p.getAnimalId(), p.getPadreId(), p.getAutorNombre()));
+        }
+
+        List<Long> ids = new ArrayList<>(lote.size());
+        int siguiente = 0;
+        for (Solicitud s : lote) {
+            Long padreId = s.pendiente.getPadreId();
+            ids.add(padreId == null || padresVigentes.contains(padreId) ? idsValidas.get(siguiente++) : null);
+        }
+        return ids;
+    }
+
+    /**
+     * Bloquea hasta el commit los padres del lote que siguen existiendo: un borrado del hilo en curso espera
+     * al lote, y uno ya confirmado deja al padre fuera del resultado.
+     */
+    private Set<Long> bloquearPadres(List<Solicitud> lote) {
+        Set<Long> padres = new LinkedHashSet<>();
+        for (Solicitud s : lote) {
+            if (s.pendiente.getPadreId() != null) padres.add(s.pendiente.getPadreId());
+        }
+        if (padres.isEmpty()) return padres;
+
+        String marcadores = String.join(", ", Collections.nCopies(padres.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select id from comentarios where id in (" + marcadores + ") for update", Long.class, padres.toArray()));
+    }
+
+    public IngestaComentariosEstadisticasDto estadisticas() {
+        long totalLotes = lotes.sum();
+        long totalComentarios = comentarios.sum();
+        long medidas = esperasMedidas.sum();
+        return new IngestaComentariosEstadisticasDto(
+                habilitada,
+                totalLotes,
+                totalComentarios,
+                fallidos.sum(),
+                cola.size(),
+                totalLotes == 0 ? 0 : (double) totalComentarios / totalLotes,
+                tamanoLoteMaximo.get(),
+                medidas == 0 ? 0 : esperaColaTotalNanos.sum() / 1_000_000.0 / medidas,
+                esperaColaMaximaNanos.get() / 1_000_000.0
+        );
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activa = false;
+        if (escritor != null) {
+            escritor.join(ESPERA_DETENER_MS);
+        }
+    }
+
+    private static final class Solicitud {
+        private final ComentarioPendiente pendiente;
+        private final long encolada;
+        private final CompletableFuture<Long> resultado = new CompletableFuture<>();
+
+        private Solicitud(ComentarioPendiente pendiente, long encolada) {
+            this.pendiente = pendiente;
+            this.encolada = encolada;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.dto.response.ComentarioMuroResponseDto;
+import com.playko.zoologico.dto.response.ComentarioPaginaResponseDto;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.projection.ComentarioMuroProjection;
+import com.playko.zoologico.repository.projection.ConteoRespuestasProjection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.playko.zoologico.constants.ComentarioConstants.PROFUNDIDAD_PREVIA_MAXIMA;
+
+/**
+ * Arma páginas del muro: una página de comentarios por (fecha, id), una vista previa de sus respuestas hasta
+ * cierta profundidad y, en cada nodo, el total de respuestas directas para que el cliente sepa cuáles
+ * expandir. El costo es fijo por página: la página, una consulta por nivel de vista previa y una de conteos.
+ */
+@Component
+public class MuroComentarios {
+    private final IComentarioRepository comentarioRepository;
+    private final int profundidadPrevia;
+    private final int respuestasPrevias;
+
+    public MuroComentarios(IComentarioRepository comentarioRepository,
+                           @Value("${comentarios.muro.profundidad-previa:1}") int profundidadPrevia,
+                           @Value("${comentarios.muro.respuestas-previas:3}") int respuestasPrevias) {
+        this.comentarioRepository = comentarioRepository;
+        this.profundidadPrevia = profundidadPrevia;
+        this.respuestasPrevias = respuestasPrevias;
+    }
+
+    public ComentarioPaginaResponseDto paginaDeRaices(Long animalId, CursorMuro cursor, int tamano, Integer profundidad) {
+        PageRequest limite = PageRequest.of(0, tamano + 1);
+        List<ComentarioMuroProjection> filas = cursor == null
+                ? comentarioRepository.findRaicesMuro(animalId, limite)
+                : comentarioRepository.findRaicesMuroDespuesDe(animalId, cursor.getFecha(), cursor.getId(), limite);
+        return armarPagina(filas, tamano, profundidad);
+    }
+
+    public ComentarioPaginaResponseDto paginaDeRespuestas(Long padreId, CursorMuro cursor, int tamano, Integer profundidad) {
+        PageRequest limite = PageRequest.of(0, tamano + 1);
+        List<ComentarioMuroProjection> filas = cursor == null
+                ? comentarioRepository.findRespuestas(padreId, limite)
+                : comentarioRepository.findRespuestasDespuesDe(padreId, cursor.getFecha(), cursor.getId(), limite);
+        return armarPagina(filas, tamano, profundidad);
+    }
+
+    private ComentarioPaginaResponseDto armarPagina(List<ComentarioMuroProjection> filas, int tamano, Integer profundidad) {
+        boolean hayMas = filas.size() > tamano;
+        List<ComentarioMuroProjection> pagina = hayMas ? filas.subList(0, tamano) : filas;
+
+        Map<Long, ComentarioMuroResponseDto> nodos = new HashMap<>();
+        List<ComentarioMuroResponseDto> comentarios = new ArrayList<>(pagina.size());
+        for (ComentarioMuroProjection fila : pagina) {
+            comentarios.add(agregarNodo(nodos, fila));
+        }
+
+        // Un nivel de vista previa por consulta, tomando como padres los nodos del nivel anterior
+        List<Long> nivel = pagina.stream().map(ComentarioMuroProjection::getId).toList();
+        int niveles = profundidad == null ? profundidadPrevia : Math.max(0, Math.min(profundidad, PROFUNDIDAD_PREVIA_MAXIMA));
+        for (int i = 0; i < niveles && !nivel.isEmpty(); i++) {
+            List<Long> siguiente = new ArrayList<>();
+            for (ComentarioMuroProjection fila : comentarioRepository.findRespuestasPrevias(nivel, respuestasPrevias)) {
+                nodos.get(fila.getPadreId()).getRespuestas().add(agregarNodo(nodos, fila));
+                siguiente.add(fila.getId());
+            }
+            nivel = siguiente;
+        }
+
+        if (!nodos.isEmpty()) {
+            for (ConteoRespuestasProjection conteo : comentarioRepository.contarRespuestas(nodos.keySet())) {
+                nodos.get(conteo.getPadreId()).setCantidadRespuestas(conteo.getCantidad());
+            }
+        }
+
+        String siguienteCursor = null;
+        if (hayMas) {
+            ComentarioMuroProjection ultima = pagina.get(pagina.size() - 1);
+            siguienteCursor = new CursorMuro(ultima.getFecha(), ultima.getId()).codificar();
+        }
+        return new ComentarioPaginaResponseDto(comentarios, siguienteCursor);
+    }
+
+    private static ComentarioMuroResponseDto agregarNodo(Map<Long, ComentarioMuroResponseDto> nodos,
+                                                         ComentarioMuroProjection fila) {
+        ComentarioMuroResponseDto nodo = new ComentarioMuroResponseDto(
+                fila.getId(),
+                fila.getContenido(),
+                fila.getFecha().toString(),
+                fila.getAutorNombre(),
+                0,
+                new ArrayList<>()
+        );
+        nodos.put(fila.getId(), nodo);
+        return nodo;
+    }
+}
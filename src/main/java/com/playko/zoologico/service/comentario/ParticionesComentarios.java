@@ -0,0 +1,168 @@
+package com.playko.zoologico.service.comentario;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantiene las particiones mensuales de comentarios en PostgreSQL, ver {@code db/comentarios-particiones.sql}.
+ * Crea por adelantado las particiones de los próximos meses y mueve las de meses fríos al tablespace de
+ * archivo (pensado para un volumen comprimido y más barato). Las particiones archivadas siguen unidas a la
+ * tabla, así que los muros antiguos se siguen consultando igual, solo que desde ese almacenamiento.
+ * <p>
+ * La migración a tabla particionada bloquea por completo {@code comentarios}, así que corre al arrancar el
+ * contexto y antes de que el servidor web acepte peticiones; la tarea programada solo crea y archiva
+ * particiones. Mover una partición la bloquea mientras se copia; por eso solo se mueven meses que ya no
+ * reciben comentarios. Desactivado por defecto: con H2 o sin la migración no hay particiones que mantener.
+ */
+@Slf4j
+@Component
+public class ParticionesComentarios implements SmartLifecycle {
+    private static final String SCRIPT = "db/comentarios-particiones.sql";
+    private static final String PREFIJO = "comentarios_p";
+    private static final Pattern NOMBRE_PARTICION = Pattern.compile(PREFIJO + "(\\d{6})");
+    private static final DateTimeFormatter FORMATO_MES = DateTimeFormatter.ofPattern("yyyyMM");
+
+    static final String CONSULTA_PARTICIONES = "select c.relname as nombre, coalesce(t.spcname, '') as tablespace "
+            + "from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+            + "left join pg_tablespace t on t.oid = c.reltablespace "
+            + "where i.inhparent = 'comentarios'::regclass";
+    static final String CONSULTA_INDICES = "select i.relname from pg_index x join pg_class i on i.oid = x.indexrelid "
+            + "where x.indrelid = ?::regclass";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitadas;
+    private final int mesesAdelantados;
+    private final int mesesActivos;
+    private final String tablespaceArchivo;
+    private volatile boolean iniciado;
+
+    public ParticionesComentarios(JdbcTemplate jdbcTemplate,
+                                  @Value("${comentarios.particiones.habilitadas:false}") boolean habilitadas,
+                                  @Value("${comentarios.particiones.meses-adelantados:3}") int mesesAdelantados,
+                                  @Value("${comentarios.particiones.meses-activos:12}") int mesesActivos,
+                                  @Value("${comentarios.particiones.tablespace-archivo:}") String tablespaceArchivo) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitadas = habilitadas;
+        this.mesesAdelantados = mesesAdelantados;
+        this.mesesActivos = mesesActivos;
+        this.tablespaceArchivo = tablespaceArchivo;
+    }
+
+    @Override
+    public void start() {
+        if (habilitadas) {
+            // La migración es una sola sentencia que no hace nada si la tabla ya está particionada
+            ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+            populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+            populator.execute(Objects.requireNonNull(jdbcTemplate.getDataSource()));
+            mantener(YearMonth.now());
+        }
+        iniciado = true;
+    }
+
+    @Override
+    public void stop() {
+        iniciado = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return iniciado;
+    }
+
+    /**
+     * Fase temprana: el servidor web arranca en una de las últimas y no debe recibir peticiones antes.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Scheduled(fixedDelayString = "${comentarios.particiones.intervalo-ms:86400000}",
+            initialDelayString = "${comentarios.particiones.intervalo-ms:86400000}")
+    public void mantenerParticiones() {
+        if (!habilitadas) return;
+        mantener(YearMonth.now());
+    }
+
+    void mantener(YearMonth actual) {
+        Map<String, String> particiones = particiones();
+        int creadas = crearParticiones(particiones, actual);
+        int archivadas = archivar(particiones, actual);
+        if (creadas > 0 || archivadas > 0) {
+            log.info("Particiones de comentarios: {} creadas, {} archivadas", creadas, archivadas);
+        }
+    }
+
+    private int crearParticiones(Map<String, String> particiones, YearMonth actual) {
+        int creadas = 0;
+        for (int i = 0; i <= mesesAdelantados; i++) {
+            YearMonth mes = actual.plusMonths(i);
+            String nombre = PREFIJO + mes.format(FORMATO_MES);
+            if (particiones.containsKey(nombre)) continue;
+            try {
+                jdbcTemplate.execute("create table " + nombre + " partition of comentarios for values from ('"
+                        + mes.atDay(1) + "') to ('" + mes.plusMonths(1).atDay(1) + "')");
+                creadas++;
+            } catch (DataAccessException e) {
+                // Por ejemplo, filas de ese mes que cayeron en la partición por defecto
+                log.warn("No se pudo crear la partición {}: {}", nombre, e.getMessage());
+            }
+        }
+        return creadas;
+    }
+
+    private int archivar(Map<String, String> particiones, YearMonth actual) {
+        if (tablespaceArchivo == null || tablespaceArchivo.isBlank()) return 0;
+
+        YearMonth primerMesActivo = actual.minusMonths(mesesActivos);
+        int archivadas = 0;
+        for (Map.Entry<String, String> particion : particiones.entrySet()) {
+            Matcher nombre = NOMBRE_PARTICION.matcher(particion.getKey());
+            if (!nombre.matches() || tablespaceArchivo.equals(particion.getValue())) continue;
+            if (!YearMonth.parse(nombre.group(1), FORMATO_MES).isBefore(primerMesActivo)) continue;
+
+            try {
+                String tablespace = identificador(tablespaceArchivo);
+                jdbcTemplate.execute("alter table " + particion.getKey() + " set tablespace " + tablespace);
+                for (String indice : jdbcTemplate.queryForList(CONSULTA_INDICES, String.class, particion.getKey())) {
+                    jdbcTemplate.execute("alter index " + identificador(indice) + " set tablespace " + tablespace);
+                }
+                archivadas++;
+            } catch (DataAccessException e) {
+                log.warn("No se pudo archivar la partición {}: {}", particion.getKey(), e.getMessage());
+            }
+        }
+        return archivadas;
+    }
+
+    private Map<String, String> particiones() {
+        List<Map<String, Object>> filas = jdbcTemplate.queryForList(CONSULTA_PARTICIONES);
+        Map<String, String> particiones = new HashMap<>(filas.size() * 2);
+        for (Map<String, Object> fila : filas) {
+            particiones.put((String) fila.get("nombre"), (String) fila.get("tablespace"));
+        }
+        return particiones;
+    }
+
+    private static String identificador(String nombre) {
+        return "\"" + nombre.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,57 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.entity.Comentario;
+
+/**
+ * Ruta materializada de un comentario: los ids de sus ancestros y el suyo, desde la raíz, cada uno con
+ * {@value #ANCHO_SEGMENTO} dígitos. Como todos los segmentos tienen el mismo ancho y solo usan dígitos, el
+ * hilo de un comentario son exactamente las rutas del intervalo {@code [ruta, limiteSuperior(ruta))}, que
+ * se resuelve con un único recorrido del índice sobre la columna, sin depender de la intercalación.
+ */
+public class RutaComentario {
+    public static final int ANCHO_SEGMENTO = 12;
+    public static final int PROFUNDIDAD_MAXIMA = 100;
+    public static final int LONGITUD_MAXIMA = ANCHO_SEGMENTO * (PROFUNDIDAD_MAXIMA + 1);
+
+    /** Deja libre el último valor del segmento para el límite superior del hilo. */
+    private static final long ID_MAXIMO = 999_999_999_998L;
+
+    private RutaComentario() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    public static String segmento(Long id) {
+        if (id == null || id < 0 || id > ID_MAXIMO) {
+            throw new IllegalArgumentException("Id fuera del rango de la ruta: " + id);
+        }
+        return formatear(id);
+    }
+
+    /**
+     * Completa ruta y profundidad de un comentario ya guardado. Si el padre todavía no tiene ruta (filas
+     * anteriores a la columna) se deja vacía para que la complete {@link RutaComentarioBackfill}.
+     */
+    public static void asignar(Comentario comentario) {
+        Comentario padre = comentario.getPadre();
+        if (padre == null) {
+            comentario.setRuta(segmento(comentario.getId()));
+            comentario.setProfundidad(0);
+        } else if (padre.getRuta() != null) {
+            comentario.setRuta(padre.getRuta() + segmento(comentario.getId()));
+            comentario.setProfundidad(padre.getProfundidad() + 1);
+        }
+    }
+
+    /**
+     * Primera ruta que ya no pertenece al hilo: el último segmento incrementado en uno.
+     */
+    public static String limiteSuperior(String ruta) {
+        int inicioUltimo = ruta.length() - ANCHO_SEGMENTO;
+        long ultimo = Long.parseLong(ruta.substring(inicioUltimo));
+        return ruta.substring(0, inicioUltimo) + formatear(ultimo + 1);
+    }
+
+    private static String formatear(long valor) {
+        return String.format("%0" + ANCHO_SEGMENTO + "d", valor);
+    }
+}
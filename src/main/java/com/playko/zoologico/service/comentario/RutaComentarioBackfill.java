@@ -0,0 +1,65 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.repository.IComentarioRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Completa la ruta materializada de los comentarios creados antes de que existiera la columna. Avanza por
+ * niveles: cada lote toma filas sin ruta cuyo padre ya la tiene, así que las raíces se resuelven primero y
+ * cada respuesta en un lote posterior al de su padre. Cada lote va en su propia transacción.
+ * <p>
+ * Corre al arrancar y luego periódicamente, para cubrir respuestas a filas antiguas creadas mientras la
+ * migración estaba en curso. Cuando no hay pendientes es una sola consulta vacía.
+ */
+@Slf4j
+@Component
+public class RutaComentarioBackfill {
+    private final IComentarioRepository comentarioRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanoLote;
+
+    public RutaComentarioBackfill(IComentarioRepository comentarioRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${comentarios.ruta.backfill.tamano-lote:500}") int tamanoLote) {
+        this.comentarioRepository = comentarioRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanoLote = tamanoLote;
+    }
+
+    @Scheduled(fixedDelayString = "${comentarios.ruta.backfill.intervalo-ms:300000}",
+            initialDelayString = "${comentarios.ruta.backfill.intervalo-ms:300000}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void completarPendientes() {
+        int completados = completar();
+        if (completados > 0) {
+            log.info("Ruta materializada completada para {} comentarios", completados);
+        }
+    }
+
+    public int completar() {
+        int total = 0;
+        Integer procesados;
+        do {
+            procesados = transactionTemplate.execute(estado -> completarLote());
+            total += procesados;
+        } while (procesados > 0);
+        return total;
+    }
+
+    private int completarLote() {
+        List<Comentario> pendientes = comentarioRepository.findPendientesDeRuta(PageRequest.of(0, tamanoLote));
+        pendientes.forEach(RutaComentario::asignar);
+        return pendientes.size();
+    }
+}
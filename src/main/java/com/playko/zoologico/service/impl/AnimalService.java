@@ -1,13 +1,18 @@
 package com.playko.zoologico.service.impl;
 
 import com.playko.zoologico.dto.request.AnimalRequestDto;
-import com.playko.zoologico.dto.response.AnimalRegistradoResponseDto;
 import com.playko.zoologico.dto.response.AnimalResponseDto;
+import com.playko.zoologico.dto.response.IngresosPorPeriodoResponseDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Comentario;
 import com.playko.zoologico.entity.Especie;
 import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.exception.AgrupacionInvalidaException;
+import com.playko.zoologico.exception.IntervaloInvalidoException;
 import com.playko.zoologico.exception.NoDataFoundException;
+import com.playko.zoologico.exception.RangoFechasInvalidoException;
 import com.playko.zoologico.exception.animal.AnimalNotFoundException;
 import com.playko.zoologico.exception.animal.AnimalesNoEncontradosEnFechaException;
 import com.playko.zoologico.exception.especie.EspecieNotFoundException;
@@ -17,14 +22,20 @@ import com.playko.zoologico.repository.IAnimalRepository;
 import com.playko.zoologico.repository.IEspecieRepository;
 import com.playko.zoologico.repository.IZonaRepository;
 import com.playko.zoologico.service.IAnimalService;
+import com.playko.zoologico.service.indicador.HistogramaIngresos;
+import com.playko.zoologico.service.indicador.HistogramaIngresos.Agrupacion;
+import com.playko.zoologico.service.indicador.HistogramaIngresos.Intervalo;
+import com.playko.zoologico.service.indicador.ListadoIngresos;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +45,9 @@ public class AnimalService implements IAnimalService {
     private final IAnimalRepository animalRepository;
     private final IEspecieRepository especieRepository;
     private final IZonaRepository zonaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HistogramaIngresos histogramaIngresos;
+    private final ListadoIngresos listadoIngresos;
 
     @Override
     public AnimalResponseDto obtenerAnimalPorId(Long id) {
@@ -72,6 +86,9 @@ public class AnimalService implements IAnimalService {
         animal.setEspecie(especie);
 
         animalRepository.save(animal);
+
+        eventPublisher.publishEvent(new AnimalEvent(TipoCambio.CREADO, animal.getId(), animal.getNombre(), null,
+                especie.getId(), null, animal.getFechaIngreso()));
     }
 
     @Override
@@ -82,10 +99,16 @@ public class AnimalService implements IAnimalService {
         Especie especie = especieRepository.findByNombreIgnoreCase(dto.getEspecieName())
                 .orElseThrow(EspecieNotFoundException::new);
 
+        String nombreAnterior = animal.getNombre();
+        Long especieIdAnterior = animal.getEspecie() != null ? animal.getEspecie().getId() : null;
+
         animal.setNombre(dto.getNombre().trim());
         animal.setEspecie(especie);
 
         animalRepository.save(animal);
+
+        eventPublisher.publishEvent(new AnimalEvent(TipoCambio.EDITADO, animal.getId(), animal.getNombre(), nombreAnterior,
+                especie.getId(), especieIdAnterior, animal.getFechaIngreso()));
     }
 
     @Override
@@ -94,26 +117,59 @@ public class AnimalService implements IAnimalService {
                 .orElseThrow(AnimalNotFoundException::new);
 
         animalRepository.delete(animal);
+
+        Long especieId = animal.getEspecie() != null ? animal.getEspecie().getId() : null;
+        eventPublisher.publishEvent(new AnimalEvent(TipoCambio.ELIMINADO, animal.getId(), animal.getNombre(), animal.getNombre(),
+                especieId, especieId, animal.getFechaIngreso()));
+    }
+
+    @Override
+    public StreamingResponseBody obtenerAnimalesRegistradosEntre(LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) throw new RangoFechasInvalidoException();
+
+        // Se comprueba antes de empezar a responder: con el listado en curso ya no se puede devolver un 404
+        if (!animalRepository.existsByFechaIngresoGreaterThanEqualAndFechaIngresoLessThan(
+                desde.atStartOfDay(), hasta.plusDays(1).atStartOfDay())) {
+            throw desde.equals(hasta)
+                    ? new AnimalesNoEncontradosEnFechaException(desde)
+                    : new AnimalesNoEncontradosEnFechaException(desde, hasta);
+        }
+
+        return salida -> listadoIngresos.escribir(desde, hasta, salida);
     }
 
     @Override
-    public List<AnimalRegistradoResponseDto> obtenerAnimalesRegistradosEnFecha(LocalDate fecha) {
-        LocalDateTime inicioDelDia = fecha.atStartOfDay();
-        LocalDateTime finDelDia = fecha.atTime(LocalTime.MAX);
+    public List<IngresosPorPeriodoResponseDto> obtenerHistogramaIngresos(LocalDate desde, LocalDate hasta,
+                                                                         String intervalo, String agrupacion) {
+        if (hasta.isBefore(desde)) throw new RangoFechasInvalidoException();
+
+        List<IngresosPorPeriodoResponseDto> periodos =
+                histogramaIngresos.contar(desde, hasta, intervalo(intervalo), agrupacion(agrupacion));
 
-        List<Animal> animales = animalRepository.findByFechaIngresoBetween(inicioDelDia, finDelDia);
+        if (periodos.isEmpty()) throw new NoDataFoundException();
+
+        return periodos;
+    }
 
-        if (animales.isEmpty()) {
-            throw new AnimalesNoEncontradosEnFechaException(fecha);
+    /**
+     * Sin intervalo se cuenta por mes.
+     */
+    private static Intervalo intervalo(String intervalo) {
+        if (intervalo == null) return Intervalo.MES;
+        try {
+            return Intervalo.valueOf(intervalo.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IntervaloInvalidoException();
         }
+    }
 
-        return animales.stream()
-                .map(animal -> new AnimalRegistradoResponseDto(
-                        animal.getNombre(),
-                        animal.getEspecie().getNombre(),
-                        animal.getEspecie().getZona().getNombre()
-                ))
-                .collect(Collectors.toList());
+    private static Agrupacion agrupacion(String agrupacion) {
+        if (agrupacion == null) return null;
+        try {
+            return Agrupacion.valueOf(agrupacion.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new AgrupacionInvalidaException();
+        }
     }
 
     private AnimalResponseDto mapToResponseDto(Animal animal) {
@@ -1,102 +1,144 @@
 package com.playko.zoologico.service.impl;
 
+import com.playko.zoologico.dto.response.BusquedaDifusaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaPaginaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaParalelaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaRanqueadaResultadoDto;
 import com.playko.zoologico.dto.response.BusquedaResultadoDto;
-import com.playko.zoologico.entity.Animal;
-import com.playko.zoologico.entity.Comentario;
-import com.playko.zoologico.entity.Especie;
-import com.playko.zoologico.entity.Zona;
-import com.playko.zoologico.repository.IAnimalRepository;
-import com.playko.zoologico.repository.IComentarioRepository;
-import com.playko.zoologico.repository.IEspecieRepository;
-import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.dto.response.CacheBusquedaEstadisticasDto;
+import com.playko.zoologico.dto.response.SugerenciaResponseDto;
+import com.playko.zoologico.exception.LimiteSugerenciasInvalidoException;
+import com.playko.zoologico.exception.TipoResultadoInvalidoException;
 import com.playko.zoologico.service.IBusquedaService;
-import jakarta.transaction.Transactional;
+import com.playko.zoologico.service.busqueda.CacheBusqueda;
+import com.playko.zoologico.service.busqueda.CursorBusqueda;
+import com.playko.zoologico.service.busqueda.EscaneoBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.IBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.IndiceBusqueda;
+import com.playko.zoologico.service.busqueda.PaginaBusqueda;
+import com.playko.zoologico.service.busqueda.ParaleloBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.TipoResultadoBusqueda;
+import com.playko.zoologico.service.busqueda.TrieAutocompletado;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static com.playko.zoologico.constants.BusquedaConstants.DISTANCIA_DIFUSA_MAXIMA;
+import static com.playko.zoologico.constants.BusquedaConstants.LONGITUD_MINIMA_DISTANCIA_DOS;
+import static com.playko.zoologico.constants.BusquedaConstants.RESULTADOS_RANQUEADOS_POR_DEFECTO;
+import static com.playko.zoologico.constants.BusquedaConstants.SUGERENCIAS_POR_DEFECTO;
+import static com.playko.zoologico.constants.BusquedaConstants.TAMANO_PAGINA_MAXIMO;
+import static com.playko.zoologico.constants.BusquedaConstants.TAMANO_PAGINA_POR_DEFECTO;
+import static com.playko.zoologico.constants.BusquedaConstants.TAMANO_PAGINA_STREAMING;
 
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class BusquedaService implements IBusquedaService {
-    private final IZonaRepository zonaRepository;
-    private final IEspecieRepository especieRepository;
-    private final IAnimalRepository animalRepository;
-    private final IComentarioRepository comentarioRepository;
+    private final IBusquedaEstrategia busquedaEstrategia;
+    private final ParaleloBusquedaEstrategia paraleloBusquedaEstrategia;
+    private final CacheBusqueda cacheBusqueda;
+    private final TrieAutocompletado trieAutocompletado;
+    private final IndiceBusqueda indiceBusqueda;
+    private final EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
 
     @Override
     public List<BusquedaResultadoDto> buscarPorPalabra(String palabra) {
-        String like = palabra.toLowerCase();
+        return cacheBusqueda.obtener(palabra, () -> busquedaEstrategia.buscar(palabra));
+    }
 
-        List<BusquedaResultadoDto> resultados = new ArrayList<>();
+    @Override
+    public BusquedaPaginaResponseDto buscarPorPalabraPaginado(String palabra, String cursor, Integer limite) {
+        int tamanoPagina = limite == null
+                ? TAMANO_PAGINA_POR_DEFECTO
+                : Math.max(1, Math.min(limite, TAMANO_PAGINA_MAXIMO));
 
-        // Buscar zonas
-        List<Zona> zonas = zonaRepository.findAll().stream()
-                .filter(z -> z.getNombre().toLowerCase().contains(like))
-                .toList();
+        PaginaBusqueda pagina = busquedaEstrategia.buscarPagina(palabra, CursorBusqueda.decodificar(cursor), tamanoPagina);
 
-        for (Zona zona : zonas) {
-            resultados.add(new BusquedaResultadoDto("ZONA", zona.getNombre(), null, null, null, null));
-        }
+        return new BusquedaPaginaResponseDto(pagina.getResultados(), CursorBusqueda.codificar(pagina.getSiguientePosicion()));
+    }
 
-        // Buscar especies
-        List<Especie> especies = especieRepository.findAll().stream()
-                .filter(e -> e.getNombre().toLowerCase().contains(like))
-                .toList();
-
-        for (Especie especie : especies) {
-            resultados.add(new BusquedaResultadoDto("ESPECIE",
-                    especie.getZona().getNombre(),
-                    especie.getNombre(),
-                    null,
-                    null,
-                    null));
-        }
+    /**
+     * Entrega los resultados al consumidor página a página, de modo que nunca se tiene en memoria más
+     * de una página aunque la palabra coincida con casi todo el zoológico.
+     */
+    @Override
+    public void recorrerPorPalabra(String palabra, Consumer<BusquedaResultadoDto> consumidor) {
+        long posicion = CursorBusqueda.INICIO;
 
-        // Buscar animales
-        List<Animal> animales = animalRepository.findAll().stream()
-                .filter(a -> a.getNombre().toLowerCase().contains(like))
-                .toList();
-
-        for (Animal animal : animales) {
-            resultados.add(new BusquedaResultadoDto("ANIMAL",
-                    animal.getEspecie().getZona().getNombre(),
-                    animal.getEspecie().getNombre(),
-                    animal.getNombre(),
-                    null,
-                    null));
-        }
+        do {
+            PaginaBusqueda pagina = busquedaEstrategia.buscarPagina(palabra, posicion, TAMANO_PAGINA_STREAMING);
+            pagina.getResultados().forEach(consumidor);
 
-        // Buscar comentarios y respuestas (contenido)
-        List<Comentario> comentarios = comentarioRepository.findAll();
-
-        for (Comentario c : comentarios) {
-            String contenidoLower = c.getContenido().toLowerCase();
-            if (contenidoLower.contains(like)) {
-                // Si comentario no tiene padre → es comentario padre
-                if (c.getPadre() == null) {
-                    // Comentario padre que coincide
-                    resultados.add(new BusquedaResultadoDto("COMENTARIO",
-                            c.getAnimal().getEspecie().getZona().getNombre(),
-                            c.getAnimal().getEspecie().getNombre(),
-                            c.getAnimal().getNombre(),
-                            c.getContenido(),
-                            null));
-                } else {
-                    // Es respuesta
-                    Comentario padre = c.getPadre();
-                    resultados.add(new BusquedaResultadoDto("RESPUESTA",
-                            padre.getAnimal().getEspecie().getZona().getNombre(),
-                            padre.getAnimal().getEspecie().getNombre(),
-                            padre.getAnimal().getNombre(),
-                            padre.getContenido(),
-                            c.getContenido()));
+            if (pagina.getSiguientePosicion() == null) return;
+            posicion = pagina.getSiguientePosicion();
+        } while (true);
+    }
+
+    @Override
+    public BusquedaParalelaResponseDto buscarPorPalabraEnParalelo(String palabra) {
+        return paraleloBusquedaEstrategia.buscarConDetalle(palabra);
+    }
+
+    @Override
+    public CacheBusquedaEstadisticasDto obtenerEstadisticasCache() {
+        return cacheBusqueda.estadisticas();
+    }
+
+    @Override
+    public List<SugerenciaResponseDto> autocompletar(String prefijo, Integer limite) {
+        if (limite == null) return trieAutocompletado.sugerir(prefijo, SUGERENCIAS_POR_DEFECTO);
+        // El trie no guarda más sugerencias por prefijo que su máximo: se rechaza en vez de recortar en silencio
+        if (limite > trieAutocompletado.getMaximoSugerencias()) throw new LimiteSugerenciasInvalidoException();
+        return trieAutocompletado.sugerir(prefijo, limite);
+    }
+
+    /**
+     * Sin distancia indicada se admite un error en palabras cortas y dos a partir de cinco caracteres.
+     */
+    @Override
+    public List<BusquedaDifusaResultadoDto> buscarDifuso(String palabra, Integer distancia) {
+        int distanciaMaxima = distancia != null
+                ? Math.max(0, Math.min(distancia, DISTANCIA_DIFUSA_MAXIMA))
+                : palabra.strip().length() >= LONGITUD_MINIMA_DISTANCIA_DOS ? 2 : 1;
+
+        return indiceBusqueda.buscarDifuso(palabra, distanciaMaxima);
+    }
+
+    @Override
+    public List<BusquedaRanqueadaResultadoDto> buscarRanqueado(String palabra, Integer limite) {
+        int k = limite == null
+                ? RESULTADOS_RANQUEADOS_POR_DEFECTO
+                : Math.max(1, Math.min(limite, TAMANO_PAGINA_MAXIMO));
+
+        return indiceBusqueda.buscarRanqueado(palabra, k);
+    }
+
+    @Override
+    public BusquedaFacetadaResponseDto buscarFacetado(String palabra, List<String> tipos, Long zonaId, Long especieId,
+                                                      Integer limite) {
+        Set<TipoResultadoBusqueda> tiposFiltro = EnumSet.noneOf(TipoResultadoBusqueda.class);
+        if (tipos != null) {
+            for (String tipo : tipos) {
+                try {
+                    tiposFiltro.add(TipoResultadoBusqueda.valueOf(tipo.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    throw new TipoResultadoInvalidoException();
                 }
             }
         }
+        int tamanoPagina = limite == null
+                ? TAMANO_PAGINA_POR_DEFECTO
+                : Math.max(1, Math.min(limite, TAMANO_PAGINA_MAXIMO));
 
-        return resultados;
+        if (!indiceBusqueda.estaListo()) {
+            // Mientras el índice se construye se recorre la base de datos
+            return escaneoBusquedaEstrategia.buscarFacetado(palabra, tiposFiltro, zonaId, especieId, tamanoPagina);
+        }
+        return indiceBusqueda.buscarFacetado(palabra, tiposFiltro, zonaId, especieId, tamanoPagina);
     }
 }
@@ -2,30 +2,58 @@ package com.playko.zoologico.service.impl;
 
 import com.playko.zoologico.configuration.security.userDetails.CustomUserDetails;
 import com.playko.zoologico.dto.request.ComentarioRequestDto;
+import com.playko.zoologico.dto.response.ComentarioPaginaResponseDto;
 import com.playko.zoologico.dto.response.ComentarioResponseDto;
+import com.playko.zoologico.dto.response.HiloResumenResponseDto;
+import com.playko.zoologico.dto.response.IngestaComentariosEstadisticasDto;
 import com.playko.zoologico.dto.response.PorcentajeComentariosConRespuestasDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Comentario;
 import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.exception.RangoFechasInvalidoException;
 import com.playko.zoologico.exception.animal.AnimalNotFoundException;
 import com.playko.zoologico.exception.animal.AnimalSinComentariosException;
 import com.playko.zoologico.exception.comentario.ComentarioAnimalMismatchException;
+import com.playko.zoologico.exception.comentario.ComentarioNotFoundException;
 import com.playko.zoologico.exception.comentario.ComentarioPadreNotFoundException;
+import com.playko.zoologico.exception.comentario.ComentarioProfundidadMaximaException;
+import com.playko.zoologico.exception.comentario.ComentarioRutaPendienteException;
 import com.playko.zoologico.exception.usuario.RoleNotFoundException;
 import com.playko.zoologico.repository.IAnimalRepository;
 import com.playko.zoologico.repository.IComentarioRepository;
 import com.playko.zoologico.repository.IUsuarioRepository;
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import com.playko.zoologico.repository.projection.ComentarioMuroProjection;
+import com.playko.zoologico.repository.projection.HiloResumenProjection;
 import com.playko.zoologico.service.IComentarioService;
+import com.playko.zoologico.service.comentario.CacheMuro;
+import com.playko.zoologico.service.comentario.ComentarioPendiente;
+import com.playko.zoologico.service.comentario.ContadoresComentarios;
+import com.playko.zoologico.service.comentario.CursorMuro;
+import com.playko.zoologico.service.comentario.DifusorMuro;
+import com.playko.zoologico.service.comentario.IngestaComentarios;
+import com.playko.zoologico.service.comentario.MuroComentarios;
+import com.playko.zoologico.service.comentario.RutaComentario;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static com.playko.zoologico.constants.ComentarioConstants.TAMANO_PAGINA_MURO_MAXIMO;
+import static com.playko.zoologico.constants.ComentarioConstants.TAMANO_PAGINA_MURO_POR_DEFECTO;
 
 @Service
 @Transactional
@@ -37,10 +65,23 @@ public class ComentarioService implements IComentarioService {
 
     private final IUsuarioRepository usuarioRepository;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MuroComentarios muroComentarios;
+
+    private final DifusorMuro difusorMuro;
+
+    private final IngestaComentarios ingestaComentarios;
+
+    private final ContadoresComentarios contadoresComentarios;
+
+    private final CacheMuro cacheMuro;
+
     @Override
-    public void agregarComentario(ComentarioRequestDto dto) {
+    public CompletableFuture<Long> agregarComentario(ComentarioRequestDto dto) {
+        Comentario padre = null;
         if (dto.getPadreId() != null) {
-            comentarioRepository.findById(dto.getPadreId())
+            padre = comentarioRepository.findById(dto.getPadreId())
                     .orElseThrow(ComentarioPadreNotFoundException::new);
         }
 
@@ -50,55 +91,146 @@ public class ComentarioService implements IComentarioService {
         String correoUsuarioAutenticado = obtenerCorreoDelToken();
         Usuario autor = usuarioRepository.findByEmail(correoUsuarioAutenticado);
 
+        if (padre != null) {
+            if (!padre.getAnimal().getId().equals(animal.getId())) {
+                throw new ComentarioAnimalMismatchException();
+            }
+            if (padre.getProfundidad() != null && padre.getProfundidad() >= RutaComentario.PROFUNDIDAD_MAXIMA) {
+                throw new ComentarioProfundidadMaximaException();
+            }
+        }
+
+        if (ingestaComentarios.isHabilitada()) {
+            return ingestaComentarios.encolar(new ComentarioPendiente(dto.getContenido().trim(), LocalDateTime.now(),
+                    animal.getId(), autor != null ? autor.getId() : null, autor != null ? autor.getNombre() : null,
+                    dto.getPadreId(), padre != null ? padre.getRuta() : null,
+                    padre != null ? padre.getProfundidad() : null));
+        }
+
         Comentario comentario = new Comentario();
         comentario.setContenido(dto.getContenido().trim());
         comentario.setFecha(LocalDateTime.now());
         comentario.setAnimal(animal);
         comentario.setAutor(autor);
-
-        if (dto.getPadreId() != null) {
-            Comentario padre = comentarioRepository.findById(dto.getPadreId())
-                    .orElseThrow(ComentarioPadreNotFoundException::new);
-
-            if (!padre.getAnimal().getId().equals(animal.getId())) {
-                throw new ComentarioAnimalMismatchException();
-            }
-            comentario.setPadre(padre);
+        comentario.setPadre(padre);
+        if (padre == null) {
+            comentario.setConRespuestas(false);
         }
 
+        // El id (IDENTITY) existe recién tras el insert; la ruta se escribe al confirmar la transacción
         comentarioRepository.save(comentario);
+        RutaComentario.asignar(comentario);
+        if (padre == null) {
+            contadoresComentarios.raicesCreadas(1);
+        } else {
+            contadoresComentarios.respuestaCreada(padre.getId());
+        }
+
+        eventPublisher.publishEvent(new ComentarioEvent(TipoCambio.CREADO, comentario.getId(), comentario.getContenido(),
+                comentario.getFecha(), animal.getId(), dto.getPadreId(), autor != null ? autor.getNombre() : null));
+        return CompletableFuture.completedFuture(comentario.getId());
+    }
+
+    @Override
+    public IngestaComentariosEstadisticasDto obtenerEstadisticasIngesta() {
+        return ingestaComentarios.estadisticas();
     }
 
     @Override
     public List<ComentarioResponseDto> obtenerMuroDeAnimal(String animalName) {
         Animal animal = animalRepository.findByNombreIgnoreCase(animalName)
                 .orElseThrow(AnimalNotFoundException::new);
+        return muroDe(animal);
+    }
+
+    /**
+     * Sin transacción: un acierto de la caché no consulta la base de datos, y al armar el muro las lecturas
+     * son proyecciones que no necesitan una sesión abierta.
+     */
+    @Override
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public byte[] obtenerMuroDeAnimalSerializado(String animalName) {
+        return cacheMuro.obtener(animalName, () -> {
+            Animal animal = animalRepository.findByNombreIgnoreCase(animalName)
+                    .orElseThrow(AnimalNotFoundException::new);
+            return new CacheMuro.Muro(animal.getId(), muroDe(animal));
+        });
+    }
+
+    /**
+     * Comentarios del animal escritos entre dos días, ambos incluidos. Las respuestas a comentarios
+     * anteriores al período aparecen en la raíz, porque su padre no forma parte del resultado.
+     */
+    @Override
+    public List<ComentarioResponseDto> obtenerMuroDeAnimalEntre(String animalName, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new RangoFechasInvalidoException();
+        }
+        Animal animal = animalRepository.findByNombreIgnoreCase(animalName)
+                .orElseThrow(AnimalNotFoundException::new);
+        return armarMuro(comentarioRepository.findMuroPorAnimalIdEntre(animal.getId(),
+                desde.atStartOfDay(), hasta.plusDays(1).atStartOfDay()));
+    }
+
+    private List<ComentarioResponseDto> muroDe(Animal animal) {
+        List<ComentarioMuroProjection> comentarios = comentarioRepository.findMuroPorAnimalId(animal.getId());
+        if (comentarios.isEmpty()) {
+            throw new AnimalSinComentariosException();
+        }
 
-        List<Comentario> comentarios = comentarioRepository.findByAnimalAndPadreIsNullOrderByFechaAsc(animal);
+        return armarMuro(comentarios);
+    }
+
+    @Override
+    public ComentarioPaginaResponseDto obtenerMuroPaginado(String animalName, String cursor, Integer tamano,
+                                                           Integer profundidad) {
+        Animal animal = animalRepository.findByNombreIgnoreCase(animalName)
+                .orElseThrow(AnimalNotFoundException::new);
+        CursorMuro posicion = CursorMuro.decodificar(cursor);
 
-        boolean tieneComentarios = comentarioRepository.existsByAnimal_Id(animal.getId());
-        if (!tieneComentarios) {
+        ComentarioPaginaResponseDto pagina =
+                muroComentarios.paginaDeRaices(animal.getId(), posicion, tamanoPagina(tamano), profundidad);
+        if (posicion == null && pagina.getComentarios().isEmpty()) {
             throw new AnimalSinComentariosException();
         }
+        return pagina;
+    }
+
+    @Override
+    public ComentarioPaginaResponseDto obtenerRespuestas(Long comentarioId, String cursor, Integer tamano,
+                                                         Integer profundidad) {
+        if (!comentarioRepository.existsById(comentarioId)) {
+            throw new ComentarioNotFoundException();
+        }
+        return muroComentarios.paginaDeRespuestas(comentarioId, CursorMuro.decodificar(cursor),
+                tamanoPagina(tamano), profundidad);
+    }
 
-        return comentarios.stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList());
+    @Override
+    public SseEmitter suscribirAlMuro(String animalName) {
+        Animal animal = animalRepository.findByNombreIgnoreCase(animalName)
+                .orElseThrow(AnimalNotFoundException::new);
+        return difusorMuro.suscribir(animal.getId());
+    }
+
+    private static int tamanoPagina(Integer tamano) {
+        return tamano == null
+                ? TAMANO_PAGINA_MURO_POR_DEFECTO
+                : Math.max(1, Math.min(tamano, TAMANO_PAGINA_MURO_MAXIMO));
     }
 
     @Override
     public PorcentajeComentariosConRespuestasDto obtenerPorcentajeComentariosConRespuestas() {
-        List<Comentario> comentariosPadre = comentarioRepository.findByPadreIsNull();
+        Map<String, Long> contadores = contadoresComentarios.valores();
+        long raices = contadores.getOrDefault(ContadoresComentarios.RAICES, 0L);
 
-        if (comentariosPadre.isEmpty()) {
+        if (raices <= 0) {
             return new PorcentajeComentariosConRespuestasDto("0.0%");
         }
 
-        long conRespuestas = comentariosPadre.stream()
-                .filter(comentario -> comentario.getRespuestas() != null && !comentario.getRespuestas().isEmpty())
-                .count();
+        long conRespuestas = contadores.getOrDefault(ContadoresComentarios.RAICES_CON_RESPUESTAS, 0L);
 
-        double porcentaje = (double) conRespuestas / comentariosPadre.size() * 100;
+        double porcentaje = (double) conRespuestas / raices * 100;
 
         String porcentajeFormateado = String.format("%.1f%%", porcentaje);
 
@@ -107,20 +239,103 @@ public class ComentarioService implements IComentarioService {
 
 
 
-    private ComentarioResponseDto mapToResponseDto(Comentario comentario) {
-        List<ComentarioResponseDto> respuestasDto = comentario.getRespuestas() != null
-                ? comentario.getRespuestas().stream()
-                .map(this::mapToResponseDto)
-                .collect(Collectors.toList())
-                : new ArrayList<>();
+    @Override
+    public ComentarioResponseDto obtenerHilo(Long comentarioId) {
+        String ruta = rutaDeHiloCompleto(comentarioRepository.findById(comentarioId)
+                .orElseThrow(ComentarioNotFoundException::new));
+
+        List<ComentarioMuroProjection> hilo =
+                comentarioRepository.findHilo(ruta, RutaComentario.limiteSuperior(ruta));
+        // Ordenadas por ruta, la primera fila es la raíz del hilo
+        return armarMuro(hilo).get(0);
+    }
+
+    @Override
+    public HiloResumenResponseDto resumirHilo(Long comentarioId) {
+        Comentario comentario = comentarioRepository.findById(comentarioId)
+                .orElseThrow(ComentarioNotFoundException::new);
+        String ruta = rutaDeHiloCompleto(comentario);
+
+        HiloResumenProjection resumen = comentarioRepository.resumirHilo(ruta, RutaComentario.limiteSuperior(ruta));
+        return new HiloResumenResponseDto(comentarioId,
+                resumen.getCantidad() - 1,
+                resumen.getProfundidadMaxima() - comentario.getProfundidad());
+    }
+
+    @Override
+    public void eliminarHilo(Long comentarioId) {
+        Comentario comentario = comentarioRepository.findById(comentarioId)
+                .orElseThrow(ComentarioNotFoundException::new);
+        String ruta = rutaDeHiloCompleto(comentario);
+        String hasta = RutaComentario.limiteSuperior(ruta);
+        // Leídos antes del borrado, que limpia el contexto de persistencia
+        boolean esRaiz = comentario.getPadre() == null;
+        boolean raizConRespuestas = Boolean.TRUE.equals(comentario.getConRespuestas());
+        Long raizDelPadre = comentario.getProfundidad() == 1 ? comentario.getPadre().getId() : null;
+
+        List<ComentarioIndiceProjection> eliminados = comentarioRepository.findParaIndiceEnHilo(ruta, hasta);
+        comentarioRepository.desvincularHilo(ruta, hasta);
+        comentarioRepository.deleteHilo(ruta, hasta);
+
+        if (esRaiz) {
+            contadoresComentarios.raizEliminada(raizConRespuestas);
+        } else if (raizDelPadre != null) {
+            contadoresComentarios.respuestaEliminada(raizDelPadre);
+        }
+
+        for (ComentarioIndiceProjection c : eliminados) {
+            eventPublisher.publishEvent(new ComentarioEvent(TipoCambio.ELIMINADO, c.getId(), c.getContenido(),
+                    null, c.getAnimalId(), c.getPadreId(), null));
+        }
+    }
+
+    /**
+     * Ruta del comentario, siempre que todo su hilo ya la tenga: las consultas por rango no alcanzarían
+     * las respuestas que el backfill aún no completó y devolverían un hilo parcial como si fuera completo.
+     */
+    private String rutaDeHiloCompleto(Comentario comentario) {
+        String ruta = rutaDe(comentario);
+        if (comentarioRepository.hayRespuestasSinRutaEnHilo(ruta, RutaComentario.limiteSuperior(ruta))) {
+            throw new ComentarioRutaPendienteException();
+        }
+        return ruta;
+    }
+
+    private static String rutaDe(Comentario comentario) {
+        if (comentario.getRuta() == null) {
+            throw new ComentarioRutaPendienteException();
+        }
+        return comentario.getRuta();
+    }
+
+    /**
+     * Arma el árbol del muro a partir de las filas planas: una pasada crea los nodos indexados por id y
+     * otra cuelga cada respuesta de su padre. Las filas llegan en orden cronológico, así que tanto los
+     * comentarios raíz como las respuestas de cada nodo quedan ordenados por fecha.
+     */
+    private List<ComentarioResponseDto> armarMuro(List<ComentarioMuroProjection> comentarios) {
+        Map<Long, ComentarioResponseDto> nodos = new HashMap<>(comentarios.size() * 2);
+        for (ComentarioMuroProjection fila : comentarios) {
+            nodos.put(fila.getId(), new ComentarioResponseDto(
+                    fila.getId(),
+                    fila.getContenido(),
+                    fila.getFecha().toString(),
+                    fila.getAutorNombre(),
+                    new ArrayList<>()
+            ));
+        }
 
-        return new ComentarioResponseDto(
-                comentario.getId(),
-                comentario.getContenido(),
-                comentario.getFecha().toString(),
-                comentario.getAutor().getNombre(),
-                respuestasDto
-        );
+        List<ComentarioResponseDto> raices = new ArrayList<>();
+        for (ComentarioMuroProjection fila : comentarios) {
+            ComentarioResponseDto nodo = nodos.get(fila.getId());
+            ComentarioResponseDto padre = fila.getPadreId() != null ? nodos.get(fila.getPadreId()) : null;
+            if (padre != null) {
+                padre.getRespuestas().add(nodo);
+            } else {
+                raices.add(nodo);
+            }
+        }
+        return raices;
     }
 
     public String obtenerCorreoDelToken() {
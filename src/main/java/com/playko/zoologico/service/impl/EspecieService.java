@@ -1,27 +1,41 @@
 package com.playko.zoologico.service.impl;
 
 import com.playko.zoologico.dto.request.EspecieRequestDto;
+import com.playko.zoologico.dto.response.AnimalesPorEspeciePaginaResponseDto;
 import com.playko.zoologico.dto.response.AnimalesPorEspecieResponseDto;
 import com.playko.zoologico.dto.response.EspecieResponseDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.IndicadorEspecie;
 import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.TipoCambio;
 import com.playko.zoologico.exception.NoDataFoundException;
+import com.playko.zoologico.exception.OrdenInvalidoException;
 import com.playko.zoologico.exception.especie.EspecieAlreadyExistsException;
 import com.playko.zoologico.exception.especie.EspecieConAnimalesException;
 import com.playko.zoologico.exception.especie.EspecieNotFoundException;
 import com.playko.zoologico.exception.zona.ZonaNotFoundException;
 import com.playko.zoologico.repository.IAnimalRepository;
 import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IIndicadorEspecieRepository;
 import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.AnimalesPorEspecieProjection;
 import com.playko.zoologico.service.IEspecieService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static com.playko.zoologico.constants.EspecieConstants.TAMANO_PAGINA_INDICADOR_MAXIMO;
+import static com.playko.zoologico.constants.EspecieConstants.TAMANO_PAGINA_INDICADOR_POR_DEFECTO;
+
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -29,6 +43,8 @@ public class EspecieService implements IEspecieService {
     private final IEspecieRepository especieRepository;
     private final IZonaRepository zonaRepository;
     private final IAnimalRepository animalRepository;
+    private final IIndicadorEspecieRepository indicadorEspecieRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public EspecieResponseDto obtenerEspeciePorId(Long id) {
@@ -63,6 +79,9 @@ public class EspecieService implements IEspecieService {
         especie.setZona(zona);
 
         especieRepository.save(especie);
+
+        eventPublisher.publishEvent(new EspecieEvent(TipoCambio.CREADO, especie.getId(), especie.getNombre(), null,
+                zona.getId(), null));
     }
 
     @Override
@@ -79,10 +98,16 @@ public class EspecieService implements IEspecieService {
         Zona zona = zonaRepository.findByNombreIgnoreCase(dto.getZonaName())
                 .orElseThrow(ZonaNotFoundException::new);
 
+        String nombreAnterior = especie.getNombre();
+        Long zonaIdAnterior = especie.getZona() != null ? especie.getZona().getId() : null;
+
         especie.setNombre(nuevoNombre);
         especie.setZona(zona);
 
         especieRepository.save(especie);
+
+        eventPublisher.publishEvent(new EspecieEvent(TipoCambio.EDITADO, especie.getId(), especie.getNombre(), nombreAnterior,
+                zona.getId(), zonaIdAnterior));
     }
 
     @Override
@@ -96,22 +121,93 @@ public class EspecieService implements IEspecieService {
         }
 
         especieRepository.delete(especie);
+
+        Long zonaId = especie.getZona() != null ? especie.getZona().getId() : null;
+        eventPublisher.publishEvent(new EspecieEvent(TipoCambio.ELIMINADO, especie.getId(), especie.getNombre(), especie.getNombre(),
+                zonaId, zonaId));
     }
 
     @Override
-    public List<AnimalesPorEspecieResponseDto> obtenerCantidadAnimalesPorEspecie() {
-        List<Especie> especies = especieRepository.findAll();
+    public List<AnimalesPorEspecieResponseDto> obtenerCantidadAnimalesPorEspecie(String orden, Integer limite) {
+        Sort sort = ordenIndicador(orden);
+        List<AnimalesPorEspecieResponseDto> especies = limite == null
+                ? listaIndicador(sort)
+                : paginaIndicador(PageRequest.of(0, tamanoIndicador(limite), sort)).getContent();
 
         if (especies.isEmpty()) throw new NoDataFoundException();
 
-        return especies.stream()
-                .map(especie -> new AnimalesPorEspecieResponseDto(
-                        especie.getNombre(),
-                        especie.getAnimales() != null ? especie.getAnimales().size() : 0
-                ))
+        return especies;
+    }
+
+    @Override
+    public AnimalesPorEspeciePaginaResponseDto obtenerCantidadAnimalesPorEspeciePaginado(Integer pagina, Integer tamano,
+                                                                                        String orden) {
+        int numeroPagina = pagina == null ? 0 : Math.max(0, pagina);
+        Page<AnimalesPorEspecieResponseDto> conteos =
+                paginaIndicador(PageRequest.of(numeroPagina, tamanoIndicador(tamano), ordenIndicador(orden)));
+
+        if (conteos.getTotalElements() == 0) throw new NoDataFoundException();
+
+        return new AnimalesPorEspeciePaginaResponseDto(
+                conteos.getContent(),
+                conteos.getNumber(),
+                conteos.getSize(),
+                conteos.getTotalElements(),
+                conteos.getTotalPages()
+        );
+    }
+
+    /**
+     * Lee el indicador persistido. Mientras está vacío, antes de la primera conciliación, cuenta en las
+     * tablas de origen.
+     */
+    private List<AnimalesPorEspecieResponseDto> listaIndicador(Sort sort) {
+        List<IndicadorEspecie> indicadores = indicadorEspecieRepository.findAll(sort);
+        if (!indicadores.isEmpty()) {
+            return indicadores.stream().map(EspecieService::mapToAnimalesPorEspecieDto).collect(Collectors.toList());
+        }
+        // Indicador aún vacío, antes de la primera conciliación: se cuenta en las tablas de origen
+        return especieRepository.contarAnimalesPorEspecie(sort).stream()
+                .map(EspecieService::mapToAnimalesPorEspecieDto)
                 .collect(Collectors.toList());
     }
 
+    private Page<AnimalesPorEspecieResponseDto> paginaIndicador(PageRequest pedido) {
+        Page<IndicadorEspecie> indicadores = indicadorEspecieRepository.findAll(pedido);
+        if (indicadores.getTotalElements() > 0) {
+            return indicadores.map(EspecieService::mapToAnimalesPorEspecieDto);
+        }
+        return especieRepository.contarAnimalesPorEspecie(pedido).map(EspecieService::mapToAnimalesPorEspecieDto);
+    }
+
+    /**
+     * Sin orden se conserva el de creación. El nombre es único, así que desempata los órdenes por población
+     * y las páginas no repiten ni saltan especies.
+     */
+    private static Sort ordenIndicador(String orden) {
+        if (orden == null) return Sort.by("id");
+        return switch (orden.trim().toUpperCase()) {
+            case "NOMBRE" -> Sort.by("nombre");
+            case "POBLACION_DESC" -> Sort.by(Sort.Direction.DESC, "cantidadAnimales").and(Sort.by("nombre"));
+            case "POBLACION_ASC" -> Sort.by(Sort.Direction.ASC, "cantidadAnimales").and(Sort.by("nombre"));
+            default -> throw new OrdenInvalidoException();
+        };
+    }
+
+    private static int tamanoIndicador(Integer tamano) {
+        return tamano == null
+                ? TAMANO_PAGINA_INDICADOR_POR_DEFECTO
+                : Math.max(1, Math.min(tamano, TAMANO_PAGINA_INDICADOR_MAXIMO));
+    }
+
+    private static AnimalesPorEspecieResponseDto mapToAnimalesPorEspecieDto(AnimalesPorEspecieProjection conteo) {
+        return new AnimalesPorEspecieResponseDto(conteo.getEspecie(), conteo.getCantidadAnimales());
+    }
+
+    private static AnimalesPorEspecieResponseDto mapToAnimalesPorEspecieDto(IndicadorEspecie indicador) {
+        return new AnimalesPorEspecieResponseDto(indicador.getNombre(), indicador.getCantidadAnimales());
+    }
+
     private EspecieResponseDto mapToResponseDto(Especie especie) {
         List<String> nombresAnimales = especie.getAnimales() != null ?
                 especie.getAnimales().stream()
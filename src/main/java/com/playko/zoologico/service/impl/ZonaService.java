@@ -5,16 +5,23 @@ import com.playko.zoologico.dto.response.CantidadAnimalesPorZonaResponseDto;
 import com.playko.zoologico.dto.response.ZonaResponseDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.IndicadorZona;
 import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.event.ZonaEvent;
 import com.playko.zoologico.exception.NoDataFoundException;
 import com.playko.zoologico.exception.animal.ZonaConAnimalesException;
 import com.playko.zoologico.exception.zona.ZonaAlreadyExistsException;
 import com.playko.zoologico.exception.zona.ZonaNotFoundException;
 import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IIndicadorZonaRepository;
 import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.CantidadAnimalesPorZonaProjection;
 import com.playko.zoologico.service.IZonaService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,6 +34,9 @@ import java.util.stream.Stream;
 public class ZonaService implements IZonaService {
     private final IZonaRepository zonaRepository;
     private final IAnimalRepository animalRepository;
+    private final IIndicadorZonaRepository indicadorZonaRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
     @Override
     public ZonaResponseDto obtenerZonaPorId(Long id) {
         Zona zona = zonaRepository.findById(id)
@@ -54,6 +64,8 @@ public class ZonaService implements IZonaService {
         Zona nuevaZona = new Zona();
         nuevaZona.setNombre(requestDto.getNombre().trim());
         zonaRepository.save(nuevaZona);
+
+        eventPublisher.publishEvent(new ZonaEvent(TipoCambio.CREADO, nuevaZona.getId(), nuevaZona.getNombre(), null));
     }
 
     @Override
@@ -62,6 +74,7 @@ public class ZonaService implements IZonaService {
                 .orElseThrow(ZonaNotFoundException::new);
 
         String nuevoNombre = requestDto.getNombre().trim();
+        String nombreAnterior = zonaExistente.getNombre();
 
         if (!zonaExistente.getNombre().equalsIgnoreCase(nuevoNombre)) {
             if (zonaRepository.existsByNombreIgnoreCase(nuevoNombre)) {
@@ -70,6 +83,8 @@ public class ZonaService implements IZonaService {
             zonaExistente.setNombre(nuevoNombre);
         }
         zonaRepository.save(zonaExistente);
+
+        eventPublisher.publishEvent(new ZonaEvent(TipoCambio.EDITADO, zonaExistente.getId(), zonaExistente.getNombre(), nombreAnterior));
     }
 
     @Override
@@ -83,26 +98,29 @@ public class ZonaService implements IZonaService {
         }
 
         zonaRepository.delete(zona);
+
+        eventPublisher.publishEvent(new ZonaEvent(TipoCambio.ELIMINADO, zona.getId(), zona.getNombre(), zona.getNombre()));
     }
 
     @Override
     public List<CantidadAnimalesPorZonaResponseDto> obtenerCantidadAnimalesPorZona() {
-        List<Zona> zonas = zonaRepository.findAll();
+        List<IndicadorZona> indicadores = indicadorZonaRepository.findAll(Sort.by("id"));
+        if (!indicadores.isEmpty()) {
+            return indicadores.stream()
+                    .map(indicador -> new CantidadAnimalesPorZonaResponseDto(indicador.getNombre(), indicador.getCantidadAnimales()))
+                    .collect(Collectors.toList());
+        }
+
+        // Indicador aún vacío, antes de la primera conciliación: se cuenta en las tablas de origen
+        List<CantidadAnimalesPorZonaProjection> conteos = zonaRepository.contarAnimalesPorZona();
 
-        if (zonas.isEmpty()) {
+        if (conteos.isEmpty()) {
             throw new NoDataFoundException();
         }
 
-        return zonas.stream().map(zona -> {
-            long cantidadAnimales = zona.getEspecies() != null
-                    ? zona.getEspecies().stream()
-                    .filter(especie -> especie.getAnimales() != null)
-                    .mapToLong(especie -> especie.getAnimales().size())
-                    .sum()
-                    : 0L;
-
-            return new CantidadAnimalesPorZonaResponseDto(zona.getNombre(), cantidadAnimales);
-        }).collect(Collectors.toList());
+        return conteos.stream()
+                .map(conteo -> new CantidadAnimalesPorZonaResponseDto(conteo.getNombreZona(), conteo.getCantidadAnimales()))
+                .collect(Collectors.toList());
     }
 
     private ZonaResponseDto mapToResponseDto(Zona zona) {
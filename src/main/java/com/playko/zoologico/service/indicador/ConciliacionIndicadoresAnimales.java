@@ -0,0 +1,117 @@
+package com.playko.zoologico.service.indicador;
+
+import com.playko.zoologico.entity.IndicadorEspecie;
+import com.playko.zoologico.entity.IndicadorZona;
+import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IIndicadorEspecieRepository;
+import com.playko.zoologico.repository.IIndicadorZonaRepository;
+import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.AnimalesPorEspecieProjection;
+import com.playko.zoologico.repository.projection.CantidadAnimalesPorZonaProjection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Recalcula los indicadores de animales con las consultas agrupadas y corrige las filas desviadas, crea las
+ * que falten y borra las de zonas o especies que ya no existen. Al arrancar también llena los indicadores
+ * la primera vez.
+ * <p>
+ * Bloquea las filas de los indicadores (especies antes que zonas, como los eventos) y recién entonces
+ * recuenta. {@link IndicadoresAnimales} aplica cada evento en la transacción del cambio, bloqueando la misma
+ * fila, así que un cambio ya confirmado tiene su incremento en la fila bloqueada y entra en el recuento, y uno
+ * sin confirmar espera al bloqueo y se suma después sobre el valor corregido: ningún cambio se pierde ni se
+ * cuenta dos veces.
+ */
+@Slf4j
+@Component
+public class ConciliacionIndicadoresAnimales {
+    private final IZonaRepository zonaRepository;
+    private final IEspecieRepository especieRepository;
+    private final IIndicadorZonaRepository indicadorZonaRepository;
+    private final IIndicadorEspecieRepository indicadorEspecieRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ConciliacionIndicadoresAnimales(IZonaRepository zonaRepository,
+                                           IEspecieRepository especieRepository,
+                                           IIndicadorZonaRepository indicadorZonaRepository,
+                                           IIndicadorEspecieRepository indicadorEspecieRepository,
+                                           PlatformTransactionManager transactionManager) {
+        this.zonaRepository = zonaRepository;
+        this.especieRepository = especieRepository;
+        this.indicadorZonaRepository = indicadorZonaRepository;
+        this.indicadorEspecieRepository = indicadorEspecieRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${indicadores.conciliacion.intervalo-ms:600000}",
+            initialDelayString = "${indicadores.conciliacion.intervalo-ms:600000}")
+    @EventListener(ApplicationReadyEvent.class)
+    public void conciliarPeriodicamente() {
+        long ajustes = conciliar();
+        if (ajustes > 0) {
+            log.info("Conciliación de indicadores de animales: {} filas ajustadas", ajustes);
+        }
+    }
+
+    /**
+     * @return filas de indicadores creadas, corregidas o borradas
+     */
+    public long conciliar() {
+        return transactionTemplate.execute(estado -> conciliarEspecies() + conciliarZonas());
+    }
+
+    private long conciliarEspecies() {
+        Map<Long, IndicadorEspecie> actuales = new HashMap<>();
+        indicadorEspecieRepository.findAllParaActualizar().forEach(i -> actuales.put(i.getId(), i));
+
+        long ajustes = 0;
+        for (AnimalesPorEspecieProjection real : especieRepository.contarAnimalesPorEspecie(Sort.by("id"))) {
+            IndicadorEspecie indicador = actuales.remove(real.getId());
+            if (indicador == null) {
+                indicadorEspecieRepository.save(new IndicadorEspecie(real.getId(), real.getEspecie(), real.getZonaId(),
+                        real.getCantidadAnimales()));
+                ajustes++;
+            } else if (!indicador.getNombre().equals(real.getEspecie())
+                    || !Objects.equals(indicador.getZonaId(), real.getZonaId())
+                    || indicador.getCantidadAnimales() != real.getCantidadAnimales()) {
+                indicador.setNombre(real.getEspecie());
+                indicador.setZonaId(real.getZonaId());
+                indicador.setCantidadAnimales(real.getCantidadAnimales());
+                ajustes++;
+            }
+        }
+        indicadorEspecieRepository.deleteAll(actuales.values());
+        return ajustes + actuales.size();
+    }
+
+    private long conciliarZonas() {
+        Map<Long, IndicadorZona> actuales = new HashMap<>();
+        indicadorZonaRepository.findAllParaActualizar().forEach(i -> actuales.put(i.getId(), i));
+
+        long ajustes = 0;
+        for (CantidadAnimalesPorZonaProjection real : zonaRepository.contarAnimalesPorZona()) {
+            IndicadorZona indicador = actuales.remove(real.getId());
+            if (indicador == null) {
+                indicadorZonaRepository.save(new IndicadorZona(real.getId(), real.getNombreZona(), real.getCantidadAnimales()));
+                ajustes++;
+            } else if (!indicador.getNombre().equals(real.getNombreZona())
+                    || indicador.getCantidadAnimales() != real.getCantidadAnimales()) {
+                indicador.setNombre(real.getNombreZona());
+                indicador.setCantidadAnimales(real.getCantidadAnimales());
+                ajustes++;
+            }
+        }
+        indicadorZonaRepository.deleteAll(actuales.values());
+        return ajustes + actuales.size();
+    }
+}
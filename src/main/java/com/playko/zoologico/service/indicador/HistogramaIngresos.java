@@ -0,0 +1,80 @@
+package com.playko.zoologico.service.indicador;
+
+import com.playko.zoologico.dto.response.IngresosPorPeriodoResponseDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Cuenta los ingresos de animales por día, semana (desde el lunes) o mes en la base de datos con
+ * {@code date_trunc}, opcionalmente por zona o por especie. Solo devuelve los períodos con ingresos.
+ * <p>
+ * El filtro por rango sobre {@code fecha_ingreso} lo resuelve el índice BRIN de
+ * {@code db/animales-ingresos-brin.sql}. La unidad va como literal y no como parámetro: PostgreSQL solo
+ * acepta agrupar por la misma expresión que se selecciona.
+ */
+@Component
+public class HistogramaIngresos {
+
+    public enum Intervalo {
+        DIA("day"), SEMANA("week"), MES("month");
+
+        private final String unidad;
+
+        Intervalo(String unidad) {
+            this.unidad = unidad;
+        }
+    }
+
+    public enum Agrupacion {
+        ZONA, ESPECIE
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HistogramaIngresos(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param hasta      incluido completo
+     * @param agrupacion {@code null} para contar todos los ingresos de cada período juntos
+     */
+    public List<IngresosPorPeriodoResponseDto> contar(LocalDate desde, LocalDate hasta, Intervalo intervalo,
+                                                      Agrupacion agrupacion) {
+        return jdbcTemplate.query(consulta(intervalo, agrupacion),
+                (rs, fila) -> new IngresosPorPeriodoResponseDto(
+                        rs.getTimestamp("periodo").toLocalDateTime().toLocalDate(),
+                        rs.getString("grupo"),
+                        rs.getLong("cantidad")),
+                Timestamp.valueOf(desde.atStartOfDay()), Timestamp.valueOf(hasta.plusDays(1).atStartOfDay()));
+    }
+
+    private static String consulta(Intervalo intervalo, Agrupacion agrupacion) {
+        String periodo = "date_trunc('" + intervalo.unidad + "', a.fecha_ingreso)";
+        String grupo;
+        String uniones;
+        String claveGrupo;
+        if (agrupacion == Agrupacion.ZONA) {
+            grupo = "z.nombre";
+            uniones = " join especies e on e.id = a.especie_id join zonas z on z.id = e.zona_id";
+            claveGrupo = ", z.id, z.nombre";
+        } else if (agrupacion == Agrupacion.ESPECIE) {
+            grupo = "e.nombre";
+            uniones = " join especies e on e.id = a.especie_id";
+            claveGrupo = ", e.id, e.nombre";
+        } else {
+            grupo = "cast(null as varchar(255))";
+            uniones = "";
+            claveGrupo = "";
+        }
+        return "select " + periodo + " as periodo, " + grupo + " as grupo, count(*) as cantidad "
+                + "from animales a" + uniones + " "
+                + "where a.fecha_ingreso >= ? and a.fecha_ingreso < ? "
+                + "group by " + periodo + claveGrupo + " "
+                + "order by periodo, grupo";
+    }
+}
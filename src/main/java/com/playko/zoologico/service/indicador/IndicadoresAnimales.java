@@ -0,0 +1,122 @@
+package com.playko.zoologico.service.indicador;
+
+import com.playko.zoologico.entity.IndicadorEspecie;
+import com.playko.zoologico.entity.IndicadorZona;
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.event.ZonaEvent;
+import com.playko.zoologico.repository.IIndicadorEspecieRepository;
+import com.playko.zoologico.repository.IIndicadorZonaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+
+/**
+ * Mantiene los indicadores de animales por zona y por especie a partir de los eventos de dominio. Cada evento
+ * es un incremento atómico sobre la fila del indicador, así que leer un indicador no recorre las tablas de
+ * origen.
+ * <p>
+ * Los eventos se aplican justo antes del commit, en la misma transacción que el cambio: el incremento bloquea
+ * la fila del indicador hasta el commit y el indicador se confirma junto con el dato, igual que
+ * {@code ContadoresComentarios}. Si el incremento falla, falla también la operación que publicó el evento.
+ */
+@Component
+public class IndicadoresAnimales {
+    private final IIndicadorZonaRepository indicadorZonaRepository;
+    private final IIndicadorEspecieRepository indicadorEspecieRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public IndicadoresAnimales(IIndicadorZonaRepository indicadorZonaRepository,
+                               IIndicadorEspecieRepository indicadorEspecieRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.indicadorZonaRepository = indicadorZonaRepository;
+        this.indicadorEspecieRepository = indicadorEspecieRepository;
+        // Se une a la transacción que publicó el evento; sin ella (fallbackExecution) abre una propia
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onZona(ZonaEvent event) {
+        actualizar(() -> {
+            switch (event.getTipoCambio()) {
+                case CREADO -> {
+                    // La conciliación pudo crearla ya con su valor real
+                    if (!indicadorZonaRepository.existsById(event.getId())) {
+                        indicadorZonaRepository.save(new IndicadorZona(event.getId(), event.getNombre(), 0));
+                    }
+                }
+                case EDITADO -> indicadorZonaRepository.renombrar(event.getId(), event.getNombre());
+                case ELIMINADO -> {
+                    // Las especies de la zona se borran en cascada sin publicar sus propios eventos
+                    indicadorEspecieRepository.deleteByZonaId(event.getId());
+                    indicadorZonaRepository.findById(event.getId()).ifPresent(indicadorZonaRepository::delete);
+                }
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onEspecie(EspecieEvent event) {
+        actualizar(() -> {
+            switch (event.getTipoCambio()) {
+                case CREADO -> {
+                    if (!indicadorEspecieRepository.existsById(event.getId())) {
+                        indicadorEspecieRepository.save(
+                                new IndicadorEspecie(event.getId(), event.getNombre(), event.getZonaId(), 0));
+                    }
+                }
+                case EDITADO -> editarEspecie(event);
+                case ELIMINADO -> indicadorEspecieRepository.findParaActualizar(event.getId()).ifPresent(especie -> {
+                    // Solo se eliminan especies sin animales, pero si el indicador tenía alguno lo descuenta
+                    indicadorZonaRepository.sumarAnimales(especie.getZonaId(), -especie.getCantidadAnimales());
+                    indicadorEspecieRepository.delete(especie);
+                });
+            }
+        });
+    }
+
+    private void editarEspecie(EspecieEvent event) {
+        indicadorEspecieRepository.findParaActualizar(event.getId()).ifPresent(especie -> {
+            especie.setNombre(event.getNombre());
+            if (!Objects.equals(especie.getZonaId(), event.getZonaId())) {
+                // Sus animales pasan a contar en la nueva zona
+                indicadorZonaRepository.sumarAnimales(especie.getZonaId(), -especie.getCantidadAnimales());
+                indicadorZonaRepository.sumarAnimales(event.getZonaId(), especie.getCantidadAnimales());
+                especie.setZonaId(event.getZonaId());
+            }
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onAnimal(AnimalEvent event) {
+        TipoCambio tipo = event.getTipoCambio();
+        if (tipo == TipoCambio.EDITADO && Objects.equals(event.getEspecieId(), event.getEspecieIdAnterior())) return;
+
+        actualizar(() -> {
+            if (tipo != TipoCambio.CREADO) {
+                sumarAnimal(event.getEspecieIdAnterior(), -1);
+            }
+            if (tipo != TipoCambio.ELIMINADO) {
+                sumarAnimal(event.getEspecieId(), 1);
+            }
+        });
+    }
+
+    /**
+     * Primero la especie y luego su zona, el mismo orden de bloqueo que al trasladar una especie de zona.
+     */
+    private void sumarAnimal(Long especieId, long delta) {
+        if (especieId == null) return;
+        indicadorEspecieRepository.sumarAnimales(especieId, delta);
+        indicadorZonaRepository.sumarAnimalesDeEspecie(especieId, delta);
+    }
+
+    private void actualizar(Runnable cambio) {
+        transactionTemplate.executeWithoutResult(estado -> cambio.run());
+    }
+}
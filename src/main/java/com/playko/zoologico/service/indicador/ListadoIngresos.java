@@ -0,0 +1,74 @@
+package com.playko.zoologico.service.indicador;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playko.zoologico.dto.response.AnimalRegistradoResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+
+/**
+ * Escribe como arreglo JSON los animales ingresados en un rango de fechas a medida que se leen, con un
+ * cursor de solo avance que trae las filas en bloques de tamaño fijo. Los nombres de especie y zona vienen
+ * unidos en la consulta, así que no se cargan entidades ni se guarda el resultado completo en memoria.
+ * <p>
+ * PostgreSQL solo usa el cursor dentro de una transacción; por eso la lectura va en una de solo lectura,
+ * abierta en el hilo que escribe la respuesta.
+ * <p>
+ * El arreglo solo se cierra si la lectura termina: si falla a mitad de camino el cliente recibe un JSON
+ * inválido en lugar de un arreglo bien formado pero incompleto.
+ */
+@Component
+public class ListadoIngresos {
+    private static final String CONSULTA = "select a.nombre as animal, e.nombre as especie, z.nombre as zona "
+            + "from animales a join especies e on e.id = a.especie_id join zonas z on z.id = e.zona_id "
+            + "where a.fecha_ingreso >= ? and a.fecha_ingreso < ? "
+            + "order by a.fecha_ingreso, a.id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ListadoIngresos(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           ObjectMapper objectMapper,
+                           @Value("${indicadores.ingresos.tamano-bloque:500}") int tamanoBloque) {
+        // Plantilla propia para no cambiar el tamaño de bloque de las demás consultas
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(tamanoBloque);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param hasta incluido completo
+     */
+    public void escribir(LocalDate desde, LocalDate hasta, OutputStream salida) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)) {
+            json.writeStartArray();
+            transactionTemplate.executeWithoutResult(estado -> jdbcTemplate.query(CONSULTA, rs -> {
+                try {
+                    json.writeObject(new AnimalRegistradoResponseDto(
+                            rs.getString("animal"), rs.getString("especie"), rs.getString("zona")));
+                } catch (IOException e) {
+                    // El cliente cerró la conexión: se corta la lectura
+                    throw new UncheckedIOException(e);
+                }
+            }, Timestamp.valueOf(desde.atStartOfDay()), Timestamp.valueOf(hasta.plusDays(1).atStartOfDay())));
+            json.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
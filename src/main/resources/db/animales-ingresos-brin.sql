@@ -0,0 +1,5 @@
+-- Índice BRIN sobre la fecha de ingreso para el histograma de ingresos (PostgreSQL).
+-- Guarda el mínimo y el máximo de cada bloque de páginas, así que ocupa unos pocos kilobytes aunque la
+-- tabla tenga años de historia. Funciona mientras el orden físico siga al de ingreso, que es como se
+-- insertan los animales; un B-tree seguiría siendo mejor para buscar un solo día.
+CREATE INDEX IF NOT EXISTS idx_animales_fecha_ingreso_brin ON animales USING brin (fecha_ingreso);
@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_zonas_nombre_trgm ON zonas USING gin (nombre gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_especies_nombre_trgm ON especies USING gin (nombre gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_animales_nombre_trgm ON animales USING gin (nombre gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_comentarios_contenido_trgm ON comentarios USING gin (contenido gin_trgm_ops);
@@ -0,0 +1,62 @@
+-- Convierte comentarios en una tabla particionada por mes de fecha (PostgreSQL 12 o superior).
+-- Si la tabla ya está particionada no hace nada. Se ejecuta como una sola sentencia.
+--
+-- Cambios frente a la tabla que crea Hibernate:
+--  * La llave primaria pasa a ser (id, fecha): en PostgreSQL debe incluir la columna de partición. El id
+--    sigue saliendo de una sola secuencia, así que no se repite entre particiones.
+--  * El id usa una secuencia propiedad de la columna en lugar de IDENTITY, que las tablas particionadas
+--    no admiten antes de PostgreSQL 17. pg_get_serial_sequence sigue resolviéndola para la ingesta.
+--  * Sin llave foránea de padre_id: tendría que apuntar a (id, fecha). La integridad la mantiene la
+--    aplicación, que borra los hilos completos por ruta y bloquea el padre al insertar por lotes. La
+--    entidad sí declara la llave, así que la aplicación se arranca con el perfil "particiones" para que
+--    ddl-auto=update no registre en cada arranque el intento fallido de crearla.
+DO $$
+DECLARE
+    ultimo_id bigint;
+    mes date;
+    hasta date;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('comentarios')) = 'p' THEN
+        RETURN;
+    END IF;
+
+    LOCK TABLE comentarios IN ACCESS EXCLUSIVE MODE;
+
+    SELECT greatest(coalesce(max(id), 0), coalesce(pg_sequence_last_value(pg_get_serial_sequence('comentarios', 'id')), 0))
+      INTO ultimo_id
+      FROM comentarios;
+
+    ALTER TABLE comentarios RENAME TO comentarios_sin_particionar;
+    ALTER TABLE comentarios_sin_particionar ALTER COLUMN id DROP IDENTITY IF EXISTS;
+    ALTER TABLE comentarios_sin_particionar ALTER COLUMN id DROP DEFAULT;
+    DROP SEQUENCE IF EXISTS comentarios_id_seq;
+
+    CREATE TABLE comentarios (LIKE comentarios_sin_particionar INCLUDING DEFAULTS) PARTITION BY RANGE (fecha);
+    CREATE SEQUENCE comentarios_id_seq OWNED BY comentarios.id;
+    PERFORM setval('comentarios_id_seq', ultimo_id + 1, false);
+    ALTER TABLE comentarios ALTER COLUMN id SET DEFAULT nextval('comentarios_id_seq');
+    ALTER TABLE comentarios ADD PRIMARY KEY (id, fecha);
+    ALTER TABLE comentarios ADD FOREIGN KEY (animal_id) REFERENCES animales (id);
+    ALTER TABLE comentarios ADD FOREIGN KEY (autor_id) REFERENCES usuarios (id);
+
+    -- Un mes por partición desde el comentario más antiguo hasta tres meses después del actual
+    SELECT coalesce(date_trunc('month', min(fecha)), date_trunc('month', now()))::date
+      INTO mes
+      FROM comentarios_sin_particionar;
+    hasta := (date_trunc('month', now()) + interval '4 months')::date;
+    WHILE mes < hasta LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF comentarios FOR VALUES FROM (%L) TO (%L)',
+                       'comentarios_p' || to_char(mes, 'YYYYMM'), mes, (mes + interval '1 month')::date);
+        mes := (mes + interval '1 month')::date;
+    END LOOP;
+    -- Red de seguridad para fechas fuera de los meses creados; el mantenimiento la deja vacía
+    CREATE TABLE comentarios_fuera_de_rango PARTITION OF comentarios DEFAULT;
+
+    INSERT INTO comentarios SELECT * FROM comentarios_sin_particionar;
+    DROP TABLE comentarios_sin_particionar;
+
+    CREATE INDEX idx_comentarios_ruta ON comentarios (ruta);
+    CREATE INDEX idx_comentarios_animal_fecha ON comentarios (animal_id, fecha, id);
+    CREATE INDEX idx_comentarios_padre_fecha ON comentarios (padre_id, fecha, id);
+END
+$$;
@@ -0,0 +1,181 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Animal;
+import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.repository.projection.ComentarioMuroProjection;
+import com.playko.zoologico.repository.projection.HiloResumenProjection;
+import com.playko.zoologico.service.comentario.RutaComentario;
+import com.playko.zoologico.service.comentario.RutaComentarioBackfill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Consultas de hilos por ruta materializada y backfill de filas antiguas, contra H2.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ComentarioHiloConsultasTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private IComentarioRepository comentarioRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Animal animal;
+    private Usuario autor;
+
+    // raiz ── a ── a1 ── a11
+    //      └─ b
+    // otra ── c
+    private Comentario raiz;
+    private Comentario a;
+    private Comentario a1;
+    private Comentario a11;
+    private Comentario b;
+    private Comentario otra;
+    private Comentario c;
+
+    @BeforeEach
+    void setUp() {
+        Zona zona = new Zona();
+        zona.setNombre("Sabana");
+        entityManager.persist(zona);
+
+        Especie especie = new Especie();
+        especie.setNombre("León");
+        especie.setZona(zona);
+        entityManager.persist(especie);
+
+        animal = new Animal();
+        animal.setNombre("Simba");
+        animal.setEspecie(especie);
+        entityManager.persist(animal);
+
+        autor = new Usuario();
+        autor.setNombre("Cuidador");
+        autor.setEmail("cuidador@zoologico.com");
+        autor.setPassword("clave");
+        entityManager.persist(autor);
+    }
+
+    @Test
+    void hiloCompletoEnUnRango() {
+        crearArbol(true);
+
+        String ruta = raiz.getRuta();
+        List<ComentarioMuroProjection> hilo = comentarioRepository.findHilo(ruta, RutaComentario.limiteSuperior(ruta));
+
+        assertEquals(List.of(raiz.getId(), a.getId(), a1.getId(), a11.getId(), b.getId()),
+                hilo.stream().map(ComentarioMuroProjection::getId).toList());
+        assertEquals("Cuidador", hilo.get(0).getAutorNombre());
+        assertEquals(a1.getId(), hilo.get(3).getPadreId());
+    }
+
+    @Test
+    void resumenDeUnSubarbol() {
+        crearArbol(true);
+
+        String ruta = a.getRuta();
+        HiloResumenProjection resumen = comentarioRepository.resumirHilo(ruta, RutaComentario.limiteSuperior(ruta));
+
+        assertEquals(3L, resumen.getCantidad());
+        assertEquals(3, resumen.getProfundidadMaxima());
+    }
+
+    @Test
+    void eliminarHiloSoloBorraElSubarbol() {
+        crearArbol(true);
+
+        String ruta = a.getRuta();
+        comentarioRepository.desvincularHilo(ruta, RutaComentario.limiteSuperior(ruta));
+        int eliminados = comentarioRepository.deleteHilo(ruta, RutaComentario.limiteSuperior(ruta));
+
+        assertEquals(3, eliminados);
+        assertEquals(List.of(raiz.getId(), otra.getId(), b.getId(), c.getId()),
+                comentarioRepository.findAllIdsOrdenados());
+    }
+
+    @Test
+    void detectaRespuestasSinRutaDentroDelHilo() {
+        crearArbol(true);
+        String rutaRaiz = raiz.getRuta();
+        a11.setRuta(null);
+        entityManager.flush();
+
+        assertTrue(comentarioRepository.hayRespuestasSinRutaEnHilo(rutaRaiz, RutaComentario.limiteSuperior(rutaRaiz)));
+        assertTrue(comentarioRepository.hayRespuestasSinRutaEnHilo(a.getRuta(), RutaComentario.limiteSuperior(a.getRuta())));
+        assertFalse(comentarioRepository.hayRespuestasSinRutaEnHilo(b.getRuta(), RutaComentario.limiteSuperior(b.getRuta())));
+        assertFalse(comentarioRepository.hayRespuestasSinRutaEnHilo(otra.getRuta(), RutaComentario.limiteSuperior(otra.getRuta())));
+    }
+
+    @Test
+    void backfillCompletaFilasAntiguasPorNiveles() {
+        crearArbol(false);
+        entityManager.clear();
+
+        int completados = new RutaComentarioBackfill(comentarioRepository, transactionManager, 2).completar();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(7, completados);
+        Comentario nieto = entityManager.find(Comentario.class, a11.getId());
+        assertEquals(RutaComentario.segmento(raiz.getId()) + RutaComentario.segmento(a.getId())
+                + RutaComentario.segmento(a1.getId()) + RutaComentario.segmento(a11.getId()), nieto.getRuta());
+        assertEquals(3, nieto.getProfundidad());
+        assertNotNull(entityManager.find(Comentario.class, c.getId()).getRuta());
+    }
+
+    /**
+     * Con {@code conRuta} en falso simula filas anteriores a la columna.
+     */
+    private void crearArbol(boolean conRuta) {
+        raiz = comentario(null, "raiz", conRuta);
+        a = comentario(raiz, "a", conRuta);
+        otra = comentario(null, "otra", conRuta);
+        a1 = comentario(a, "a1", conRuta);
+        b = comentario(raiz, "b", conRuta);
+        c = comentario(otra, "c", conRuta);
+        a11 = comentario(a1, "a11", conRuta);
+        entityManager.flush();
+
+        if (!conRuta) {
+            assertNull(a11.getRuta());
+        }
+    }
+
+    private Comentario comentario(Comentario padre, String contenido, boolean conRuta) {
+        Comentario comentario = new Comentario();
+        comentario.setContenido(contenido);
+        comentario.setFecha(LocalDateTime.now());
+        comentario.setAnimal(animal);
+        comentario.setAutor(autor);
+        comentario.setPadre(padre);
+        entityManager.persist(comentario);
+        if (conRuta) {
+            RutaComentario.asignar(comentario);
+        }
+        return comentario;
+    }
+}
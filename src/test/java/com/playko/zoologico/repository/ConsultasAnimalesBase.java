@@ -0,0 +1,50 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Animal;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Zona;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+/**
+ * Base de las pruebas de indicadores y listados de animales contra H2. Los datos de partida se guardan con
+ * los repositorios, así que sirven tanto con la transacción de prueba como sin ella.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+abstract class ConsultasAnimalesBase {
+
+    @Autowired
+    protected IZonaRepository zonaRepository;
+    @Autowired
+    protected IEspecieRepository especieRepository;
+    @Autowired
+    protected IAnimalRepository animalRepository;
+
+    protected Zona zona(String nombre) {
+        Zona zona = new Zona();
+        zona.setNombre(nombre);
+        return zonaRepository.save(zona);
+    }
+
+    protected Especie especie(String nombre, Zona zona) {
+        Especie especie = new Especie();
+        especie.setNombre(nombre);
+        especie.setZona(zona);
+        return especieRepository.save(especie);
+    }
+
+    protected Animal animal(String nombre, Especie especie, LocalDateTime fechaIngreso) {
+        Animal animal = new Animal();
+        animal.setNombre(nombre);
+        animal.setEspecie(especie);
+        animal.setFechaIngreso(fechaIngreso);
+        return animalRepository.save(animal);
+    }
+}
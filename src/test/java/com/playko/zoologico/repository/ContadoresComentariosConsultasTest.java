@@ -0,0 +1,174 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Animal;
+import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.entity.Contador;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.service.comentario.ConciliacionContadoresComentarios;
+import com.playko.zoologico.service.comentario.ContadoresComentarios;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static com.playko.zoologico.service.comentario.ContadoresComentarios.RAICES;
+import static com.playko.zoologico.service.comentario.ContadoresComentarios.RAICES_CON_RESPUESTAS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mantenimiento de los contadores del indicador y conciliación por lotes, contra H2.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ContadoresComentariosConsultasTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private IComentarioRepository comentarioRepository;
+    @Autowired
+    private IContadorRepository contadorRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ContadoresComentarios contadores;
+    private Animal animal;
+    private Usuario autor;
+
+    @BeforeEach
+    void setUp() {
+        contadores = new ContadoresComentarios(contadorRepository, comentarioRepository);
+
+        Zona zona = new Zona();
+        zona.setNombre("Sabana");
+        entityManager.persist(zona);
+
+        Especie especie = new Especie();
+        especie.setNombre("León");
+        especie.setZona(zona);
+        entityManager.persist(especie);
+
+        animal = new Animal();
+        animal.setNombre("Simba");
+        animal.setEspecie(especie);
+        entityManager.persist(animal);
+
+        autor = new Usuario();
+        autor.setNombre("Cuidador");
+        autor.setEmail("cuidador@zoologico.com");
+        autor.setPassword("clave");
+        entityManager.persist(autor);
+    }
+
+    @Test
+    void laRaizCuentaUnaSolaVezAunqueTengaVariasRespuestas() {
+        crearContadores(1, 0);
+        Comentario raiz = comentario(null, false);
+        Comentario primera = comentario(raiz, null);
+        comentario(raiz, null);
+        entityManager.flush();
+
+        contadores.respuestaCreada(raiz.getId());
+        contadores.respuestaCreada(raiz.getId());
+        // Respuesta a una respuesta: no cambia el indicador
+        contadores.respuestaCreada(primera.getId());
+
+        assertEquals(1L, valor(RAICES_CON_RESPUESTAS));
+    }
+
+    @Test
+    void laRaizDejaDeContarAlBorrarSuUltimaRespuesta() {
+        crearContadores(1, 1);
+        Comentario raiz = comentario(null, true);
+        Comentario primera = comentario(raiz, null);
+        Comentario segunda = comentario(raiz, null);
+        entityManager.flush();
+
+        borrar(primera);
+        contadores.respuestaEliminada(raiz.getId());
+        assertEquals(1L, valor(RAICES_CON_RESPUESTAS));
+
+        borrar(segunda);
+        contadores.respuestaEliminada(raiz.getId());
+        assertEquals(0L, valor(RAICES_CON_RESPUESTAS));
+        assertEquals(false, entityManager.find(Comentario.class, raiz.getId()).getConRespuestas());
+    }
+
+    @Test
+    void conciliacionInicializaYCorrigeLaDeriva() {
+        // Filas anteriores a los contadores: sin bandera y sin contadores
+        Comentario a = comentario(null, null);
+        Comentario b = comentario(null, null);
+        Comentario c = comentario(null, null);
+        comentario(a, null);
+        comentario(c, null);
+        entityManager.flush();
+        ConciliacionContadoresComentarios conciliacion =
+                new ConciliacionContadoresComentarios(comentarioRepository, contadorRepository, transactionManager, 2);
+
+        assertTrue(conciliacion.conciliar() > 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3L, valor(RAICES));
+        assertEquals(2L, valor(RAICES_CON_RESPUESTAS));
+        assertEquals(false, entityManager.find(Comentario.class, b.getId()).getConRespuestas());
+
+        // Deriva: un borrado en cascada que no pasó por los contadores y una bandera equivocada
+        contadorRepository.incrementar(RAICES, 5);
+        entityManager.getEntityManager()
+                .createQuery("update Comentario c set c.conRespuestas = true where c.id = :id")
+                .setParameter("id", b.getId())
+                .executeUpdate();
+        entityManager.clear();
+
+        assertTrue(conciliacion.conciliar() > 0);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3L, valor(RAICES));
+        assertEquals(2L, valor(RAICES_CON_RESPUESTAS));
+        assertEquals(false, entityManager.find(Comentario.class, b.getId()).getConRespuestas());
+        assertEquals(0L, conciliacion.conciliar());
+    }
+
+    private void crearContadores(long raices, long conRespuestas) {
+        contadorRepository.save(new Contador(RAICES, raices));
+        contadorRepository.save(new Contador(RAICES_CON_RESPUESTAS, conRespuestas));
+    }
+
+    private long valor(String clave) {
+        entityManager.flush();
+        entityManager.clear();
+        return contadorRepository.findById(clave).orElseThrow().getValor();
+    }
+
+    private void borrar(Comentario comentario) {
+        entityManager.getEntityManager()
+                .createQuery("delete from Comentario c where c.id = :id")
+                .setParameter("id", comentario.getId())
+                .executeUpdate();
+    }
+
+    private Comentario comentario(Comentario padre, Boolean conRespuestas) {
+        Comentario comentario = new Comentario();
+        comentario.setContenido("comentario");
+        comentario.setFecha(LocalDateTime.now());
+        comentario.setAnimal(animal);
+        comentario.setAutor(autor);
+        comentario.setPadre(padre);
+        comentario.setConRespuestas(conRespuestas);
+        return entityManager.persist(comentario);
+    }
+}
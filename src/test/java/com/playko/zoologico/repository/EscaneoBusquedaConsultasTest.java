@@ -0,0 +1,239 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.FacetaDto;
+import com.playko.zoologico.entity.Animal;
+import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.service.busqueda.EscaneoBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.CursorBusqueda;
+import com.playko.zoologico.service.busqueda.FuenteBusqueda;
+import com.playko.zoologico.service.busqueda.PaginaBusqueda;
+import com.playko.zoologico.service.busqueda.TipoResultadoBusqueda;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba contra H2 que la búsqueda por escaneo hace una sola consulta por tabla, sin importar
+ * cuántas coincidencias haya ni de cuántas zonas, especies y animales distintos vengan.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EscaneoBusquedaConsultasTest {
+    private static final int CONSULTAS_POR_BUSQUEDA = FuenteBusqueda.values().length;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private IZonaRepository zonaRepository;
+    @Autowired
+    private IEspecieRepository especieRepository;
+    @Autowired
+    private IAnimalRepository animalRepository;
+    @Autowired
+    private IComentarioRepository comentarioRepository;
+
+    private EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
+    private Statistics estadisticas;
+    private Usuario autor;
+    private int secuencia;
+
+    @BeforeEach
+    void setUp() {
+        escaneoBusquedaEstrategia = new EscaneoBusquedaEstrategia(zonaRepository, especieRepository,
+                animalRepository, comentarioRepository);
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        autor = new Usuario();
+        autor.setNombre("Cuidador");
+        autor.setEmail("cuidador@zoologico.com");
+        autor.setPassword("clave");
+        entityManager.persist(autor);
+    }
+
+    @Test
+    void cantidadDeConsultasNoCreceConLasCoincidencias() {
+        poblar(2);
+        List<BusquedaResultadoDto> pocos = buscarContando("melena");
+        long consultasConPocos = estadisticas.getPrepareStatementCount();
+
+        poblar(60);
+        List<BusquedaResultadoDto> muchos = buscarContando("melena");
+        long consultasConMuchos = estadisticas.getPrepareStatementCount();
+
+        // Por cada animal: la especie, el animal, un comentario y una respuesta coinciden
+        assertEquals(2 * 4, pocos.size());
+        assertEquals(62 * 4, muchos.size());
+        assertEquals(CONSULTAS_POR_BUSQUEDA, consultasConPocos);
+        assertEquals(consultasConPocos, consultasConMuchos);
+    }
+
+    @Test
+    void respuestaTraeElContenidoDelPadre() {
+        poblar(1);
+
+        List<BusquedaResultadoDto> resultados = buscarContando("respuesta");
+
+        assertEquals(1, resultados.size());
+        BusquedaResultadoDto respuesta = resultados.get(0);
+        assertEquals("RESPUESTA", respuesta.getTipoResultado());
+        assertEquals("Zona 1", respuesta.getZonaNombre());
+        assertEquals("Melena 1", respuesta.getEspecieNombre());
+        assertEquals("Melena animal 1", respuesta.getAnimalNombre());
+        assertEquals("Comentario sobre la melena 1", respuesta.getComentarioContenido());
+        assertEquals("Respuesta sobre la melena 1", respuesta.getRespuestaContenido());
+        assertEquals(CONSULTAS_POR_BUSQUEDA, estadisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void comodinesDeLikeSeBuscanLiteralmente() {
+        poblar(1);
+
+        assertEquals(0, buscarContando("%").size());
+        assertEquals(0, buscarContando("_").size());
+    }
+
+    @Test
+    void paginasPorClaveRecorrenLoMismoQueLaBusquedaCompleta() {
+        poblar(5);
+        List<BusquedaResultadoDto> completos = buscarContando("melena");
+
+        List<BusquedaResultadoDto> paginados = new ArrayList<>();
+        long posicion = CursorBusqueda.INICIO;
+        int paginas = 0;
+        do {
+            entityManager.clear();
+            estadisticas.clear();
+            PaginaBusqueda pagina = escaneoBusquedaEstrategia.buscarPagina("melena", posicion, 3);
+            // Nunca más de una consulta por tabla, aunque la página cruce de una tabla a otra
+            assertTrue(estadisticas.getPrepareStatementCount() <= CONSULTAS_POR_BUSQUEDA);
+            paginados.addAll(pagina.getResultados());
+            paginas++;
+            if (pagina.getSiguientePosicion() == null) break;
+            posicion = pagina.getSiguientePosicion();
+        } while (true);
+
+        assertEquals(textos(completos), textos(paginados));
+        assertEquals(7, paginas);
+    }
+
+    @Test
+    void cursorEsLaClaveDeDocumento() {
+        poblar(2);
+        List<Long> animales = entityManager.getEntityManager()
+                .createQuery("select a.id from Animal a order by a.id", Long.class)
+                .getResultList();
+
+        PaginaBusqueda pagina = escaneoBusquedaEstrategia.buscarPagina("melena", CursorBusqueda.INICIO, 3);
+        assertEquals(3, pagina.getResultados().size());
+        assertEquals(TipoResultadoBusqueda.ANIMAL.clave(animales.get(0)), pagina.getSiguientePosicion());
+
+        // Un cursor emitido por el índice tras el último animal sigue con comentarios y respuestas
+        PaginaBusqueda siguiente = escaneoBusquedaEstrategia.buscarPagina("melena",
+                TipoResultadoBusqueda.ANIMAL.clave(animales.get(1)), 10);
+        assertEquals(4, siguiente.getResultados().size());
+        assertEquals("COMENTARIO", siguiente.getResultados().get(0).getTipoResultado());
+        assertNull(siguiente.getSiguientePosicion());
+    }
+
+    @Test
+    void facetadoCuentaCadaDimensionSinSuPropioFiltro() {
+        poblar(2);
+        List<Long> zonas = entityManager.getEntityManager()
+                .createQuery("select z.id from Zona z order by z.id", Long.class)
+                .getResultList();
+
+        BusquedaFacetadaResponseDto respuesta = escaneoBusquedaEstrategia.buscarFacetado("melena",
+                EnumSet.of(TipoResultadoBusqueda.ANIMAL), zonas.get(0), null, 10);
+
+        assertEquals(1, respuesta.getTotal());
+        assertEquals("Melena animal 1", respuesta.getResultados().get(0).getAnimalNombre());
+        // Por tipo dentro de la zona filtrada; por zona solo entre los animales
+        assertEquals(List.of("ESPECIE:1", "ANIMAL:1", "COMENTARIO:1", "RESPUESTA:1"), facetas(respuesta.getConteoPorTipo()));
+        assertEquals(List.of("Zona 1:1", "Zona 2:1"), facetas(respuesta.getConteoPorZona()));
+        assertEquals(zonas, respuesta.getConteoPorZona().stream().map(FacetaDto::getId).toList());
+    }
+
+    /**
+     * Crea {@code cantidad} cadenas zona → especie → animal, cada una con un comentario y una respuesta.
+     */
+    private void poblar(int cantidad) {
+        for (int i = 0; i < cantidad; i++) {
+            secuencia++;
+
+            Zona zona = new Zona();
+            zona.setNombre("Zona " + secuencia);
+            entityManager.persist(zona);
+
+            Especie especie = new Especie();
+            especie.setNombre("Melena " + secuencia);
+            especie.setZona(zona);
+            entityManager.persist(especie);
+
+            Animal animal = new Animal();
+            animal.setNombre("Melena animal " + secuencia);
+            animal.setFechaIngreso(LocalDateTime.now());
+            animal.setEspecie(especie);
+            entityManager.persist(animal);
+
+            Comentario comentario = comentario(animal, null, "Comentario sobre la melena " + secuencia);
+            comentario(animal, comentario, "Respuesta sobre la melena " + secuencia);
+        }
+        entityManager.flush();
+    }
+
+    private Comentario comentario(Animal animal, Comentario padre, String contenido) {
+        Comentario comentario = new Comentario();
+        comentario.setContenido(contenido);
+        comentario.setFecha(LocalDateTime.now());
+        comentario.setAnimal(animal);
+        comentario.setAutor(autor);
+        comentario.setPadre(padre);
+        return entityManager.persist(comentario);
+    }
+
+    private static List<String> facetas(List<FacetaDto> conteos) {
+        return conteos.stream().map(f -> f.getValor() + ":" + f.getCantidad()).toList();
+    }
+
+    private static List<String> textos(List<BusquedaResultadoDto> resultados) {
+        return resultados.stream()
+                .map(r -> r.getTipoResultado() + ":" + r.getEspecieNombre() + ":" + r.getAnimalNombre() + ":"
+                        + r.getRespuestaContenido())
+                .toList();
+    }
+
+    /**
+     * Busca con el contexto de persistencia vacío, para que cualquier carga perezosa llegue a la base de datos.
+     */
+    private List<BusquedaResultadoDto> buscarContando(String palabra) {
+        entityManager.clear();
+        estadisticas.clear();
+        return escaneoBusquedaEstrategia.buscar(palabra);
+    }
+}
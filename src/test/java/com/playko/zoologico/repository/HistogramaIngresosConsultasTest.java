@@ -0,0 +1,88 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.dto.response.IngresosPorPeriodoResponseDto;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.service.indicador.HistogramaIngresos;
+import com.playko.zoologico.service.indicador.HistogramaIngresos.Agrupacion;
+import com.playko.zoologico.service.indicador.HistogramaIngresos.Intervalo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HistogramaIngresosConsultasTest extends ConsultasAnimalesBase {
+
+    @Autowired
+    private DataSource dataSource;
+
+    private HistogramaIngresos histograma;
+
+    @BeforeEach
+    void setUp() {
+        histograma = new HistogramaIngresos(new JdbcTemplate(dataSource));
+
+        Zona sabana = zona("Sabana");
+        Zona selva = zona("Selva");
+        Especie leon = especie("León", sabana);
+        Especie cebra = especie("Cebra", sabana);
+        Especie jaguar = especie("Jaguar", selva);
+
+        // Martes, miércoles y el martes siguiente
+        animal("Simba", leon, LocalDateTime.of(2024, 3, 5, 9, 0));
+        animal("Marty", cebra, LocalDateTime.of(2024, 3, 6, 23, 59));
+        animal("Nala", leon, LocalDateTime.of(2024, 3, 12, 0, 0));
+        animal("Balam", jaguar, LocalDateTime.of(2024, 4, 30, 12, 0));
+        animal("Fuera", jaguar, LocalDateTime.of(2024, 5, 1, 0, 0));
+    }
+
+    @Test
+    void cuentaPorMesSinAgrupar() {
+        List<IngresosPorPeriodoResponseDto> periodos =
+                histograma.contar(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 4, 30), Intervalo.MES, null);
+
+        assertEquals(2, periodos.size());
+        assertEquals(LocalDate.of(2024, 3, 1), periodos.get(0).getPeriodo());
+        assertEquals(3L, periodos.get(0).getCantidadAnimales());
+        assertNull(periodos.get(0).getGrupo());
+        // hasta se incluye completo y el 1 de mayo queda fuera
+        assertEquals(LocalDate.of(2024, 4, 1), periodos.get(1).getPeriodo());
+        assertEquals(1L, periodos.get(1).getCantidadAnimales());
+    }
+
+    @Test
+    void cuentaPorSemanaYZona() {
+        List<IngresosPorPeriodoResponseDto> periodos =
+                histograma.contar(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), Intervalo.SEMANA, Agrupacion.ZONA);
+
+        // PostgreSQL empieza la semana el lunes; H2 según la configuración regional
+        assertEquals(2, periodos.size());
+        assertTrue(periodos.get(0).getPeriodo().isAfter(LocalDate.of(2024, 3, 2)));
+        assertTrue(periodos.get(0).getPeriodo().isBefore(LocalDate.of(2024, 3, 5)));
+        assertEquals("Sabana", periodos.get(0).getGrupo());
+        assertEquals(2L, periodos.get(0).getCantidadAnimales());
+        assertEquals(periodos.get(0).getPeriodo().plusWeeks(1), periodos.get(1).getPeriodo());
+        assertEquals(1L, periodos.get(1).getCantidadAnimales());
+    }
+
+    @Test
+    void cuentaPorDiaYEspecie() {
+        List<IngresosPorPeriodoResponseDto> periodos =
+                histograma.contar(LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 6), Intervalo.DIA, Agrupacion.ESPECIE);
+
+        assertEquals(2, periodos.size());
+        assertEquals(LocalDate.of(2024, 3, 5), periodos.get(0).getPeriodo());
+        assertEquals("León", periodos.get(0).getGrupo());
+        assertEquals(LocalDate.of(2024, 3, 6), periodos.get(1).getPeriodo());
+        assertEquals("Cebra", periodos.get(1).getGrupo());
+    }
+}
@@ -0,0 +1,148 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.repository.projection.AnimalesPorEspecieProjection;
+import com.playko.zoologico.repository.projection.CantidadAnimalesPorZonaProjection;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Indicadores de cantidad de animales contra H2: consultas agrupadas cuyo costo en consultas y en
+ * entidades cargadas no depende de cuántos animales haya.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class IndicadoresAnimalesConsultasTest extends ConsultasAnimalesBase {
+    private static final int ESPECIES_POR_ZONA = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void cuentaPorZonaIncluyendoLasVacias() {
+        Zona sabana = zona("Sabana");
+        Zona selva = zona("Selva");
+        zona("Desierto");
+        animales(especie("León", sabana), 3);
+        animales(especie("Cebra", sabana), 2);
+        especie("Tucán", selva);
+
+        List<CantidadAnimalesPorZonaProjection> conteos = zonaRepository.contarAnimalesPorZona();
+
+        assertEquals(List.of("Sabana", "Selva", "Desierto"),
+                conteos.stream().map(CantidadAnimalesPorZonaProjection::getNombreZona).toList());
+        assertEquals(List.of(5L, 0L, 0L),
+                conteos.stream().map(CantidadAnimalesPorZonaProjection::getCantidadAnimales).toList());
+    }
+
+    @Test
+    void consultasYEntidadesConstantesAlCrecerLosAnimales() {
+        List<Especie> especies = new ArrayList<>();
+        for (int z = 0; z < 5; z++) {
+            Zona zona = zona("Zona " + z);
+            for (int e = 0; e < ESPECIES_POR_ZONA; e++) {
+                especies.add(especie("Especie " + z + "-" + e, zona));
+            }
+        }
+
+        long total = 0;
+        for (int porEspecie : new int[]{10, 1_000}) {
+            especies.forEach(especie -> animales(especie, porEspecie));
+            total += (long) especies.size() * porEspecie;
+            entityManager.clear();
+            estadisticas.clear();
+
+            List<CantidadAnimalesPorZonaProjection> conteos = zonaRepository.contarAnimalesPorZona();
+
+            assertEquals(total, conteos.stream().mapToLong(CantidadAnimalesPorZonaProjection::getCantidadAnimales).sum());
+            assertEquals(total / 5, conteos.get(0).getCantidadAnimales());
+            // Una sola sentencia y ninguna zona, especie o animal en el contexto de persistencia
+            assertEquals(1, estadisticas.getPrepareStatementCount());
+            assertEquals(0, estadisticas.getEntityLoadCount());
+            assertEquals(0, estadisticas.getCollectionLoadCount());
+            assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        }
+    }
+
+    @Test
+    void ordenaPorPoblacionYPaginaLasEspecies() {
+        Zona sabana = zona("Sabana");
+        animales(especie("Cebra", sabana), 2);
+        animales(especie("León", sabana), 5);
+        especie("Okapi", sabana);
+        animales(especie("Jirafa", sabana), 2);
+        Sort porPoblacion = Sort.by(Sort.Direction.DESC, "cantidadAnimales").and(Sort.by("nombre"));
+
+        List<AnimalesPorEspecieProjection> todas = especieRepository.contarAnimalesPorEspecie(porPoblacion);
+        Page<AnimalesPorEspecieProjection> segunda = especieRepository.contarAnimalesPorEspecie(
+                PageRequest.of(1, 2, porPoblacion));
+
+        assertEquals(List.of("León", "Cebra", "Jirafa", "Okapi"),
+                todas.stream().map(AnimalesPorEspecieProjection::getEspecie).toList());
+        assertEquals(List.of(5L, 2L, 2L, 0L),
+                todas.stream().map(AnimalesPorEspecieProjection::getCantidadAnimales).toList());
+        assertEquals(List.of("Jirafa", "Okapi"),
+                segunda.getContent().stream().map(AnimalesPorEspecieProjection::getEspecie).toList());
+        assertEquals(4, segunda.getTotalElements());
+    }
+
+    @Test
+    void elTopDeEspeciesNoCargaAnimales() {
+        Zona sabana = zona("Sabana");
+        for (int e = 0; e < 40; e++) {
+            animales(especie("Especie " + e, sabana), e * 50);
+        }
+        entityManager.clear();
+        estadisticas.clear();
+
+        List<AnimalesPorEspecieProjection> top = especieRepository.contarAnimalesPorEspecie(PageRequest.of(0, 3,
+                Sort.by(Sort.Direction.DESC, "cantidadAnimales").and(Sort.by("nombre")))).getContent();
+
+        assertEquals(List.of(1950L, 1900L, 1850L),
+                top.stream().map(AnimalesPorEspecieProjection::getCantidadAnimales).toList());
+        // La página y su conteo de especies
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getEntityLoadCount());
+    }
+
+    private void animales(Especie especie, int cantidad) {
+        Timestamp ingreso = Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 9, 0));
+        List<Object[]> filas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            filas.add(new Object[]{especie.getNombre() + " " + i, especie.getId(), ingreso});
+        }
+        jdbcTemplate.batchUpdate("insert into animales (nombre, especie_id, fecha_ingreso) values (?, ?, ?)", filas);
+    }
+}
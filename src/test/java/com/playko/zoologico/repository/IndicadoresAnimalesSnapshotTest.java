@@ -0,0 +1,145 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.IndicadorEspecie;
+import com.playko.zoologico.entity.IndicadorZona;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.event.ZonaEvent;
+import com.playko.zoologico.service.indicador.ConciliacionIndicadoresAnimales;
+import com.playko.zoologico.service.indicador.IndicadoresAnimales;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Indicadores de animales contra H2. Sin transacción de prueba: los eventos se aplican en transacciones
+ * propias, igual que después del commit.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IndicadoresAnimalesSnapshotTest extends ConsultasAnimalesBase {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private IIndicadorZonaRepository indicadorZonaRepository;
+    @Autowired
+    private IIndicadorEspecieRepository indicadorEspecieRepository;
+
+    private IndicadoresAnimales indicadores;
+    private ConciliacionIndicadoresAnimales conciliacion;
+
+    @BeforeEach
+    void setUp() {
+        indicadores = new IndicadoresAnimales(indicadorZonaRepository, indicadorEspecieRepository, transactionManager);
+        conciliacion = new ConciliacionIndicadoresAnimales(zonaRepository, especieRepository, indicadorZonaRepository,
+                indicadorEspecieRepository, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        animalRepository.deleteAll();
+        especieRepository.deleteAll();
+        zonaRepository.deleteAll();
+        indicadorEspecieRepository.deleteAll();
+        indicadorZonaRepository.deleteAll();
+    }
+
+    @Test
+    void losEventosMantienenLosIndicadores() {
+        indicadores.onZona(new ZonaEvent(TipoCambio.CREADO, 1L, "Sabana", null));
+        indicadores.onZona(new ZonaEvent(TipoCambio.CREADO, 2L, "Selva", null));
+        indicadores.onEspecie(new EspecieEvent(TipoCambio.CREADO, 10L, "León", null, 1L, null));
+        indicadores.onEspecie(new EspecieEvent(TipoCambio.CREADO, 20L, "Jaguar", null, 2L, null));
+
+        indicadores.onAnimal(animal(TipoCambio.CREADO, 100L, 10L, null));
+        indicadores.onAnimal(animal(TipoCambio.CREADO, 101L, 10L, null));
+        indicadores.onAnimal(animal(TipoCambio.EDITADO, 101L, 20L, 10L));
+        indicadores.onAnimal(animal(TipoCambio.EDITADO, 100L, 10L, 10L));
+        assertEquals(1L, cantidadEspecie(10L));
+        assertEquals(1L, cantidadEspecie(20L));
+        assertEquals(1L, cantidadZona(1L));
+        assertEquals(1L, cantidadZona(2L));
+
+        // El jaguar se traslada a la sabana con su animal
+        indicadores.onEspecie(new EspecieEvent(TipoCambio.EDITADO, 20L, "Jaguar", "Jaguar", 1L, 2L));
+        assertEquals(2L, cantidadZona(1L));
+        assertEquals(0L, cantidadZona(2L));
+
+        indicadores.onAnimal(animal(TipoCambio.ELIMINADO, 100L, 10L, 10L));
+        assertEquals(0L, cantidadEspecie(10L));
+        assertEquals(1L, cantidadZona(1L));
+
+        indicadores.onZona(new ZonaEvent(TipoCambio.EDITADO, 1L, "Sabana africana", "Sabana"));
+        assertEquals("Sabana africana", indicadorZonaRepository.findById(1L).orElseThrow().getNombre());
+
+        indicadores.onZona(new ZonaEvent(TipoCambio.ELIMINADO, 1L, "Sabana africana", "Sabana africana"));
+        assertFalse(indicadorZonaRepository.existsById(1L));
+        assertEquals(0, indicadorEspecieRepository.count());
+    }
+
+    @Test
+    void elEventoSeConfirmaYSeDeshaceJuntoConElCambio() {
+        indicadores.onZona(new ZonaEvent(TipoCambio.CREADO, 1L, "Sabana", null));
+        indicadores.onEspecie(new EspecieEvent(TipoCambio.CREADO, 10L, "León", null, 1L, null));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            indicadores.onAnimal(animal(TipoCambio.CREADO, 100L, 10L, null));
+            estado.setRollbackOnly();
+        });
+        assertEquals(0L, cantidadEspecie(10L));
+        assertEquals(0L, cantidadZona(1L));
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                estado -> indicadores.onAnimal(animal(TipoCambio.CREADO, 100L, 10L, null)));
+        assertEquals(1L, cantidadEspecie(10L));
+        assertEquals(1L, cantidadZona(1L));
+    }
+
+    @Test
+    void laConciliacionLlenaYCorrigeLosIndicadores() {
+        Zona sabana = zona("Sabana");
+        Especie leon = especie("León", sabana);
+        animal("Simba", leon, LocalDateTime.now());
+        animal("Nala", leon, LocalDateTime.now());
+
+        assertEquals(2, conciliacion.conciliar());
+        assertEquals(2L, cantidadEspecie(leon.getId()));
+        assertEquals(2L, cantidadZona(sabana.getId()));
+
+        // Desvíos: un evento perdido, una fila de una especie que ya no existe y una zona sin fila
+        indicadorEspecieRepository.save(new IndicadorEspecie(leon.getId(), "León", sabana.getId(), 5));
+        indicadorEspecieRepository.save(new IndicadorEspecie(999L, "Fantasma", sabana.getId(), 1));
+        Zona selva = zona("Selva");
+
+        assertEquals(3, conciliacion.conciliar());
+        assertEquals(2L, cantidadEspecie(leon.getId()));
+        assertFalse(indicadorEspecieRepository.existsById(999L));
+        assertEquals(0L, cantidadZona(selva.getId()));
+        assertEquals(0, conciliacion.conciliar());
+    }
+
+    private long cantidadEspecie(Long id) {
+        return indicadorEspecieRepository.findById(id).orElseThrow().getCantidadAnimales();
+    }
+
+    private long cantidadZona(Long id) {
+        return indicadorZonaRepository.findById(id).map(IndicadorZona::getCantidadAnimales).orElseThrow();
+    }
+
+    private static AnimalEvent animal(TipoCambio tipo, Long id, Long especieId, Long especieIdAnterior) {
+        return new AnimalEvent(tipo, id, "animal " + id, null, especieId, especieIdAnterior, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,246 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.entity.Animal;
+import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.entity.Contador;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.exception.comentario.ComentarioPadreNotFoundException;
+import com.playko.zoologico.service.comentario.ComentarioPendiente;
+import com.playko.zoologico.service.comentario.ContadoresComentarios;
+import com.playko.zoologico.service.comentario.IngestaComentarios;
+import com.playko.zoologico.service.comentario.RutaComentario;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ingesta agrupada contra H2 con el hilo escritor real. Sin transacción de prueba, porque el escritor usa
+ * su propia conexión y debe ver los datos de partida confirmados.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class IngestaComentariosLotesTest {
+    private static final String CONSULTA_IDS = "select next value for seq_ingesta_prueba from system_range(1, ?)";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private IZonaRepository zonaRepository;
+    @Autowired
+    private IEspecieRepository especieRepository;
+    @Autowired
+    private IAnimalRepository animalRepository;
+    @Autowired
+    private IUsuarioRepository usuarioRepository;
+    @Autowired
+    private IComentarioRepository comentarioRepository;
+    @Autowired
+    private IContadorRepository contadorRepository;
+
+    private JdbcTemplate jdbcTemplate;
+    private final List<ComentarioEvent> eventos = Collections.synchronizedList(new ArrayList<>());
+    private IngestaComentarios ingesta;
+    private Animal animal;
+    private Usuario autor;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Lejos de los ids que asigna IDENTITY a los datos de partida
+        jdbcTemplate.execute("create sequence if not exists seq_ingesta_prueba start with 1000");
+
+        Zona zona = new Zona();
+        zona.setNombre("Sabana");
+        zonaRepository.save(zona);
+
+        Especie especie = new Especie();
+        especie.setNombre("León");
+        especie.setZona(zona);
+        especieRepository.save(especie);
+
+        animal = new Animal();
+        animal.setNombre("Simba");
+        animal.setEspecie(especie);
+        animalRepository.save(animal);
+
+        autor = new Usuario();
+        autor.setNombre("Cuidador");
+        autor.setEmail("cuidador@zoologico.com");
+        autor.setPassword("clave");
+        usuarioRepository.save(autor);
+
+        contadorRepository.save(new Contador(ContadoresComentarios.RAICES, 0));
+        contadorRepository.save(new Contador(ContadoresComentarios.RAICES_CON_RESPUESTAS, 0));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (ingesta != null) {
+            ingesta.detener();
+        }
+        jdbcTemplate.update("update comentarios set padre_id = null");
+        jdbcTemplate.update("delete from comentarios");
+        animalRepository.deleteAll();
+        especieRepository.deleteAll();
+        zonaRepository.deleteAll();
+        usuarioRepository.deleteAll();
+        contadorRepository.deleteAll();
+    }
+
+    @Test
+    void agrupaLaRafagaEnUnSoloLote() throws Exception {
+        ingesta = iniciar(50, 300);
+
+        List<CompletableFuture<Long>> confirmaciones = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            confirmaciones.add(ingesta.encolar(pendiente("comentario " + i, null, null, null)));
+        }
+
+        List<Long> ids = new ArrayList<>();
+        for (CompletableFuture<Long> confirmacion : confirmaciones) {
+            ids.add(confirmacion.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(5, new HashSet<>(ids).size());
+        assertEquals(1, ingesta.estadisticas().getLotes());
+        assertEquals(5, ingesta.estadisticas().getTamanoLoteMaximo());
+        assertEquals(5, eventos.size());
+        assertEquals(ids.get(2), eventos.get(2).getId());
+
+        Map<String, Object> fila = jdbcTemplate.queryForMap(
+                "select contenido, ruta, profundidad, con_respuestas from comentarios where id = ?", ids.get(2));
+        assertEquals("comentario 2", fila.get("contenido"));
+        assertEquals(RutaComentario.segmento(ids.get(2)), fila.get("ruta"));
+        assertEquals(0, fila.get("profundidad"));
+        assertEquals(false, fila.get("con_respuestas"));
+        assertEquals(5L, contadorRepository.findById(ContadoresComentarios.RAICES).orElseThrow().getValor());
+    }
+
+    @Test
+    void respetaElTamanoMaximoDeLote() throws Exception {
+        ingesta = iniciar(2, 300);
+
+        List<CompletableFuture<Long>> confirmaciones = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            confirmaciones.add(ingesta.encolar(pendiente("comentario " + i, null, null, null)));
+        }
+        for (CompletableFuture<Long> confirmacion : confirmaciones) {
+            confirmacion.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(5, ingesta.estadisticas().getComentarios());
+        assertEquals(3, ingesta.estadisticas().getLotes());
+        assertEquals(2, ingesta.estadisticas().getTamanoLoteMaximo());
+    }
+
+    @Test
+    void laRespuestaHeredaLaRutaDelPadre() throws Exception {
+        Comentario padre = new Comentario();
+        padre.setContenido("padre");
+        padre.setFecha(LocalDateTime.now());
+        padre.setAnimal(animal);
+        padre.setAutor(autor);
+        padre.setConRespuestas(false);
+        comentarioRepository.save(padre);
+        padre.setRuta(RutaComentario.segmento(padre.getId()));
+        jdbcTemplate.update("update comentarios set ruta = ?, profundidad = 0 where id = ?", padre.getRuta(), padre.getId());
+        ingesta = iniciar(50, 10);
+
+        Long id = ingesta.encolar(pendiente("respuesta", padre.getId(), padre.getRuta(), 0)).get(5, TimeUnit.SECONDS);
+
+        Comentario guardado = comentarioRepository.findById(id).orElseThrow();
+        assertEquals(padre.getRuta() + RutaComentario.segmento(id), guardado.getRuta());
+        assertEquals(1, guardado.getProfundidad());
+        assertEquals(padre.getId(), eventos.get(0).getPadreId());
+        assertEquals(true, comentarioRepository.findById(padre.getId()).orElseThrow().getConRespuestas());
+        assertEquals(1L, contadorRepository.findById(ContadoresComentarios.RAICES_CON_RESPUESTAS).orElseThrow().getValor());
+    }
+
+    @Test
+    void laRespuestaAUnPadreBorradoTrasEncolarSeRechaza() throws Exception {
+        Comentario padre = new Comentario();
+        padre.setContenido("padre");
+        padre.setFecha(LocalDateTime.now());
+        padre.setAnimal(animal);
+        padre.setAutor(autor);
+        comentarioRepository.save(padre);
+        String ruta = RutaComentario.segmento(padre.getId());
+        ingesta = iniciar(50, 300);
+
+        CompletableFuture<Long> raiz = ingesta.encolar(pendiente("raiz", null, null, null));
+        CompletableFuture<Long> huerfana = ingesta.encolar(pendiente("respuesta", padre.getId(), ruta, 0));
+        // El hilo se borra mientras la respuesta espera en la cola
+        jdbcTemplate.update("delete from comentarios where id = ?", padre.getId());
+
+        raiz.get(5, TimeUnit.SECONDS);
+        ExecutionException error = assertThrows(ExecutionException.class, () -> huerfana.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ComentarioPadreNotFoundException.class, error.getCause());
+        assertEquals(1, comentarioRepository.count());
+        assertEquals(1, ingesta.estadisticas().getFallidos());
+        assertEquals(1, eventos.size());
+        assertEquals(0L, contadorRepository.findById(ContadoresComentarios.RAICES_CON_RESPUESTAS).orElseThrow().getValor());
+    }
+
+    @Test
+    void unComentarioInvalidoNoHaceFallarAlResto() throws Exception {
+        ingesta = iniciar(50, 300);
+
+        CompletableFuture<Long> primero = ingesta.encolar(pendiente("valido", null, null, null));
+        CompletableFuture<Long> invalido = ingesta.encolar(new ComentarioPendiente("animal inexistente",
+                LocalDateTime.now(), 999_999L, autor.getId(), autor.getNombre(), null, null, null));
+        CompletableFuture<Long> ultimo = ingesta.encolar(pendiente("tambien valido", null, null, null));
+
+        primero.get(5, TimeUnit.SECONDS);
+        ultimo.get(5, TimeUnit.SECONDS);
+        assertThrows(ExecutionException.class, () -> invalido.get(5, TimeUnit.SECONDS));
+        assertEquals(2, comentarioRepository.count());
+        assertEquals(1, ingesta.estadisticas().getFallidos());
+        assertEquals(2, eventos.size());
+        assertTrue(ingesta.estadisticas().getEsperaColaMaximaMs() > 0);
+    }
+
+    private IngestaComentarios iniciar(int tamanoLote, long esperaMs) {
+        IngestaComentarios nueva = new IngestaComentarios(jdbcTemplate, transactionManager,
+                evento -> eventos.add((ComentarioEvent) evento),
+                new ContadoresComentarios(contadorRepository, comentarioRepository),
+                true, tamanoLote, esperaMs, 100, CONSULTA_IDS);
+        nueva.iniciar();
+        return nueva;
+    }
+
+    private ComentarioPendiente pendiente(String contenido, Long padreId, String padreRuta, Integer padreProfundidad) {
+        return new ComentarioPendiente(contenido, LocalDateTime.now(), animal.getId(), autor.getId(),
+                autor.getNombre(), padreId, padreRuta, padreProfundidad);
+    }
+}
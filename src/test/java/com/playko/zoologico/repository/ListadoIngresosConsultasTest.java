@@ -0,0 +1,102 @@
+package com.playko.zoologico.repository;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.playko.zoologico.dto.response.AnimalRegistradoResponseDto;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.service.indicador.ListadoIngresos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListadoIngresosConsultasTest extends ConsultasAnimalesBase {
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ListadoIngresos listado;
+
+    @BeforeEach
+    void setUp() {
+        // Bloques de dos filas para recorrer el cursor en varias vueltas
+        listado = new ListadoIngresos(dataSource, transactionManager, objectMapper, 2);
+
+        Zona sabana = zona("Sabana");
+        Especie leon = especie("León", sabana);
+
+        animal("Nala", leon, LocalDateTime.of(2021, 6, 2, 8, 0));
+        animal("Simba", leon, LocalDateTime.of(2020, 1, 1, 0, 0));
+        animal("Kiara", leon, LocalDateTime.of(2023, 12, 31, 23, 59));
+        animal("Kovu", leon, LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    @Test
+    void escribeElRangoEnOrdenDeIngresoConLosNombresUnidos() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        listado.escribir(LocalDate.of(2020, 1, 1), LocalDate.of(2023, 12, 31), salida);
+
+        JsonNode animales = objectMapper.readTree(salida.toByteArray());
+        assertEquals(3, animales.size());
+        assertEquals("Simba", animales.get(0).get("nombreAnimal").asText());
+        assertEquals("Nala", animales.get(1).get("nombreAnimal").asText());
+        assertEquals("Kiara", animales.get(2).get("nombreAnimal").asText());
+        assertEquals("León", animales.get(2).get("especie").asText());
+        assertEquals("Sabana", animales.get(2).get("zona").asText());
+    }
+
+    @Test
+    void unRangoSinIngresosEsUnArregloVacio() throws Exception {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        listado.escribir(LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31), salida);
+
+        assertEquals("[]", salida.toString());
+    }
+
+    @Test
+    void unaFallaAMitadDeLaLecturaNoCierraElArreglo() {
+        // Falla al escribir la segunda fila, como un error del cursor a mitad del recorrido
+        ObjectMapper fallaEnNala = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(new StdSerializer<>(AnimalRegistradoResponseDto.class) {
+                    @Override
+                    public void serialize(AnimalRegistradoResponseDto animal, JsonGenerator json,
+                                          SerializerProvider proveedor) throws IOException {
+                        if (animal.getNombreAnimal().equals("Nala")) {
+                            throw new IllegalStateException("lectura interrumpida");
+                        }
+                        json.writeStartObject();
+                        json.writeStringField("nombreAnimal", animal.getNombreAnimal());
+                        json.writeEndObject();
+                    }
+                }));
+        ListadoIngresos conFalla = new ListadoIngresos(dataSource, transactionManager, fallaEnNala, 2);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        assertThrows(IOException.class,
+                () -> conFalla.escribir(LocalDate.of(2020, 1, 1), LocalDate.of(2023, 12, 31), salida));
+
+        assertTrue(salida.toString().startsWith("[{\"nombreAnimal\":\"Simba\"}"));
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(salida.toByteArray()));
+    }
+}
@@ -0,0 +1,175 @@
+package com.playko.zoologico.repository;
+
+import com.playko.zoologico.dto.response.ComentarioMuroResponseDto;
+import com.playko.zoologico.dto.response.ComentarioPaginaResponseDto;
+import com.playko.zoologico.entity.Animal;
+import com.playko.zoologico.entity.Comentario;
+import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.repository.projection.ComentarioMuroProjection;
+import com.playko.zoologico.service.comentario.CursorMuro;
+import com.playko.zoologico.service.comentario.MuroComentarios;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Muro paginado contra H2: orden por (fecha, id), vista previa de respuestas y cantidad de consultas fija.
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MuroComentariosConsultasTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private IComentarioRepository comentarioRepository;
+
+    private MuroComentarios muroComentarios;
+    private Animal animal;
+    private Usuario autor;
+
+    @BeforeEach
+    void setUp() {
+        muroComentarios = new MuroComentarios(comentarioRepository, 1, 2);
+
+        Zona zona = new Zona();
+        zona.setNombre("Sabana");
+        entityManager.persist(zona);
+
+        Especie especie = new Especie();
+        especie.setNombre("León");
+        especie.setZona(zona);
+        entityManager.persist(especie);
+
+        animal = new Animal();
+        animal.setNombre("Simba");
+        animal.setEspecie(especie);
+        entityManager.persist(animal);
+
+        autor = new Usuario();
+        autor.setNombre("Cuidador");
+        autor.setEmail("cuidador@zoologico.com");
+        autor.setPassword("clave");
+        entityManager.persist(autor);
+    }
+
+    @Test
+    void recorreElMuroPorCursorSinRepetirNiSaltar() {
+        // Cinco raíces, dos de ellas con la misma fecha para que desempate el id
+        List<Long> esperados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            esperados.add(comentario(null, "raiz " + i, BASE.plusMinutes(i == 2 ? 1 : i)).getId());
+        }
+        entityManager.flush();
+
+        List<Long> recorridos = new ArrayList<>();
+        CursorMuro cursor = null;
+        int paginas = 0;
+        do {
+            ComentarioPaginaResponseDto pagina = muroComentarios.paginaDeRaices(animal.getId(), cursor, 2, 0);
+            pagina.getComentarios().forEach(c -> recorridos.add(c.getId()));
+            cursor = CursorMuro.decodificar(pagina.getSiguienteCursor());
+            paginas++;
+        } while (cursor != null);
+
+        assertEquals(esperados, recorridos);
+        assertEquals(3, paginas);
+    }
+
+    @Test
+    void vistaPreviaConConteosYCantidadDeConsultasFija() {
+        Comentario primera = comentario(null, "primera", BASE);
+        Comentario segunda = comentario(null, "segunda", BASE.plusMinutes(1));
+        Comentario r1 = comentario(primera, "r1", BASE.plusMinutes(2));
+        comentario(primera, "r2", BASE.plusMinutes(3));
+        comentario(primera, "r3", BASE.plusMinutes(4));
+        comentario(r1, "r1.1", BASE.plusMinutes(5));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+
+        ComentarioPaginaResponseDto pagina = muroComentarios.paginaDeRaices(animal.getId(), null, 10, 1);
+
+        // Página, un nivel de vista previa y conteos
+        assertEquals(3, estadisticas.getPrepareStatementCount());
+        assertNull(pagina.getSiguienteCursor());
+        ComentarioMuroResponseDto p = pagina.getComentarios().get(0);
+        assertEquals(primera.getId(), p.getId());
+        assertEquals(3, p.getCantidadRespuestas());
+        assertEquals(List.of("r1", "r2"), p.getRespuestas().stream().map(ComentarioMuroResponseDto::getContenido).toList());
+        assertEquals(1, p.getRespuestas().get(0).getCantidadRespuestas());
+        assertTrue(p.getRespuestas().get(0).getRespuestas().isEmpty());
+        assertEquals(segunda.getId(), pagina.getComentarios().get(1).getId());
+        assertEquals(0, pagina.getComentarios().get(1).getCantidadRespuestas());
+        assertEquals("Cuidador", p.getRespuestas().get(1).getAutorNombre());
+        assertEquals(BASE.plusMinutes(3).toString(), p.getRespuestas().get(1).getFecha());
+    }
+
+    @Test
+    void expandeRespuestasPaginaPorPagina() {
+        Comentario raiz = comentario(null, "raiz", BASE);
+        for (int i = 0; i < 5; i++) {
+            comentario(raiz, "r" + i, BASE.plusMinutes(i + 1));
+        }
+        entityManager.flush();
+
+        ComentarioPaginaResponseDto primera = muroComentarios.paginaDeRespuestas(raiz.getId(), null, 3, 0);
+        ComentarioPaginaResponseDto segunda = muroComentarios.paginaDeRespuestas(raiz.getId(),
+                CursorMuro.decodificar(primera.getSiguienteCursor()), 3, 0);
+
+        assertEquals(List.of("r0", "r1", "r2"), primera.getComentarios().stream().map(ComentarioMuroResponseDto::getContenido).toList());
+        assertEquals(List.of("r3", "r4"), segunda.getComentarios().stream().map(ComentarioMuroResponseDto::getContenido).toList());
+        assertNull(segunda.getSiguienteCursor());
+    }
+
+    @Test
+    void muroEntreFechasExcluyeElLimiteSuperior() {
+        LocalDateTime desde = BASE.withHour(0);
+        LocalDateTime hasta = desde.plusMonths(1);
+        comentario(null, "febrero", desde.minusNanos(1000));
+        Comentario marzo = comentario(null, "marzo", desde);
+        comentario(marzo, "fin de marzo", hasta.minusNanos(1000));
+        comentario(null, "abril", hasta);
+        entityManager.flush();
+
+        List<String> contenidos = comentarioRepository.findMuroPorAnimalIdEntre(animal.getId(), desde, hasta).stream()
+                .map(ComentarioMuroProjection::getContenido)
+                .toList();
+
+        assertEquals(List.of("marzo", "fin de marzo"), contenidos);
+    }
+
+    private Comentario comentario(Comentario padre, String contenido, LocalDateTime fecha) {
+        Comentario comentario = new Comentario();
+        comentario.setContenido(contenido);
+        comentario.setFecha(fecha);
+        comentario.setAnimal(animal);
+        comentario.setAutor(autor);
+        comentario.setPadre(padre);
+        return entityManager.persist(comentario);
+    }
+}
@@ -1,12 +1,15 @@
 package com.playko.zoologico.service;
 
 import com.playko.zoologico.dto.request.AnimalRequestDto;
-import com.playko.zoologico.dto.response.AnimalRegistradoResponseDto;
 import com.playko.zoologico.dto.response.AnimalResponseDto;
+import com.playko.zoologico.dto.response.IngresosPorPeriodoResponseDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Especie;
 import com.playko.zoologico.entity.Zona;
+import com.playko.zoologico.exception.AgrupacionInvalidaException;
+import com.playko.zoologico.exception.IntervaloInvalidoException;
 import com.playko.zoologico.exception.NoDataFoundException;
+import com.playko.zoologico.exception.RangoFechasInvalidoException;
 import com.playko.zoologico.exception.animal.AnimalNotFoundException;
 import com.playko.zoologico.exception.animal.AnimalesNoEncontradosEnFechaException;
 import com.playko.zoologico.exception.especie.EspecieNotFoundException;
@@ -16,16 +19,20 @@ import com.playko.zoologico.repository.IAnimalRepository;
 import com.playko.zoologico.repository.IEspecieRepository;
 import com.playko.zoologico.repository.IZonaRepository;
 import com.playko.zoologico.service.impl.AnimalService;
+import com.playko.zoologico.service.indicador.HistogramaIngresos;
+import com.playko.zoologico.service.indicador.ListadoIngresos;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -54,6 +61,15 @@ class AnimalServiceTest {
     @Mock
     private IZonaRepository zonaRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HistogramaIngresos histogramaIngresos;
+
+    @Mock
+    private ListadoIngresos listadoIngresos;
+
     @InjectMocks
     private AnimalService animalService;
 
@@ -293,43 +309,90 @@ class AnimalServiceTest {
         verify(animalRepository, never()).delete(any());
     }
 
-    // ========== obtenerAnimalesRegistradosEnFecha ==========
+    // ========== obtenerAnimalesRegistradosEntre ==========
+
+    @Test
+    void testObtenerAnimalesRegistradosEntre_Success() throws Exception {
+        LocalDate desde = LocalDate.of(2022, 5, 10);
+        LocalDate hasta = LocalDate.of(2022, 5, 12);
+        when(animalRepository.existsByFechaIngresoGreaterThanEqualAndFechaIngresoLessThan(
+                desde.atStartOfDay(), LocalDate.of(2022, 5, 13).atStartOfDay())).thenReturn(true);
+
+        StreamingResponseBody cuerpo = animalService.obtenerAnimalesRegistradosEntre(desde, hasta);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        cuerpo.writeTo(salida);
+
+        verify(listadoIngresos, times(1)).escribir(desde, hasta, salida);
+    }
+
+    @Test
+    void testObtenerAnimalesRegistradosEntre_NoData() throws Exception {
+        LocalDate fecha = LocalDate.of(2022, 5, 10);
+        when(animalRepository.existsByFechaIngresoGreaterThanEqualAndFechaIngresoLessThan(
+                fecha.atStartOfDay(), fecha.plusDays(1).atStartOfDay())).thenReturn(false);
+
+        assertThrows(AnimalesNoEncontradosEnFechaException.class, () ->
+                animalService.obtenerAnimalesRegistradosEntre(fecha, fecha)
+        );
+        verify(listadoIngresos, never()).escribir(any(), any(), any());
+    }
 
     @Test
-    void testObtenerAnimalesRegistradosEnFecha_Success() {
+    void testObtenerAnimalesRegistradosEntre_RangoInvalido() {
         LocalDate fecha = LocalDate.of(2022, 5, 10);
-        LocalDateTime inicio = fecha.atStartOfDay();
-        LocalDateTime fin = fecha.atTime(LocalTime.MAX);
 
-        Animal registrado = new Animal();
-        registrado.setId(6L);
-        registrado.setNombre("Animal Registrado");
-        registrado.setFechaIngreso(LocalDateTime.of(2022, 5, 10, 10, 0));
-        registrado.setEspecie(especie);
+        assertThrows(RangoFechasInvalidoException.class, () ->
+                animalService.obtenerAnimalesRegistradosEntre(fecha, fecha.minusDays(1))
+        );
+        verify(animalRepository, never()).existsByFechaIngresoGreaterThanEqualAndFechaIngresoLessThan(any(), any());
+    }
+
+    // ========== obtenerHistogramaIngresos ==========
 
-        when(animalRepository.findByFechaIngresoBetween(inicio, fin))
-                .thenReturn(List.of(registrado));
+    @Test
+    void testObtenerHistogramaIngresos_PorMesSinAgrupar() {
+        LocalDate desde = LocalDate.of(2022, 1, 1);
+        LocalDate hasta = LocalDate.of(2022, 12, 31);
+        when(histogramaIngresos.contar(desde, hasta, HistogramaIngresos.Intervalo.MES, null))
+                .thenReturn(List.of(new IngresosPorPeriodoResponseDto(LocalDate.of(2022, 5, 1), null, 3L)));
 
-        List<AnimalRegistradoResponseDto> list = animalService.obtenerAnimalesRegistradosEnFecha(fecha);
+        List<IngresosPorPeriodoResponseDto> list = animalService.obtenerHistogramaIngresos(desde, hasta, null, null);
 
         assertEquals(1, list.size());
-        assertEquals("Animal Registrado", list.get(0).getNombreAnimal());
-        assertEquals(especie.getNombre(), list.get(0).getEspecie());
-        verify(animalRepository, times(1)).findByFechaIngresoBetween(inicio, fin);
+        assertEquals(3L, list.get(0).getCantidadAnimales());
     }
 
     @Test
-    void testObtenerAnimalesRegistradosEnFecha_NoData() {
-        LocalDate fecha = LocalDate.of(2022, 5, 10);
-        LocalDateTime inicio = fecha.atStartOfDay();
-        LocalDateTime fin = fecha.atTime(LocalTime.MAX);
+    void testObtenerHistogramaIngresos_PorSemanaYZona() {
+        LocalDate dia = LocalDate.of(2022, 5, 10);
+        when(histogramaIngresos.contar(dia, dia, HistogramaIngresos.Intervalo.SEMANA, HistogramaIngresos.Agrupacion.ZONA))
+                .thenReturn(List.of(new IngresosPorPeriodoResponseDto(LocalDate.of(2022, 5, 9), "Zona Test", 1L)));
+
+        List<IngresosPorPeriodoResponseDto> list = animalService.obtenerHistogramaIngresos(dia, dia, "semana", "zona");
 
-        when(animalRepository.findByFechaIngresoBetween(inicio, fin))
+        assertEquals("Zona Test", list.get(0).getGrupo());
+    }
+
+    @Test
+    void testObtenerHistogramaIngresos_ParametrosInvalidos() {
+        LocalDate dia = LocalDate.of(2022, 5, 10);
+
+        assertThrows(RangoFechasInvalidoException.class, () ->
+                animalService.obtenerHistogramaIngresos(dia, dia.minusDays(1), null, null));
+        assertThrows(IntervaloInvalidoException.class, () ->
+                animalService.obtenerHistogramaIngresos(dia, dia, "anio", null));
+        assertThrows(AgrupacionInvalidaException.class, () ->
+                animalService.obtenerHistogramaIngresos(dia, dia, null, "animal"));
+        verify(histogramaIngresos, never()).contar(any(), any(), any(), any());
+    }
+
+    @Test
+    void testObtenerHistogramaIngresos_NoData() {
+        LocalDate dia = LocalDate.of(2022, 5, 10);
+        when(histogramaIngresos.contar(dia, dia, HistogramaIngresos.Intervalo.DIA, null))
                 .thenReturn(Collections.emptyList());
 
-        assertThrows(AnimalesNoEncontradosEnFechaException.class, () ->
-                animalService.obtenerAnimalesRegistradosEnFecha(fecha)
-        );
-        verify(animalRepository, times(1)).findByFechaIngresoBetween(inicio, fin);
+        assertThrows(NoDataFoundException.class, () ->
+                animalService.obtenerHistogramaIngresos(dia, dia, "DIA", null));
     }
 }
@@ -1,198 +1,181 @@
 package com.playko.zoologico.service;
 
+import com.playko.zoologico.dto.response.BusquedaPaginaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaParalelaResponseDto;
 import com.playko.zoologico.dto.response.BusquedaResultadoDto;
-import com.playko.zoologico.entity.Animal;
-import com.playko.zoologico.entity.Comentario;
-import com.playko.zoologico.entity.Especie;
-import com.playko.zoologico.entity.Zona;
-import com.playko.zoologico.repository.IAnimalRepository;
-import com.playko.zoologico.repository.IComentarioRepository;
-import com.playko.zoologico.repository.IEspecieRepository;
-import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.exception.CursorInvalidoException;
+import com.playko.zoologico.exception.LimiteSugerenciasInvalidoException;
+import com.playko.zoologico.exception.TipoResultadoInvalidoException;
+import com.playko.zoologico.service.busqueda.CacheBusqueda;
+import com.playko.zoologico.service.busqueda.CursorBusqueda;
+import com.playko.zoologico.service.busqueda.EscaneoBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.IBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.IndiceBusqueda;
+import com.playko.zoologico.service.busqueda.PaginaBusqueda;
+import com.playko.zoologico.service.busqueda.ParaleloBusquedaEstrategia;
+import com.playko.zoologico.service.busqueda.TipoResultadoBusqueda;
+import com.playko.zoologico.service.busqueda.TrieAutocompletado;
 import com.playko.zoologico.service.impl.BusquedaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class BusquedaServiceTest {
 
     @Mock
-    private IZonaRepository zonaRepository;
+    private IBusquedaEstrategia busquedaEstrategia;
+
     @Mock
-    private IEspecieRepository especieRepository;
+    private ParaleloBusquedaEstrategia paraleloBusquedaEstrategia;
+
     @Mock
-    private IAnimalRepository animalRepository;
+    private IndiceBusqueda indiceBusqueda;
+
     @Mock
-    private IComentarioRepository comentarioRepository;
+    private EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
 
-    @InjectMocks
     private BusquedaService busquedaService;
 
-    private Zona zonaMatch;
-    private Especie especieMatch;
-    private Animal animalMatch;
-    private Comentario comentarioPadre;
-    private Comentario comentarioRespuesta;
-
     @BeforeEach
     void setUp() {
-        // Zona que coincida con la búsqueda
-        zonaMatch = new Zona();
-        zonaMatch.setId(1L);
-        zonaMatch.setNombre("ZonaTest");
-
-        // Especie que coincida con la búsqueda, perteneciente a zonaMatch
-        especieMatch = new Especie();
-        especieMatch.setId(2L);
-        especieMatch.setNombre("EspecieTest");
-        especieMatch.setZona(zonaMatch);
-
-        // Animal que coincida con la búsqueda, perteneciente a especieMatch
-        animalMatch = new Animal();
-        animalMatch.setId(3L);
-        animalMatch.setNombre("AnimalTest");
-        animalMatch.setEspecie(especieMatch);
-
-        // Comentario padre que coincida con la búsqueda
-        comentarioPadre = new Comentario();
-        comentarioPadre.setId(4L);
-        comentarioPadre.setContenido("Este es un comentarioTest");
-        comentarioPadre.setAnimal(animalMatch);
-        comentarioPadre.setAutor(null);
-        comentarioPadre.setPadre(null);
-
-        // Comentario respuesta que coincida con la búsqueda
-        comentarioRespuesta = new Comentario();
-        comentarioRespuesta.setId(5L);
-        comentarioRespuesta.setContenido("Esta es una respuestaTest");
-        comentarioRespuesta.setAnimal(animalMatch);
-        comentarioRespuesta.setAutor(null);
-        comentarioRespuesta.setPadre(comentarioPadre);
-
-        // Asociar la respuesta al padre
-        comentarioPadre.setRespuestas(List.of(comentarioRespuesta));
+        // Ambas dependencias son IBusquedaEstrategia, así que se inyectan explícitamente
+        busquedaService = new BusquedaService(busquedaEstrategia, paraleloBusquedaEstrategia, new CacheBusqueda(1_000_000),
+                new TrieAutocompletado(10), indiceBusqueda, escaneoBusquedaEstrategia);
+    }
+
+    @Test
+    void testBuscarPorPalabra_DelegaEnLaEstrategiaConfigurada() {
+        BusquedaResultadoDto esperado = new BusquedaResultadoDto("ZONA", "ZonaTest", null, null, null, null);
+        when(busquedaEstrategia.buscar("zona")).thenReturn(List.of(esperado));
+
+        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("zona");
+
+        assertEquals(List.of(esperado), resultados);
+        verify(busquedaEstrategia).buscar("zona");
     }
 
     @Test
-    void testBuscarPorPalabra_EmptyAll() {
-        when(zonaRepository.findAll()).thenReturn(Collections.emptyList());
-        when(especieRepository.findAll()).thenReturn(Collections.emptyList());
-        when(animalRepository.findAll()).thenReturn(Collections.emptyList());
-        when(comentarioRepository.findAll()).thenReturn(Collections.emptyList());
-
-        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("xyz");
-        assertTrue(resultados.isEmpty());
-
-        verify(zonaRepository, times(1)).findAll();
-        verify(especieRepository, times(1)).findAll();
-        verify(animalRepository, times(1)).findAll();
-        verify(comentarioRepository, times(1)).findAll();
+    void testBuscarPorPalabra_RepetidaSeRespondeDesdeCache() {
+        BusquedaResultadoDto esperado = new BusquedaResultadoDto("ZONA", "ZonaTest", null, null, null, null);
+        when(busquedaEstrategia.buscar(anyString())).thenReturn(List.of(esperado));
+
+        busquedaService.buscarPorPalabra("Zona");
+        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("zona");
+
+        assertEquals(List.of(esperado), resultados);
+        verify(busquedaEstrategia, times(1)).buscar(anyString());
+        assertEquals(1, busquedaService.obtenerEstadisticasCache().getAciertos());
+        assertEquals(1, busquedaService.obtenerEstadisticasCache().getFallos());
     }
 
     @Test
-    void testBuscarPorPalabra_ZonaMatch() {
-        when(zonaRepository.findAll()).thenReturn(List.of(zonaMatch));
-        when(especieRepository.findAll()).thenReturn(Collections.emptyList());
-        when(animalRepository.findAll()).thenReturn(Collections.emptyList());
-        when(comentarioRepository.findAll()).thenReturn(Collections.emptyList());
-
-        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("ZonaTest");
-        assertEquals(1, resultados.size());
-        BusquedaResultadoDto dto = resultados.get(0);
-        assertEquals("ZONA", dto.getTipoResultado());
-        assertEquals("ZonaTest", dto.getZonaNombre());
-        assertNull(dto.getEspecieNombre());
-        assertNull(dto.getAnimalNombre());
-
-        verify(zonaRepository).findAll();
+    void testBuscarPorPalabraPaginado_CursorDevueltoContinuaDondeTerminoLaPagina() {
+        BusquedaResultadoDto primero = new BusquedaResultadoDto("ZONA", "Sabana", null, null, null, null);
+        BusquedaResultadoDto segundo = new BusquedaResultadoDto("ZONA", "Selva", null, null, null, null);
+        when(busquedaEstrategia.buscarPagina("a", CursorBusqueda.INICIO, 1)).thenReturn(new PaginaBusqueda(List.of(primero), 7L));
+        when(busquedaEstrategia.buscarPagina("a", 7L, 1)).thenReturn(new PaginaBusqueda(List.of(segundo), null));
+
+        BusquedaPaginaResponseDto pagina1 = busquedaService.buscarPorPalabraPaginado("a", null, 1);
+        BusquedaPaginaResponseDto pagina2 = busquedaService.buscarPorPalabraPaginado("a", pagina1.getSiguienteCursor(), 1);
+
+        assertEquals(List.of(primero), pagina1.getResultados());
+        assertEquals(List.of(segundo), pagina2.getResultados());
+        assertNull(pagina2.getSiguienteCursor());
     }
 
     @Test
-    void testBuscarPorPalabra_EspecieMatch() {
-        when(zonaRepository.findAll()).thenReturn(Collections.emptyList());
-        when(especieRepository.findAll()).thenReturn(List.of(especieMatch));
-        when(animalRepository.findAll()).thenReturn(Collections.emptyList());
-        when(comentarioRepository.findAll()).thenReturn(Collections.emptyList());
-
-        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("EspecieTest");
-        assertEquals(1, resultados.size());
-        BusquedaResultadoDto dto = resultados.get(0);
-        assertEquals("ESPECIE", dto.getTipoResultado());
-        assertEquals("ZonaTest", dto.getZonaNombre());
-        assertEquals("EspecieTest", dto.getEspecieNombre());
-        assertNull(dto.getAnimalNombre());
-
-        verify(especieRepository).findAll();
+    void testBuscarPorPalabraPaginado_LimiteSeAcotaAlMaximo() {
+        when(busquedaEstrategia.buscarPagina("a", CursorBusqueda.INICIO, 500)).thenReturn(new PaginaBusqueda(List.of(), null));
+
+        busquedaService.buscarPorPalabraPaginado("a", null, 100_000);
+
+        verify(busquedaEstrategia).buscarPagina("a", CursorBusqueda.INICIO, 500);
     }
 
     @Test
-    void testBuscarPorPalabra_AnimalMatch() {
-        when(zonaRepository.findAll()).thenReturn(Collections.emptyList());
-        when(especieRepository.findAll()).thenReturn(Collections.emptyList());
-        when(animalRepository.findAll()).thenReturn(List.of(animalMatch));
-        when(comentarioRepository.findAll()).thenReturn(Collections.emptyList());
-
-        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("AnimalTest");
-        assertEquals(1, resultados.size());
-        BusquedaResultadoDto dto = resultados.get(0);
-        assertEquals("ANIMAL", dto.getTipoResultado());
-        assertEquals("ZonaTest", dto.getZonaNombre());
-        assertEquals("EspecieTest", dto.getEspecieNombre());
-        assertEquals("AnimalTest", dto.getAnimalNombre());
-
-        verify(animalRepository).findAll();
+    void testBuscarPorPalabraPaginado_CursorInvalido() {
+        assertThrows(CursorInvalidoException.class,
+                () -> busquedaService.buscarPorPalabraPaginado("a", "no-es-un-cursor", 10));
+        verifyNoInteractions(busquedaEstrategia);
     }
 
     @Test
-    void testBuscarPorPalabra_ComentarioPadreMatch() {
-        when(zonaRepository.findAll()).thenReturn(Collections.emptyList());
-        when(especieRepository.findAll()).thenReturn(Collections.emptyList());
-        when(animalRepository.findAll()).thenReturn(Collections.emptyList());
-        when(comentarioRepository.findAll()).thenReturn(List.of(comentarioPadre, comentarioRespuesta));
-
-        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("comentarioTest");
-        assertEquals(1, resultados.size());
-        BusquedaResultadoDto dto = resultados.get(0);
-        assertEquals("COMENTARIO", dto.getTipoResultado());
-        assertEquals("ZonaTest", dto.getZonaNombre());
-        assertEquals("EspecieTest", dto.getEspecieNombre());
-        assertEquals("AnimalTest", dto.getAnimalNombre());
-        assertEquals("Este es un comentarioTest", dto.getComentarioContenido());
-        assertNull(dto.getRespuestaContenido());
-
-        verify(comentarioRepository).findAll();
+    void testRecorrerPorPalabra_RecorreTodasLasPaginas() {
+        BusquedaResultadoDto primero = new BusquedaResultadoDto("ZONA", "Sabana", null, null, null, null);
+        BusquedaResultadoDto segundo = new BusquedaResultadoDto("ANIMAL", "Sabana", "León", "Simba", null, null);
+        when(busquedaEstrategia.buscarPagina("a", CursorBusqueda.INICIO, 500)).thenReturn(new PaginaBusqueda(List.of(primero), 3L));
+        when(busquedaEstrategia.buscarPagina("a", 3L, 500)).thenReturn(new PaginaBusqueda(List.of(segundo), null));
+
+        List<BusquedaResultadoDto> recorridos = new ArrayList<>();
+        busquedaService.recorrerPorPalabra("a", recorridos::add);
+
+        assertEquals(List.of(primero, segundo), recorridos);
     }
 
     @Test
-    void testBuscarPorPalabra_RespuestaMatch() {
-        when(zonaRepository.findAll()).thenReturn(Collections.emptyList());
-        when(especieRepository.findAll()).thenReturn(Collections.emptyList());
-        when(animalRepository.findAll()).thenReturn(Collections.emptyList());
-        when(comentarioRepository.findAll()).thenReturn(List.of(comentarioPadre, comentarioRespuesta));
-
-        List<BusquedaResultadoDto> resultados = busquedaService.buscarPorPalabra("respuestaTest");
-        assertEquals(1, resultados.size());
-        BusquedaResultadoDto dto = resultados.get(0);
-        assertEquals("RESPUESTA", dto.getTipoResultado());
-        assertEquals("ZonaTest", dto.getZonaNombre());
-        assertEquals("EspecieTest", dto.getEspecieNombre());
-        assertEquals("AnimalTest", dto.getAnimalNombre());
-        assertEquals("Este es un comentarioTest", dto.getComentarioContenido());
-        assertEquals("Esta es una respuestaTest", dto.getRespuestaContenido());
-
-        verify(comentarioRepository).findAll();
+    void testBuscarPorPalabraEnParalelo_DelegaEnLaEstrategiaParalela() {
+        BusquedaParalelaResponseDto esperado = new BusquedaParalelaResponseDto(List.of(), List.of());
+        when(paraleloBusquedaEstrategia.buscarConDetalle("zona")).thenReturn(esperado);
+
+        assertEquals(esperado, busquedaService.buscarPorPalabraEnParalelo("zona"));
+        verifyNoInteractions(busquedaEstrategia);
+    }
+
+    @Test
+    void testBuscarDifuso_DistanciaSegunLongitudYAcotada() {
+        busquedaService.buscarDifuso("oso", null);
+        busquedaService.buscarDifuso("girafa", null);
+        busquedaService.buscarDifuso("girafa", 9);
+
+        verify(indiceBusqueda).buscarDifuso("oso", 1);
+        verify(indiceBusqueda, times(2)).buscarDifuso("girafa", 2);
+    }
+
+    @Test
+    void testAutocompletar_LimiteMayorQueElMaximo() {
+        assertThrows(LimiteSugerenciasInvalidoException.class, () -> busquedaService.autocompletar("le", 11));
+        assertEquals(List.of(), busquedaService.autocompletar("le", 10));
+    }
+
+    @Test
+    void testBuscarFacetado_TipoInvalido() {
+        assertThrows(TipoResultadoInvalidoException.class,
+                () -> busquedaService.buscarFacetado("a", List.of("ANIMAL", "PLANTA"), null, null, null));
+        verifyNoInteractions(indiceBusqueda);
+    }
+
+    @Test
+    void testBuscarFacetado_ConvierteTiposYAcotaElLimite() {
+        when(indiceBusqueda.estaListo()).thenReturn(true);
+        busquedaService.buscarFacetado("a", List.of("animal", " Zona"), 1L, null, 10_000);
+
+        verify(indiceBusqueda).buscarFacetado("a", EnumSet.of(TipoResultadoBusqueda.ANIMAL, TipoResultadoBusqueda.ZONA), 1L, null, 500);
+    }
+
+    @Test
+    void testBuscarFacetado_SinIndiceListoRecorreLaBaseDeDatos() {
+        busquedaService.buscarFacetado("a", null, null, 2L, null);
+
+        verify(escaneoBusquedaEstrategia).buscarFacetado("a", EnumSet.noneOf(TipoResultadoBusqueda.class), null, 2L, 50);
+        verify(indiceBusqueda, never()).buscarFacetado(anyString(), any(), any(), any(), anyInt());
     }
-}
\ No newline at end of file
+}
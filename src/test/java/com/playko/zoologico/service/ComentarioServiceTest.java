@@ -1,44 +1,81 @@
 package com.playko.zoologico.service;
 
 import com.playko.zoologico.dto.request.ComentarioRequestDto;
+import com.playko.zoologico.dto.response.ComentarioMuroResponseDto;
+import com.playko.zoologico.dto.response.ComentarioPaginaResponseDto;
 import com.playko.zoologico.dto.response.ComentarioResponseDto;
+import com.playko.zoologico.dto.response.HiloResumenResponseDto;
 import com.playko.zoologico.dto.response.PorcentajeComentariosConRespuestasDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Comentario;
 import com.playko.zoologico.entity.Usuario;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.exception.CursorInvalidoException;
+import com.playko.zoologico.exception.RangoFechasInvalidoException;
 import com.playko.zoologico.exception.animal.AnimalNotFoundException;
 import com.playko.zoologico.exception.animal.AnimalSinComentariosException;
 import com.playko.zoologico.exception.comentario.ComentarioAnimalMismatchException;
+import com.playko.zoologico.exception.comentario.ComentarioNotFoundException;
 import com.playko.zoologico.exception.comentario.ComentarioPadreNotFoundException;
+import com.playko.zoologico.exception.comentario.ComentarioProfundidadMaximaException;
+import com.playko.zoologico.exception.comentario.ComentarioRutaPendienteException;
 import com.playko.zoologico.repository.IAnimalRepository;
 import com.playko.zoologico.repository.IComentarioRepository;
 import com.playko.zoologico.repository.IUsuarioRepository;
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import com.playko.zoologico.repository.projection.ComentarioMuroProjection;
+import com.playko.zoologico.repository.projection.HiloResumenProjection;
+import com.playko.zoologico.service.busqueda.FilaComentarioIndice;
+import com.playko.zoologico.service.comentario.CacheMuro;
+import com.playko.zoologico.service.comentario.ComentarioPendiente;
+import com.playko.zoologico.service.comentario.ContadoresComentarios;
+import com.playko.zoologico.service.comentario.CursorMuro;
+import com.playko.zoologico.service.comentario.DifusorMuro;
+import com.playko.zoologico.service.comentario.IngestaComentarios;
+import com.playko.zoologico.service.comentario.MuroComentarios;
+import com.playko.zoologico.service.comentario.RutaComentario;
 import com.playko.zoologico.service.impl.ComentarioService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,6 +90,24 @@ class ComentarioServiceTest {
     @Mock
     private IUsuarioRepository usuarioRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MuroComentarios muroComentarios;
+
+    @Mock
+    private DifusorMuro difusorMuro;
+
+    @Mock
+    private IngestaComentarios ingestaComentarios;
+
+    @Mock
+    private ContadoresComentarios contadoresComentarios;
+
+    @Mock
+    private CacheMuro cacheMuro;
+
     @InjectMocks @Spy
     private ComentarioService comentarioService;
 
@@ -100,15 +155,24 @@ class ComentarioServiceTest {
         // Simulamos que existe el usuario con ese correo
         when(usuarioRepository.findByEmail("test@correo.com"))
                 .thenReturn(usuario);
-        // Al guardar, devolvemos la entidad que se intenta guardar
-        when(comentarioRepository.save(any(Comentario.class)))
-                .thenAnswer(invocation -> invocation.getArgument(0));
+        // Al guardar, devolvemos la entidad que se intenta guardar con el id que asignaría la base de datos
+        ArgumentCaptor<Comentario> guardado = ArgumentCaptor.forClass(Comentario.class);
+        when(comentarioRepository.save(guardado.capture()))
+                .thenAnswer(invocation -> {
+                    Comentario comentario = invocation.getArgument(0);
+                    comentario.setId(31L);
+                    return comentario;
+                });
 
         assertDoesNotThrow(() -> comentarioService.agregarComentario(dto));
+        assertEquals("000000000031", guardado.getValue().getRuta());
+        assertEquals(0, guardado.getValue().getProfundidad());
 
         verify(animalRepository, times(1)).findByNombreIgnoreCase("Animal Test");
         verify(usuarioRepository, times(1)).findByEmail("test@correo.com");
         verify(comentarioRepository, times(1)).save(any(Comentario.class));
+        assertEquals(false, guardado.getValue().getConRespuestas());
+        verify(contadoresComentarios).raicesCreadas(1);
     }
 
     @Test
@@ -169,15 +233,341 @@ class ComentarioServiceTest {
 
         assertThrows(ComentarioAnimalMismatchException.class,
                 () -> comentarioService.agregarComentario(dto));
-        // Se llama a findById del repositorio dos veces:
-        //   - una al principio para validar existencia
-        //   - otra al validar mismatch
-        verify(comentarioRepository, times(2)).findById(30L);
+        // El padre se lee una sola vez y se reutiliza para validar el animal
+        verify(comentarioRepository, times(1)).findById(30L);
+        verify(comentarioRepository, never()).save(any());
+    }
+
+    @Test
+    void testAgregarComentario_Respuesta_HeredaRutaDelPadre() {
+        ComentarioRequestDto dto = new ComentarioRequestDto();
+        dto.setContenido("Hijo");
+        dto.setAnimalNombre("Animal Test");
+        dto.setPadreId(30L);
+        RutaComentario.asignar(padreComentario);
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        doReturn("test@correo.com").when(comentarioService).obtenerCorreoDelToken();
+        when(usuarioRepository.findByEmail("test@correo.com")).thenReturn(usuario);
+        ArgumentCaptor<Comentario> guardado = ArgumentCaptor.forClass(Comentario.class);
+        when(comentarioRepository.save(guardado.capture()))
+                .thenAnswer(invocation -> {
+                    Comentario comentario = invocation.getArgument(0);
+                    comentario.setId(41L);
+                    return comentario;
+                });
+
+        comentarioService.agregarComentario(dto);
+
+        assertEquals("000000000030000000000041", guardado.getValue().getRuta());
+        assertEquals(1, guardado.getValue().getProfundidad());
+        verify(contadoresComentarios).respuestaCreada(30L);
+        verify(contadoresComentarios, never()).raicesCreadas(anyInt());
+    }
+
+    @Test
+    void testAgregarComentario_ConIngesta_EncolaSinGuardar() {
+        ComentarioRequestDto dto = new ComentarioRequestDto();
+        dto.setContenido("  Hijo  ");
+        dto.setAnimalNombre("Animal Test");
+        dto.setPadreId(30L);
+        padreComentario.setAnimal(animal);
+        RutaComentario.asignar(padreComentario);
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        doReturn("test@correo.com").when(comentarioService).obtenerCorreoDelToken();
+        when(usuarioRepository.findByEmail("test@correo.com")).thenReturn(usuario);
+        when(ingestaComentarios.isHabilitada()).thenReturn(true);
+        CompletableFuture<Long> confirmacion = new CompletableFuture<>();
+        ArgumentCaptor<ComentarioPendiente> encolado = ArgumentCaptor.forClass(ComentarioPendiente.class);
+        when(ingestaComentarios.encolar(encolado.capture())).thenReturn(confirmacion);
+
+        assertEquals(confirmacion, comentarioService.agregarComentario(dto));
+
+        ComentarioPendiente pendiente = encolado.getValue();
+        assertEquals("Hijo", pendiente.getContenido());
+        assertEquals(10L, pendiente.getAnimalId());
+        assertEquals(20L, pendiente.getAutorId());
+        assertEquals("Usuario Test", pendiente.getAutorNombre());
+        assertEquals(30L, pendiente.getPadreId());
+        assertEquals("000000000030", pendiente.getPadreRuta());
+        assertEquals(0, pendiente.getPadreProfundidad());
         verify(comentarioRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testAgregarComentario_ProfundidadMaxima() {
+        ComentarioRequestDto dto = new ComentarioRequestDto();
+        dto.setContenido("Hijo");
+        dto.setAnimalNombre("Animal Test");
+        dto.setPadreId(30L);
+        padreComentario.setRuta("000000000030");
+        padreComentario.setProfundidad(RutaComentario.PROFUNDIDAD_MAXIMA);
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        doReturn("test@correo.com").when(comentarioService).obtenerCorreoDelToken();
+        when(usuarioRepository.findByEmail("test@correo.com")).thenReturn(usuario);
+
+        assertThrows(ComentarioProfundidadMaximaException.class,
+                () -> comentarioService.agregarComentario(dto));
+        verify(comentarioRepository, never()).save(any());
+    }
+
+    // ========== Pruebas para hilos ==========
+
+    @Test
+    void testObtenerHilo_Success() {
+        padreComentario.setRuta("000000000030");
+        padreComentario.setProfundidad(0);
+        Comentario hijo = comentario(40L, "Respuesta", LocalDateTime.now(), padreComentario);
+        Comentario nieto = comentario(41L, "Respuesta anidada", LocalDateTime.now(), hijo);
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(comentarioRepository.findHilo("000000000030", "000000000031"))
+                .thenReturn(List.of(filaMuro(padreComentario), filaMuro(hijo), filaMuro(nieto)));
+
+        ComentarioResponseDto hilo = comentarioService.obtenerHilo(30L);
+
+        assertEquals(30L, hilo.getId());
+        assertEquals(40L, hilo.getRespuestas().get(0).getId());
+        assertEquals(41L, hilo.getRespuestas().get(0).getRespuestas().get(0).getId());
+    }
+
+    @Test
+    void testObtenerHilo_NoExiste() {
+        when(comentarioRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ComentarioNotFoundException.class, () -> comentarioService.obtenerHilo(99L));
+    }
+
+    @Test
+    void testObtenerHilo_RutaPendiente() {
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+
+        assertThrows(ComentarioRutaPendienteException.class, () -> comentarioService.obtenerHilo(30L));
+        verify(comentarioRepository, never()).findHilo(any(), any());
+    }
+
+    @Test
+    void testObtenerHilo_ConRespuestasSinRutaSeRechaza() {
+        padreComentario.setRuta("000000000030");
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(comentarioRepository.hayRespuestasSinRutaEnHilo("000000000030", "000000000031")).thenReturn(true);
+
+        assertThrows(ComentarioRutaPendienteException.class, () -> comentarioService.obtenerHilo(30L));
+        verify(comentarioRepository, never()).findHilo(any(), any());
+    }
+
+    @Test
+    void testResumirHilo_DescuentaLaRaiz() {
+        padreComentario.setRuta("000000000005000000000030");
+        padreComentario.setProfundidad(1);
+        HiloResumenProjection resumen = new SpelAwareProxyProjectionFactory().createProjection(HiloResumenProjection.class,
+                Map.of("cantidad", 4L, "profundidadMaxima", 3));
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(comentarioRepository.resumirHilo("000000000005000000000030", "000000000005000000000031"))
+                .thenReturn(resumen);
+
+        HiloResumenResponseDto dto = comentarioService.resumirHilo(30L);
+
+        assertEquals(30L, dto.getComentarioId());
+        assertEquals(3, dto.getRespuestas());
+        assertEquals(2, dto.getProfundidad());
+    }
+
+    @Test
+    void testResumirHilo_ConRespuestasSinRutaSeRechaza() {
+        padreComentario.setRuta("000000000030");
+        padreComentario.setProfundidad(0);
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(comentarioRepository.hayRespuestasSinRutaEnHilo("000000000030", "000000000031")).thenReturn(true);
+
+        assertThrows(ComentarioRutaPendienteException.class, () -> comentarioService.resumirHilo(30L));
+        verify(comentarioRepository, never()).resumirHilo(any(), any());
+    }
+
+    @Test
+    void testEliminarHilo_PublicaUnEventoPorComentario() {
+        padreComentario.setRuta("000000000030");
+        padreComentario.setProfundidad(0);
+        List<ComentarioIndiceProjection> eliminados = List.of(
+                new FilaComentarioIndice(30L, "Comentario Padre", 10L, null),
+                new FilaComentarioIndice(40L, "Respuesta", 10L, 30L));
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(comentarioRepository.findParaIndiceEnHilo("000000000030", "000000000031")).thenReturn(eliminados);
+
+        comentarioService.eliminarHilo(30L);
+
+        verify(comentarioRepository).desvincularHilo("000000000030", "000000000031");
+        verify(comentarioRepository).deleteHilo("000000000030", "000000000031");
+        ArgumentCaptor<ComentarioEvent> eventos = ArgumentCaptor.forClass(ComentarioEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(eventos.capture());
+        assertEquals(List.of(30L, 40L), eventos.getAllValues().stream().map(ComentarioEvent::getId).toList());
+        assertTrue(eventos.getAllValues().stream().allMatch(e -> e.getTipoCambio() == TipoCambio.ELIMINADO));
+        assertEquals("Respuesta", eventos.getAllValues().get(1).getContenido());
+        assertNull(eventos.getAllValues().get(1).getFecha());
+        verify(contadoresComentarios).raizEliminada(false);
+    }
+
+    @Test
+    void testEliminarHilo_ConRespuestasSinRutaSeRechaza() {
+        padreComentario.setRuta("000000000030");
+        padreComentario.setProfundidad(0);
+
+        when(comentarioRepository.findById(30L)).thenReturn(Optional.of(padreComentario));
+        when(comentarioRepository.hayRespuestasSinRutaEnHilo("000000000030", "000000000031")).thenReturn(true);
+
+        assertThrows(ComentarioRutaPendienteException.class, () -> comentarioService.eliminarHilo(30L));
+        verify(comentarioRepository, never()).deleteHilo(anyString(), anyString());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testEliminarHilo_RespuestaDirectaActualizaLaRaiz() {
+        padreComentario.setRuta("000000000030");
+        padreComentario.setProfundidad(0);
+        padreComentario.setConRespuestas(true);
+        Comentario respuesta = comentario(40L, "Respuesta", LocalDateTime.now(), padreComentario);
+        RutaComentario.asignar(respuesta);
+
+        when(comentarioRepository.findById(40L)).thenReturn(Optional.of(respuesta));
+
+        comentarioService.eliminarHilo(40L);
+
+        verify(comentarioRepository).deleteHilo("000000000030000000000040", "000000000030000000000041");
+        verify(contadoresComentarios).respuestaEliminada(30L);
+        verify(contadoresComentarios, never()).raizEliminada(anyBoolean());
+    }
+
+    // ========== Pruebas para el muro paginado ==========
+
+    @Test
+    void testObtenerMuroPaginado_PrimeraPagina() {
+        ComentarioPaginaResponseDto pagina = new ComentarioPaginaResponseDto(
+                List.of(new ComentarioMuroResponseDto()), "siguiente");
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        when(muroComentarios.paginaDeRaices(animal.getId(), null, 20, null)).thenReturn(pagina);
+
+        assertEquals(pagina, comentarioService.obtenerMuroPaginado("Animal Test", null, null, null));
+    }
+
+    @Test
+    void testObtenerMuroPaginado_LimitaTamanoYDecodificaCursor() {
+        CursorMuro cursor = new CursorMuro(LocalDateTime.of(2024, 5, 1, 8, 30, 0, 123_456_000), 77L);
+        ComentarioPaginaResponseDto pagina = new ComentarioPaginaResponseDto(Collections.emptyList(), null);
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        ArgumentCaptor<CursorMuro> decodificado = ArgumentCaptor.forClass(CursorMuro.class);
+        when(muroComentarios.paginaDeRaices(eq(animal.getId()), decodificado.capture(), eq(100), eq(2))).thenReturn(pagina);
+
+        // Una página vacía después de un cursor no es un error: el muro simplemente terminó
+        assertEquals(pagina, comentarioService.obtenerMuroPaginado("Animal Test", cursor.codificar(), 5000, 2));
+        assertEquals(cursor.getFecha(), decodificado.getValue().getFecha());
+        assertEquals(77L, decodificado.getValue().getId());
+    }
+
+    @Test
+    void testObtenerMuroPaginado_SinComentarios() {
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        when(muroComentarios.paginaDeRaices(animal.getId(), null, 20, null))
+                .thenReturn(new ComentarioPaginaResponseDto(Collections.emptyList(), null));
+
+        assertThrows(AnimalSinComentariosException.class,
+                () -> comentarioService.obtenerMuroPaginado("Animal Test", null, null, null));
+    }
+
+    @Test
+    void testObtenerMuroPaginado_CursorInvalido() {
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+
+        assertThrows(CursorInvalidoException.class,
+                () -> comentarioService.obtenerMuroPaginado("Animal Test", "no-es-un-cursor", null, null));
+        verify(muroComentarios, never()).paginaDeRaices(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testObtenerRespuestas_ComentarioNoExiste() {
+        when(comentarioRepository.existsById(99L)).thenReturn(false);
+
+        assertThrows(ComentarioNotFoundException.class,
+                () -> comentarioService.obtenerRespuestas(99L, null, null, null));
+        verify(muroComentarios, never()).paginaDeRespuestas(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void testSuscribirAlMuro_Success() {
+        SseEmitter emisor = new SseEmitter();
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        when(difusorMuro.suscribir(10L)).thenReturn(emisor);
+
+        assertEquals(emisor, comentarioService.suscribirAlMuro("Animal Test"));
+    }
+
+    @Test
+    void testSuscribirAlMuro_AnimalNoExiste() {
+        when(animalRepository.findByNombreIgnoreCase("Animal X")).thenReturn(Optional.empty());
+
+        assertThrows(AnimalNotFoundException.class, () -> comentarioService.suscribirAlMuro("Animal X"));
+        verify(difusorMuro, never()).suscribir(any());
+    }
+
+    // ========== Pruebas para obtenerMuroDeAnimalEntre ==========
+
+    @Test
+    void testObtenerMuroEntre_ConsultaElRangoConHastaIncluido() {
+        Comentario raiz = comentario(30L, "Raiz", LocalDateTime.of(2024, 3, 5, 10, 0), null);
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        when(comentarioRepository.findMuroPorAnimalIdEntre(10L, LocalDateTime.of(2024, 3, 1, 0, 0),
+                LocalDateTime.of(2024, 4, 1, 0, 0))).thenReturn(List.of(filaMuro(raiz)));
+
+        List<ComentarioResponseDto> muro = comentarioService.obtenerMuroDeAnimalEntre("Animal Test",
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(1, muro.size());
+        assertEquals(30L, muro.get(0).getId());
+    }
+
+    @Test
+    void testObtenerMuroEntre_RangoInvertido() {
+        assertThrows(RangoFechasInvalidoException.class, () -> comentarioService.obtenerMuroDeAnimalEntre(
+                "Animal Test", LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 1)));
+        verifyNoInteractions(comentarioRepository, animalRepository);
     }
 
     // ========== Pruebas para obtenerMuroDeAnimal ==========
 
+    @Test
+    void testObtenerMuroSerializado_AciertoNoConsultaLaBaseDeDatos() {
+        byte[] json = "[]".getBytes();
+        when(cacheMuro.obtener(eq("Animal Test"), any())).thenReturn(json);
+
+        assertEquals(json, comentarioService.obtenerMuroDeAnimalSerializado("Animal Test"));
+        verifyNoInteractions(comentarioRepository, animalRepository);
+    }
+
+    @Test
+    void testObtenerMuroSerializado_FalloArmaElMuroDelAnimal() {
+        Comentario raiz = comentario(30L, "Raiz", LocalDateTime.now(), null);
+        when(animalRepository.findByNombreIgnoreCase("Animal Test")).thenReturn(Optional.of(animal));
+        when(comentarioRepository.findMuroPorAnimalId(10L)).thenReturn(List.of(filaMuro(raiz)));
+        when(cacheMuro.obtener(eq("Animal Test"), any())).thenAnswer(invocation -> {
+            Supplier<CacheMuro.Muro> construir = invocation.getArgument(1);
+            assertDoesNotThrow(construir::get);
+            return new byte[0];
+        });
+
+        comentarioService.obtenerMuroDeAnimalSerializado("Animal Test");
+
+        verify(comentarioRepository).findMuroPorAnimalId(10L);
+    }
+
     @Test
     void testObtenerMuroDeAnimal_Success() {
         // Creamos un hijo para el comentario padre
@@ -189,15 +579,10 @@ class ComentarioServiceTest {
         hijo.setAutor(usuario);
         hijo.setPadre(padreComentario);
 
-        // Asociamos la respuesta al padre
-        padreComentario.getRespuestas().add(hijo);
-
         when(animalRepository.findByNombreIgnoreCase("Animal Test"))
                 .thenReturn(Optional.of(animal));
-        when(comentarioRepository.findByAnimalAndPadreIsNullOrderByFechaAsc(animal))
-                .thenReturn(List.of(padreComentario));
-        when(comentarioRepository.existsByAnimal_Id(animal.getId()))
-                .thenReturn(true);
+        when(comentarioRepository.findMuroPorAnimalId(animal.getId()))
+                .thenReturn(List.of(filaMuro(padreComentario), filaMuro(hijo)));
 
         List<ComentarioResponseDto> muro =
                 comentarioService.obtenerMuroDeAnimal("Animal Test");
@@ -209,11 +594,35 @@ class ComentarioServiceTest {
         assertEquals(1, muro.get(0).getRespuestas().size());
         assertEquals(hijo.getContenido(),
                 muro.get(0).getRespuestas().get(0).getContenido());
+        assertEquals(usuario.getNombre(), muro.get(0).getRespuestas().get(0).getAutorNombre());
 
         verify(animalRepository, times(1)).findByNombreIgnoreCase("Animal Test");
-        verify(comentarioRepository, times(1))
-                .findByAnimalAndPadreIsNullOrderByFechaAsc(animal);
-        verify(comentarioRepository, times(1)).existsByAnimal_Id(animal.getId());
+        verify(comentarioRepository, times(1)).findMuroPorAnimalId(animal.getId());
+    }
+
+    @Test
+    void testObtenerMuroDeAnimal_ArmaArbolCompleto() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 10, 0);
+        Comentario primero = comentario(1L, "Primero", base, null);
+        Comentario respuesta = comentario(2L, "Respuesta al primero", base.plusMinutes(1), primero);
+        Comentario segundo = comentario(3L, "Segundo", base.plusMinutes(2), null);
+        Comentario anidada = comentario(4L, "Respuesta a la respuesta", base.plusMinutes(3), respuesta);
+        Comentario otraRespuesta = comentario(5L, "Otra respuesta al primero", base.plusMinutes(4), primero);
+
+        when(animalRepository.findByNombreIgnoreCase("Animal Test"))
+                .thenReturn(Optional.of(animal));
+        when(comentarioRepository.findMuroPorAnimalId(animal.getId()))
+                .thenReturn(List.of(filaMuro(primero), filaMuro(respuesta), filaMuro(segundo),
+                        filaMuro(anidada), filaMuro(otraRespuesta)));
+
+        List<ComentarioResponseDto> muro = comentarioService.obtenerMuroDeAnimal("Animal Test");
+
+        assertEquals(List.of(1L, 3L), muro.stream().map(ComentarioResponseDto::getId).toList());
+        assertEquals(List.of(2L, 5L), muro.get(0).getRespuestas().stream().map(ComentarioResponseDto::getId).toList());
+        assertEquals(List.of(4L), muro.get(0).getRespuestas().get(0).getRespuestas().stream()
+                .map(ComentarioResponseDto::getId).toList());
+        assertTrue(muro.get(1).getRespuestas().isEmpty());
+        assertEquals(base.toString(), muro.get(0).getFecha());
     }
 
     @Test
@@ -224,7 +633,7 @@ class ComentarioServiceTest {
         assertThrows(AnimalNotFoundException.class,
                 () -> comentarioService.obtenerMuroDeAnimal("NoExiste"));
         verify(animalRepository, times(1)).findByNombreIgnoreCase("NoExiste");
-        verify(comentarioRepository, never()).findByAnimalAndPadreIsNullOrderByFechaAsc(any());
+        verify(comentarioRepository, never()).findMuroPorAnimalId(any());
     }
 
     @Test
@@ -232,8 +641,8 @@ class ComentarioServiceTest {
         when(animalRepository.findByNombreIgnoreCase("Animal Test"))
                 .thenReturn(Optional.of(animal));
         // Existe la entidad Animal, pero no hay comentarios asociados
-        when(comentarioRepository.existsByAnimal_Id(animal.getId()))
-                .thenReturn(false);
+        when(comentarioRepository.findMuroPorAnimalId(animal.getId()))
+                .thenReturn(Collections.emptyList());
 
         assertThrows(AnimalSinComentariosException.class,
                 () -> comentarioService.obtenerMuroDeAnimal("Animal Test"));
@@ -244,35 +653,46 @@ class ComentarioServiceTest {
 
     @Test
     void testObtenerPorcentajeComentariosConRespuestas_NoPadres() {
-        when(comentarioRepository.findByPadreIsNull())
-                .thenReturn(Collections.emptyList());
+        when(contadoresComentarios.valores())
+                .thenReturn(Collections.emptyMap());
 
         PorcentajeComentariosConRespuestasDto dto =
                 comentarioService.obtenerPorcentajeComentariosConRespuestas();
         assertEquals("0.0%", dto.getPorcentaje());
-        verify(comentarioRepository, times(1)).findByPadreIsNull();
+        verify(comentarioRepository, never()).findAll();
     }
 
     @Test
     void testObtenerPorcentajeComentariosConRespuestas_ConYSinRespuestas() {
-        // Creamos dos comentarios padre: uno sin respuestas y otro con una respuesta
-        Comentario padre1 = new Comentario();
-        padre1.setId(50L);
-        padre1.setRespuestas(new ArrayList<>());
-
-        Comentario padre2 = new Comentario();
-        padre2.setId(51L);
-        Comentario respuesta = new Comentario();
-        respuesta.setId(52L);
-        padre2.setRespuestas(List.of(respuesta));
-
-        when(comentarioRepository.findByPadreIsNull())
-                .thenReturn(List.of(padre1, padre2));
+        // Dos comentarios padre: uno sin respuestas y otro con al menos una respuesta
+        when(contadoresComentarios.valores())
+                .thenReturn(Map.of(ContadoresComentarios.RAICES, 2L, ContadoresComentarios.RAICES_CON_RESPUESTAS, 1L));
 
         PorcentajeComentariosConRespuestasDto dto =
                 comentarioService.obtenerPorcentajeComentariosConRespuestas();
         // De los 2 padres, 1 tiene respuestas → 50.0%
         assertEquals("50,0%", dto.getPorcentaje());
-        verify(comentarioRepository, times(1)).findByPadreIsNull();
+        verifyNoInteractions(comentarioRepository);
+    }
+
+    private Comentario comentario(Long id, String contenido, LocalDateTime fecha, Comentario padre) {
+        Comentario comentario = new Comentario();
+        comentario.setId(id);
+        comentario.setContenido(contenido);
+        comentario.setFecha(fecha);
+        comentario.setAnimal(animal);
+        comentario.setAutor(usuario);
+        comentario.setPadre(padre);
+        return comentario;
+    }
+
+    private static ComentarioMuroProjection filaMuro(Comentario comentario) {
+        Map<String, Object> valores = new HashMap<>();
+        valores.put("id", comentario.getId());
+        valores.put("contenido", comentario.getContenido());
+        valores.put("fecha", comentario.getFecha());
+        valores.put("autorNombre", comentario.getAutor().getNombre());
+        valores.put("padreId", comentario.getPadre() != null ? comentario.getPadre().getId() : null);
+        return new SpelAwareProxyProjectionFactory().createProjection(ComentarioMuroProjection.class, valores);
     }
 }
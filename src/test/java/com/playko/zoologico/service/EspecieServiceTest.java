@@ -1,19 +1,24 @@
 package com.playko.zoologico.service;
 
 import com.playko.zoologico.dto.request.EspecieRequestDto;
+import com.playko.zoologico.dto.response.AnimalesPorEspeciePaginaResponseDto;
 import com.playko.zoologico.dto.response.AnimalesPorEspecieResponseDto;
 import com.playko.zoologico.dto.response.EspecieResponseDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.IndicadorEspecie;
 import com.playko.zoologico.entity.Zona;
 import com.playko.zoologico.exception.NoDataFoundException;
+import com.playko.zoologico.exception.OrdenInvalidoException;
 import com.playko.zoologico.exception.especie.EspecieAlreadyExistsException;
 import com.playko.zoologico.exception.especie.EspecieConAnimalesException;
 import com.playko.zoologico.exception.especie.EspecieNotFoundException;
 import com.playko.zoologico.exception.zona.ZonaNotFoundException;
 import com.playko.zoologico.repository.IAnimalRepository;
 import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IIndicadorEspecieRepository;
 import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.AnimalesPorEspecieProjection;
 import com.playko.zoologico.service.impl.EspecieService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,9 +27,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -50,6 +63,10 @@ class EspecieServiceTest {
     private IZonaRepository zonaRepository;
     @Mock
     private IAnimalRepository animalRepository;
+    @Mock
+    private IIndicadorEspecieRepository indicadorEspecieRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private EspecieService especieService;
@@ -364,28 +381,41 @@ class EspecieServiceTest {
 
     // ====== obtenerCantidadAnimalesPorEspecie ======
 
+    @Test
+    void testObtenerCantidadAnimalesPorEspecie_DesdeElIndicador() {
+        when(indicadorEspecieRepository.findAll(Sort.by("id")))
+                .thenReturn(List.of(new IndicadorEspecie(1L, "Especie Con Animales", 1L, 2L)));
+
+        List<AnimalesPorEspecieResponseDto> list =
+                especieService.obtenerCantidadAnimalesPorEspecie(null, null);
+
+        assertEquals(1, list.size());
+        assertEquals("Especie Con Animales", list.get(0).getEspecie());
+        assertEquals(2L, list.get(0).getCantidadAnimales());
+        verify(especieRepository, never()).contarAnimalesPorEspecie(any(Sort.class));
+    }
+
+    @Test
+    void testObtenerCantidadAnimalesPorEspeciePaginado_DesdeElIndicador() {
+        PageRequest pedido = PageRequest.of(0, 50, Sort.by("id"));
+        when(indicadorEspecieRepository.findAll(pedido))
+                .thenReturn(new PageImpl<>(List.of(new IndicadorEspecie(3L, "Zorro", 1L, 4L)), pedido, 1));
+
+        AnimalesPorEspeciePaginaResponseDto pagina =
+                especieService.obtenerCantidadAnimalesPorEspeciePaginado(null, null, null);
+
+        assertEquals(1, pagina.getTotalEspecies());
+        assertEquals("Zorro", pagina.getEspecies().get(0).getEspecie());
+        verify(especieRepository, never()).contarAnimalesPorEspecie(any(Pageable.class));
+    }
+
     @Test
     void testObtenerCantidadAnimalesPorEspecie_Success() {
-        Especie conAnimales = new Especie();
-        conAnimales.setId(5L);
-        conAnimales.setNombre("Especie Con Animales");
-        conAnimales.setZona(zona);
-
-        Animal a1 = new Animal();
-        a1.setId(6L);
-        a1.setNombre("A1");
-        a1.setEspecie(conAnimales);
-        Animal a2 = new Animal();
-        a2.setId(7L);
-        a2.setNombre("A2");
-        a2.setEspecie(conAnimales);
-        conAnimales.setAnimales(List.of(a1, a2));
-
-        when(especieRepository.findAll())
-                .thenReturn(List.of(especie, conAnimales));
+        when(especieRepository.contarAnimalesPorEspecie(Sort.by("id")))
+                .thenReturn(List.of(conteo("Especie Test", 0L), conteo("Especie Con Animales", 2L)));
 
         List<AnimalesPorEspecieResponseDto> list =
-                especieService.obtenerCantidadAnimalesPorEspecie();
+                especieService.obtenerCantidadAnimalesPorEspecie(null, null);
 
         assertEquals(2, list.size());
         // Uno de ellos (especie sin animales) debería tener cantidad 0
@@ -396,17 +426,71 @@ class EspecieServiceTest {
         assertTrue(list.stream().anyMatch(dto ->
                 dto.getEspecie().equals("Especie Con Animales") && dto.getCantidadAnimales() == 2
         ));
-        verify(especieRepository, times(1)).findAll();
+        verify(especieRepository, never()).findAll();
+    }
+
+    @Test
+    void testObtenerCantidadAnimalesPorEspecie_TopPorPoblacion() {
+        Sort porPoblacion = Sort.by(Sort.Direction.DESC, "cantidadAnimales").and(Sort.by("nombre"));
+        when(indicadorEspecieRepository.findAll(PageRequest.of(0, 1, porPoblacion))).thenReturn(Page.empty());
+        when(especieRepository.contarAnimalesPorEspecie(PageRequest.of(0, 1, porPoblacion)))
+                .thenReturn(new PageImpl<>(List.of(conteo("Especie Con Animales", 2L))));
+
+        List<AnimalesPorEspecieResponseDto> list =
+                especieService.obtenerCantidadAnimalesPorEspecie("poblacion_desc", 1);
+
+        assertEquals(1, list.size());
+        assertEquals("Especie Con Animales", list.get(0).getEspecie());
+    }
+
+    @Test
+    void testObtenerCantidadAnimalesPorEspecie_OrdenInvalido() {
+        assertThrows(OrdenInvalidoException.class, () ->
+                especieService.obtenerCantidadAnimalesPorEspecie("tamano", null)
+        );
+        verify(especieRepository, never()).contarAnimalesPorEspecie(any(Sort.class));
     }
 
     @Test
     void testObtenerCantidadAnimalesPorEspecie_NoData() {
-        when(especieRepository.findAll())
+        when(especieRepository.contarAnimalesPorEspecie(any(Sort.class)))
                 .thenReturn(Collections.emptyList());
 
         assertThrows(NoDataFoundException.class, () ->
-                especieService.obtenerCantidadAnimalesPorEspecie()
+                especieService.obtenerCantidadAnimalesPorEspecie(null, null)
         );
-        verify(especieRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testObtenerCantidadAnimalesPorEspeciePaginado_AcotaElTamano() {
+        PageRequest pedido = PageRequest.of(2, 500, Sort.by("nombre"));
+        when(indicadorEspecieRepository.findAll(pedido)).thenReturn(Page.empty());
+        when(especieRepository.contarAnimalesPorEspecie(pedido))
+                .thenReturn(new PageImpl<>(List.of(conteo("Zorro", 4L)), pedido, 1001));
+
+        AnimalesPorEspeciePaginaResponseDto pagina =
+                especieService.obtenerCantidadAnimalesPorEspeciePaginado(2, 10_000, "NOMBRE");
+
+        assertEquals(2, pagina.getPagina());
+        assertEquals(500, pagina.getTamano());
+        assertEquals(1001, pagina.getTotalEspecies());
+        assertEquals(3, pagina.getTotalPaginas());
+        assertEquals(4L, pagina.getEspecies().get(0).getCantidadAnimales());
+    }
+
+    @Test
+    void testObtenerCantidadAnimalesPorEspeciePaginado_NoData() {
+        when(indicadorEspecieRepository.findAll(any(Pageable.class))).thenReturn(Page.empty());
+        when(especieRepository.contarAnimalesPorEspecie(any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        assertThrows(NoDataFoundException.class, () ->
+                especieService.obtenerCantidadAnimalesPorEspeciePaginado(null, null, null)
+        );
+    }
+
+    private static AnimalesPorEspecieProjection conteo(String especie, long cantidad) {
+        return new SpelAwareProxyProjectionFactory().createProjection(AnimalesPorEspecieProjection.class,
+                Map.of("especie", especie, "cantidadAnimales", cantidad));
     }
 }
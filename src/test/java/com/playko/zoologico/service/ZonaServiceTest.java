@@ -5,13 +5,16 @@ import com.playko.zoologico.dto.response.CantidadAnimalesPorZonaResponseDto;
 import com.playko.zoologico.dto.response.ZonaResponseDto;
 import com.playko.zoologico.entity.Animal;
 import com.playko.zoologico.entity.Especie;
+import com.playko.zoologico.entity.IndicadorZona;
 import com.playko.zoologico.entity.Zona;
 import com.playko.zoologico.exception.NoDataFoundException;
 import com.playko.zoologico.exception.animal.ZonaConAnimalesException;
 import com.playko.zoologico.exception.zona.ZonaAlreadyExistsException;
 import com.playko.zoologico.exception.zona.ZonaNotFoundException;
 import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IIndicadorZonaRepository;
 import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.CantidadAnimalesPorZonaProjection;
 import com.playko.zoologico.service.impl.ZonaService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,9 +22,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -45,6 +52,10 @@ class ZonaServiceTest {
     private IZonaRepository zonaRepository;
     @Mock
     private IAnimalRepository animalRepository;
+    @Mock
+    private IIndicadorZonaRepository indicadorZonaRepository;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ZonaService zonaService;
@@ -309,10 +320,25 @@ class ZonaServiceTest {
 
     // ====== obtenerCantidadAnimalesPorZona ======
 
+    @Test
+    void testObtenerCantidadAnimalesPorZona_DesdeElIndicador() {
+        when(indicadorZonaRepository.findAll(Sort.by("id")))
+                .thenReturn(List.of(new IndicadorZona(1L, "Zona Test", 7L)));
+
+        List<CantidadAnimalesPorZonaResponseDto> lista =
+                zonaService.obtenerCantidadAnimalesPorZona();
+
+        assertEquals(1, lista.size());
+        assertEquals("Zona Test", lista.get(0).getNombreZona());
+        assertEquals(7L, lista.get(0).getCantidadAnimales());
+        verify(zonaRepository, never()).contarAnimalesPorZona();
+    }
+
     @Test
     void testObtenerCantidadAnimalesPorZona_Success() {
-        // ya en setUp la zona tiene una especie con 2 animales
-        when(zonaRepository.findAll()).thenReturn(List.of(zona));
+        when(zonaRepository.contarAnimalesPorZona()).thenReturn(List.of(
+                new SpelAwareProxyProjectionFactory().createProjection(CantidadAnimalesPorZonaProjection.class,
+                        Map.of("nombreZona", "Zona Test", "cantidadAnimales", 2L))));
 
         List<CantidadAnimalesPorZonaResponseDto> lista =
                 zonaService.obtenerCantidadAnimalesPorZona();
@@ -321,16 +347,17 @@ class ZonaServiceTest {
         CantidadAnimalesPorZonaResponseDto dto = lista.get(0);
         assertEquals("Zona Test", dto.getNombreZona());
         assertEquals(2L, dto.getCantidadAnimales());
-        verify(zonaRepository, times(1)).findAll();
+        verify(zonaRepository, times(1)).contarAnimalesPorZona();
+        verify(zonaRepository, never()).findAll();
     }
 
     @Test
     void testObtenerCantidadAnimalesPorZona_NoData() {
-        when(zonaRepository.findAll()).thenReturn(Collections.emptyList());
+        when(zonaRepository.contarAnimalesPorZona()).thenReturn(Collections.emptyList());
 
         assertThrows(NoDataFoundException.class, () ->
                 zonaService.obtenerCantidadAnimalesPorZona()
         );
-        verify(zonaRepository, times(1)).findAll();
+        verify(zonaRepository, times(1)).contarAnimalesPorZona();
     }
 }
\ No newline at end of file
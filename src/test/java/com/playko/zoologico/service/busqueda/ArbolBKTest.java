@@ -0,0 +1,57 @@
+package com.playko.zoologico.service.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ArbolBKTest {
+
+    @Test
+    void testDistancia_Levenshtein() {
+        assertEquals(0, ArbolBK.distancia("jirafa", "jirafa"));
+        assertEquals(1, ArbolBK.distancia("jirafa", "girafa"));
+        assertEquals(1, ArbolBK.distancia("leon", "león"));
+        assertEquals(3, ArbolBK.distancia("kitten", "sitting"));
+        assertEquals(4, ArbolBK.distancia("", "oso "));
+    }
+
+    @Test
+    void testBuscar_CoincideConCompararContraTodosLosTerminos() {
+        Random random = new Random(11);
+        Set<String> terminos = new LinkedHashSet<>();
+        ArbolBK arbol = new ArbolBK();
+
+        for (int i = 0; i < 3_000; i++) {
+            String termino = aleatorio(random);
+            terminos.add(termino);
+            arbol.agregar(termino);
+        }
+        assertEquals(terminos.size(), arbol.tamano());
+
+        for (int i = 0; i < 50; i++) {
+            String consulta = aleatorio(random);
+            for (int k = 0; k <= 2; k++) {
+                Map<String, Integer> esperado = new HashMap<>();
+                for (String termino : terminos) {
+                    int distancia = ArbolBK.distancia(termino, consulta);
+                    if (distancia <= k) esperado.put(termino, distancia);
+                }
+                assertEquals(esperado, new HashMap<>(arbol.buscar(consulta, k)));
+            }
+        }
+    }
+
+    private static String aleatorio(Random random) {
+        StringBuilder termino = new StringBuilder();
+        for (int i = 0, n = 3 + random.nextInt(5); i < n; i++) {
+            termino.append((char) ('a' + random.nextInt(6)));
+        }
+        return termino.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.event.EspecieEvent;
+import com.playko.zoologico.event.TipoCambio;
+import com.playko.zoologico.event.ZonaEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CacheBusquedaTest {
+
+    private CacheBusqueda cache;
+    private CacheBusquedaInvalidador invalidador;
+    private AtomicInteger busquedas;
+
+    private final BusquedaResultadoDto sabana = new BusquedaResultadoDto("ZONA", "Sabana", null, null, null, null);
+    private final BusquedaResultadoDto leon = new BusquedaResultadoDto("ESPECIE", "Sabana", "León", null, null, null);
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheBusqueda(10_000);
+        invalidador = new CacheBusquedaInvalidador(cache);
+        busquedas = new AtomicInteger();
+    }
+
+    @Test
+    void testObtener_SuperarPesoMaximoDesalojaLaMenosUsada() {
+        CacheBusqueda pequena = new CacheBusqueda(600);
+        pequena.obtener("a", () -> List.of(sabana, leon));
+        pequena.obtener("b", () -> List.of(sabana, leon));
+        pequena.obtener("a", this::buscar);
+        pequena.obtener("c", () -> List.of(sabana, leon));
+
+        assertEquals(1, pequena.estadisticas().getDesalojos());
+        pequena.obtener("a", this::buscar);
+        pequena.obtener("b", this::buscar);
+        assertEquals(1, busquedas.get());
+    }
+
+    @Test
+    void testInvalidar_SoloPalabrasQuePuedenCoincidirConElTextoNuevo() {
+        cache.obtener("sel", this::buscar);
+        cache.obtener("ban", this::buscar);
+
+        invalidador.onZona(new ZonaEvent(TipoCambio.CREADO, 3L, "Selva", null));
+
+        cache.obtener("sel", this::buscar);
+        cache.obtener("ban", this::buscar);
+        assertEquals(3, busquedas.get());
+        assertEquals(1, cache.estadisticas().getInvalidaciones());
+    }
+
+    @Test
+    void testInvalidar_RenombreAfectaResultadosQueMuestranElNombre() {
+        cache.obtener("le", () -> List.of(leon));
+
+        invalidador.onZona(new ZonaEvent(TipoCambio.EDITADO, 1L, "Savannah", "Sabana"));
+
+        cache.obtener("le", this::buscar);
+        assertEquals(1, busquedas.get());
+    }
+
+    @Test
+    void testInvalidar_CambioDeEspecieNoAfectaPalabrasAjenas() {
+        cache.obtener("sab", () -> List.of(sabana));
+
+        invalidador.onEspecie(new EspecieEvent(TipoCambio.EDITADO, 10L, "Leona", "León", 1L, 1L));
+
+        cache.obtener("sab", this::buscar);
+        assertEquals(0, busquedas.get());
+    }
+
+    @Test
+    void testObtener_NoGuardaResultadosCalculadosDuranteUnaInvalidacion() {
+        cache.obtener("sab", () -> {
+            invalidador.onZona(new ZonaEvent(TipoCambio.CREADO, 3L, "Selva", null));
+            return List.of(sabana);
+        });
+
+        cache.obtener("sab", this::buscar);
+        assertEquals(1, busquedas.get());
+    }
+
+    private List<BusquedaResultadoDto> buscar() {
+        busquedas.incrementAndGet();
+        return List.of(sabana);
+    }
+}
@@ -0,0 +1,189 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.AnimalBusquedaProjection;
+import com.playko.zoologico.repository.projection.ComentarioBusquedaProjection;
+import com.playko.zoologico.repository.projection.EspecieBusquedaProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EscaneoBusquedaEstrategiaTest {
+    private static final SpelAwareProxyProjectionFactory PROYECCIONES = new SpelAwareProxyProjectionFactory();
+
+    @Mock
+    private IZonaRepository zonaRepository;
+    @Mock
+    private IEspecieRepository especieRepository;
+    @Mock
+    private IAnimalRepository animalRepository;
+    @Mock
+    private IComentarioRepository comentarioRepository;
+
+    @InjectMocks
+    private EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
+
+    private EspecieBusquedaProjection especieMatch;
+    private AnimalBusquedaProjection animalMatch;
+    private ComentarioBusquedaProjection comentarioPadre;
+    private ComentarioBusquedaProjection comentarioRespuesta;
+
+    @BeforeEach
+    void setUp() {
+        especieMatch = fila(EspecieBusquedaProjection.class,
+                "zonaNombre", "ZonaTest",
+                "especieNombre", "EspecieTest");
+
+        animalMatch = fila(AnimalBusquedaProjection.class,
+                "zonaNombre", "ZonaTest",
+                "especieNombre", "EspecieTest",
+                "animalNombre", "AnimalTest");
+
+        comentarioPadre = fila(ComentarioBusquedaProjection.class,
+                "zonaNombre", "ZonaTest",
+                "especieNombre", "EspecieTest",
+                "animalNombre", "AnimalTest",
+                "contenido", "Este es un comentarioTest",
+                "padreContenido", null);
+
+        comentarioRespuesta = fila(ComentarioBusquedaProjection.class,
+                "zonaNombre", "ZonaTest",
+                "especieNombre", "EspecieTest",
+                "animalNombre", "AnimalTest",
+                "contenido", "Esta es una respuestaTest",
+                "padreContenido", "Este es un comentarioTest");
+    }
+
+    @Test
+    void testBuscarPorPalabra_EmptyAll() {
+        sinCoincidencias();
+
+        List<BusquedaResultadoDto> resultados = escaneoBusquedaEstrategia.buscar("xyz");
+        assertTrue(resultados.isEmpty());
+
+        verify(zonaRepository, times(1)).findNombresParaBusqueda("%xyz%");
+        verify(especieRepository, times(1)).findParaBusqueda("%xyz%");
+        verify(animalRepository, times(1)).findParaBusqueda("%xyz%");
+        verify(comentarioRepository, times(1)).findParaBusqueda("%xyz%");
+    }
+
+    @Test
+    void testBuscarPorPalabra_EscapaComodines() {
+        sinCoincidencias();
+
+        escaneoBusquedaEstrategia.buscar("Oso_100%");
+
+        verify(zonaRepository).findNombresParaBusqueda("%oso\\_100\\%%");
+    }
+
+    @Test
+    void testBuscarPorPalabra_ZonaMatch() {
+        sinCoincidencias();
+        when(zonaRepository.findNombresParaBusqueda("%zonatest%")).thenReturn(List.of("ZonaTest"));
+
+        List<BusquedaResultadoDto> resultados = escaneoBusquedaEstrategia.buscar("ZonaTest");
+        assertEquals(1, resultados.size());
+        BusquedaResultadoDto dto = resultados.get(0);
+        assertEquals("ZONA", dto.getTipoResultado());
+        assertEquals("ZonaTest", dto.getZonaNombre());
+        assertNull(dto.getEspecieNombre());
+        assertNull(dto.getAnimalNombre());
+    }
+
+    @Test
+    void testBuscarPorPalabra_EspecieMatch() {
+        sinCoincidencias();
+        when(especieRepository.findParaBusqueda("%especietest%")).thenReturn(List.of(especieMatch));
+
+        List<BusquedaResultadoDto> resultados = escaneoBusquedaEstrategia.buscar("EspecieTest");
+        assertEquals(1, resultados.size());
+        BusquedaResultadoDto dto = resultados.get(0);
+        assertEquals("ESPECIE", dto.getTipoResultado());
+        assertEquals("ZonaTest", dto.getZonaNombre());
+        assertEquals("EspecieTest", dto.getEspecieNombre());
+        assertNull(dto.getAnimalNombre());
+    }
+
+    @Test
+    void testBuscarPorPalabra_AnimalMatch() {
+        sinCoincidencias();
+        when(animalRepository.findParaBusqueda("%animaltest%")).thenReturn(List.of(animalMatch));
+
+        List<BusquedaResultadoDto> resultados = escaneoBusquedaEstrategia.buscar("AnimalTest");
+        assertEquals(1, resultados.size());
+        BusquedaResultadoDto dto = resultados.get(0);
+        assertEquals("ANIMAL", dto.getTipoResultado());
+        assertEquals("ZonaTest", dto.getZonaNombre());
+        assertEquals("EspecieTest", dto.getEspecieNombre());
+        assertEquals("AnimalTest", dto.getAnimalNombre());
+    }
+
+    @Test
+    void testBuscarPorPalabra_ComentarioPadreMatch() {
+        sinCoincidencias();
+        when(comentarioRepository.findParaBusqueda("%comentariotest%")).thenReturn(List.of(comentarioPadre));
+
+        List<BusquedaResultadoDto> resultados = escaneoBusquedaEstrategia.buscar("comentarioTest");
+        assertEquals(1, resultados.size());
+        BusquedaResultadoDto dto = resultados.get(0);
+        assertEquals("COMENTARIO", dto.getTipoResultado());
+        assertEquals("ZonaTest", dto.getZonaNombre());
+        assertEquals("EspecieTest", dto.getEspecieNombre());
+        assertEquals("AnimalTest", dto.getAnimalNombre());
+        assertEquals("Este es un comentarioTest", dto.getComentarioContenido());
+        assertNull(dto.getRespuestaContenido());
+    }
+
+    @Test
+    void testBuscarPorPalabra_RespuestaMatch() {
+        sinCoincidencias();
+        when(comentarioRepository.findParaBusqueda("%respuestatest%")).thenReturn(List.of(comentarioRespuesta));
+
+        List<BusquedaResultadoDto> resultados = escaneoBusquedaEstrategia.buscar("respuestaTest");
+        assertEquals(1, resultados.size());
+        BusquedaResultadoDto dto = resultados.get(0);
+        assertEquals("RESPUESTA", dto.getTipoResultado());
+        assertEquals("ZonaTest", dto.getZonaNombre());
+        assertEquals("EspecieTest", dto.getEspecieNombre());
+        assertEquals("AnimalTest", dto.getAnimalNombre());
+        assertEquals("Este es un comentarioTest", dto.getComentarioContenido());
+        assertEquals("Esta es una respuestaTest", dto.getRespuestaContenido());
+    }
+
+    private void sinCoincidencias() {
+        when(zonaRepository.findNombresParaBusqueda(anyString())).thenReturn(Collections.emptyList());
+        when(especieRepository.findParaBusqueda(anyString())).thenReturn(Collections.emptyList());
+        when(animalRepository.findParaBusqueda(anyString())).thenReturn(Collections.emptyList());
+        when(comentarioRepository.findParaBusqueda(anyString())).thenReturn(Collections.emptyList());
+    }
+
+    private static <T> T fila(Class<T> tipo, String... clavesYValores) {
+        Map<String, Object> valores = new HashMap<>();
+        for (int i = 0; i < clavesYValores.length; i += 2) {
+            valores.put(clavesYValores[i], clavesYValores[i + 1]);
+        }
+        return PROYECCIONES.createProjection(tipo, valores);
+    }
+}
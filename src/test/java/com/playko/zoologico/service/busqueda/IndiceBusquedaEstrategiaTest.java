@@ -0,0 +1,48 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceBusquedaEstrategiaTest {
+
+    @Mock
+    private IndiceBusqueda indiceBusqueda;
+    @Mock
+    private EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
+
+    @InjectMocks
+    private IndiceBusquedaEstrategia indiceBusquedaEstrategia;
+
+    private final BusquedaResultadoDto resultado = new BusquedaResultadoDto("ZONA", "ZonaTest", null, null, null, null);
+
+    @Test
+    void testBuscar_UsaIndiceCuandoEstaListo() {
+        when(indiceBusqueda.estaListo()).thenReturn(true);
+        when(indiceBusqueda.buscar("zona")).thenReturn(List.of(resultado));
+
+        assertEquals(List.of(resultado), indiceBusquedaEstrategia.buscar("zona"));
+        verify(escaneoBusquedaEstrategia, never()).buscar(anyString());
+    }
+
+    @Test
+    void testBuscar_RecorreTablasMientrasSeConstruyeElIndice() {
+        when(indiceBusqueda.estaListo()).thenReturn(false);
+        when(escaneoBusquedaEstrategia.buscar("zona")).thenReturn(List.of(resultado));
+
+        assertEquals(List.of(resultado), indiceBusquedaEstrategia.buscar("zona"));
+        verify(indiceBusqueda, never()).buscar(anyString());
+    }
+}
@@ -0,0 +1,83 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.repository.IAnimalRepository;
+import com.playko.zoologico.repository.IComentarioRepository;
+import com.playko.zoologico.repository.IEspecieRepository;
+import com.playko.zoologico.repository.IZonaRepository;
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceBusquedaSincronizadorTest {
+
+    @Mock
+    private IZonaRepository zonaRepository;
+    @Mock
+    private IEspecieRepository especieRepository;
+    @Mock
+    private IAnimalRepository animalRepository;
+    @Mock
+    private IComentarioRepository comentarioRepository;
+    @Mock
+    private SnapshotIndiceBusqueda snapshotIndiceBusqueda;
+
+    private IndiceBusqueda indiceBusqueda;
+    private IndiceBusquedaSincronizador sincronizador;
+
+    @BeforeEach
+    void setUp() {
+        indiceBusqueda = new IndiceBusqueda();
+        sincronizador = new IndiceBusquedaSincronizador(indiceBusqueda, zonaRepository, especieRepository,
+                animalRepository, comentarioRepository, snapshotIndiceBusqueda);
+        when(zonaRepository.findAllParaIndice()).thenReturn(List.of());
+        when(especieRepository.findAllParaIndice()).thenReturn(List.of());
+        when(animalRepository.findAllParaIndice()).thenReturn(List.of());
+    }
+
+    @Test
+    void testConstruirIndice_DesdeSnapshotSoloLeeLoQueFalta() {
+        List<ComentarioIndiceProjection> enSnapshot = List.of(
+                new FilaComentarioIndice(1000L, "conservado", 100L, null),
+                new FilaComentarioIndice(1001L, "borrado despues", 100L, null),
+                new FilaComentarioIndice(1003L, "ultimo del snapshot", 100L, null));
+        when(snapshotIndiceBusqueda.cargar()).thenReturn(Optional.of(new SnapshotIndiceBusqueda.Contenido(1003L, enSnapshot)));
+        when(comentarioRepository.findAllIdsOrdenados()).thenReturn(List.of(1000L, 1002L, 1003L, 1004L));
+        when(comentarioRepository.findParaIndicePorIds(List.of(1002L)))
+                .thenReturn(List.of(new FilaComentarioIndice(1002L, "confirmado tarde", 100L, null)));
+        when(comentarioRepository.findParaIndicePosterioresA(1003L))
+                .thenReturn(List.of(new FilaComentarioIndice(1004L, "nuevo", 100L, null)));
+
+        sincronizador.construirIndice();
+
+        assertTrue(indiceBusqueda.estaListo());
+        assertEquals(List.of(1000L, 1002L, 1003L, 1004L),
+                indiceBusqueda.exportarComentarios().stream().map(ComentarioIndiceProjection::getId).toList());
+        assertTrue(indiceBusqueda.buscar("borrado").isEmpty());
+        verify(comentarioRepository, never()).findAllParaIndice();
+    }
+
+    @Test
+    void testConstruirIndice_SinSnapshotLeeTodosLosComentarios() {
+        when(snapshotIndiceBusqueda.cargar()).thenReturn(Optional.empty());
+        when(comentarioRepository.findAllParaIndice())
+                .thenReturn(List.of(new FilaComentarioIndice(1000L, "hola", 100L, null)));
+
+        sincronizador.construirIndice();
+
+        assertEquals(1, indiceBusqueda.cantidadDocumentos());
+        verify(comentarioRepository, never()).findAllIdsOrdenados();
+    }
+}
@@ -0,0 +1,306 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaDifusaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaFacetadaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaRanqueadaResultadoDto;
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.FacetaDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceBusquedaTest {
+
+    private IndiceBusqueda indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBusqueda();
+        indice.reconstruir(() -> {
+            indice.indexarZona(1L, "Sabana");
+            indice.indexarZona(2L, "Selva");
+            indice.indexarEspecie(10L, "Jirafa", 1L);
+            indice.indexarEspecie(11L, "Jaguar", 2L);
+            indice.indexarAnimal(100L, "Melman", 10L);
+            indice.indexarAnimal(101L, "Balam", 11L);
+            indice.indexarComentario(1000L, "Melman come hojas de acacia", 100L, null);
+            indice.indexarComentario(1001L, "Sí, sobre todo de acacia joven", 100L, 1000L);
+        });
+    }
+
+    @Test
+    void testBuscar_ConservaCoincidenciaPorSubcadena() {
+        List<BusquedaResultadoDto> resultados = indice.buscar("ABAN");
+
+        assertEquals(1, resultados.size());
+        assertEquals("ZONA", resultados.get(0).getTipoResultado());
+        assertEquals("Sabana", resultados.get(0).getZonaNombre());
+    }
+
+    @Test
+    void testBuscar_DevuelveResultadosEnOrdenDeTipo() {
+        List<BusquedaResultadoDto> resultados = indice.buscar("a");
+
+        assertEquals(List.of("ZONA", "ZONA", "ESPECIE", "ESPECIE", "ANIMAL", "ANIMAL", "COMENTARIO", "RESPUESTA"),
+                resultados.stream().map(BusquedaResultadoDto::getTipoResultado).toList());
+    }
+
+    @Test
+    void testBuscar_ComentarioYRespuestaConDatosResueltos() {
+        List<BusquedaResultadoDto> resultados = indice.buscar("de acacia");
+
+        assertEquals(2, resultados.size());
+        BusquedaResultadoDto comentario = resultados.get(0);
+        assertEquals("COMENTARIO", comentario.getTipoResultado());
+        assertEquals("Sabana", comentario.getZonaNombre());
+        assertEquals("Jirafa", comentario.getEspecieNombre());
+        assertEquals("Melman", comentario.getAnimalNombre());
+        assertNull(comentario.getRespuestaContenido());
+
+        BusquedaResultadoDto respuesta = resultados.get(1);
+        assertEquals("RESPUESTA", respuesta.getTipoResultado());
+        assertEquals("Melman come hojas de acacia", respuesta.getComentarioContenido());
+        assertEquals("Sí, sobre todo de acacia joven", respuesta.getRespuestaContenido());
+    }
+
+    @Test
+    void testBuscar_SubcadenaQueCruzaPalabrasYSignos() {
+        List<BusquedaResultadoDto> resultados = indice.buscar("N COME H");
+        assertEquals(1, resultados.size());
+        assertEquals("COMENTARIO", resultados.get(0).getTipoResultado());
+
+        resultados = indice.buscar("í, so");
+        assertEquals(1, resultados.size());
+        assertEquals("RESPUESTA", resultados.get(0).getTipoResultado());
+    }
+
+    @Test
+    void testBuscar_TrigramasPresentesPeroSinSubcadenaNoCoincide() {
+        // "acacia" y "hojas" comparten trigramas con la consulta pero no la contienen
+        assertTrue(indice.buscar("acia hojas").isEmpty());
+    }
+
+    @Test
+    void testIndexarComentario_NuevoComentarioEsBuscable() {
+        indice.indexarComentario(1002L, "Balam duerme en la rama", 101L, null);
+
+        List<BusquedaResultadoDto> resultados = indice.buscar("en la ram");
+        assertEquals(1, resultados.size());
+        assertEquals("Selva", resultados.get(0).getZonaNombre());
+        assertEquals("Balam", resultados.get(0).getAnimalNombre());
+    }
+
+    @Test
+    void testBuscar_ConsultaSinPalabrasRevisaTodosLosDocumentos() {
+        List<BusquedaResultadoDto> resultados = indice.buscar(", ");
+
+        assertEquals(1, resultados.size());
+        assertEquals("RESPUESTA", resultados.get(0).getTipoResultado());
+    }
+
+    @Test
+    void testBuscar_ConsultaCortaIncluyeTextosMasCortosQueUnTrigrama() {
+        indice.indexarAnimal(102L, "Bo", 11L);
+
+        assertEquals(List.of("Balam", "Bo"), indice.buscar("b").stream()
+                .filter(r -> r.getTipoResultado().equals("ANIMAL"))
+                .map(BusquedaResultadoDto::getAnimalNombre).toList());
+        assertEquals(1, indice.buscar("bo").size());
+        // Jaguar y "hojas"
+        assertEquals(2, indice.buscar("ja").size());
+    }
+
+    @Test
+    void testBuscar_ConsultaCortaSigueAlIndiceTrasRenombrarYBorrar() {
+        indice.indexarZona(2L, "Pantano");
+        assertTrue(indice.buscar("lv").isEmpty());
+        assertEquals(1, indice.buscar("nt").size());
+
+        indice.eliminarZona(2L);
+        assertTrue(indice.buscar("nt").isEmpty());
+        assertEquals(1, indice.buscar("ob").size());
+    }
+
+    @Test
+    void testIndexarZona_RenombrePropagaANombresResueltos() {
+        indice.indexarZona(1L, "Savannah");
+
+        assertTrue(indice.buscar("sabana").isEmpty());
+        List<BusquedaResultadoDto> resultados = indice.buscar("acacia joven");
+        assertEquals(1, resultados.size());
+        assertEquals("Savannah", resultados.get(0).getZonaNombre());
+    }
+
+    @Test
+    void testIndexarAnimal_CambioDeEspecieMueveSusComentarios() {
+        indice.indexarAnimal(100L, "Melman", 11L);
+
+        BusquedaResultadoDto comentario = indice.buscar("hojas").get(0);
+        assertEquals("Selva", comentario.getZonaNombre());
+        assertEquals("Jaguar", comentario.getEspecieNombre());
+    }
+
+    @Test
+    void testEliminarAnimal_QuitaSusComentarios() {
+        indice.eliminarAnimal(100L);
+
+        assertTrue(indice.buscar("acacia").isEmpty());
+        assertTrue(indice.buscar("melman").isEmpty());
+        assertEquals(5, indice.cantidadDocumentos());
+    }
+
+    @Test
+    void testBuscarPagina_LasPaginasEncadenadasReproducenLaBusquedaCompleta() {
+        assertPaginasEncadenadas("a");
+        assertPaginasEncadenadas(", ");
+        assertPaginasEncadenadas("acacia");
+    }
+
+    @Test
+    void testBuscarPagina_UltimaPaginaSinSiguientePosicion() {
+        PaginaBusqueda pagina = indice.buscarPagina("a", CursorBusqueda.INICIO, 100);
+
+        assertEquals(firmas(indice.buscar("a")), firmas(pagina.getResultados()));
+        assertNull(pagina.getSiguientePosicion());
+    }
+
+    private void assertPaginasEncadenadas(String palabra) {
+        List<BusquedaResultadoDto> acumulados = new ArrayList<>();
+        long posicion = CursorBusqueda.INICIO;
+        PaginaBusqueda pagina;
+        do {
+            pagina = indice.buscarPagina(palabra, posicion, 3);
+            assertTrue(pagina.getResultados().size() <= 3);
+            acumulados.addAll(pagina.getResultados());
+            if (pagina.getSiguientePosicion() != null) posicion = pagina.getSiguientePosicion();
+        } while (pagina.getSiguientePosicion() != null);
+
+        assertEquals(firmas(indice.buscar(palabra)), firmas(acumulados));
+    }
+
+    private List<String> firmas(List<BusquedaResultadoDto> resultados) {
+        return resultados.stream()
+                .map(r -> String.join("|", r.getTipoResultado(), String.valueOf(r.getZonaNombre()),
+                        String.valueOf(r.getEspecieNombre()), String.valueOf(r.getAnimalNombre()),
+                        String.valueOf(r.getComentarioContenido()), String.valueOf(r.getRespuestaContenido())))
+                .toList();
+    }
+
+    @Test
+    void testBuscarDifuso_ToleraErroresDeEscrituraEnNombres() {
+        List<BusquedaDifusaResultadoDto> resultados = indice.buscarDifuso("girafa", 1);
+
+        assertEquals(1, resultados.size());
+        assertEquals("ESPECIE", resultados.get(0).getTipoResultado());
+        assertEquals("Jirafa", resultados.get(0).getEspecieNombre());
+        assertEquals("Sabana", resultados.get(0).getZonaNombre());
+        assertEquals(1, resultados.get(0).getDistancia());
+    }
+
+    @Test
+    void testBuscarDifuso_OrdenaPorDistanciaYNoIncluyeComentarios() {
+        indice.indexarAnimal(102L, "Melmon", 10L);
+
+        List<BusquedaDifusaResultadoDto> resultados = indice.buscarDifuso("melmon", 2);
+
+        assertEquals(List.of("Melmon", "Melman"), resultados.stream().map(BusquedaDifusaResultadoDto::getAnimalNombre).toList());
+        assertEquals(List.of(0, 1), resultados.stream().map(BusquedaDifusaResultadoDto::getDistancia).toList());
+        assertTrue(indice.buscarDifuso("hojaz", 1).isEmpty());
+    }
+
+    @Test
+    void testBuscarDifuso_RenombreYBorradoActualizanLosTerminos() {
+        indice.indexarZona(2L, "Bosque");
+        indice.eliminarAnimal(100L);
+
+        assertTrue(indice.buscarDifuso("selva", 1).isEmpty());
+        assertEquals("Bosque", indice.buscarDifuso("bosqe", 1).get(0).getZonaNombre());
+        assertTrue(indice.buscarDifuso("melman", 1).isEmpty());
+    }
+
+    @Test
+    void testBuscarRanqueado_NombreExactoPrimeroYTextoCortoAntesQueLargo() {
+        indice.indexarComentario(1002L, "La jirafa Melman", 100L, null);
+
+        List<BusquedaRanqueadaResultadoDto> resultados = indice.buscarRanqueado("Jirafa", 10);
+
+        assertEquals(List.of("ESPECIE", "COMENTARIO"), resultados.stream().map(BusquedaRanqueadaResultadoDto::getTipoResultado).toList());
+        assertTrue(resultados.get(0).getPuntuacion() > resultados.get(1).getPuntuacion());
+
+        List<BusquedaRanqueadaResultadoDto> acacia = indice.buscarRanqueado("acacia", 10);
+        assertEquals(List.of("COMENTARIO", "RESPUESTA"), acacia.stream().map(BusquedaRanqueadaResultadoDto::getTipoResultado).toList());
+    }
+
+    @Test
+    void testBuscarRanqueado_MasRepeticionesPuntuanMas() {
+        indice.indexarComentario(1002L, "hojas, hojas y hojas todo el dia", 100L, null);
+
+        List<BusquedaRanqueadaResultadoDto> resultados = indice.buscarRanqueado("hojas", 10);
+
+        assertEquals("hojas, hojas y hojas todo el dia", resultados.get(0).getComentarioContenido());
+        assertEquals("Melman come hojas de acacia", resultados.get(1).getComentarioContenido());
+    }
+
+    @Test
+    void testBuscarRanqueado_LimiteDevuelveLosMejoresDelOrdenCompleto() {
+        for (long i = 0; i < 200; i++) {
+            indice.indexarComentario(2000L + i, "acacia ".repeat(1 + (int) (i % 7)) + "rama ".repeat((int) (i % 5)), 101L, null);
+        }
+
+        List<BusquedaRanqueadaResultadoDto> completos = indice.buscarRanqueado("acacia rama", 500);
+        List<BusquedaRanqueadaResultadoDto> mejores = indice.buscarRanqueado("acacia rama", 15);
+
+        assertEquals(202, completos.size());
+        assertEquals(completos.subList(0, 15).stream().map(BusquedaRanqueadaResultadoDto::getComentarioContenido).toList(),
+                mejores.stream().map(BusquedaRanqueadaResultadoDto::getComentarioContenido).toList());
+        for (int i = 1; i < completos.size(); i++) {
+            assertTrue(completos.get(i - 1).getPuntuacion() >= completos.get(i).getPuntuacion());
+        }
+    }
+
+    @Test
+    void testBuscarFacetado_SinFiltrosCuentaPorTipoYPorZona() {
+        BusquedaFacetadaResponseDto respuesta = indice.buscarFacetado("a", Set.of(), null, null, 50);
+
+        assertEquals(8, respuesta.getTotal());
+        assertEquals(Map.of("ZONA", 2L, "ESPECIE", 2L, "ANIMAL", 2L, "COMENTARIO", 1L, "RESPUESTA", 1L),
+                conteos(respuesta.getConteoPorTipo()));
+        assertEquals(Map.of("Sabana", 5L, "Selva", 3L), conteos(respuesta.getConteoPorZona()));
+    }
+
+    @Test
+    void testBuscarFacetado_CadaRecuentoIgnoraSuPropioFiltro() {
+        BusquedaFacetadaResponseDto respuesta = indice.buscarFacetado("a",
+                Set.of(TipoResultadoBusqueda.ANIMAL, TipoResultadoBusqueda.COMENTARIO), 1L, null, 50);
+
+        assertEquals(2, respuesta.getTotal());
+        assertEquals(List.of("ANIMAL", "COMENTARIO"),
+                respuesta.getResultados().stream().map(BusquedaResultadoDto::getTipoResultado).toList());
+        assertEquals(Map.of("ZONA", 1L, "ESPECIE", 1L, "ANIMAL", 1L, "COMENTARIO", 1L, "RESPUESTA", 1L),
+                conteos(respuesta.getConteoPorTipo()));
+        assertEquals(Map.of("Sabana", 2L, "Selva", 1L), conteos(respuesta.getConteoPorZona()));
+    }
+
+    @Test
+    void testBuscarFacetado_FiltroPorEspecieYLimite() {
+        BusquedaFacetadaResponseDto respuesta = indice.buscarFacetado("a", Set.of(), null, 11L, 1);
+
+        assertEquals(2, respuesta.getTotal());
+        assertEquals(1, respuesta.getResultados().size());
+        assertEquals("Jaguar", respuesta.getResultados().get(0).getEspecieNombre());
+        assertEquals(Map.of("Selva", 2L), conteos(respuesta.getConteoPorZona()));
+    }
+
+    private static Map<String, Long> conteos(List<FacetaDto> facetas) {
+        return facetas.stream().collect(Collectors.toMap(FacetaDto::getValor, FacetaDto::getCantidad));
+    }
+}
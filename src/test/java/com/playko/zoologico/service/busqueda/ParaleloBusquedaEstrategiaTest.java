@@ -0,0 +1,138 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.BusquedaParalelaResponseDto;
+import com.playko.zoologico.dto.response.BusquedaResultadoDto;
+import com.playko.zoologico.dto.response.FuenteIncompletaDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParaleloBusquedaEstrategiaTest {
+
+    @Mock
+    private EscaneoBusquedaEstrategia escaneoBusquedaEstrategia;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ParaleloBusquedaEstrategia paraleloBusquedaEstrategia;
+
+    private final BusquedaResultadoDto zona = new BusquedaResultadoDto("ZONA", "Sabana", null, null, null, null);
+    private final BusquedaResultadoDto especie = new BusquedaResultadoDto("ESPECIE", "Sabana", "León", null, null, null);
+    private final BusquedaResultadoDto animal = new BusquedaResultadoDto("ANIMAL", "Sabana", "León", "Simba", null, null);
+    private final BusquedaResultadoDto comentario = new BusquedaResultadoDto("COMENTARIO", "Sabana", "León", "Simba", "Sano", null);
+
+    @BeforeEach
+    void setUp() {
+        paraleloBusquedaEstrategia = new ParaleloBusquedaEstrategia(escaneoBusquedaEstrategia, transactionManager, 4, 16, 300);
+    }
+
+    @AfterEach
+    void tearDown() {
+        paraleloBusquedaEstrategia.detener();
+    }
+
+    @Test
+    void testBuscar_UneResultadosEnOrdenDeTipoAunqueTerminenDesordenados() {
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ZONAS, "sa")).thenAnswer(i -> {
+            Thread.sleep(100);
+            return List.of(zona);
+        });
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ESPECIES, "sa")).thenReturn(List.of(especie));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ANIMALES, "sa")).thenReturn(List.of(animal));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.COMENTARIOS, "sa")).thenReturn(List.of(comentario));
+
+        BusquedaParalelaResponseDto respuesta = paraleloBusquedaEstrategia.buscarConDetalle("sa");
+
+        assertEquals(List.of(zona, especie, animal, comentario), respuesta.getResultados());
+        assertTrue(respuesta.getFuentesIncompletas().isEmpty());
+    }
+
+    @Test
+    void testBuscar_FuenteLentaSeInformaComoIncompleta() {
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ZONAS, "sa")).thenReturn(List.of(zona));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ESPECIES, "sa")).thenReturn(List.of(especie));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ANIMALES, "sa")).thenReturn(List.of(animal));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.COMENTARIOS, "sa")).thenAnswer(i -> {
+            Thread.sleep(5_000);
+            return List.of(comentario);
+        });
+
+        BusquedaParalelaResponseDto respuesta = paraleloBusquedaEstrategia.buscarConDetalle("sa");
+
+        assertEquals(List.of(zona, especie, animal), respuesta.getResultados());
+        assertEquals(1, respuesta.getFuentesIncompletas().size());
+        FuenteIncompletaDto incompleta = respuesta.getFuentesIncompletas().get(0);
+        assertEquals("COMENTARIOS", incompleta.getFuente());
+        assertEquals("TIEMPO_AGOTADO", incompleta.getMotivo());
+    }
+
+    @Test
+    void testBuscar_FuenteLentaSeInterrumpe() throws InterruptedException {
+        CountDownLatch interrumpida = new CountDownLatch(1);
+        when(escaneoBusquedaEstrategia.buscarEnFuente(any(FuenteBusqueda.class), anyString())).thenReturn(List.of());
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.COMENTARIOS, "sa")).thenAnswer(i -> {
+            try {
+                Thread.sleep(5_000);
+            } catch (InterruptedException e) {
+                interrumpida.countDown();
+            }
+            return List.of(comentario);
+        });
+
+        paraleloBusquedaEstrategia.buscarConDetalle("sa");
+
+        assertTrue(interrumpida.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testBuscar_PoolSaturadoNoConsultaEnElHiloDeLaPeticion() {
+        paraleloBusquedaEstrategia.detener();
+        // Un hilo y un lugar en la cola: las dos últimas fuentes se rechazan
+        paraleloBusquedaEstrategia = new ParaleloBusquedaEstrategia(escaneoBusquedaEstrategia, transactionManager, 1, 1, 300);
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ZONAS, "sa")).thenAnswer(i -> {
+            Thread.sleep(100);
+            return List.of(zona);
+        });
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ESPECIES, "sa")).thenReturn(List.of(especie));
+
+        BusquedaParalelaResponseDto respuesta = paraleloBusquedaEstrategia.buscarConDetalle("sa");
+
+        assertEquals(List.of(zona, especie), respuesta.getResultados());
+        assertEquals(List.of("ANIMALES", "COMENTARIOS"),
+                respuesta.getFuentesIncompletas().stream().map(FuenteIncompletaDto::getFuente).toList());
+        assertTrue(respuesta.getFuentesIncompletas().stream().allMatch(f -> "SATURADO".equals(f.getMotivo())));
+        verify(escaneoBusquedaEstrategia, never()).buscarEnFuente(FuenteBusqueda.ANIMALES, "sa");
+        verify(escaneoBusquedaEstrategia, never()).buscarEnFuente(FuenteBusqueda.COMENTARIOS, "sa");
+    }
+
+    @Test
+    void testBuscar_FuenteConErrorSeInformaComoIncompleta() {
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ZONAS, "sa")).thenThrow(new IllegalStateException("sin conexión"));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ESPECIES, "sa")).thenReturn(List.of(especie));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.ANIMALES, "sa")).thenReturn(List.of(animal));
+        when(escaneoBusquedaEstrategia.buscarEnFuente(FuenteBusqueda.COMENTARIOS, "sa")).thenReturn(List.of(comentario));
+
+        BusquedaParalelaResponseDto respuesta = paraleloBusquedaEstrategia.buscarConDetalle("sa");
+
+        assertEquals(List.of(especie, animal, comentario), respuesta.getResultados());
+        assertEquals("ZONAS", respuesta.getFuentesIncompletas().get(0).getFuente());
+        assertEquals("ERROR", respuesta.getFuentesIncompletas().get(0).getMotivo());
+    }
+}
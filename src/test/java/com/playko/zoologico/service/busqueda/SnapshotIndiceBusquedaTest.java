@@ -0,0 +1,57 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.repository.projection.ComentarioIndiceProjection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotIndiceBusquedaTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void testGuardarYCargar_ConservaFilasYMarcaDeAgua() throws IOException {
+        SnapshotIndiceBusqueda snapshot = nuevo(true);
+        snapshot.guardar(List.of(
+                new FilaComentarioIndice(1000L, "Melman come hojas de acacia", 100L, null),
+                new FilaComentarioIndice(1001L, "Sí, ñandú incluido ✓", 100L, 1000L)));
+
+        Optional<SnapshotIndiceBusqueda.Contenido> cargado = snapshot.cargar();
+
+        assertTrue(cargado.isPresent());
+        assertEquals(1001L, cargado.get().getMarca());
+        List<ComentarioIndiceProjection> comentarios = cargado.get().getComentarios();
+        assertEquals(2, comentarios.size());
+        assertEquals("Melman come hojas de acacia", comentarios.get(0).getContenido());
+        assertNull(comentarios.get(0).getPadreId());
+        assertEquals("Sí, ñandú incluido ✓", comentarios.get(1).getContenido());
+        assertEquals(1000L, comentarios.get(1).getPadreId());
+        assertEquals(100L, comentarios.get(1).getAnimalId());
+    }
+
+    @Test
+    void testCargar_DeshabilitadaOInexistenteODanada() throws IOException {
+        assertTrue(nuevo(true).cargar().isEmpty());
+
+        nuevo(true).guardar(List.of(new FilaComentarioIndice(1L, "hola", 1L, null)));
+        assertTrue(nuevo(false).cargar().isEmpty());
+
+        byte[] bytes = Files.readAllBytes(directorio.resolve("indice.snap"));
+        Files.write(directorio.resolve("indice.snap"), java.util.Arrays.copyOf(bytes, bytes.length - 3));
+        assertTrue(nuevo(true).cargar().isEmpty());
+    }
+
+    private SnapshotIndiceBusqueda nuevo(boolean habilitado) {
+        return new SnapshotIndiceBusqueda(new IndiceBusqueda(), habilitado, directorio.resolve("indice.snap").toString());
+    }
+}
@@ -0,0 +1,122 @@
+package com.playko.zoologico.service.busqueda;
+
+import com.playko.zoologico.dto.response.SugerenciaResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrieAutocompletadoTest {
+
+    private TrieAutocompletado trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new TrieAutocompletado(3);
+        trie.reconstruir(() -> {
+            trie.indexar(TipoResultadoBusqueda.ZONA, 1L, "Sabana");
+            trie.indexar(TipoResultadoBusqueda.ESPECIE, 10L, "León");
+            trie.indexar(TipoResultadoBusqueda.ESPECIE, 11L, "Leopardo");
+            trie.indexar(TipoResultadoBusqueda.ESPECIE, 12L, "Oso pardo");
+            trie.indexar(TipoResultadoBusqueda.ANIMAL, 100L, "Leo");
+        });
+    }
+
+    @Test
+    void testSugerir_PrefijoDevuelveNombresMasCortosPrimero() {
+        assertEquals(List.of("Leo", "León", "Leopardo"), nombres(trie.sugerir("LE", 10)));
+        assertEquals(List.of("León"), nombres(trie.sugerir("leó", 10)));
+    }
+
+    @Test
+    void testSugerir_PrefijoDeUnaPalabraInterior() {
+        List<SugerenciaResponseDto> sugerencias = trie.sugerir("pard", 10);
+
+        assertEquals(List.of("Oso pardo"), nombres(sugerencias));
+        assertEquals("ESPECIE", sugerencias.get(0).getTipo());
+        assertEquals(12L, sugerencias.get(0).getId());
+    }
+
+    @Test
+    void testSugerir_SinCoincidencias() {
+        assertTrue(trie.sugerir("tigre", 10).isEmpty());
+        assertTrue(trie.sugerir("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testIndexar_RenombreReemplazaElNombreAnterior() {
+        trie.indexar(TipoResultadoBusqueda.ANIMAL, 100L, "Simba");
+
+        assertEquals(List.of("León", "Leopardo"), nombres(trie.sugerir("le", 10)));
+        assertEquals(List.of("Simba"), nombres(trie.sugerir("si", 10)));
+    }
+
+    @Test
+    void testEliminar_RecalculaLasMejoresSugerenciasDelPrefijo() {
+        trie.indexar(TipoResultadoBusqueda.ANIMAL, 101L, "Leopoldo");
+        assertEquals(List.of("Leo", "León", "Leopardo"), nombres(trie.sugerir("le", 10)));
+
+        trie.eliminar(TipoResultadoBusqueda.ANIMAL, 100L);
+
+        assertEquals(List.of("León", "Leopardo", "Leopoldo"), nombres(trie.sugerir("le", 10)));
+    }
+
+    @Test
+    void testSugerir_CoincideConRecorridoCompletoTrasCambiosAleatorios() {
+        Random random = new Random(7);
+        String[] silabas = {"le", "on", "pa", "rdo", "o", " ", "sa", "ba", "na"};
+        Map<Long, String> nombres = new HashMap<>();
+        TrieAutocompletado aleatorio = new TrieAutocompletado(4);
+
+        for (int paso = 0; paso < 2_000; paso++) {
+            long id = random.nextInt(60);
+            if (random.nextInt(4) == 0) {
+                aleatorio.eliminar(TipoResultadoBusqueda.ANIMAL, id);
+                nombres.remove(id);
+            } else {
+                StringBuilder nombre = new StringBuilder();
+                for (int i = 0, n = 1 + random.nextInt(4); i < n; i++) {
+                    nombre.append(silabas[random.nextInt(silabas.length)]);
+                }
+                aleatorio.indexar(TipoResultadoBusqueda.ANIMAL, id, nombre.toString());
+                if (nombre.toString().isBlank()) nombres.remove(id);
+                else nombres.put(id, nombre.toString());
+            }
+        }
+
+        for (String prefijo : List.of("l", "le", "leo", "p", "pa", "par", "s", "sab", "o", "on", "b", "na")) {
+            List<Long> esperados = nombres.entrySet().stream()
+                    .filter(e -> coincidePorPalabra(e.getValue(), prefijo))
+                    .sorted(Comparator.<Map.Entry<Long, String>>comparingInt(e -> e.getValue().length())
+                            .thenComparing(Map.Entry::getValue)
+                            .thenComparing(Map.Entry::getKey))
+                    .limit(4)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            assertEquals(esperados, aleatorio.sugerir(prefijo, 10).stream().map(SugerenciaResponseDto::getId).toList(), prefijo);
+        }
+    }
+
+    private static boolean coincidePorPalabra(String nombre, String prefijo) {
+        for (int i = 0; i < nombre.length(); i++) {
+            boolean inicio = i == 0 || (Character.isLetterOrDigit(nombre.charAt(i)) && !Character.isLetterOrDigit(nombre.charAt(i - 1)));
+            if (inicio && nombre.startsWith(prefijo, i)) return true;
+        }
+        return false;
+    }
+
+    private static List<String> nombres(List<SugerenciaResponseDto> sugerencias) {
+        List<String> nombres = new ArrayList<>();
+        sugerencias.forEach(s -> nombres.add(s.getNombre()));
+        return nombres;
+    }
+}
@@ -0,0 +1,99 @@
+package com.playko.zoologico.service.comentario;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playko.zoologico.dto.response.ComentarioResponseDto;
+import com.playko.zoologico.event.AnimalEvent;
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheMuroTest {
+    private CacheMuro cache;
+    private CacheMuroInvalidador invalidador;
+    private AtomicInteger construcciones;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheMuro(new ObjectMapper(), 1_000_000L);
+        invalidador = new CacheMuroInvalidador(cache);
+        construcciones = new AtomicInteger();
+    }
+
+    @Test
+    void aciertoSinDistinguirMayusculasDevuelveElMismoJson() {
+        byte[] primero = cache.obtener("Simba", () -> muro(1L, "hola"));
+        byte[] segundo = cache.obtener("SIMBA", () -> muro(1L, "otro"));
+
+        assertEquals(1, construcciones.get());
+        assertArrayEquals(primero, segundo);
+        assertTrue(new String(primero, StandardCharsets.UTF_8).contains("\"contenido\":\"hola\""));
+    }
+
+    @Test
+    void unComentarioSoloInvalidaSuAnimal() {
+        cache.obtener("Simba", () -> muro(1L, "a"));
+        cache.obtener("Nala", () -> muro(2L, "b"));
+
+        invalidador.onComentario(new ComentarioEvent(TipoCambio.CREADO, 9L, "nuevo", null, 1L, null, "Cuidador"));
+        cache.obtener("Simba", () -> muro(1L, "a"));
+        cache.obtener("Nala", () -> muro(2L, "b"));
+
+        assertEquals(3, construcciones.get());
+    }
+
+    @Test
+    void renombrarElAnimalDescartaLaClaveAnterior() {
+        cache.obtener("Simba", () -> muro(1L, "a"));
+
+        invalidador.onAnimal(new AnimalEvent(TipoCambio.EDITADO, 1L, "Mufasa", "Simba", 3L, 3L, null));
+        invalidador.onAnimal(new AnimalEvent(TipoCambio.CREADO, 5L, "Simba", null, 3L, null, null));
+        cache.obtener("Simba", () -> muro(5L, "a"));
+
+        assertEquals(2, construcciones.get());
+    }
+
+    @Test
+    void noGuardaUnMuroArmadoAntesDeUnaInvalidacion() {
+        // El comentario se confirma mientras se arma el muro: el resultado puede no incluirlo
+        cache.obtener("Simba", () -> {
+            cache.invalidarAnimal(1L);
+            return muro(1L, "viejo");
+        });
+        cache.obtener("Simba", () -> muro(1L, "nuevo"));
+
+        assertEquals(2, construcciones.get());
+    }
+
+    @Test
+    void desalojaLosMenosUsadosAlSuperarElPeso() {
+        byte[] json = cache.obtener("Simba", () -> muro(1L, "a"));
+        cache = new CacheMuro(new ObjectMapper(), json.length * 2L);
+
+        cache.obtener("Simba", () -> muro(1L, "a"));
+        cache.obtener("Nala", () -> muro(2L, "a"));
+        cache.obtener("Simba", () -> muro(1L, "a"));
+        cache.obtener("Kiara", () -> muro(3L, "a"));
+        cache.obtener("Simba", () -> muro(1L, "a"));
+        cache.obtener("Nala", () -> muro(2L, "a"));
+
+        // Simba siguió en caché por usarse más recientemente; Nala fue la desalojada
+        assertEquals(5, construcciones.get());
+    }
+
+    private CacheMuro.Muro muro(Long animalId, String contenido) {
+        construcciones.incrementAndGet();
+        ComentarioResponseDto comentario = new ComentarioResponseDto(animalId, contenido, "2024-03-01T09:00",
+                "Cuidador", new ArrayList<>());
+        return new CacheMuro.Muro(animalId, List.of(comentario));
+    }
+}
@@ -0,0 +1,38 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.exception.CursorInvalidoException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorMuroTest {
+
+    @Test
+    void codificaYDecodificaFechaConNanosegundosEId() {
+        CursorMuro cursor = new CursorMuro(LocalDateTime.of(2024, 2, 29, 23, 59, 59, 999_999_000), 123L);
+
+        CursorMuro decodificado = CursorMuro.decodificar(cursor.codificar());
+
+        assertEquals(cursor.getFecha(), decodificado.getFecha());
+        assertEquals(123L, decodificado.getId());
+    }
+
+    @Test
+    void sinCursorEsLaPrimeraPagina() {
+        assertNull(CursorMuro.decodificar(null));
+        assertNull(CursorMuro.decodificar(" "));
+    }
+
+    @Test
+    void rechazaCursoresMalFormados() {
+        String corto = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[8]);
+
+        assertThrows(CursorInvalidoException.class, () -> CursorMuro.decodificar("%%%"));
+        assertThrows(CursorInvalidoException.class, () -> CursorMuro.decodificar(corto));
+    }
+}
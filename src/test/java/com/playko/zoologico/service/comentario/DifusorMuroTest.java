@@ -0,0 +1,122 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.event.ComentarioEvent;
+import com.playko.zoologico.event.TipoCambio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DifusorMuroTest {
+    private DifusorMuro difusor;
+
+    @BeforeEach
+    void setUp() {
+        // Entregas en el mismo hilo para que las pruebas sean deterministas
+        difusor = new DifusorMuro(Runnable::run, 60_000L) {
+            @Override
+            SseEmitter nuevoEmisor(long tiempoMaximoMs) {
+                return new EmisorDePrueba();
+            }
+        };
+    }
+
+    @Test
+    void elContenedorUsaElConstructorConfigurable() {
+        try (AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext(DifusorMuro.class)) {
+            assertNotNull(contexto.getBean(DifusorMuro.class));
+        }
+    }
+
+    @Test
+    void soloRecibenLosSuscriptoresDelAnimal() {
+        EmisorDePrueba leon1 = (EmisorDePrueba) difusor.suscribir(1L);
+        EmisorDePrueba leon2 = (EmisorDePrueba) difusor.suscribir(1L);
+        EmisorDePrueba jirafa = (EmisorDePrueba) difusor.suscribir(2L);
+
+        difusor.onComentario(creado(100L, 1L, 7L));
+
+        assertEquals(1, leon1.enviados.size());
+        assertEquals(1, leon2.enviados.size());
+        assertTrue(jirafa.enviados.isEmpty());
+        String evento = leon1.texto();
+        assertTrue(evento.contains("event:" + DifusorMuro.EVENTO_COMENTARIO));
+        assertTrue(evento.contains("id:100"));
+    }
+
+    @Test
+    void ignoraEventosQueNoSonCreaciones() {
+        EmisorDePrueba emisor = (EmisorDePrueba) difusor.suscribir(1L);
+
+        difusor.onComentario(new ComentarioEvent(TipoCambio.ELIMINADO, 100L, "hola", null, 1L, null, null));
+
+        assertTrue(emisor.enviados.isEmpty());
+    }
+
+    @Test
+    void quitaLosEmisoresQueFallan() {
+        EmisorDePrueba sano = (EmisorDePrueba) difusor.suscribir(1L);
+        EmisorDePrueba caido = (EmisorDePrueba) difusor.suscribir(1L);
+        caido.falla = true;
+        assertEquals(2, difusor.cantidadSuscriptores());
+
+        difusor.onComentario(creado(100L, 1L, null));
+        difusor.onComentario(creado(101L, 1L, null));
+
+        assertEquals(1, difusor.cantidadSuscriptores());
+        assertEquals(2, sano.enviados.size());
+        assertEquals(1, caido.intentos);
+    }
+
+    @Test
+    void latidoLlegaATodosLosMuros() {
+        EmisorDePrueba leon = (EmisorDePrueba) difusor.suscribir(1L);
+        EmisorDePrueba jirafa = (EmisorDePrueba) difusor.suscribir(2L);
+
+        difusor.latido();
+
+        assertEquals(1, leon.enviados.size());
+        assertEquals(1, jirafa.enviados.size());
+        assertTrue(leon.texto().startsWith(":latido"));
+    }
+
+    private static ComentarioEvent creado(Long id, Long animalId, Long padreId) {
+        return new ComentarioEvent(TipoCambio.CREADO, id, "hola", LocalDateTime.of(2024, 3, 1, 9, 0),
+                animalId, padreId, "Cuidador");
+    }
+
+    /**
+     * Emisor sin petición HTTP detrás: guarda lo que se le envía y, si {@code falla}, simula un cliente
+     * que cerró la conexión.
+     */
+    private static class EmisorDePrueba extends SseEmitter {
+        private final List<Set<DataWithMediaType>> enviados = new ArrayList<>();
+        private boolean falla;
+        private int intentos;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            intentos++;
+            if (falla) {
+                throw new IOException("conexión cerrada");
+            }
+            enviados.add(builder.build());
+        }
+
+        private String texto() {
+            StringBuilder texto = new StringBuilder();
+            enviados.get(enviados.size() - 1).forEach(parte -> texto.append(parte.getData()));
+            return texto.toString();
+        }
+    }
+}
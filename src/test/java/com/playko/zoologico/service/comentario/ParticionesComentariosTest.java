@@ -0,0 +1,127 @@
+package com.playko.zoologico.service.comentario;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ParticionesComentariosTest {
+    private static final YearMonth ACTUAL = YearMonth.of(2024, 6);
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+    }
+
+    @Test
+    void alArrancarMigraAntesDeCrearParticiones() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection conexion = mock(Connection.class);
+        Statement sentencia = mock(Statement.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+        when(dataSource.getConnection()).thenReturn(conexion);
+        when(conexion.createStatement()).thenReturn(sentencia);
+        particiones(List.of());
+
+        ParticionesComentarios particiones = new ParticionesComentarios(jdbcTemplate, true, 0, 12, "");
+        particiones.start();
+
+        InOrder orden = inOrder(sentencia, jdbcTemplate);
+        orden.verify(sentencia).execute(contains("LOCK TABLE comentarios IN ACCESS EXCLUSIVE MODE"));
+        orden.verify(jdbcTemplate).execute(startsWith("create table comentarios_p"));
+        assertTrue(particiones.isRunning());
+    }
+
+    @Test
+    void deshabilitadasNoTocanLaBaseDeDatos() {
+        ParticionesComentarios particiones = new ParticionesComentarios(jdbcTemplate, false, 3, 12, "");
+        particiones.start();
+        particiones.mantenerParticiones();
+
+        verifyNoInteractions(jdbcTemplate);
+        assertTrue(particiones.isRunning());
+    }
+
+    @Test
+    void creaSoloLasParticionesQueFaltan() {
+        particiones(List.of(Map.of("nombre", "comentarios_p202406", "tablespace", "")));
+
+        new ParticionesComentarios(jdbcTemplate, true, 2, 12, "").mantener(ACTUAL);
+
+        verify(jdbcTemplate, never()).execute(eq("create table comentarios_p202406 partition of comentarios "
+                + "for values from ('2024-06-01') to ('2024-07-01')"));
+        verify(jdbcTemplate).execute("create table comentarios_p202407 partition of comentarios "
+                + "for values from ('2024-07-01') to ('2024-08-01')");
+        verify(jdbcTemplate).execute("create table comentarios_p202408 partition of comentarios "
+                + "for values from ('2024-08-01') to ('2024-09-01')");
+    }
+
+    @Test
+    void archivaLosMesesFriosConSusIndices() {
+        particiones(List.of(
+                Map.of("nombre", "comentarios_p202305", "tablespace", ""),
+                Map.of("nombre", "comentarios_p202306", "tablespace", ""),
+                Map.of("nombre", "comentarios_p202304", "tablespace", "archivo"),
+                Map.of("nombre", "comentarios_fuera_de_rango", "tablespace", "")));
+        when(jdbcTemplate.queryForList(ParticionesComentarios.CONSULTA_INDICES, String.class, "comentarios_p202305"))
+                .thenReturn(List.of("comentarios_p202305_pkey"));
+
+        new ParticionesComentarios(jdbcTemplate, true, 0, 12, "archivo").mantener(ACTUAL);
+
+        verify(jdbcTemplate).execute("alter table comentarios_p202305 set tablespace \"archivo\"");
+        verify(jdbcTemplate).execute("alter index \"comentarios_p202305_pkey\" set tablespace \"archivo\"");
+        // El primer mes activo, el ya archivado y la partición por defecto no se mueven
+        verify(jdbcTemplate, never()).execute("alter table comentarios_p202306 set tablespace \"archivo\"");
+        verify(jdbcTemplate, never()).execute("alter table comentarios_p202304 set tablespace \"archivo\"");
+        verify(jdbcTemplate, never()).execute("alter table comentarios_fuera_de_rango set tablespace \"archivo\"");
+    }
+
+    @Test
+    void sinTablespaceDeArchivoNoMueveNada() {
+        particiones(List.of(Map.of("nombre", "comentarios_p202001", "tablespace", "")));
+
+        new ParticionesComentarios(jdbcTemplate, true, -1, 12, "").mantener(ACTUAL);
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void unaParticionQueFallaNoDetieneLasDemas() {
+        particiones(List.of());
+        doThrow(new DataAccessResourceFailureException("filas en la partición por defecto"))
+                .when(jdbcTemplate).execute("create table comentarios_p202406 partition of comentarios "
+                        + "for values from ('2024-06-01') to ('2024-07-01')");
+
+        new ParticionesComentarios(jdbcTemplate, true, 1, 12, "").mantener(ACTUAL);
+
+        verify(jdbcTemplate).execute("create table comentarios_p202407 partition of comentarios "
+                + "for values from ('2024-07-01') to ('2024-08-01')");
+    }
+
+    private void particiones(List<Map<String, Object>> filas) {
+        when(jdbcTemplate.queryForList(ParticionesComentarios.CONSULTA_PARTICIONES)).thenReturn(filas);
+    }
+}
@@ -0,0 +1,61 @@
+package com.playko.zoologico.service.comentario;
+
+import com.playko.zoologico.entity.Comentario;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RutaComentarioTest {
+
+    @Test
+    void asignaRutaYProfundidadDesdeElPadre() {
+        Comentario raiz = comentario(7L, null);
+        RutaComentario.asignar(raiz);
+        Comentario respuesta = comentario(42L, raiz);
+        RutaComentario.asignar(respuesta);
+
+        assertEquals("000000000007", raiz.getRuta());
+        assertEquals(0, raiz.getProfundidad());
+        assertEquals("000000000007000000000042", respuesta.getRuta());
+        assertEquals(1, respuesta.getProfundidad());
+    }
+
+    @Test
+    void dejaSinRutaSiElPadreAunNoLaTiene() {
+        Comentario respuesta = comentario(42L, comentario(7L, null));
+
+        RutaComentario.asignar(respuesta);
+
+        assertNull(respuesta.getRuta());
+        assertNull(respuesta.getProfundidad());
+    }
+
+    @Test
+    void limiteSuperiorCubreSoloElHilo() {
+        String ruta = "000000000007000000000009";
+        String limite = RutaComentario.limiteSuperior(ruta);
+
+        assertEquals("000000000007000000000010", limite);
+        // Descendientes dentro del intervalo, el hermano siguiente y los hijos del padre fuera
+        assertTrue("000000000007000000000009000000000123".compareTo(limite) < 0);
+        assertTrue("000000000007000000000009999999999998".compareTo(limite) < 0);
+        assertTrue("000000000007000000000010".compareTo(limite) >= 0);
+        assertTrue("000000000007000000000008999999999998".compareTo(ruta) < 0);
+    }
+
+    @Test
+    void rechazaIdsFueraDelAnchoDelSegmento() {
+        assertThrows(IllegalArgumentException.class, () -> RutaComentario.segmento(999_999_999_999L));
+        assertThrows(IllegalArgumentException.class, () -> RutaComentario.segmento(null));
+    }
+
+    private static Comentario comentario(Long id, Comentario padre) {
+        Comentario comentario = new Comentario();
+        comentario.setId(id);
+        comentario.setPadre(padre);
+        return comentario;
+    }
+}